@@ -0,0 +1,103 @@
+package org.chen.sid.transactionmanagement.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.Page;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.TransactionDTO;
+import org.chen.sid.transactionmanagement.common.compression.ContentCodec;
+import org.chen.sid.transactionmanagement.domain.model.entity.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * CPU cost of compressing and decompressing a JSON page of 1000 transactions, per codec and level.
+ * <p>
+ * Average time per page is reported by JMH; the compressed size is printed once per trial. Compression pays off on
+ * links slower than {@code bytes saved / (compress + decompress time)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseCompressionBenchmark {
+
+    private static final String[] CATEGORIES = {"Food", "Rent", "Salary", "Transport", "Utilities", "Entertainment", "Health"};
+
+    /**
+     * {@code codec:level}, as configured by {@code transaction.compression.codecs} and {@code *-level}.
+     */
+    @Param({"gzip:1", "gzip:6", "zstd:1", "zstd:3"})
+    private String codecLevel;
+
+    @Param({"1000"})
+    private int pageSize;
+
+    private ContentCodec codec;
+
+    private int level;
+
+    private byte[] page;
+
+    private byte[] compressedPage;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String[] parts = codecLevel.split(":");
+        codec = ContentCodec.valueOf(parts[0].toUpperCase());
+        level = Integer.parseInt(parts[1]);
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        List<TransactionDTO> rows = IntStream.range(0, pageSize)
+                .mapToObj(i -> TransactionDTO.builder()
+                        .id(new UUID(random.nextLong(), random.nextLong()).toString())
+                        .name("Transaction " + random.nextInt(100_000))
+                        .amount(BigDecimal.valueOf(random.nextInt(1_000_000), 2))
+                        .category(CATEGORIES[random.nextInt(CATEGORIES.length)])
+                        .type(TransactionType.values()[random.nextInt(TransactionType.values().length)])
+                        .createTime(now.minusSeconds(random.nextInt(86_400 * 365)))
+                        .updateTime(now)
+                        .build())
+                .toList();
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+        page = json.writeValueAsBytes(new Page<>(100_000, rows));
+        compressedPage = compress();
+        System.out.printf("%nPage of %d: %d bytes, %s %d bytes (%.1f%%)%n", pageSize, page.length, codecLevel, compressedPage.length,
+                100.0 * compressedPage.length / page.length);
+    }
+
+    @Benchmark
+    public byte[] compress() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(page.length / 4);
+        try (OutputStream compressing = codec.compress(out, level)) {
+            compressing.write(page);
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] decompress() throws IOException {
+        try (InputStream in = codec.decompress(new ByteArrayInputStream(compressedPage))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package org.chen.sid.transactionmanagement.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.chen.sid.transactionmanagement.application.usecase.command.dto.UpsertTransactionRequestDTO;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.Page;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.TransactionDTO;
+import org.chen.sid.transactionmanagement.config.CborConfig;
+import org.chen.sid.transactionmanagement.domain.model.entity.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * JSON against CBOR for a page of transactions and a create request, encoded with the mappers the API uses.
+ * <p>
+ * Throughput is reported by JMH; the encoded sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class WireFormatBenchmark {
+
+    private static final TypeReference<Page<TransactionDTO>> PAGE_TYPE = new TypeReference<>() {
+    };
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+    private final ObjectMapper cbor = CborConfig.cborObjectMapper();
+
+    private Page<TransactionDTO> page;
+
+    private UpsertTransactionRequestDTO request;
+
+    private byte[] jsonPage;
+
+    private byte[] cborPage;
+
+    private byte[] jsonRequest;
+
+    private byte[] cborRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        List<TransactionDTO> rows = IntStream.range(0, pageSize)
+                .mapToObj(i -> TransactionDTO.builder()
+                        .id(new UUID(random.nextLong(), random.nextLong()).toString())
+                        .name("Transaction " + i)
+                        .amount(BigDecimal.valueOf(random.nextInt(1_000_000), 2))
+                        .category(i % 3 == 0 ? null : "Category " + i % 7)
+                        .type(TransactionType.values()[i % TransactionType.values().length])
+                        .createTime(now.minusMinutes(i))
+                        .updateTime(now)
+                        .build())
+                .toList();
+        page = new Page<>(10_000, rows);
+        request = new UpsertTransactionRequestDTO("Coffee", new BigDecimal("4.50"), "Food", TransactionType.WITHDRAW);
+        jsonPage = json.writeValueAsBytes(page);
+        cborPage = cbor.writeValueAsBytes(page);
+        jsonRequest = json.writeValueAsBytes(request);
+        cborRequest = cbor.writeValueAsBytes(request);
+        System.out.printf("%nEncoded sizes (bytes): page of %d JSON=%d CBOR=%d (%.0f%%), create request JSON=%d CBOR=%d (%.0f%%)%n", pageSize,
+                jsonPage.length, cborPage.length, 100.0 * cborPage.length / jsonPage.length, jsonRequest.length, cborRequest.length,
+                100.0 * cborRequest.length / jsonRequest.length);
+    }
+
+    @Benchmark
+    public byte[] writePageJson() throws IOException {
+        return json.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] writePageCbor() throws IOException {
+        return cbor.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public Page<TransactionDTO> readPageJson() throws IOException {
+        return json.readValue(jsonPage, PAGE_TYPE);
+    }
+
+    @Benchmark
+    public Page<TransactionDTO> readPageCbor() throws IOException {
+        return cbor.readValue(cborPage, PAGE_TYPE);
+    }
+
+    @Benchmark
+    public UpsertTransactionRequestDTO readRequestJson() throws IOException {
+        return json.readValue(jsonRequest, UpsertTransactionRequestDTO.class);
+    }
+
+    @Benchmark
+    public UpsertTransactionRequestDTO readRequestCbor() throws IOException {
+        return cbor.readValue(cborRequest, UpsertTransactionRequestDTO.class);
+    }
+}
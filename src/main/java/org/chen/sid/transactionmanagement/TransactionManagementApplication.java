@@ -2,12 +2,22 @@ package org.chen.sid.transactionmanagement;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class TransactionManagementApplication {
 
+    /**
+     * Startup steps kept for {@code /actuator/startup} and the startup report; later steps are dropped.
+     */
+    private static final int STARTUP_STEP_CAPACITY = 8192;
+
     public static void main(String[] args) {
-        SpringApplication.run(TransactionManagementApplication.class, args);
+        SpringApplication application = new SpringApplication(TransactionManagementApplication.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+        application.run(args);
     }
 
 }
@@ -0,0 +1,71 @@
+package org.chen.sid.transactionmanagement.adapter.in;
+
+import io.swagger.v3.oas.annotations.Hidden;
+import org.chen.sid.transactionmanagement.adapter.out.cluster.ClusterNodeClient;
+import org.chen.sid.transactionmanagement.adapter.out.repo.MemoryTransactionRepository;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.CategorySummary;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.Page;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Node-to-node storage endpoints of the {@code cluster} profile, serving only the partitions this node owns.
+ * <p>
+ * Commands have already been validated and turned into transactions by the calling node's use cases, so these
+ * endpoints go straight to the local repository. They are not part of the public API and should not be routed by the
+ * ingress.
+ */
+@Hidden
+@Profile("cluster")
+@RestController
+@RequestMapping(ClusterNodeClient.INTERNAL_PATH)
+public class ClusterInternalController {
+
+    private final MemoryTransactionRepository localRepository;
+
+    @Autowired
+    public ClusterInternalController(MemoryTransactionRepository localRepository) {
+        this.localRepository = localRepository;
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Transaction> findById(@PathVariable String id) {
+        return ResponseEntity.of(localRepository.findById(id));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<Void> save(@PathVariable String id, @RequestBody Transaction transaction) {
+        if (!id.equals(transaction.getId())) {
+            return ResponseEntity.badRequest().build();
+        }
+        localRepository.save(transaction);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteById(@PathVariable String id) {
+        return localRepository.deleteById(id) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping
+    public Page<Transaction> findPage(@RequestParam long page, @RequestParam long size) {
+        return localRepository.findPage(page, size);
+    }
+
+    @GetMapping("/summary")
+    public List<CategorySummary> summarizeByCategory() {
+        return localRepository.summarizeByCategory();
+    }
+}
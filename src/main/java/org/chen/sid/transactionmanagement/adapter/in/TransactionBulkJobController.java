@@ -0,0 +1,65 @@
+package org.chen.sid.transactionmanagement.adapter.in;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.chen.sid.transactionmanagement.application.usecase.command.TransactionBulkUseCase;
+import org.chen.sid.transactionmanagement.application.usecase.command.dto.BulkJobDTO;
+import org.chen.sid.transactionmanagement.application.usecase.command.dto.BulkJobRequestDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+
+@Tag(name = "Transaction Bulk Jobs", description = "Background delete and update of every transaction matching a filter")
+@RestController
+@RequestMapping("/api/v1/transactions/bulk-jobs")
+public class TransactionBulkJobController {
+
+    private final TransactionBulkUseCase transactionBulkUseCase;
+
+    @Autowired
+    public TransactionBulkJobController(TransactionBulkUseCase transactionBulkUseCase) {
+        this.transactionBulkUseCase = transactionBulkUseCase;
+    }
+
+    @Operation(summary = "Submit bulk job", description = "Queue a delete or update of the transactions matching a filter")
+    @ApiResponses(value = {@ApiResponse(responseCode = "202", description = "Job queued; poll the Location for progress"),
+                           @ApiResponse(responseCode = "400", description = "Invalid filter or changes"),
+                           @ApiResponse(responseCode = "429", description = "Too many jobs queued or running")})
+    @PostMapping
+    public ResponseEntity<BulkJobDTO> submitJob(@Valid @RequestBody BulkJobRequestDTO request) {
+        BulkJobDTO job = transactionBulkUseCase.submit(request);
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest().path("/{jobId}").buildAndExpand(job.getId()).toUri())
+                .body(job);
+    }
+
+    @Operation(summary = "List bulk jobs", description = "Get the active and recently finished jobs of this node")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Jobs retrieved successfully")})
+    @GetMapping
+    public List<BulkJobDTO> getJobs() {
+        return transactionBulkUseCase.getJobs();
+    }
+
+    @Operation(summary = "Get bulk job", description = "Get the state and progress of a job")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Job found"),
+                           @ApiResponse(responseCode = "404", description = "Job not found")})
+    @GetMapping("/{jobId}")
+    public BulkJobDTO getJob(@Parameter(description = "Job ID") @PathVariable String jobId) {
+        return transactionBulkUseCase.getJob(jobId);
+    }
+
+    @Operation(summary = "Cancel bulk job", description = "Cancel a job; a running job stops after its current chunk")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Cancellation requested"),
+                           @ApiResponse(responseCode = "404", description = "Job not found")})
+    @DeleteMapping("/{jobId}")
+    public BulkJobDTO cancelJob(@Parameter(description = "Job ID") @PathVariable String jobId) {
+        return transactionBulkUseCase.cancelJob(jobId);
+    }
+}
@@ -0,0 +1,69 @@
+package org.chen.sid.transactionmanagement.adapter.in;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.TransactionChangeDTO;
+import org.chen.sid.transactionmanagement.application.usecase.query.feed.ChangeSink;
+import org.chen.sid.transactionmanagement.application.usecase.query.feed.TransactionChangeFeed;
+import org.chen.sid.transactionmanagement.config.properties.ChangeFeedProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+@Tag(name = "Transaction Change Feed", description = "Server-Sent Events stream of transaction mutations")
+@RestController
+@RequestMapping("/api/v1/transactions/changes")
+public class TransactionChangeFeedController {
+
+    private final TransactionChangeFeed transactionChangeFeed;
+
+    private final ChangeFeedProperties changeFeedProperties;
+
+    @Autowired
+    public TransactionChangeFeedController(TransactionChangeFeed transactionChangeFeed, ChangeFeedProperties changeFeedProperties) {
+        this.transactionChangeFeed = transactionChangeFeed;
+        this.changeFeedProperties = changeFeedProperties;
+    }
+
+    @Operation(summary = "Subscribe to changes", description = "Stream create, update and delete notifications, optionally resuming after a sequence")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Event stream opened"),
+                           @ApiResponse(responseCode = "410", description = "Resume point no longer retained"),
+                           @ApiResponse(responseCode = "429", description = "Subscriber limit reached")})
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@Parameter(description = "Deliver changes after this sequence") @RequestParam(required = false) Long fromSequence,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(changeFeedProperties.getEmitterTimeout().toMillis());
+        TransactionChangeFeed.Subscription subscription = transactionChangeFeed.subscribe(lastEventId != null ? lastEventId : fromSequence,
+                new SseChangeSink(emitter));
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(error -> subscription.cancel());
+        return emitter;
+    }
+
+    private record SseChangeSink(SseEmitter emitter) implements ChangeSink {
+
+        @Override
+        public void send(TransactionChangeDTO change) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(change.getSequence()))
+                    .name(change.getChange().toLowerCase())
+                    .data(change, MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void close() {
+            emitter.complete();
+        }
+    }
+}
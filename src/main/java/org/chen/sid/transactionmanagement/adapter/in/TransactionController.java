@@ -8,14 +8,26 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.chen.sid.transactionmanagement.application.usecase.command.TransactionCommandUseCase;
 import org.chen.sid.transactionmanagement.application.usecase.command.dto.UpsertTransactionRequestDTO;
+import org.chen.sid.transactionmanagement.application.usecase.query.TransactionHistoryUseCase;
 import org.chen.sid.transactionmanagement.application.usecase.query.TransactionQueryUseCase;
+import org.chen.sid.transactionmanagement.application.usecase.query.TransactionSearchUseCase;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.CategorySummary;
 import org.chen.sid.transactionmanagement.application.usecase.query.dto.Page;
 import org.chen.sid.transactionmanagement.application.usecase.query.dto.TransactionDTO;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.TransactionFilterDTO;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.TransactionHistoryEntryDTO;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.TransactionStatsDTO;
+import org.chen.sid.transactionmanagement.application.usecase.query.search.SearchMatch;
 import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Tag(name = "Transaction Management", description = "Transaction CRUD operations using CQRS pattern")
 @RestController
 @RequestMapping("/api/v1/transactions")
@@ -25,19 +37,30 @@ public class TransactionController {
 
     private final TransactionQueryUseCase transactionQueryUseCase;
 
+    private final TransactionHistoryUseCase transactionHistoryUseCase;
+
+    private final TransactionSearchUseCase transactionSearchUseCase;
+
     @Autowired
-    public TransactionController(TransactionCommandUseCase transactionCommandUseCase, TransactionQueryUseCase transactionQueryUseCase) {
+    public TransactionController(TransactionCommandUseCase transactionCommandUseCase, TransactionQueryUseCase transactionQueryUseCase,
+            TransactionHistoryUseCase transactionHistoryUseCase, TransactionSearchUseCase transactionSearchUseCase) {
         this.transactionCommandUseCase = transactionCommandUseCase;
         this.transactionQueryUseCase = transactionQueryUseCase;
+        this.transactionHistoryUseCase = transactionHistoryUseCase;
+        this.transactionSearchUseCase = transactionSearchUseCase;
     }
 
     @Operation(summary = "Create transaction", description = "Create a new transaction using Command pattern")
     @ApiResponses(value = {@ApiResponse(responseCode = "201", description = "Transaction created successfully"),
-                           @ApiResponse(responseCode = "400", description = "Invalid request data")})
+                           @ApiResponse(responseCode = "400", description = "Invalid request data"),
+                           @ApiResponse(responseCode = "409", description = "A request with the same idempotency key is in progress"),
+                           @ApiResponse(responseCode = "422", description = "Idempotency key reused with a different request")})
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public Transaction createTransaction(@Valid @RequestBody UpsertTransactionRequestDTO request) {
-        return transactionCommandUseCase.createTransaction(request);
+    public Transaction createTransaction(@Valid @RequestBody UpsertTransactionRequestDTO request,
+            @Parameter(description = "Client-chosen key; retries with the same key return the original transaction")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return transactionCommandUseCase.createTransaction(request, idempotencyKey);
     }
 
     @Operation(summary = "Update transaction", description = "Update an existing transaction using Command pattern")
@@ -55,10 +78,24 @@ public class TransactionController {
                            @ApiResponse(responseCode = "400", description = "Invalid transaction ID"),
                            @ApiResponse(responseCode = "404", description = "Transaction not found")})
     @GetMapping("/{id}")
-    public TransactionDTO getTransactionById(@Parameter(description = "Transaction ID") @PathVariable String id) {
+    public TransactionDTO getTransactionById(@Parameter(description = "Transaction ID") @PathVariable String id,
+            @Parameter(description = "Return the transaction as it was at this time (requires event sourcing)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        if (asOf != null) {
+            return transactionHistoryUseCase.getTransactionAsOf(id, asOf);
+        }
         return transactionQueryUseCase.getTransactionById(id);
     }
 
+    @Operation(summary = "Get transaction history", description = "Get every recorded change of a transaction (requires event sourcing)")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "History found"),
+                           @ApiResponse(responseCode = "404", description = "No history recorded for the transaction"),
+                           @ApiResponse(responseCode = "501", description = "Event sourcing is not enabled")})
+    @GetMapping("/{id}/history")
+    public List<TransactionHistoryEntryDTO> getTransactionHistory(@Parameter(description = "Transaction ID") @PathVariable String id) {
+        return transactionHistoryUseCase.getTransactionHistory(id);
+    }
+
     @Operation(summary = "List transactions", description = "Get all transactions using Query pattern")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Transactions retrieved successfully")})
     @GetMapping
@@ -68,6 +105,44 @@ public class TransactionController {
         return transactionQueryUseCase.getPageTransactions(page, size);
     }
 
+    @Operation(summary = "Summarize transactions", description = "Get transaction count and total amount per category using Query pattern")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Summaries retrieved successfully")})
+    @GetMapping("/summary")
+    public List<CategorySummary> getCategorySummaries() {
+        return transactionQueryUseCase.getCategorySummaries();
+    }
+
+    @Operation(summary = "Filter transactions", description = "Get the transactions matching ad-hoc criteria by a parallel scan of the store")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Transactions retrieved successfully"),
+                           @ApiResponse(responseCode = "400", description = "Invalid criteria or page beyond the scan window"),
+                           @ApiResponse(responseCode = "503", description = "Scan exceeded its time budget")})
+    @GetMapping("/filter")
+    public Page<TransactionDTO> filterTransactions(@ParameterObject TransactionFilterDTO filter,
+            @RequestParam(required = false, defaultValue = "1") Long page, @RequestParam(required = false, defaultValue = "10") Long size) {
+        return transactionQueryUseCase.filterTransactions(filter, page, size);
+    }
+
+    @Operation(summary = "Transaction statistics", description = "Get count, sum, minimum, maximum and average amount of the transactions matching ad-hoc criteria")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Statistics computed successfully"),
+                           @ApiResponse(responseCode = "400", description = "Invalid criteria"),
+                           @ApiResponse(responseCode = "503", description = "Scan exceeded its time budget")})
+    @GetMapping("/stats")
+    public TransactionStatsDTO getTransactionStats(@ParameterObject TransactionFilterDTO filter) {
+        return transactionQueryUseCase.getTransactionStats(filter);
+    }
+
+    @Operation(summary = "Search transactions by name", description = "Get the transactions whose name starts with or contains the query, ignoring case")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Transactions retrieved successfully"),
+                           @ApiResponse(responseCode = "400", description = "Query too short or limit out of range"),
+                           @ApiResponse(responseCode = "501", description = "Name search is not enabled")})
+    @GetMapping("/search")
+    public List<TransactionDTO> searchTransactions(@Parameter(description = "Part of the name", example = "coffee") @RequestParam String q,
+            @Parameter(description = "PREFIX, or SUBSTRING with at least 3 characters")
+            @RequestParam(required = false, defaultValue = "SUBSTRING") SearchMatch match,
+            @Parameter(description = "Maximum number of results") @RequestParam(required = false) Integer limit) {
+        return transactionSearchUseCase.searchByName(q, match, limit);
+    }
+
     @Operation(summary = "Delete transaction", description = "Delete transaction by ID using Command pattern")
     @ApiResponses(value = {@ApiResponse(responseCode = "204", description = "Transaction deleted successfully"),
                            @ApiResponse(responseCode = "400", description = "Invalid transaction ID"),
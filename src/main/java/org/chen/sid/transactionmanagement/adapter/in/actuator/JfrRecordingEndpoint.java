@@ -0,0 +1,128 @@
+package org.chen.sid.transactionmanagement.adapter.in.actuator;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.chen.sid.transactionmanagement.common.jfr.CacheLoadEvent;
+import org.chen.sid.transactionmanagement.common.jfr.PageScanEvent;
+import org.chen.sid.transactionmanagement.common.jfr.RepositoryOperationEvent;
+import org.chen.sid.transactionmanagement.config.properties.JfrProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * {@code POST /actuator/jfr} starts a time-boxed flight recording that the JVM dumps to
+ * {@code transaction.jfr.directory} when it ends; {@code GET /actuator/jfr} reports the latest one.
+ * <p>
+ * The domain events are enabled explicitly, so they are captured whichever built-in settings are used. Only the last
+ * {@code transaction.jfr.max-files} recordings are kept in the directory.
+ */
+@Component
+@Endpoint(id = "jfr")
+public class JfrRecordingEndpoint {
+
+    private static final String FILE_PREFIX = "transaction-";
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final JfrProperties properties;
+
+    private Recording latest;
+
+    @Autowired
+    public JfrRecordingEndpoint(JfrProperties properties) {
+        if (properties.getMaxFiles() <= 0) {
+            throw new IllegalArgumentException("Max JFR files must be greater than 0");
+        }
+        this.properties = properties;
+    }
+
+    @ReadOperation
+    public synchronized RecordingDescriptor latestRecording() {
+        return latest == null ? null : RecordingDescriptor.of(latest);
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<RecordingDescriptor> startRecording(@Nullable Duration duration) {
+        if (latest != null && latest.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(RecordingDescriptor.of(latest), HttpStatus.CONFLICT.value());
+        }
+        Duration length = duration == null ? properties.getDefaultDuration() : duration;
+        if (length.isNegative() || length.isZero() || length.compareTo(properties.getMaxDuration()) > 0) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        Recording recording = new Recording(configuration());
+        recording.enable(RepositoryOperationEvent.class);
+        recording.enable(PageScanEvent.class);
+        recording.enable(CacheLoadEvent.class);
+        String name = FILE_PREFIX + LocalDateTime.now().format(FILE_TIMESTAMP);
+        recording.setName(name);
+        recording.setToDisk(true);
+        recording.setDuration(length);
+        try {
+            Files.createDirectories(properties.getDirectory());
+            deleteOldRecordings(properties.getMaxFiles() - 1);
+            recording.setDestination(properties.getDirectory().resolve(name + ".jfr"));
+        } catch (IOException e) {
+            recording.close();
+            throw new UncheckedIOException("Cannot prepare JFR destination " + properties.getDirectory(), e);
+        }
+        recording.start();
+        if (latest != null) {
+            latest.close();
+        }
+        latest = recording;
+        return new WebEndpointResponse<>(RecordingDescriptor.of(recording), WebEndpointResponse.STATUS_OK);
+    }
+
+    /**
+     * Deletes all but the newest {@code keep} recordings; the timestamp in their names orders them.
+     */
+    private void deleteOldRecordings(int keep) throws IOException {
+        List<Path> recordings;
+        try (Stream<Path> files = Files.list(properties.getDirectory())) {
+            recordings = files.filter(file -> {
+                String fileName = file.getFileName().toString();
+                return fileName.startsWith(FILE_PREFIX) && fileName.endsWith(".jfr");
+            }).sorted(Comparator.reverseOrder()).toList();
+        }
+        for (Path old : recordings.subList(Math.min(keep, recordings.size()), recordings.size())) {
+            Files.deleteIfExists(old);
+        }
+    }
+
+    private Configuration configuration() {
+        try {
+            return Configuration.getConfiguration(properties.getSettings());
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Unknown JFR settings " + properties.getSettings(), e);
+        }
+    }
+
+    public record RecordingDescriptor(long id, String name, String state, Duration duration, String file) {
+
+        static RecordingDescriptor of(Recording recording) {
+            Path destination = recording.getDestination();
+            return new RecordingDescriptor(recording.getId(), recording.getName(), recording.getState().name(), recording.getDuration(),
+                    destination == null ? null : destination.toString());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.chen.sid.transactionmanagement.adapter.in.actuator;
+
+import org.chen.sid.transactionmanagement.adapter.out.replication.ReplicationNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code GET /actuator/replication} reports this node's role and LSNs; {@code POST /actuator/replication} promotes a
+ * replica to primary after the primary died.
+ * <p>
+ * The endpoint is read-only by default. Promotion must only be reachable by operators, so enable it with
+ * {@code management.endpoint.replication.access=unrestricted} on a management port the public Service does not expose.
+ */
+@Component
+@Profile("replication")
+@Endpoint(id = "replication")
+public class ReplicationEndpoint {
+
+    private final ReplicationNode node;
+
+    @Autowired
+    public ReplicationEndpoint(ReplicationNode node) {
+        this.node = node;
+    }
+
+    @ReadOperation
+    public ReplicationNode.Status status() {
+        return node.status();
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<ReplicationNode.Status> promote() {
+        boolean promoted = node.promote();
+        return new WebEndpointResponse<>(node.status(), promoted ? HttpStatus.OK.value() : HttpStatus.CONFLICT.value());
+    }
+}
@@ -1,23 +1,64 @@
 package org.chen.sid.transactionmanagement.adapter.in.exception;
 
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.chen.sid.transactionmanagement.common.exception.DataNotFoundException;
+import org.chen.sid.transactionmanagement.common.exception.RequestArgumentIllegalException;
 import org.chen.sid.transactionmanagement.common.exception.basic.BusinessException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.nio.charset.StandardCharsets;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final String BUSINESS_TITLE = "Business exception";
+
+    /**
+     * Constant exceptions thrown for the most frequent client errors; their problem bodies are serialized once.
+     */
+    private static final List<BusinessException> PREBUILT = List.of(DataNotFoundException.TRANSACTION_NOT_FOUND,
+            RequestArgumentIllegalException.EMPTY_ID, RequestArgumentIllegalException.PAGE_NOT_POSITIVE,
+            RequestArgumentIllegalException.SIZE_NOT_POSITIVE, RequestArgumentIllegalException.SIZE_TOO_LARGE);
+
+    private static final byte[] INSTANCE_END = "\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final Map<BusinessException, byte[]> prebuiltBodies = new IdentityHashMap<>();
+
+    private final Map<Class<?>, Counter> errorCounters = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (BusinessException exception : PREBUILT) {
+            prebuiltBodies.put(exception, bodyPrefix(exception));
+            counterFor(exception.getClass(), exception.getHttpStatus());
+        }
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ProblemDetail handleIllegalArgumentException(IllegalArgumentException ex) {
+        counterFor(ex.getClass(), HttpStatus.BAD_REQUEST).increment();
         ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
         problemDetail.setTitle("Bad Request");
         return problemDetail;
@@ -26,6 +67,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ProblemDetail handleValidationException(MethodArgumentNotValidException ex) {
+        counterFor(ex.getClass(), HttpStatus.BAD_REQUEST).increment();
         String message = ex.getBindingResult()
                 .getFieldErrors()
                 .stream()
@@ -37,18 +79,55 @@ public class GlobalExceptionHandler {
     }
 
     @ExceptionHandler(BusinessException.class)
-    public ProblemDetail handleNotFoundException(BusinessException ex) {
+    public ResponseEntity<?> handleNotFoundException(BusinessException ex, HttpServletRequest request) {
+        counterFor(ex.getClass(), ex.getHttpStatus()).increment();
+        byte[] prefix = prebuiltBodies.get(ex);
+        if (prefix != null) {
+            return ResponseEntity.status(ex.getHttpStatus())
+                    .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                    .body(withInstance(prefix, request.getRequestURI()));
+        }
         ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(ex.getHttpStatus(), ex.getMessage());
-        problemDetail.setTitle("Business exception");
-        return problemDetail;
+        problemDetail.setTitle(BUSINESS_TITLE);
+        return ResponseEntity.status(ex.getHttpStatus()).body(problemDetail);
     }
 
     @ExceptionHandler(RuntimeException.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ProblemDetail handleRuntimeException(RuntimeException ex) {
+        counterFor(ex.getClass(), HttpStatus.INTERNAL_SERVER_ERROR).increment();
         ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error");
         problemDetail.setTitle("Internal Server Error");
         log.error(ex.getMessage(), ex);
         return problemDetail;
     }
+
+    private Counter counterFor(Class<?> type, HttpStatus status) {
+        Counter counter = errorCounters.get(type);
+        if (counter == null) {
+            counter = errorCounters.computeIfAbsent(type, key -> Counter.builder("transaction.errors")
+                    .tag("exception", key.getSimpleName())
+                    .tag("status", String.valueOf(status.value()))
+                    .register(meterRegistry));
+        }
+        return counter;
+    }
+
+    /**
+     * Everything of the problem body except the request path, which ends it.
+     */
+    private static byte[] bodyPrefix(BusinessException exception) {
+        return ("{\"type\":\"about:blank\",\"title\":\"" + BUSINESS_TITLE + "\",\"status\":" + exception.getHttpStatus().value()
+                + ",\"detail\":\"" + new String(JsonStringEncoder.getInstance().quoteAsString(exception.getMessage()))
+                + "\",\"instance\":\"").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] withInstance(byte[] prefix, String path) {
+        byte[] quotedPath = JsonStringEncoder.getInstance().quoteAsUTF8(path);
+        byte[] body = new byte[prefix.length + quotedPath.length + INSTANCE_END.length];
+        System.arraycopy(prefix, 0, body, 0, prefix.length);
+        System.arraycopy(quotedPath, 0, body, prefix.length, quotedPath.length);
+        System.arraycopy(INSTANCE_END, 0, body, prefix.length + quotedPath.length, INSTANCE_END.length);
+        return body;
+    }
 }
@@ -0,0 +1,100 @@
+package org.chen.sid.transactionmanagement.adapter.in.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.chen.sid.transactionmanagement.common.concurrent.GradientConcurrencyLimit;
+import org.chen.sid.transactionmanagement.config.properties.AdmissionControlProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Sheds load before it queues: requests to the transaction API beyond the current concurrency limit are rejected
+ * immediately with {@code 503} and {@code Retry-After} instead of waiting in Tomcat's queue or on the repository lock.
+ * <p>
+ * Commands and queries have separate {@link GradientConcurrencyLimit}s, so a write backlog cannot starve reads. The
+ * change feed is excluded because its requests are long-lived by design.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final String API_PATH = "/api/v1/transactions";
+
+    private static final String CHANGE_FEED_PATH = API_PATH + "/changes";
+
+    private static final byte[] REJECTED_BODY = """
+            {"type":"about:blank","title":"Service Unavailable","status":503,"detail":"Server is at capacity, retry later"}"""
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final GradientConcurrencyLimit commandLimit;
+
+    private final GradientConcurrencyLimit queryLimit;
+
+    private final String retryAfterSeconds;
+
+    private final Counter commandRejections;
+
+    private final Counter queryRejections;
+
+    public AdmissionControlFilter(AdmissionControlProperties properties, MeterRegistry meterRegistry) {
+        this.commandLimit = limitOf(properties.getCommand());
+        this.queryLimit = limitOf(properties.getQuery());
+        this.retryAfterSeconds = String.valueOf(Math.max(1, properties.getRetryAfter().toSeconds()));
+        this.commandRejections = registerMeters(meterRegistry, "command", commandLimit);
+        this.queryRejections = registerMeters(meterRegistry, "query", queryLimit);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith(API_PATH) || path.startsWith(CHANGE_FEED_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean query = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+        GradientConcurrencyLimit limit = query ? queryLimit : commandLimit;
+        if (!limit.tryAcquire()) {
+            (query ? queryRejections : commandRejections).increment();
+            reject(response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            filterChain.doFilter(request, response);
+            succeeded = response.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            limit.release(System.nanoTime() - start, succeeded);
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        response.setContentLength(REJECTED_BODY.length);
+        response.getOutputStream().write(REJECTED_BODY);
+    }
+
+    private static GradientConcurrencyLimit limitOf(AdmissionControlProperties.Limit limit) {
+        return new GradientConcurrencyLimit(limit.getInitial(), limit.getMin(), limit.getMax(), limit.getSmoothing(), limit.getTolerance(),
+                limit.getLongWindow());
+    }
+
+    private static Counter registerMeters(MeterRegistry meterRegistry, String kind, GradientConcurrencyLimit limit) {
+        Gauge.builder("transaction.admission.limit", limit, GradientConcurrencyLimit::getLimit).tag("kind", kind).register(meterRegistry);
+        Gauge.builder("transaction.admission.in.flight", limit, GradientConcurrencyLimit::getInFlight).tag("kind", kind).register(meterRegistry);
+        return Counter.builder("transaction.admission.rejected").tag("kind", kind).register(meterRegistry);
+    }
+}
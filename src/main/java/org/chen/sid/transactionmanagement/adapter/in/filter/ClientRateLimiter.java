@@ -0,0 +1,80 @@
+package org.chen.sid.transactionmanagement.adapter.in.filter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.chen.sid.transactionmanagement.common.concurrent.TokenBucket;
+import org.chen.sid.transactionmanagement.config.properties.RateLimitProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One {@link TokenBucket} per client, created on first use and dropped once it has been full for
+ * {@code transaction.rate-limit.idle-timeout}.
+ * <p>
+ * The hot path is a map lookup and a CAS. The map is bounded by {@code max-clients}: when it is full, unknown addresses
+ * are spread by hash over {@value #OVERFLOW_STRIPES} overflow buckets until the next eviction frees room, so a flood of
+ * new addresses cannot grow it, and a single noisy newcomer exhausts only its own stripe rather than locking out every
+ * other new client. Configured API keys always get their own bucket; there are only as many as are configured.
+ */
+@Slf4j
+public class ClientRateLimiter {
+
+    private final RateLimitProperties properties;
+
+    private final ConcurrentHashMap<String, TokenBucket> buckets;
+
+    private static final int OVERFLOW_STRIPES = 64;
+
+    private final TokenBucket[] overflow;
+
+    private final long idleNanos;
+
+    public ClientRateLimiter(RateLimitProperties properties) {
+        this.properties = properties;
+        this.buckets = new ConcurrentHashMap<>(Math.min(properties.getMaxClients(), 1024));
+        this.overflow = new TokenBucket[OVERFLOW_STRIPES];
+        long now = System.nanoTime();
+        for (int i = 0; i < overflow.length; i++) {
+            overflow[i] = newBucket(properties.getIp(), now);
+        }
+        this.idleNanos = properties.getIdleTimeout().toNanos();
+    }
+
+    /**
+     * @param client   client identity, unique across API keys and addresses
+     * @param apiKey   whether {@code client} is a configured API key rather than an address
+     * @return {@code 0} if admitted, otherwise the nanoseconds until enough tokens are available
+     */
+    public long tryConsume(String client, boolean apiKey, int tokens) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(client);
+        if (bucket == null) {
+            bucket = register(client, apiKey, now);
+        }
+        return bucket.tryConsume(tokens, now);
+    }
+
+    public int trackedClients() {
+        return buckets.size();
+    }
+
+    @Scheduled(fixedDelayString = "${transaction.rate-limit.eviction-interval:PT1M}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+        log.debug("Evicted {} idle rate limit buckets", before - buckets.size());
+    }
+
+    private TokenBucket register(String client, boolean apiKey, long now) {
+        if (!apiKey && buckets.size() >= properties.getMaxClients()) {
+            int hash = client.hashCode();
+            return overflow[(hash ^ hash >>> 16) & (OVERFLOW_STRIPES - 1)];
+        }
+        return buckets.computeIfAbsent(client, key -> newBucket(apiKey ? properties.getApiKey() : properties.getIp(), now));
+    }
+
+    private static TokenBucket newBucket(RateLimitProperties.Bucket bucket, long now) {
+        return new TokenBucket(bucket.getTokensPerSecond(), bucket.getCapacity(), now);
+    }
+}
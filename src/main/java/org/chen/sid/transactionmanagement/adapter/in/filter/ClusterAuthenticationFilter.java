@@ -0,0 +1,64 @@
+package org.chen.sid.transactionmanagement.adapter.in.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.chen.sid.transactionmanagement.adapter.out.cluster.ClusterNodeClient;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Admits node-to-node traffic only with the cluster's shared secret in {@link #TOKEN_HEADER}.
+ * <p>
+ * Requests to the internal storage endpoints and requests claiming to be forwarded by a peer
+ * ({@link ClusterForwardingFilter#FORWARDED_HEADER}) are answered with {@code 403} unless they carry the secret, so the
+ * filters after this one may trust the forwarded header.
+ */
+@Slf4j
+public class ClusterAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String TOKEN_HEADER = "X-Cluster-Token";
+
+    private static final byte[] FORBIDDEN_BODY = """
+            {"type":"about:blank","title":"Forbidden","status":403,"detail":"Cluster-internal request without a valid cluster token"}"""
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final byte[] secret;
+
+    public ClusterAuthenticationFilter(String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalArgumentException("transaction.cluster.secret must be set for the cluster profile");
+        }
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(ClusterNodeClient.INTERNAL_PATH)
+                && request.getHeader(ClusterForwardingFilter.FORWARDED_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String token = request.getHeader(TOKEN_HEADER);
+        // Constant-time comparison, so the secret cannot be guessed byte by byte from response times.
+        if (token != null && MessageDigest.isEqual(secret, token.getBytes(StandardCharsets.UTF_8))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        log.warn("Rejected cluster-internal {} {} from {} without a valid token", request.getMethod(), request.getRequestURI(),
+                request.getRemoteAddr());
+        response.setStatus(HttpStatus.FORBIDDEN.value());
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        response.setContentLength(FORBIDDEN_BODY.length);
+        response.getOutputStream().write(FORBIDDEN_BODY);
+    }
+}
@@ -0,0 +1,146 @@
+package org.chen.sid.transactionmanagement.adapter.in.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.chen.sid.transactionmanagement.common.cluster.ClusterTopology;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends single-transaction requests ({@code GET}/{@code PUT}/{@code DELETE /{id}} and {@code GET /{id}/history}) that
+ * reach a node not owning the ID to the owning node, and relays its response.
+ * <p>
+ * Running the whole request on the owner keeps its cache, events and history consistent, since they are node-local.
+ * The forwarded request carries {@link #FORWARDED_HEADER}, so it is executed where it lands and never forwarded twice.
+ */
+@Slf4j
+public class ClusterForwardingFilter extends OncePerRequestFilter {
+
+    public static final String FORWARDED_HEADER = "X-Cluster-Forwarded";
+
+    private static final String API_PATH = "/api/v1/transactions/";
+
+    private static final String HISTORY_SUFFIX = "/history";
+
+    private static final List<String> COLLECTION_PATHS = List.of("summary", "changes", "filter", "stats", "search", "bulk-jobs");
+
+    private static final List<String> FORWARDED_REQUEST_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.ACCEPT,
+            HttpHeaders.IF_NONE_MATCH);
+
+    private static final List<String> RELAYED_RESPONSE_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.RETRY_AFTER,
+            HttpHeaders.ETAG, HttpHeaders.CACHE_CONTROL);
+
+    private static final byte[] UNAVAILABLE_BODY = """
+            {"type":"about:blank","title":"Service Unavailable","status":503,"detail":"Owning cluster node is unavailable, retry later"}"""
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final ClusterTopology topology;
+
+    private final RestClient restClient;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Counter> forwardedByNode = new ConcurrentHashMap<>();
+
+    public ClusterForwardingFilter(ClusterTopology topology, RestClient restClient, MeterRegistry meterRegistry) {
+        this.topology = topology;
+        this.restClient = restClient;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(FORWARDED_HEADER) != null || transactionIdOf(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String owner = topology.ownerOf(transactionIdOf(request));
+        if (topology.isLocal(owner)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        forwardedByNode.computeIfAbsent(owner,
+                node -> Counter.builder("transaction.cluster.forwarded").tag("node", node).register(meterRegistry)).increment();
+        forward(request, response, owner);
+    }
+
+    private void forward(HttpServletRequest request, HttpServletResponse response, String owner) throws IOException {
+        String query = request.getQueryString();
+        URI target = URI.create(topology.urlOf(owner).toString().replaceAll("/+$", "") + request.getRequestURI()
+                + (query != null ? "?" + query : ""));
+        byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+        try {
+            RestClient.RequestBodySpec forwarded = restClient.method(HttpMethod.valueOf(request.getMethod())).uri(target).headers(headers -> {
+                headers.set(FORWARDED_HEADER, topology.self());
+                for (String name : FORWARDED_REQUEST_HEADERS) {
+                    String value = request.getHeader(name);
+                    if (value != null) {
+                        headers.set(name, value);
+                    }
+                }
+            });
+            if (body.length > 0) {
+                forwarded.body(body);
+            }
+            forwarded.exchange((forwardedRequest, forwardedResponse) -> {
+                response.setStatus(forwardedResponse.getStatusCode().value());
+                for (String name : RELAYED_RESPONSE_HEADERS) {
+                    String value = forwardedResponse.getHeaders().getFirst(name);
+                    if (value != null) {
+                        response.setHeader(name, value);
+                    }
+                }
+                StreamUtils.copy(forwardedResponse.getBody(), response.getOutputStream());
+                return null;
+            });
+        } catch (RestClientException e) {
+            log.warn("Forwarding {} {} to cluster node {} failed: {}", request.getMethod(), request.getRequestURI(), owner, e.getMessage());
+            if (!response.isCommitted()) {
+                response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+                response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+                response.setContentLength(UNAVAILABLE_BODY.length);
+                response.getOutputStream().write(UNAVAILABLE_BODY);
+            }
+        }
+    }
+
+    /**
+     * @return the decoded transaction ID of a single-transaction request, otherwise {@code null}
+     */
+    private static String transactionIdOf(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (!path.startsWith(API_PATH)) {
+            return null;
+        }
+        String rest = path.substring(API_PATH.length());
+        int slash = rest.indexOf('/');
+        String id = slash < 0 ? rest : rest.substring(0, slash);
+        String suffix = slash < 0 ? "" : rest.substring(slash);
+        boolean history = HISTORY_SUFFIX.equals(suffix) && HttpMethod.GET.matches(request.getMethod());
+        if (id.isEmpty() || COLLECTION_PATHS.contains(id) || !(suffix.isEmpty() || history)) {
+            return null;
+        }
+        return UriUtils.decode(id, StandardCharsets.UTF_8);
+    }
+}
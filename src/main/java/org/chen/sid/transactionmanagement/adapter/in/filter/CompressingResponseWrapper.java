@@ -0,0 +1,403 @@
+package org.chen.sid.transactionmanagement.adapter.in.filter;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.chen.sid.transactionmanagement.common.compression.ContentCodec;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * Buffers the start of a response until it reaches the compression threshold, then switches to a compressed stream.
+ * <p>
+ * The decision is made on the first write: a response whose content type is not compressible, that is already
+ * encoded or that declared a length below the threshold is passed through untouched. A compressible response is held
+ * back until it either exceeds the threshold, when the held bytes and everything after them are compressed, or ends,
+ * when it is sent as is with its exact {@code Content-Length}. Flushes while holding back are ignored, since the
+ * message converters flush every body once they are done.
+ */
+final class CompressingResponseWrapper extends HttpServletResponseWrapper {
+
+    private enum State {BUFFERING, COMPRESSING, PASSTHROUGH}
+
+    private final ContentCodec codec;
+
+    private final int level;
+
+    private final int threshold;
+
+    private final Predicate<String> compressibleType;
+
+    private State state = State.BUFFERING;
+
+    private boolean compressible;
+
+    private byte[] buffer = new byte[0];
+
+    private int count;
+
+    private long contentLength = -1;
+
+    private long bytesIn;
+
+    private CountingSink sink;
+
+    private OutputStream compressed;
+
+    private ServletOutputStream outputStream;
+
+    private PrintWriter writer;
+
+    CompressingResponseWrapper(HttpServletResponse response, ContentCodec codec, int level, int threshold, Predicate<String> compressibleType) {
+        super(response);
+        this.codec = codec;
+        this.level = level;
+        this.threshold = threshold;
+        this.compressibleType = compressibleType;
+    }
+
+    boolean isCompressing() {
+        return state == State.COMPRESSING;
+    }
+
+    /**
+     * Uncompressed bytes written to the compressor.
+     */
+    long bytesIn() {
+        return bytesIn;
+    }
+
+    /**
+     * Compressed bytes sent to the client.
+     */
+    long bytesOut() {
+        return sink == null ? 0 : sink.bytesOut;
+    }
+
+    /**
+     * Completes a response that ended synchronously.
+     */
+    void finish() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        switch (state) {
+            case BUFFERING -> {
+                if (count > 0) {
+                    contentLength = count;
+                }
+                if (compressible) {
+                    addVary();
+                }
+                passThrough();
+            }
+            case COMPRESSING -> {
+                compressed.close();
+                compressed = null;
+            }
+            case PASSTHROUGH -> {
+            }
+        }
+    }
+
+    /**
+     * Hands the response over to an asynchronous writer, which continues uncompressed unless compression already started.
+     */
+    void detach() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (state == State.BUFFERING) {
+            passThrough();
+        } else if (state == State.COMPRESSING) {
+            compressed.flush();
+        }
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called for this response");
+        }
+        if (outputStream == null) {
+            outputStream = new WrapperOutputStream();
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called for this response");
+            }
+            writer = new PrintWriter(new OutputStreamWriter(new WrapperOutputStream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int length) {
+        setContentLengthLong(length);
+    }
+
+    @Override
+    public void setContentLengthLong(long length) {
+        switch (state) {
+            case BUFFERING -> contentLength = length;
+            case PASSTHROUGH -> super.setContentLengthLong(length);
+            case COMPRESSING -> {
+            }
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value == null ? -1 : Long.parseLong(value));
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value == null ? -1 : Long.parseLong(value));
+        } else {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value);
+        } else {
+            super.setIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value);
+        } else {
+            super.addIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (state == State.BUFFERING) {
+            return;
+        }
+        if (state == State.COMPRESSING) {
+            compressed.flush();
+        }
+        super.flushBuffer();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        discard();
+        state = State.BUFFERING;
+        contentLength = -1;
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        if (state == State.COMPRESSING) {
+            discard();
+            state = State.BUFFERING;
+        }
+        count = 0;
+    }
+
+    @Override
+    public void sendError(int status) throws IOException {
+        discardBuffered();
+        super.sendError(status);
+    }
+
+    @Override
+    public void sendError(int status, String message) throws IOException {
+        discardBuffered();
+        super.sendError(status, message);
+    }
+
+    private void write(byte[] bytes, int offset, int length) throws IOException {
+        if (state == State.BUFFERING && count == 0) {
+            decide();
+        }
+        if (state == State.BUFFERING) {
+            if (count + length < threshold) {
+                if (count + length > buffer.length) {
+                    buffer = Arrays.copyOf(buffer, Math.min(threshold, Math.max(count + length, buffer.length * 2)));
+                }
+                System.arraycopy(bytes, offset, buffer, count, length);
+                count += length;
+                return;
+            }
+            startCompressing();
+        }
+        if (state == State.COMPRESSING) {
+            compressed.write(bytes, offset, length);
+            bytesIn += length;
+        } else {
+            super.getOutputStream().write(bytes, offset, length);
+        }
+    }
+
+    private void decide() throws IOException {
+        int status = getStatus();
+        compressible = status != SC_NO_CONTENT && status != SC_NOT_MODIFIED && status != SC_PARTIAL_CONTENT
+                && getHeader(HttpHeaders.CONTENT_ENCODING) == null && compressibleType.test(getContentType());
+        if (!compressible || contentLength >= 0 && contentLength < threshold) {
+            if (compressible) {
+                addVary();
+            }
+            passThrough();
+        } else if (contentLength >= threshold) {
+            startCompressing();
+        }
+    }
+
+    private void startCompressing() throws IOException {
+        state = State.COMPRESSING;
+        super.setHeader(HttpHeaders.CONTENT_ENCODING, codec.getEncoding());
+        addVary();
+        sink = new CountingSink(super.getOutputStream());
+        compressed = codec.compress(sink, level);
+        if (count > 0) {
+            compressed.write(buffer, 0, count);
+            bytesIn += count;
+        }
+        count = 0;
+        buffer = null;
+    }
+
+    private void passThrough() throws IOException {
+        state = State.PASSTHROUGH;
+        if (contentLength >= 0) {
+            super.setContentLengthLong(contentLength);
+        }
+        if (count > 0) {
+            super.getOutputStream().write(buffer, 0, count);
+        }
+        count = 0;
+        buffer = null;
+    }
+
+    private void addVary() {
+        if (getHeaders(HttpHeaders.VARY).stream().noneMatch(HttpHeaders.ACCEPT_ENCODING::equalsIgnoreCase)) {
+            super.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+    }
+
+    private void discardBuffered() {
+        if (state == State.BUFFERING) {
+            count = 0;
+            state = State.PASSTHROUGH;
+        }
+    }
+
+    /**
+     * Releases the compressor without letting it write anything more to the client.
+     */
+    private void discard() {
+        count = 0;
+        if (buffer == null) {
+            buffer = new byte[0];
+        }
+        if (compressed != null) {
+            sink.discarding = true;
+            try {
+                compressed.close();
+            } catch (IOException ignored) {
+                // Nothing reaches the client anymore.
+            }
+            compressed = null;
+        }
+    }
+
+    private final class WrapperOutputStream extends ServletOutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            CompressingResponseWrapper.this.write(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (state == State.COMPRESSING) {
+                compressed.flush();
+            } else if (state == State.PASSTHROUGH) {
+                CompressingResponseWrapper.super.getOutputStream().flush();
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new UnsupportedOperationException("Non-blocking writes are not supported on compressed responses");
+        }
+    }
+
+    /**
+     * Forwards the compressor's output to the client and counts it; closing it leaves the client stream open.
+     */
+    private static final class CountingSink extends OutputStream {
+
+        private final OutputStream target;
+
+        private long bytesOut;
+
+        private boolean discarding;
+
+        private CountingSink(OutputStream target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (!discarding) {
+                target.write(bytes, offset, length);
+                bytesOut += length;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (!discarding) {
+                target.flush();
+            }
+        }
+    }
+}
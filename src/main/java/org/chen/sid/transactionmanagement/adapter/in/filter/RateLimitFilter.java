@@ -0,0 +1,132 @@
+package org.chen.sid.transactionmanagement.adapter.in.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.chen.sid.transactionmanagement.config.properties.RateLimitProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client rate limit for the transaction API, keyed by API key when the client sends a configured one and by IP
+ * address otherwise. Each request is charged by endpoint, and page reads additionally by the number of rows requested, so one
+ * client listing large pages exhausts its own budget instead of everyone's capacity.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String API_PATH = "/api/v1/transactions";
+
+    private static final byte[] REJECTED_BODY = """
+            {"type":"about:blank","title":"Too Many Requests","status":429,"detail":"Rate limit exceeded, retry later"}"""
+            .getBytes(StandardCharsets.UTF_8);
+
+    private static final int DEFAULT_PAGE_SIZE = 10;
+
+    private final ClientRateLimiter rateLimiter;
+
+    private final String apiKeyHeader;
+
+    private final Set<String> apiKeys;
+
+    private final RateLimitProperties.Cost cost;
+
+    private final Counter apiKeyRejections;
+
+    private final Counter ipRejections;
+
+    private boolean exemptClusterForwarded;
+
+    public RateLimitFilter(ClientRateLimiter rateLimiter, RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.apiKeyHeader = properties.getApiKeyHeader();
+        this.apiKeys = Set.copyOf(properties.getApiKeys());
+        this.cost = properties.getCost();
+        this.apiKeyRejections = Counter.builder("transaction.rate.limit.rejected").tag("client", "api-key").register(meterRegistry);
+        this.ipRejections = Counter.builder("transaction.rate.limit.rejected").tag("client", "ip").register(meterRegistry);
+        Gauge.builder("transaction.rate.limit.clients", rateLimiter, ClientRateLimiter::trackedClients).register(meterRegistry);
+    }
+
+    /**
+     * Skips requests another cluster node forwarded, since that node already charged the client; only enable together
+     * with {@link ClusterAuthenticationFilter}, which rejects {@link ClusterForwardingFilter#FORWARDED_HEADER} without
+     * the cluster secret.
+     */
+    public void setExemptClusterForwarded(boolean exemptClusterForwarded) {
+        this.exemptClusterForwarded = exemptClusterForwarded;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(API_PATH)
+                || exemptClusterForwarded && request.getHeader(ClusterForwardingFilter.FORWARDED_HEADER) != null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String apiKey = request.getHeader(apiKeyHeader);
+        boolean keyed = apiKey != null && apiKeys.contains(apiKey);
+        String client = keyed ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+        long waitNanos = rateLimiter.tryConsume(client, keyed, costOf(request));
+        if (waitNanos > 0) {
+            (keyed ? apiKeyRejections : ipRejections).increment();
+            reject(response, waitNanos);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    int costOf(HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return cost.getCommand();
+        }
+        String path = request.getRequestURI();
+        int pathEnd = path.endsWith("/") ? path.length() - 1 : path.length();
+        if (pathEnd == API_PATH.length()) {
+            return cost.getPage() + pageSize(request) / cost.getPageRowsPerToken();
+        }
+        String rest = path.substring(API_PATH.length() + 1, pathEnd);
+        if (rest.equals("filter")) {
+            return cost.getScan() + pageSize(request) / cost.getPageRowsPerToken();
+        }
+        if (rest.equals("stats")) {
+            return cost.getScan();
+        }
+        if (rest.indexOf('/') >= 0 || rest.equals("summary") || rest.equals("changes")) {
+            return cost.getOther();
+        }
+        return cost.getLookup();
+    }
+
+    private static int pageSize(HttpServletRequest request) {
+        String size = request.getParameter("size");
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        try {
+            return (int) Math.min(Integer.MAX_VALUE, Math.max(0, Long.parseLong(size)));
+        } catch (NumberFormatException e) {
+            return DEFAULT_PAGE_SIZE;
+        }
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L))));
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        response.setContentLength(REJECTED_BODY.length);
+        response.getOutputStream().write(REJECTED_BODY);
+    }
+}
@@ -0,0 +1,78 @@
+package org.chen.sid.transactionmanagement.adapter.in.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.chen.sid.transactionmanagement.adapter.out.replication.ReplicationNode;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Bounds how stale the reads of a replica may be: a query is served only if the replica was in sync with the primary
+ * within {@code transaction.replication.max-staleness}, or within the client's {@link #MAX_STALENESS_HEADER} (e.g.
+ * {@code 500ms}). Otherwise it is rejected with {@code 503} so the client can retry or read from the primary. Served
+ * responses report the replica's staleness in {@link #STALENESS_HEADER}.
+ */
+public class ReplicaStalenessFilter extends OncePerRequestFilter {
+
+    public static final String MAX_STALENESS_HEADER = "X-Max-Staleness";
+
+    public static final String STALENESS_HEADER = "X-Replica-Staleness-Ms";
+
+    private static final String API_PATH = "/api/v1/transactions";
+
+    private static final byte[] STALE_BODY = """
+            {"type":"about:blank","title":"Service Unavailable","status":503,"detail":"Replica is staler than the requested bound, retry later"}"""
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final ReplicationNode node;
+
+    private final Duration maxStaleness;
+
+    public ReplicaStalenessFilter(ReplicationNode node, Duration maxStaleness) {
+        this.node = node;
+        this.maxStaleness = maxStaleness;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(API_PATH) || !HttpMethod.GET.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Duration staleness = node.staleness();
+        if (staleness == null || staleness.compareTo(boundOf(request)) > 0) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+            response.setContentLength(STALE_BODY.length);
+            response.getOutputStream().write(STALE_BODY);
+            return;
+        }
+        response.setHeader(STALENESS_HEADER, String.valueOf(staleness.toMillis()));
+        filterChain.doFilter(request, response);
+    }
+
+    private Duration boundOf(HttpServletRequest request) {
+        String requested = request.getHeader(MAX_STALENESS_HEADER);
+        if (requested == null) {
+            return maxStaleness;
+        }
+        try {
+            return DurationStyle.detectAndParse(requested.trim());
+        } catch (IllegalArgumentException e) {
+            return maxStaleness;
+        }
+    }
+}
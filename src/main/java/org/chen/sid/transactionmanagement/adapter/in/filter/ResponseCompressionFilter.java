@@ -0,0 +1,143 @@
+package org.chen.sid.transactionmanagement.adapter.in.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.chen.sid.transactionmanagement.common.compression.ContentCodec;
+import org.chen.sid.transactionmanagement.config.properties.CompressionProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compresses responses with the preferred codec the client accepts, once they reach {@code min-response-size}.
+ * <p>
+ * Unlike the servlet container's built-in gzip, the codec and its level are configurable; Zstandard compresses a page
+ * of transactions several times faster than gzip at a similar ratio. Event streams and other types outside
+ * {@code mime-types} are never buffered or compressed.
+ */
+@Slf4j
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+
+    private final List<ContentCodec> codecs;
+
+    private final Map<ContentCodec, Integer> levels = new EnumMap<>(ContentCodec.class);
+
+    private final int threshold;
+
+    private final List<MimeType> mimeTypes;
+
+    private final Map<ContentCodec, Counter> bytesIn = new EnumMap<>(ContentCodec.class);
+
+    private final Map<ContentCodec, Counter> bytesOut = new EnumMap<>(ContentCodec.class);
+
+    public ResponseCompressionFilter(CompressionProperties properties, MeterRegistry meterRegistry) {
+        this.codecs = properties.getCodecs().stream().distinct().filter(codec -> {
+            if (!codec.isAvailable()) {
+                log.warn("Response compression with {} is not available on this platform, skipping it", codec.getEncoding());
+                return false;
+            }
+            return true;
+        }).toList();
+        this.threshold = Math.toIntExact(Math.max(1, properties.getMinResponseSize().toBytes()));
+        this.mimeTypes = properties.getMimeTypes().stream().map(MimeTypeUtils::parseMimeType).toList();
+        for (ContentCodec codec : codecs) {
+            levels.put(codec, properties.levelOf(codec));
+            bytesIn.put(codec, Counter.builder("transaction.compression.bytes").tag("codec", codec.getEncoding()).tag("side", "uncompressed")
+                    .baseUnit("bytes").register(meterRegistry));
+            bytesOut.put(codec, Counter.builder("transaction.compression.bytes").tag("codec", codec.getEncoding()).tag("side", "compressed")
+                    .baseUnit("bytes").register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCodec codec = negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (codec == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        CompressingResponseWrapper wrapper = new CompressingResponseWrapper(response, codec, levels.get(codec), threshold, this::isCompressible);
+        filterChain.doFilter(request, wrapper);
+        if (request.isAsyncStarted()) {
+            wrapper.detach();
+            return;
+        }
+        wrapper.finish();
+        if (wrapper.isCompressing()) {
+            bytesIn.get(codec).increment(wrapper.bytesIn());
+            bytesOut.get(codec).increment(wrapper.bytesOut());
+        }
+    }
+
+    /**
+     * @return the most preferred codec the {@code Accept-Encoding} header allows with a non-zero quality, or {@code null}
+     */
+    ContentCodec negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return null;
+        }
+        boolean wildcard = false;
+        Map<ContentCodec, Boolean> explicit = new EnumMap<>(ContentCodec.class);
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            boolean acceptable = isAcceptable(parts);
+            if ("*".equals(coding)) {
+                wildcard = acceptable;
+                continue;
+            }
+            for (ContentCodec codec : codecs) {
+                if (codec.getEncoding().equals(coding)) {
+                    explicit.put(codec, acceptable);
+                }
+            }
+        }
+        for (ContentCodec codec : codecs) {
+            Boolean acceptable = explicit.get(codec);
+            if (acceptable != null ? acceptable : wildcard) {
+                return codec;
+            }
+        }
+        return null;
+    }
+
+    private boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            MimeType type = MimeTypeUtils.parseMimeType(contentType);
+            return mimeTypes.stream().anyMatch(candidate -> candidate.includes(type));
+        } catch (InvalidMimeTypeException e) {
+            return false;
+        }
+    }
+
+    private static boolean isAcceptable(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) > 0;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
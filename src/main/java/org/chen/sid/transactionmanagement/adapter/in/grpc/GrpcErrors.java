@@ -0,0 +1,54 @@
+package org.chen.sid.transactionmanagement.adapter.in.grpc;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import jakarta.validation.ConstraintViolation;
+import lombok.extern.slf4j.Slf4j;
+import org.chen.sid.transactionmanagement.common.exception.basic.BusinessException;
+
+import java.util.Comparator;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Maps the exceptions of the use cases to gRPC statuses, mirroring the HTTP statuses of the REST API.
+ */
+@Slf4j
+final class GrpcErrors {
+
+    private GrpcErrors() {
+    }
+
+    static Status toStatus(Throwable throwable) {
+        return switch (throwable) {
+            case StatusRuntimeException status -> status.getStatus();
+            case BusinessException business -> codeOf(business).withDescription(business.getMessage());
+            case IllegalArgumentException illegal -> Status.INVALID_ARGUMENT.withDescription(illegal.getMessage());
+            default -> {
+                log.error("Unexpected error in gRPC call", throwable);
+                yield Status.INTERNAL.withDescription("Internal server error");
+            }
+        };
+    }
+
+    static StatusRuntimeException invalidArgument(Set<? extends ConstraintViolation<?>> violations) {
+        String message = violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.joining(", "));
+        return Status.INVALID_ARGUMENT.withDescription("Validation failed: " + message).asRuntimeException();
+    }
+
+    private static Status codeOf(BusinessException exception) {
+        return switch (exception.getHttpStatus()) {
+            case BAD_REQUEST -> Status.INVALID_ARGUMENT;
+            case NOT_FOUND -> Status.NOT_FOUND;
+            case CONFLICT -> Status.ABORTED;
+            case GONE, UNPROCESSABLE_ENTITY -> Status.FAILED_PRECONDITION;
+            case TOO_MANY_REQUESTS -> Status.RESOURCE_EXHAUSTED;
+            case NOT_IMPLEMENTED -> Status.UNIMPLEMENTED;
+            case SERVICE_UNAVAILABLE -> Status.UNAVAILABLE;
+            default -> exception.getHttpStatus().is4xxClientError() ? Status.FAILED_PRECONDITION : Status.INTERNAL;
+        };
+    }
+}
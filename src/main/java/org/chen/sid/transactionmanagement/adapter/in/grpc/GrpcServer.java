@@ -0,0 +1,90 @@
+package org.chen.sid.transactionmanagement.adapter.in.grpc;
+
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.chen.sid.transactionmanagement.config.properties.GrpcProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP/2 server for the gRPC services, listening on its own port next to the servlet container.
+ * <p>
+ * Calls run on virtual threads, since the use cases block on the repository, idempotency keys and write-behind
+ * flushes. The servlet filters (rate limiting, admission control, cluster forwarding) do not apply to it; the port is
+ * meant for trusted internal producers.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "transaction.grpc", name = "enabled", havingValue = "true")
+public class GrpcServer implements SmartLifecycle {
+
+    private final GrpcProperties properties;
+
+    private final List<BindableService> services;
+
+    private volatile Server server;
+
+    private ExecutorService executor;
+
+    @Autowired
+    public GrpcServer(GrpcProperties properties, List<BindableService> services) {
+        this.properties = properties;
+        this.services = services;
+    }
+
+    @Override
+    public void start() {
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("transaction-grpc-", 0).factory());
+        NettyServerBuilder builder = NettyServerBuilder.forAddress(new InetSocketAddress(properties.getBindAddress(), properties.getPort()))
+                .executor(executor)
+                .maxInboundMessageSize((int) properties.getMaxInboundMessageSize().toBytes());
+        services.forEach(builder::addService);
+        try {
+            server = builder.build().start();
+        } catch (IOException e) {
+            executor.shutdownNow();
+            throw new UncheckedIOException("Cannot listen for gRPC calls on port " + properties.getPort(), e);
+        }
+        log.info("gRPC server listening on {}:{}", properties.getBindAddress(), server.getPort());
+    }
+
+    @Override
+    public void stop() {
+        Server current = server;
+        if (current == null) {
+            return;
+        }
+        current.shutdown();
+        try {
+            if (!current.awaitTermination(properties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                current.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            current.shutdownNow();
+        }
+        executor.shutdownNow();
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    public int localPort() {
+        return server.getPort();
+    }
+}
@@ -0,0 +1,231 @@
+package org.chen.sid.transactionmanagement.adapter.in.grpc;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.chen.sid.transactionmanagement.adapter.in.grpc.proto.CreateTransactionRequest;
+import org.chen.sid.transactionmanagement.adapter.in.grpc.proto.DeleteTransactionRequest;
+import org.chen.sid.transactionmanagement.adapter.in.grpc.proto.DeleteTransactionResponse;
+import org.chen.sid.transactionmanagement.adapter.in.grpc.proto.GetTransactionRequest;
+import org.chen.sid.transactionmanagement.adapter.in.grpc.proto.IngestAck;
+import org.chen.sid.transactionmanagement.adapter.in.grpc.proto.IngestBatch;
+import org.chen.sid.transactionmanagement.adapter.in.grpc.proto.IngestError;
+import org.chen.sid.transactionmanagement.adapter.in.grpc.proto.ListTransactionsRequest;
+import org.chen.sid.transactionmanagement.adapter.in.grpc.proto.Transaction;
+import org.chen.sid.transactionmanagement.adapter.in.grpc.proto.TransactionServiceGrpc;
+import org.chen.sid.transactionmanagement.adapter.in.grpc.proto.UpdateTransactionRequest;
+import org.chen.sid.transactionmanagement.adapter.in.grpc.proto.UpsertTransaction;
+import org.chen.sid.transactionmanagement.application.usecase.command.TransactionCommandUseCase;
+import org.chen.sid.transactionmanagement.application.usecase.command.dto.UpsertTransactionRequestDTO;
+import org.chen.sid.transactionmanagement.application.usecase.query.TransactionQueryUseCase;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.TransactionDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * gRPC counterpart of {@code TransactionController}, backed by the same use cases.
+ * <p>
+ * Both streams follow the client's flow control: {@code ListTransactions} advances its scan only while the client
+ * can take more messages, and {@code IngestTransactions} asks for the next batch only after the previous one was
+ * applied and its acknowledgement could be sent.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "transaction.grpc", name = "enabled", havingValue = "true")
+public class TransactionGrpcService extends TransactionServiceGrpc.TransactionServiceImplBase {
+
+    private final TransactionCommandUseCase transactionCommandUseCase;
+
+    private final TransactionQueryUseCase transactionQueryUseCase;
+
+    private final Validator validator;
+
+    @Autowired
+    public TransactionGrpcService(TransactionCommandUseCase transactionCommandUseCase, TransactionQueryUseCase transactionQueryUseCase,
+            Validator validator) {
+        this.transactionCommandUseCase = transactionCommandUseCase;
+        this.transactionQueryUseCase = transactionQueryUseCase;
+        this.validator = validator;
+    }
+
+    @Override
+    public void getTransaction(GetTransactionRequest request, StreamObserver<Transaction> responseObserver) {
+        unary(responseObserver, () -> TransactionMessages.toMessage(transactionQueryUseCase.getTransactionById(request.getId())));
+    }
+
+    @Override
+    public void createTransaction(CreateTransactionRequest request, StreamObserver<Transaction> responseObserver) {
+        String idempotencyKey = request.getIdempotencyKey().isEmpty() ? null : request.getIdempotencyKey();
+        unary(responseObserver, () -> TransactionMessages.toMessage(
+                transactionCommandUseCase.createTransaction(validated(request.hasTransaction(), request.getTransaction()), idempotencyKey)));
+    }
+
+    @Override
+    public void updateTransaction(UpdateTransactionRequest request, StreamObserver<Transaction> responseObserver) {
+        unary(responseObserver, () -> TransactionMessages.toMessage(
+                transactionCommandUseCase.updateTransaction(request.getId(), validated(request.hasTransaction(), request.getTransaction()))));
+    }
+
+    @Override
+    public void deleteTransaction(DeleteTransactionRequest request, StreamObserver<DeleteTransactionResponse> responseObserver) {
+        unary(responseObserver, () -> {
+            transactionCommandUseCase.deleteTransaction(request.getId());
+            return DeleteTransactionResponse.getDefaultInstance();
+        });
+    }
+
+    @Override
+    public void listTransactions(ListTransactionsRequest request, StreamObserver<Transaction> responseObserver) {
+        ListStream stream = new ListStream((ServerCallStreamObserver<Transaction>) responseObserver);
+        stream.observer.setOnCancelHandler(stream::cancel);
+        stream.observer.setOnReadyHandler(stream::drain);
+        stream.drain();
+    }
+
+    @Override
+    public StreamObserver<IngestBatch> ingestTransactions(StreamObserver<IngestAck> responseObserver) {
+        IngestStream stream = new IngestStream((ServerCallStreamObserver<IngestAck>) responseObserver);
+        stream.observer.disableAutoRequest();
+        stream.observer.setOnCancelHandler(stream::cancel);
+        stream.observer.setOnReadyHandler(stream::onReady);
+        stream.observer.request(1);
+        return stream;
+    }
+
+    private UpsertTransactionRequestDTO validated(boolean present, UpsertTransaction message) {
+        if (!present) {
+            throw Status.INVALID_ARGUMENT.withDescription("Transaction cannot be null").asRuntimeException();
+        }
+        UpsertTransactionRequestDTO request = TransactionMessages.toRequest(message);
+        Set<ConstraintViolation<UpsertTransactionRequestDTO>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw GrpcErrors.invalidArgument(violations);
+        }
+        return request;
+    }
+
+    private static <T> void unary(StreamObserver<T> responseObserver, Supplier<T> call) {
+        T response;
+        try {
+            response = call.get();
+        } catch (RuntimeException e) {
+            responseObserver.onError(GrpcErrors.toStatus(e).asRuntimeException());
+            return;
+        }
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * Advances one scan of the transactions while the client is ready; gRPC runs the callbacks of one call one at a time.
+     */
+    private final class ListStream {
+
+        private final ServerCallStreamObserver<Transaction> observer;
+
+        private Iterator<TransactionDTO> transactions;
+
+        private volatile boolean done;
+
+        private ListStream(ServerCallStreamObserver<Transaction> observer) {
+            this.observer = observer;
+        }
+
+        private void drain() {
+            try {
+                if (!done && transactions == null) {
+                    transactions = transactionQueryUseCase.scanTransactions();
+                }
+                while (!done && observer.isReady()) {
+                    if (transactions.hasNext()) {
+                        observer.onNext(TransactionMessages.toMessage(transactions.next()));
+                    } else {
+                        done = true;
+                        observer.onCompleted();
+                    }
+                }
+            } catch (RuntimeException e) {
+                done = true;
+                observer.onError(GrpcErrors.toStatus(e).asRuntimeException());
+            }
+        }
+
+        private void cancel() {
+            done = true;
+        }
+    }
+
+    private final class IngestStream implements StreamObserver<IngestBatch> {
+
+        private final ServerCallStreamObserver<IngestAck> observer;
+
+        private long batches;
+
+        private boolean awaitingReady;
+
+        private volatile boolean cancelled;
+
+        private IngestStream(ServerCallStreamObserver<IngestAck> observer) {
+            this.observer = observer;
+        }
+
+        @Override
+        public void onNext(IngestBatch batch) {
+            IngestAck.Builder ack = IngestAck.newBuilder().setBatch(++batches);
+            for (int i = 0; i < batch.getTransactionsCount() && !cancelled; i++) {
+                try {
+                    UpsertTransactionRequestDTO request = validated(true, batch.getTransactions(i));
+                    ack.addIds(transactionCommandUseCase.createTransaction(request).getId());
+                } catch (RuntimeException e) {
+                    Status status = GrpcErrors.toStatus(e);
+                    ack.addIds("");
+                    ack.addErrors(IngestError.newBuilder()
+                            .setIndex(i)
+                            .setCode(status.getCode().name())
+                            .setMessage(status.getDescription() == null ? "" : status.getDescription()));
+                }
+            }
+            if (cancelled) {
+                return;
+            }
+            observer.onNext(ack.build());
+            // Unacknowledged batches are not read from the network, which slows the producer down to our pace.
+            if (observer.isReady()) {
+                observer.request(1);
+            } else {
+                awaitingReady = true;
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            log.debug("Ingest stream aborted after {} batches: {}", batches, throwable.getMessage());
+        }
+
+        @Override
+        public void onCompleted() {
+            if (!cancelled) {
+                observer.onCompleted();
+            }
+        }
+
+        private void onReady() {
+            if (awaitingReady) {
+                awaitingReady = false;
+                observer.request(1);
+            }
+        }
+
+        private void cancel() {
+            cancelled = true;
+        }
+    }
+}
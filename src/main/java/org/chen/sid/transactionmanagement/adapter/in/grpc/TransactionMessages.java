@@ -0,0 +1,90 @@
+package org.chen.sid.transactionmanagement.adapter.in.grpc;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Timestamp;
+import org.chen.sid.transactionmanagement.adapter.in.grpc.proto.Decimal;
+import org.chen.sid.transactionmanagement.adapter.in.grpc.proto.Transaction;
+import org.chen.sid.transactionmanagement.adapter.in.grpc.proto.TransactionType;
+import org.chen.sid.transactionmanagement.adapter.in.grpc.proto.UpsertTransaction;
+import org.chen.sid.transactionmanagement.application.usecase.command.dto.UpsertTransactionRequestDTO;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.TransactionDTO;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Converts between the protobuf messages of {@code transaction.proto} and the use case DTOs.
+ * <p>
+ * Timestamps are the server's local times converted with the system zone, as in the CBOR encoding.
+ */
+final class TransactionMessages {
+
+    private TransactionMessages() {
+    }
+
+    static Transaction toMessage(org.chen.sid.transactionmanagement.domain.model.entity.Transaction transaction) {
+        return toMessage(TransactionDTO.from(transaction));
+    }
+
+    static Transaction toMessage(TransactionDTO transaction) {
+        Transaction.Builder builder = Transaction.newBuilder().setId(transaction.getId()).setName(transaction.getName());
+        if (transaction.getAmount() != null) {
+            builder.setAmount(toDecimal(transaction.getAmount()));
+        }
+        if (transaction.getCategory() != null) {
+            builder.setCategory(transaction.getCategory());
+        }
+        if (transaction.getType() != null) {
+            builder.setType(TransactionType.valueOf(transaction.getType().name()));
+        }
+        if (transaction.getCreateTime() != null) {
+            builder.setCreateTime(toTimestamp(transaction.getCreateTime()));
+        }
+        if (transaction.getUpdateTime() != null) {
+            builder.setUpdateTime(toTimestamp(transaction.getUpdateTime()));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Unset fields become {@code null}, so bean validation reports them like a missing JSON property.
+     */
+    static UpsertTransactionRequestDTO toRequest(UpsertTransaction message) {
+        UpsertTransactionRequestDTO request = new UpsertTransactionRequestDTO();
+        request.setName(message.getName().isEmpty() ? null : message.getName());
+        request.setAmount(message.hasAmount() ? toBigDecimal(message.getAmount()) : null);
+        request.setCategory(message.hasCategory() ? message.getCategory() : null);
+        request.setType(toType(message.getType()));
+        return request;
+    }
+
+    static Decimal toDecimal(BigDecimal value) {
+        return Decimal.newBuilder()
+                .setUnscaledValue(ByteString.copyFrom(value.unscaledValue().toByteArray()))
+                .setScale(value.scale())
+                .build();
+    }
+
+    static BigDecimal toBigDecimal(Decimal decimal) {
+        if (decimal.getUnscaledValue().isEmpty()) {
+            throw new IllegalArgumentException("Transaction amount has no unscaled value");
+        }
+        return new BigDecimal(new BigInteger(decimal.getUnscaledValue().toByteArray()), decimal.getScale());
+    }
+
+    private static org.chen.sid.transactionmanagement.domain.model.entity.TransactionType toType(TransactionType type) {
+        return switch (type) {
+            case TRANSACTION_TYPE_UNSPECIFIED -> null;
+            case UNRECOGNIZED -> throw new IllegalArgumentException("Unknown transaction type " + type.getNumber());
+            default -> org.chen.sid.transactionmanagement.domain.model.entity.TransactionType.valueOf(type.name());
+        };
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime time) {
+        Instant instant = time.atZone(ZoneId.systemDefault()).toInstant();
+        return Timestamp.newBuilder().setSeconds(instant.getEpochSecond()).setNanos(instant.getNano()).build();
+    }
+}
@@ -0,0 +1,140 @@
+package org.chen.sid.transactionmanagement.adapter.out.cache;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * One invalidation datagram: a header line {@code TMINV2 <node> <incarnation> <sequence> <mac>} followed by one evicted
+ * ID per line, by {@code *} to clear the whole cache, or by nothing for a heartbeat.
+ * <p>
+ * Sequences are consecutive per sender incarnation, so a receiver that sees a gap knows it lost a datagram. A heartbeat
+ * carries the last sequence sent without using one, so a lost last datagram is noticed without waiting for the next.
+ * The mac is an HMAC-SHA256 of the datagram without it, keyed with the shared cluster secret.
+ */
+record CacheInvalidationMessage(String nodeId, long incarnation, long sequence, boolean clearAll, List<String> ids) {
+
+    private static final String MAGIC = "TMINV2";
+
+    private static final String CLEAR_ALL = "*";
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    /**
+     * Base64 of a SHA-256 HMAC, without padding.
+     */
+    private static final int MAC_CHARS = 43;
+
+    static CacheInvalidationMessage clearAll(String nodeId, long incarnation, long sequence) {
+        return new CacheInvalidationMessage(nodeId, incarnation, sequence, true, List.of());
+    }
+
+    /**
+     * @param lastSequence the last sequence the sender used, {@code 0} before its first datagram
+     */
+    static CacheInvalidationMessage heartbeat(String nodeId, long incarnation, long lastSequence) {
+        return new CacheInvalidationMessage(nodeId, incarnation, lastSequence, false, List.of());
+    }
+
+    static SecretKeySpec key(String secret) {
+        return new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), MAC_ALGORITHM);
+    }
+
+    boolean heartbeat() {
+        return !clearAll && ids.isEmpty();
+    }
+
+    byte[] encode(SecretKeySpec key) {
+        String header = MAGIC + ' ' + nodeId + ' ' + incarnation + ' ' + sequence;
+        StringBuilder body = new StringBuilder();
+        if (clearAll) {
+            body.append('\n').append(CLEAR_ALL);
+        }
+        ids.forEach(id -> body.append('\n').append(id));
+        String mac = Base64.getEncoder().withoutPadding().encodeToString(mac(key, header + body));
+        return (header + ' ' + mac + body).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return {@code null} if the datagram is not an invalidation message or was not signed with {@code key}
+     */
+    static CacheInvalidationMessage decode(byte[] data, int length, SecretKeySpec key) {
+        String text = new String(data, 0, length, StandardCharsets.UTF_8);
+        int headerEnd = text.indexOf('\n');
+        String headerLine = headerEnd < 0 ? text : text.substring(0, headerEnd);
+        String body = headerEnd < 0 ? "" : text.substring(headerEnd);
+        String[] header = headerLine.split(" ");
+        if (header.length != 5 || !MAGIC.equals(header[0]) || header[4].length() != MAC_CHARS) {
+            return null;
+        }
+        byte[] mac;
+        try {
+            mac = Base64.getDecoder().decode(header[4]);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        String signed = headerLine.substring(0, headerLine.length() - MAC_CHARS - 1) + body;
+        if (!MessageDigest.isEqual(mac, mac(key, signed))) {
+            return null;
+        }
+        long incarnation;
+        long sequence;
+        try {
+            incarnation = Long.parseLong(header[2]);
+            sequence = Long.parseLong(header[3]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        List<String> ids = body.isEmpty() ? List.of() : Arrays.asList(body.substring(1).split("\n"));
+        boolean clearAll = ids.contains(CLEAR_ALL);
+        return new CacheInvalidationMessage(header[1], incarnation, sequence, clearAll, clearAll ? List.of() : List.copyOf(ids));
+    }
+
+    /**
+     * Packs IDs into as few datagrams of at most {@code maxBytes} as possible, numbering them from {@code firstSequence}.
+     * An ID too long to fit any datagram turns the batch into a clear-all.
+     */
+    static List<CacheInvalidationMessage> pack(String nodeId, long incarnation, long firstSequence, Iterable<String> ids, int maxBytes) {
+        List<CacheInvalidationMessage> messages = new ArrayList<>();
+        int headerBytes = (MAGIC + ' ' + nodeId + ' ' + incarnation + ' ' + Long.MAX_VALUE + ' ').getBytes(StandardCharsets.UTF_8).length
+                + MAC_CHARS;
+        List<String> batch = new ArrayList<>();
+        int batchBytes = headerBytes;
+        Iterator<String> iterator = ids.iterator();
+        while (iterator.hasNext()) {
+            String id = iterator.next();
+            int idBytes = id.getBytes(StandardCharsets.UTF_8).length + 1;
+            if (headerBytes + idBytes > maxBytes || CLEAR_ALL.equals(id) || id.isEmpty() || id.indexOf('\n') >= 0) {
+                return List.of(clearAll(nodeId, incarnation, firstSequence));
+            }
+            if (batchBytes + idBytes > maxBytes) {
+                messages.add(new CacheInvalidationMessage(nodeId, incarnation, firstSequence + messages.size(), false, batch));
+                batch = new ArrayList<>();
+                batchBytes = headerBytes;
+            }
+            batch.add(id);
+            batchBytes += idBytes;
+        }
+        if (!batch.isEmpty()) {
+            messages.add(new CacheInvalidationMessage(nodeId, incarnation, firstSequence + messages.size(), false, batch));
+        }
+        return messages;
+    }
+
+    private static byte[] mac(SecretKeySpec key, String text) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(text.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign cache invalidation datagram", e);
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package org.chen.sid.transactionmanagement.adapter.out.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.chen.sid.transactionmanagement.config.properties.CacheInvalidationProperties;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionCreatedEvent;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Broadcasts evictions of the {@code transaction} cache to the other nodes over UDP, so a node never keeps serving a
+ * cached transaction that another node updated or deleted.
+ * <p>
+ * Updated and deleted IDs are collected into a set, which coalesces repeated writes to one ID, and a sender thread
+ * packs them into as few datagrams as fit every {@code flush-interval}. UDP may drop datagrams: each sender numbers
+ * its datagrams, and a receiver that sees a gap clears its whole cache instead of risking stale entries. A sender that
+ * has been quiet for {@code heartbeat-interval} sends its last sequence, so a lost last datagram is noticed within that
+ * interval rather than whenever the next write happens.
+ * <p>
+ * Datagrams are signed with the shared {@code secret}; unsigned ones are dropped. Each sender incarnation is numbered
+ * by its start time, and a receiver ignores sequences it has already seen, so a captured datagram cannot be replayed to
+ * clear the caches again.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "transaction.cache-invalidation", name = "enabled", havingValue = "true")
+public class UdpCacheInvalidationBus implements SmartLifecycle {
+
+    private static final String CACHE_NAME = "transaction";
+
+    private final CacheInvalidationProperties properties;
+
+    private final Cache cache;
+
+    private final String nodeId;
+
+    private final List<InetSocketAddress> peers;
+
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private final AtomicBoolean overflowed = new AtomicBoolean();
+
+    private final SecretKeySpec key;
+
+    private final long incarnation = System.currentTimeMillis();
+
+    private final Map<String, PeerPosition> positions = new ConcurrentHashMap<>();
+
+    private final Counter sentDatagrams;
+
+    private final Counter sentIds;
+
+    private final Counter receivedIds;
+
+    private final Counter gapClears;
+
+    private final Counter rejectedDatagrams;
+
+    private long nextSequence = 1;
+
+    private long lastSentNanos = System.nanoTime();
+
+    private volatile boolean running;
+
+    private DatagramSocket socket;
+
+    private Thread sender;
+
+    private Thread receiver;
+
+    @Autowired
+    public UdpCacheInvalidationBus(CacheInvalidationProperties properties, CacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cache = Objects.requireNonNull(cacheManager.getCache(CACHE_NAME), "Cache " + CACHE_NAME + " is not configured");
+        this.nodeId = properties.getNodeId() == null || properties.getNodeId().isBlank() ? UUID.randomUUID().toString() : properties.getNodeId();
+        if (nodeId.contains(" ") || nodeId.contains("\n")) {
+            throw new IllegalArgumentException("Cache invalidation node ID cannot contain whitespace");
+        }
+        if (properties.getSecret() == null || properties.getSecret().isBlank()) {
+            throw new IllegalArgumentException("transaction.cache-invalidation.secret must be set");
+        }
+        this.key = CacheInvalidationMessage.key(properties.getSecret());
+        this.peers = properties.getPeers().stream().map(UdpCacheInvalidationBus::addressOf).toList();
+        this.sentDatagrams = Counter.builder("transaction.cache.invalidation.datagrams").tag("direction", "sent").register(meterRegistry);
+        this.sentIds = Counter.builder("transaction.cache.invalidation.ids").tag("direction", "sent").register(meterRegistry);
+        this.receivedIds = Counter.builder("transaction.cache.invalidation.ids").tag("direction", "received").register(meterRegistry);
+        this.gapClears = Counter.builder("transaction.cache.invalidation.gap.clears").register(meterRegistry);
+        this.rejectedDatagrams = Counter.builder("transaction.cache.invalidation.datagrams").tag("direction", "rejected")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void on(TransactionEvent event) {
+        if (!(event instanceof TransactionCreatedEvent)) {
+            publish(event.transactionId());
+        }
+    }
+
+    public void publish(String id) {
+        if (overflowed.get()) {
+            return;
+        }
+        if (pendingCount.incrementAndGet() > properties.getMaxPending()) {
+            overflowed.set(true);
+        } else if (!pending.add(id)) {
+            pendingCount.decrementAndGet();
+        }
+    }
+
+    public int localPort() {
+        return socket.getLocalPort();
+    }
+
+    @Override
+    public void start() {
+        try {
+            socket = new DatagramSocket(new InetSocketAddress(properties.getBindAddress(), properties.getPort()));
+        } catch (SocketException e) {
+            throw new UncheckedIOException("Cannot bind cache invalidation socket on port " + properties.getPort(), e);
+        }
+        running = true;
+        sender = new Thread(this::sendLoop, "transaction-cache-invalidation-sender");
+        sender.setDaemon(true);
+        sender.start();
+        receiver = new Thread(this::receiveLoop, "transaction-cache-invalidation-receiver");
+        receiver.setDaemon(true);
+        receiver.start();
+        log.info("Cache invalidation bus {} listening on {}, peers {}", nodeId, socket.getLocalSocketAddress(), peers);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (sender != null) {
+            LockSupport.unpark(sender);
+            try {
+                sender.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (socket != null) {
+            socket.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void sendLoop() {
+        long intervalNanos = properties.getFlushInterval().toNanos();
+        long heartbeatNanos = properties.getHeartbeatInterval().toNanos();
+        while (running) {
+            LockSupport.parkNanos(intervalNanos);
+            flush();
+            if (System.nanoTime() - lastSentNanos >= heartbeatNanos) {
+                heartbeat();
+            }
+        }
+        flush();
+    }
+
+    synchronized void heartbeat() {
+        send(List.of(CacheInvalidationMessage.heartbeat(nodeId, incarnation, nextSequence - 1)));
+    }
+
+    synchronized void flush() {
+        if (pendingCount.get() == 0 && !overflowed.get()) {
+            return;
+        }
+        List<CacheInvalidationMessage> messages;
+        if (overflowed.getAndSet(false)) {
+            pending.clear();
+            pendingCount.set(0);
+            messages = List.of(CacheInvalidationMessage.clearAll(nodeId, incarnation, nextSequence));
+        } else {
+            List<String> ids = new ArrayList<>();
+            for (String id : pending) {
+                if (pending.remove(id)) {
+                    pendingCount.decrementAndGet();
+                    ids.add(id);
+                }
+            }
+            messages = CacheInvalidationMessage.pack(nodeId, incarnation, nextSequence, ids, properties.getMaxDatagramBytes());
+        }
+        nextSequence += messages.size();
+        send(messages);
+    }
+
+    private void send(List<CacheInvalidationMessage> messages) {
+        lastSentNanos = System.nanoTime();
+        for (CacheInvalidationMessage message : messages) {
+            byte[] data = message.encode(key);
+            for (InetSocketAddress peer : peers) {
+                try {
+                    socket.send(new DatagramPacket(data, data.length, peer));
+                } catch (IOException e) {
+                    log.warn("Sending cache invalidation to {} failed: {}", peer, e.getMessage());
+                }
+            }
+            sentDatagrams.increment();
+            sentIds.increment(message.ids().size());
+        }
+    }
+
+    private void receiveLoop() {
+        byte[] buffer = new byte[65_507];
+        while (running) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("Receiving cache invalidation failed: {}", e.getMessage());
+                }
+                continue;
+            }
+            CacheInvalidationMessage message = CacheInvalidationMessage.decode(packet.getData(), packet.getLength(), key);
+            if (message == null) {
+                rejectedDatagrams.increment();
+                continue;
+            }
+            handle(message);
+        }
+    }
+
+    void handle(CacheInvalidationMessage message) {
+        if (nodeId.equals(message.nodeId())) {
+            return;
+        }
+        PeerPosition position = positions.get(message.nodeId());
+        // The sequence this sender used last, as far as this node knows; 0 for a new incarnation.
+        Long expected = null;
+        if (position != null) {
+            if (message.incarnation() < position.incarnation()) {
+                return;
+            }
+            expected = message.incarnation() == position.incarnation() ? position.sequence() : 0L;
+            if (message.incarnation() == position.incarnation()
+                    && (message.heartbeat() ? message.sequence() < expected : message.sequence() <= expected)) {
+                // Duplicated or replayed.
+                return;
+            }
+        }
+        positions.put(message.nodeId(), new PeerPosition(message.incarnation(), message.sequence()));
+        boolean gap = expected != null && message.sequence() != (message.heartbeat() ? expected : expected + 1);
+        if (message.clearAll() || gap) {
+            // A lost datagram may have carried any ID.
+            if (gap) {
+                gapClears.increment();
+            }
+            cache.clear();
+            return;
+        }
+        message.ids().forEach(cache::evict);
+        receivedIds.increment(message.ids().size());
+    }
+
+    private static InetSocketAddress addressOf(String peer) {
+        int colon = peer.lastIndexOf(':');
+        if (colon <= 0) {
+            throw new IllegalArgumentException("Cache invalidation peer must be host:port, got " + peer);
+        }
+        return new InetSocketAddress(peer.substring(0, colon), Integer.parseInt(peer.substring(colon + 1)));
+    }
+
+    private record PeerPosition(long incarnation, long sequence) {
+    }
+}
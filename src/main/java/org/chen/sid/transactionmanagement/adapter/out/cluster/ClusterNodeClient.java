@@ -0,0 +1,105 @@
+package org.chen.sid.transactionmanagement.adapter.out.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.CategorySummary;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.Page;
+import org.chen.sid.transactionmanagement.common.cluster.ClusterTopology;
+import org.chen.sid.transactionmanagement.common.exception.ClusterNodeUnavailableException;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Calls the partition-local storage endpoints ({@code /internal/v1/transactions}) of other cluster nodes.
+ * <p>
+ * Any transport or server failure surfaces as {@link ClusterNodeUnavailableException}, so callers answer {@code 503}
+ * instead of silently returning partial data.
+ */
+@Slf4j
+public class ClusterNodeClient {
+
+    public static final String INTERNAL_PATH = "/internal/v1/transactions";
+
+    private static final ParameterizedTypeReference<Page<Transaction>> PAGE_TYPE = new ParameterizedTypeReference<>() {
+    };
+
+    private static final ParameterizedTypeReference<List<CategorySummary>> SUMMARY_TYPE = new ParameterizedTypeReference<>() {
+    };
+
+    private final RestClient restClient;
+
+    private final ClusterTopology topology;
+
+    public ClusterNodeClient(RestClient restClient, ClusterTopology topology) {
+        this.restClient = restClient;
+        this.topology = topology;
+    }
+
+    public Optional<Transaction> findById(String node, String id) {
+        return call(node, () -> restClient.get()
+                .uri(internalUri(node, "/{id}"), id)
+                .exchange((request, response) -> {
+                    if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+                        return Optional.<Transaction>empty();
+                    }
+                    if (response.getStatusCode().isError()) {
+                        throw new ClusterNodeUnavailableException("Cluster node " + node + " answered " + response.getStatusCode());
+                    }
+                    return Optional.ofNullable(response.bodyTo(Transaction.class));
+                }));
+    }
+
+    public void save(String node, Transaction transaction) {
+        call(node, () -> restClient.put()
+                .uri(internalUri(node, "/{id}"), transaction.getId())
+                .body(transaction)
+                .retrieve()
+                .toBodilessEntity());
+    }
+
+    public boolean deleteById(String node, String id) {
+        return call(node, () -> restClient.delete()
+                .uri(internalUri(node, "/{id}"), id)
+                .exchange((request, response) -> {
+                    if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+                        return false;
+                    }
+                    if (response.getStatusCode().isError()) {
+                        throw new ClusterNodeUnavailableException("Cluster node " + node + " answered " + response.getStatusCode());
+                    }
+                    return true;
+                }));
+    }
+
+    public Page<Transaction> findPage(String node, long page, long size) {
+        return call(node, () -> restClient.get()
+                .uri(internalUri(node, "?page={page}&size={size}"), page, size)
+                .retrieve()
+                .body(PAGE_TYPE));
+    }
+
+    public List<CategorySummary> summarizeByCategory(String node) {
+        return call(node, () -> restClient.get().uri(internalUri(node, "/summary")).retrieve().body(SUMMARY_TYPE));
+    }
+
+    private String internalUri(String node, String path) {
+        URI base = topology.urlOf(node);
+        return base.toString().replaceAll("/+$", "") + INTERNAL_PATH + path;
+    }
+
+    private static <T> T call(String node, Supplier<T> request) {
+        try {
+            return request.get();
+        } catch (RestClientException e) {
+            log.warn("Cluster node {} request failed: {}", node, e.getMessage());
+            throw new ClusterNodeUnavailableException("Cluster node " + node + " is unavailable");
+        }
+    }
+}
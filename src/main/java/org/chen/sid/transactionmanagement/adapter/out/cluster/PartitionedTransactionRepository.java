@@ -0,0 +1,183 @@
+package org.chen.sid.transactionmanagement.adapter.out.cluster;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import org.chen.sid.transactionmanagement.adapter.out.repo.MemoryTransactionRepository;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.CategorySummary;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.Page;
+import org.chen.sid.transactionmanagement.common.cluster.ClusterTopology;
+import org.chen.sid.transactionmanagement.common.exception.ClusterNodeUnavailableException;
+import org.chen.sid.transactionmanagement.domain.infrastructure.TransactionRepository;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Cluster view of the transactions: each ID lives on the node the {@link ClusterTopology} hash ring assigns it to.
+ * <p>
+ * Single-ID operations go to the owning node, locally when that is this node. Pages and summaries fan out to every
+ * node in parallel and merge the results; a page is the concatenation of the nodes' pages in node order, so it first
+ * asks every node for its total and then fetches only the slices that fall into the requested window.
+ */
+public class PartitionedTransactionRepository implements TransactionRepository {
+
+    private static final String TIMER = "transaction.repository";
+
+    private final MemoryTransactionRepository localRepository;
+
+    private final ClusterTopology topology;
+
+    private final ClusterNodeClient nodeClient;
+
+    private final ExecutorService fanOutExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PartitionedTransactionRepository(MemoryTransactionRepository localRepository, ClusterTopology topology,
+            ClusterNodeClient nodeClient) {
+        this.localRepository = localRepository;
+        this.topology = topology;
+        this.nodeClient = nodeClient;
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public Transaction save(Transaction transaction) {
+        if (transaction == null) {
+            throw new IllegalArgumentException("Transaction cannot be null");
+        }
+        if (transaction.getId() == null) {
+            throw new IllegalArgumentException("Transaction ID cannot be null");
+        }
+        String owner = topology.ownerOf(transaction.getId());
+        if (topology.isLocal(owner)) {
+            return localRepository.save(transaction);
+        }
+        nodeClient.save(owner, transaction);
+        return transaction;
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public Optional<Transaction> findById(String id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        String owner = topology.ownerOf(id);
+        return topology.isLocal(owner) ? localRepository.findById(id) : nodeClient.findById(owner, id);
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public boolean deleteById(String id) {
+        if (id == null) {
+            return false;
+        }
+        String owner = topology.ownerOf(id);
+        return topology.isLocal(owner) ? localRepository.deleteById(id) : nodeClient.deleteById(owner, id);
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public boolean existsById(String id) {
+        return findById(id).isPresent();
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public Page<Transaction> findPage(long page, long size) {
+        Map<String, Long> totals = fanOut(node -> pageOf(node, 1, 1).getTotal());
+        long grandTotal = totals.values().stream().mapToLong(Long::longValue).sum();
+        long skip = (page - 1) * size;
+        Map<String, CompletableFuture<List<Transaction>>> slices = new LinkedHashMap<>();
+        long remaining = size;
+        for (Map.Entry<String, Long> total : totals.entrySet()) {
+            if (remaining == 0) {
+                break;
+            }
+            if (skip >= total.getValue()) {
+                skip -= total.getValue();
+                continue;
+            }
+            long from = skip;
+            long count = Math.min(remaining, total.getValue() - from);
+            slices.put(total.getKey(), CompletableFuture.supplyAsync(() -> slice(total.getKey(), from, count, size), fanOutExecutor));
+            remaining -= count;
+            skip = 0;
+        }
+        List<Transaction> data = new ArrayList<>((int) (size - remaining));
+        slices.values().forEach(slice -> data.addAll(join(slice)));
+        return new Page<>(grandTotal, data);
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public List<CategorySummary> summarizeByCategory() {
+        Map<String, List<CategorySummary>> perNode = fanOut(node -> topology.isLocal(node)
+                ? localRepository.summarizeByCategory()
+                : nodeClient.summarizeByCategory(node));
+        // HashMap allows the null key of uncategorized transactions.
+        Map<String, CategorySummary> merged = new HashMap<>();
+        perNode.values().stream().flatMap(List::stream).forEach(summary -> merged.merge(summary.getCategory(),
+                new CategorySummary(summary.getCategory(), summary.getCount(), summary.getTotalAmount()),
+                (left, right) -> new CategorySummary(left.getCategory(), left.getCount() + right.getCount(),
+                        left.getTotalAmount().add(right.getTotalAmount()))));
+        return merged.values()
+                .stream()
+                .sorted(Comparator.comparing(CategorySummary::getCategory, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fanOutExecutor.shutdownNow();
+    }
+
+    /**
+     * Reads {@code count <= pageSize} rows starting at row {@code from} of one node, which spans at most two node pages.
+     */
+    private List<Transaction> slice(String node, long from, long count, long pageSize) {
+        long firstPage = from / pageSize + 1;
+        int offset = (int) (from % pageSize);
+        List<Transaction> rows = new ArrayList<>(pageOf(node, firstPage, pageSize).getData());
+        if (offset + count > pageSize) {
+            rows.addAll(pageOf(node, firstPage + 1, pageSize).getData());
+        }
+        // Rows may have been deleted since the totals were read.
+        return rows.subList(Math.min(offset, rows.size()), (int) Math.min(offset + count, rows.size()));
+    }
+
+    private Page<Transaction> pageOf(String node, long page, long size) {
+        return topology.isLocal(node) ? localRepository.findPage(page, size) : nodeClient.findPage(node, page, size);
+    }
+
+    private <T> Map<String, T> fanOut(Function<String, T> call) {
+        Map<String, CompletableFuture<T>> futures = new LinkedHashMap<>();
+        for (String node : topology.nodeIds()) {
+            futures.put(node, CompletableFuture.supplyAsync(() -> call.apply(node), fanOutExecutor));
+        }
+        Map<String, T> results = new LinkedHashMap<>();
+        futures.forEach((node, future) -> results.put(node, join(future)));
+        return results;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ClusterNodeUnavailableException("Cluster fan-out failed: " + e.getCause());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.chen.sid.transactionmanagement.adapter.out.event;
+
+import org.chen.sid.transactionmanagement.domain.infrastructure.TransactionEventPublisher;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes domain events on the Spring application event bus. Listeners run on the publishing thread, so anything
+ * expensive must hand the event off to its own executor.
+ */
+@Component
+public class SpringTransactionEventPublisher implements TransactionEventPublisher {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    public SpringTransactionEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @Override
+    public void publish(TransactionEvent event) {
+        applicationEventPublisher.publishEvent(event);
+    }
+}
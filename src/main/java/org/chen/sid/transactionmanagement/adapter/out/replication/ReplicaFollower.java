@@ -0,0 +1,222 @@
+package org.chen.sid.transactionmanagement.adapter.out.replication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.chen.sid.transactionmanagement.adapter.out.repo.MemoryTransactionRepository;
+import org.chen.sid.transactionmanagement.config.properties.ReplicationProperties;
+import org.springframework.cache.Cache;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replica side of replication: keeps a connection to the primary's {@link ReplicationServer} and applies the entries
+ * it receives, in LSN order, to the local repository, evicting the cached transaction of every applied ID.
+ * <p>
+ * A lost connection is retried after {@code reconnect-backoff}, resuming after the last applied LSN if the primary
+ * still has the same log incarnation.
+ */
+@Slf4j
+public class ReplicaFollower {
+
+    private final ReplicationProperties properties;
+
+    private final MemoryTransactionRepository localRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final Cache transactionCache;
+
+    private final SecretKeySpec key;
+
+    /**
+     * Log incarnation {@link #appliedLsn} belongs to.
+     */
+    private volatile String appliedIncarnation = ReplicationHandshake.NO_INCARNATION;
+
+    /**
+     * Incarnation of the primary this session follows; adopted once the replica is consistent with it.
+     */
+    private volatile String sessionIncarnation;
+
+    private volatile long appliedLsn;
+
+    private volatile long primaryLsn;
+
+    /**
+     * {@link System#nanoTime()} when the replica last had applied everything the primary had; {@code 0} if never.
+     */
+    private volatile long inSyncAtNanos;
+
+    private volatile boolean connected;
+
+    private volatile boolean running;
+
+    private volatile Socket socket;
+
+    private volatile boolean inSnapshot;
+
+    private Thread thread;
+
+    public ReplicaFollower(ReplicationProperties properties, MemoryTransactionRepository localRepository, ObjectMapper objectMapper,
+            Cache transactionCache) {
+        this.properties = properties;
+        this.localRepository = localRepository;
+        this.objectMapper = objectMapper;
+        this.transactionCache = transactionCache;
+        this.key = ReplicationHandshake.key(properties.getSecret());
+    }
+
+    public synchronized void start() {
+        running = true;
+        thread = new Thread(this::followLoop, "transaction-replica-follower");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public synchronized void stop() {
+        running = false;
+        Socket current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException ignored) {
+                // Closing only to unblock the reader.
+            }
+        }
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        connected = false;
+    }
+
+    public long appliedLsn() {
+        return appliedLsn;
+    }
+
+    public long primaryLsn() {
+        return primaryLsn;
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * @return nanoseconds since the replica was last in sync with the primary, or {@link Long#MAX_VALUE} if it never was
+     * or is loading a snapshot, whose partial copy must not be served
+     */
+    public long stalenessNanos() {
+        long inSyncAt = inSyncAtNanos;
+        return inSyncAt == 0 || inSnapshot ? Long.MAX_VALUE : System.nanoTime() - inSyncAt;
+    }
+
+    private void followLoop() {
+        InetSocketAddress primary = new InetSocketAddress(properties.getPrimaryHost(), properties.getPrimaryPort());
+        int readTimeout = (int) properties.getHeartbeatInterval().multipliedBy(5).toMillis();
+        while (running) {
+            try (Socket current = new Socket()) {
+                socket = current;
+                current.connect(primary, readTimeout);
+                current.setSoTimeout(readTimeout);
+                current.setTcpNoDelay(true);
+                BufferedReader reader = new BufferedReader(new InputStreamReader(current.getInputStream(), StandardCharsets.UTF_8));
+                String[] challenge = ReplicationHandshake.parseChallenge(reader.readLine());
+                if (challenge == null) {
+                    throw new IOException("no replication handshake from " + primary);
+                }
+                sessionIncarnation = challenge[0];
+                Writer writer = new OutputStreamWriter(current.getOutputStream(), StandardCharsets.UTF_8);
+                writer.write(ReplicationHandshake.hello(key, challenge[1], appliedIncarnation, appliedLsn) + "\n");
+                writer.flush();
+                connected = true;
+                log.info("Following primary {} from LSN {}", primary, appliedLsn);
+                String line;
+                while (running && (line = reader.readLine()) != null) {
+                    apply(objectMapper.readValue(line, ReplicationEntry.class));
+                }
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("Replication from primary {} interrupted: {}", primary, e.getMessage());
+                }
+            } finally {
+                connected = false;
+                socket = null;
+            }
+            if (running) {
+                try {
+                    Thread.sleep(properties.getReconnectBackoff());
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    void apply(ReplicationEntry entry) {
+        switch (entry.type()) {
+            case SNAPSHOT -> {
+                inSnapshot = true;
+                // A session lost mid-snapshot leaves a partial copy: the next one has to start with a snapshot too.
+                appliedIncarnation = ReplicationHandshake.NO_INCARNATION;
+                clearLocalRepository();
+            }
+            case SNAPSHOT_END -> {
+                inSnapshot = false;
+                appliedLsn = entry.lsn();
+            }
+            case UPSERT -> {
+                localRepository.save(entry.transaction());
+                evict(entry.id());
+            }
+            case DELETE -> {
+                localRepository.deleteById(entry.id());
+                evict(entry.id());
+            }
+            case HEARTBEAT -> {
+                // Only carries the primary's LSN.
+            }
+        }
+        if (!inSnapshot && sessionIncarnation != null) {
+            // The primary sends a snapshot first unless the replica already follows this incarnation.
+            appliedIncarnation = sessionIncarnation;
+        }
+        if (entry.lsn() > 0 && !inSnapshot) {
+            appliedLsn = entry.lsn();
+        }
+        primaryLsn = entry.primaryLsn();
+        if (!inSnapshot && appliedLsn >= entry.primaryLsn()) {
+            inSyncAtNanos = System.nanoTime();
+        }
+    }
+
+    private void clearLocalRepository() {
+        List<String> ids = new ArrayList<>();
+        localRepository.forEach(transaction -> ids.add(transaction.getId()));
+        ids.forEach(localRepository::deleteById);
+        if (transactionCache != null) {
+            transactionCache.clear();
+        }
+    }
+
+    private void evict(String id) {
+        if (transactionCache != null) {
+            transactionCache.evict(id);
+        }
+    }
+}
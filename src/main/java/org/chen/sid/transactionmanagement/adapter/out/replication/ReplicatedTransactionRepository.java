@@ -0,0 +1,135 @@
+package org.chen.sid.transactionmanagement.adapter.out.replication;
+
+import io.micrometer.core.annotation.Timed;
+import org.chen.sid.transactionmanagement.adapter.out.repo.MemoryTransactionRepository;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.CategorySummary;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.Page;
+import org.chen.sid.transactionmanagement.common.exception.ReadOnlyReplicaException;
+import org.chen.sid.transactionmanagement.domain.infrastructure.TransactionRepository;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+
+/**
+ * The repository of the {@code replication} profile: on the primary every write is applied to memory and appended to
+ * the {@link ReplicationLog}; on a replica writes are rejected and reads see what the replication stream applied.
+ */
+public class ReplicatedTransactionRepository implements TransactionRepository {
+
+    private static final String TIMER = "transaction.repository";
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final MemoryTransactionRepository localRepository;
+
+    private final ReplicationNode node;
+
+    private final Object[] stripes = new Object[LOCK_STRIPES];
+
+    public ReplicatedTransactionRepository(MemoryTransactionRepository localRepository, ReplicationNode node) {
+        this.localRepository = localRepository;
+        this.node = node;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public Transaction save(Transaction transaction) {
+        if (transaction == null) {
+            throw new IllegalArgumentException("Transaction cannot be null");
+        }
+        if (transaction.getId() == null) {
+            throw new IllegalArgumentException("Transaction ID cannot be null");
+        }
+        ReplicationLog log = writableLog();
+        // The stripe keeps the log order of one ID identical to the order in which memory applied it.
+        synchronized (stripeFor(transaction.getId())) {
+            localRepository.save(transaction);
+            log.appendUpsert(transaction.toBuilder().build());
+        }
+        return transaction;
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public List<Transaction> saveAllIfUnchanged(List<Transaction> transactions, Map<String, LocalDateTime> readUpdateTimes) {
+        ReplicationLog log = writableLog();
+        List<Transaction> saved = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            if (transaction == null || transaction.getId() == null) {
+                throw new IllegalArgumentException("Transaction and its ID cannot be null");
+            }
+            synchronized (stripeFor(transaction.getId())) {
+                if (localRepository.saveIfUnchanged(transaction, readUpdateTimes.get(transaction.getId()))) {
+                    log.appendUpsert(transaction.toBuilder().build());
+                    saved.add(transaction);
+                }
+            }
+        }
+        return saved;
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public boolean deleteById(String id) {
+        if (id == null) {
+            return false;
+        }
+        ReplicationLog log = writableLog();
+        synchronized (stripeFor(id)) {
+            if (!localRepository.deleteById(id)) {
+                return false;
+            }
+            log.appendDelete(id);
+        }
+        return true;
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public Optional<Transaction> findById(String id) {
+        return localRepository.findById(id);
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public Page<Transaction> findPage(long page, long size) {
+        return localRepository.findPage(page, size);
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public List<CategorySummary> summarizeByCategory() {
+        return localRepository.summarizeByCategory();
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public boolean existsById(String id) {
+        return localRepository.existsById(id);
+    }
+
+    @Override
+    public Spliterator<Transaction> scan() {
+        return localRepository.scan();
+    }
+
+    private ReplicationLog writableLog() {
+        ReplicationLog log = node.primaryLog();
+        if (log == null) {
+            throw new ReadOnlyReplicaException("This node is a read replica, send writes to the primary");
+        }
+        return log;
+    }
+
+    private Object stripeFor(String id) {
+        return stripes[id.hashCode() & (LOCK_STRIPES - 1)];
+    }
+}
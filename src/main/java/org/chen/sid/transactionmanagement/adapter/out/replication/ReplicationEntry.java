@@ -0,0 +1,36 @@
+package org.chen.sid.transactionmanagement.adapter.out.replication;
+
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+
+/**
+ * One line of the replication stream.
+ *
+ * @param lsn        log sequence number of an {@link Type#UPSERT} or {@link Type#DELETE}, {@code 0} for snapshot rows;
+ *                   for {@link Type#SNAPSHOT_END} the LSN the snapshot is consistent with
+ * @param primaryLsn last LSN of the primary when the entry was sent
+ */
+public record ReplicationEntry(Type type, long lsn, long primaryLsn, String id, Transaction transaction) {
+
+    static ReplicationEntry upsert(long lsn, Transaction transaction) {
+        return new ReplicationEntry(Type.UPSERT, lsn, lsn, transaction.getId(), transaction);
+    }
+
+    static ReplicationEntry delete(long lsn, String id) {
+        return new ReplicationEntry(Type.DELETE, lsn, lsn, id, null);
+    }
+
+    ReplicationEntry sentAt(long primaryLsn) {
+        return new ReplicationEntry(type, lsn, primaryLsn, id, transaction);
+    }
+
+    public enum Type {
+        /**
+         * Starts a full snapshot: the replica drops its data and receives every transaction as an LSN-less upsert.
+         */
+        SNAPSHOT,
+        SNAPSHOT_END,
+        UPSERT,
+        DELETE,
+        HEARTBEAT
+    }
+}
@@ -0,0 +1,91 @@
+package org.chen.sid.transactionmanagement.adapter.out.replication;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Opening lines of a replication session. The primary sends {@code TMREPL1 <incarnation> <nonce>}; the replica answers
+ * {@code <incarnation> <lsn> <mac>} with the primary incarnation and LSN it last applied ({@code -} before its first
+ * sync) and an HMAC-SHA256 of {@code <nonce> <incarnation> <lsn>} keyed with the shared replication secret. The fresh
+ * nonce keeps a recorded answer from opening another session.
+ * <p>
+ * The incarnation identifies one primary log: a restarted or promoted primary starts a new one, and a replica that
+ * applied another incarnation's entries receives a snapshot whatever its LSN.
+ */
+final class ReplicationHandshake {
+
+    static final String NO_INCARNATION = "-";
+
+    private static final String MAGIC = "TMREPL1";
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private ReplicationHandshake() {
+    }
+
+    static SecretKeySpec key(String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalArgumentException("transaction.replication.secret must be set");
+        }
+        return new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), MAC_ALGORITHM);
+    }
+
+    static String newNonce() {
+        byte[] nonce = new byte[16];
+        RANDOM.nextBytes(nonce);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(nonce);
+    }
+
+    static String challenge(String incarnation, String nonce) {
+        return MAGIC + ' ' + incarnation + ' ' + nonce;
+    }
+
+    /**
+     * @return the primary incarnation and nonce, or {@code null} if {@code line} is not a challenge
+     */
+    static String[] parseChallenge(String line) {
+        String[] parts = line == null ? new String[0] : line.split(" ");
+        return parts.length == 3 && MAGIC.equals(parts[0]) ? new String[]{parts[1], parts[2]} : null;
+    }
+
+    static String hello(SecretKeySpec key, String nonce, String incarnation, long lsn) {
+        return incarnation + ' ' + lsn + ' ' + Base64.getEncoder().withoutPadding().encodeToString(mac(key, nonce, incarnation, lsn));
+    }
+
+    /**
+     * @return the replica's state, or {@code null} if {@code line} is malformed or not signed with {@code key}
+     */
+    static Hello verifyHello(SecretKeySpec key, String nonce, String line) {
+        String[] parts = line == null ? new String[0] : line.split(" ");
+        if (parts.length != 3) {
+            return null;
+        }
+        try {
+            long lsn = Long.parseLong(parts[1]);
+            byte[] mac = Base64.getDecoder().decode(parts[2]);
+            return MessageDigest.isEqual(mac, mac(key, nonce, parts[0], lsn)) ? new Hello(parts[0], lsn) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static byte[] mac(SecretKeySpec key, String nonce, String incarnation, long lsn) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal((nonce + ' ' + incarnation + ' ' + lsn).getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign replication handshake", e);
+        }
+    }
+
+    record Hello(String incarnation, long lsn) {
+    }
+}
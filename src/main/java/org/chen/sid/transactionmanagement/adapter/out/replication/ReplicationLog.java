@@ -0,0 +1,97 @@
+package org.chen.sid.transactionmanagement.adapter.out.replication;
+
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The primary's mutation log: every committed upsert and delete, numbered by a gap-free log sequence number (LSN).
+ * <p>
+ * Only the latest {@code retention} entries are kept. Replica sessions poll it with {@link #readAfter} and park in
+ * {@link #awaitAfter} while they are caught up. Each log has a random incarnation, so LSNs of a restarted or promoted
+ * primary are never mistaken for the ones a replica applied from an earlier log.
+ */
+public class ReplicationLog {
+
+    /**
+     * Ring of the retained entries; the entry with LSN {@code n} sits at {@code n % retention}.
+     */
+    private final ReplicationEntry[] entries;
+
+    private final String incarnation = UUID.randomUUID().toString();
+
+    private int retained;
+
+    private long lastLsn;
+
+    public ReplicationLog(int retention, long lastLsn) {
+        if (retention <= 0) {
+            throw new IllegalArgumentException("Replication log retention must be greater than 0");
+        }
+        this.entries = new ReplicationEntry[retention];
+        this.lastLsn = lastLsn;
+    }
+
+    public synchronized long appendUpsert(Transaction transaction) {
+        return append(ReplicationEntry.upsert(lastLsn + 1, transaction));
+    }
+
+    public synchronized long appendDelete(String id) {
+        return append(ReplicationEntry.delete(lastLsn + 1, id));
+    }
+
+    public String incarnation() {
+        return incarnation;
+    }
+
+    public synchronized long lastLsn() {
+        return lastLsn;
+    }
+
+    /**
+     * Continues numbering after {@code lsn} with an empty log, as a promoted replica does.
+     */
+    public synchronized void resetTo(long lsn) {
+        Arrays.fill(entries, null);
+        retained = 0;
+        lastLsn = lsn;
+    }
+
+    /**
+     * @return up to {@code max} entries after {@code afterLsn}, or {@code null} when some of them are no longer retained
+     */
+    public synchronized List<ReplicationEntry> readAfter(long afterLsn, int max) {
+        if (afterLsn > lastLsn) {
+            return null;
+        }
+        if (afterLsn < lastLsn - retained) {
+            return null;
+        }
+        int count = (int) Math.min(max, lastLsn - afterLsn);
+        List<ReplicationEntry> batch = new ArrayList<>(count);
+        for (long lsn = afterLsn + 1; lsn <= afterLsn + count; lsn++) {
+            batch.add(entries[(int) (lsn % entries.length)]);
+        }
+        return batch;
+    }
+
+    /**
+     * Waits until an entry after {@code afterLsn} is appended or the timeout elapses.
+     */
+    public synchronized void awaitAfter(long afterLsn, long timeoutMillis) throws InterruptedException {
+        if (lastLsn <= afterLsn) {
+            wait(timeoutMillis);
+        }
+    }
+
+    private long append(ReplicationEntry entry) {
+        entries[(int) (entry.lsn() % entries.length)] = entry;
+        retained = Math.min(retained + 1, entries.length);
+        lastLsn = entry.lsn();
+        notifyAll();
+        return lastLsn;
+    }
+}
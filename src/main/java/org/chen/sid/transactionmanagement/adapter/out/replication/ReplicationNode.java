@@ -0,0 +1,140 @@
+package org.chen.sid.transactionmanagement.adapter.out.replication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.chen.sid.transactionmanagement.adapter.out.repo.MemoryTransactionRepository;
+import org.chen.sid.transactionmanagement.config.properties.ReplicationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+
+/**
+ * This node's replication role: a primary owns the {@link ReplicationLog} and a {@link ReplicationServer}, a replica
+ * runs a {@link ReplicaFollower}. {@link #promote()} turns a replica into a primary that continues the log after the
+ * last LSN it applied. Other replicas keep following the configured primary address; they follow the promoted node
+ * only once {@code primary-host}/{@code primary-port} point at it and they are restarted, starting with a snapshot.
+ */
+@Slf4j
+public class ReplicationNode implements SmartLifecycle {
+
+    private final ReplicationProperties properties;
+
+    private final MemoryTransactionRepository localRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final Cache transactionCache;
+
+    private volatile ReplicationProperties.Role role;
+
+    private volatile ReplicationLog primaryLog;
+
+    private ReplicationServer server;
+
+    private ReplicaFollower follower;
+
+    private volatile boolean running;
+
+    public ReplicationNode(ReplicationProperties properties, MemoryTransactionRepository localRepository, ObjectMapper objectMapper,
+            Cache transactionCache) {
+        this.properties = properties;
+        this.localRepository = localRepository;
+        this.objectMapper = objectMapper;
+        this.transactionCache = transactionCache;
+        this.role = properties.getRole();
+    }
+
+    public ReplicationProperties.Role role() {
+        return role;
+    }
+
+    /**
+     * @return the log to append writes to, or {@code null} while this node is a replica
+     */
+    public ReplicationLog primaryLog() {
+        return primaryLog;
+    }
+
+    /**
+     * @return how far this node may be behind the primary; zero on the primary, {@code null} while a replica has no
+     * consistent copy (not started, never synced, or loading a snapshot)
+     */
+    public Duration staleness() {
+        if (role == ReplicationProperties.Role.PRIMARY) {
+            return Duration.ZERO;
+        }
+        ReplicaFollower current = follower;
+        if (current == null) {
+            return null;
+        }
+        long nanos = current.stalenessNanos();
+        return nanos == Long.MAX_VALUE ? null : Duration.ofNanos(nanos);
+    }
+
+    public synchronized Status status() {
+        ReplicationLog log = primaryLog;
+        ReplicaFollower current = follower;
+        Duration staleness = staleness();
+        long appliedLsn = log != null ? log.lastLsn() : current != null ? current.appliedLsn() : 0;
+        long primaryLsn = log != null ? log.lastLsn() : current != null ? current.primaryLsn() : 0;
+        return new Status(role, appliedLsn, primaryLsn, staleness == null ? null : staleness.toMillis(),
+                server != null ? server.connectedReplicas() : 0, current != null && current.isConnected());
+    }
+
+    /**
+     * @return {@code false} if this node already is the primary
+     */
+    public synchronized boolean promote() {
+        if (role == ReplicationProperties.Role.PRIMARY) {
+            return false;
+        }
+        follower.stop();
+        becomePrimary(follower.appliedLsn());
+        follower = null;
+        log.warn("Promoted to primary at LSN {}", primaryLog.lastLsn());
+        return true;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (role == ReplicationProperties.Role.PRIMARY) {
+            becomePrimary(0);
+        } else {
+            follower = new ReplicaFollower(properties, localRepository, objectMapper, transactionCache);
+            follower.start();
+        }
+        running = true;
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (server != null) {
+            server.stop();
+        }
+        if (follower != null) {
+            follower.stop();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void becomePrimary(long lastLsn) {
+        ReplicationLog log = new ReplicationLog(properties.getRetention(), lastLsn);
+        server = new ReplicationServer(properties, log, localRepository, objectMapper);
+        server.start();
+        primaryLog = log;
+        role = ReplicationProperties.Role.PRIMARY;
+    }
+
+    /**
+     * @param stalenessMillis {@code null} while a replica has no consistent copy of the primary
+     */
+    public record Status(ReplicationProperties.Role role, long appliedLsn, long primaryLsn, Long stalenessMillis, int connectedReplicas,
+                         boolean followingPrimary) {
+    }
+}
@@ -0,0 +1,193 @@
+package org.chen.sid.transactionmanagement.adapter.out.replication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.chen.sid.transactionmanagement.adapter.out.repo.MemoryTransactionRepository;
+import org.chen.sid.transactionmanagement.config.properties.ReplicationProperties;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Primary side of replication: accepts replica connections and streams the {@link ReplicationLog} to each one as
+ * newline-delimited JSON {@link ReplicationEntry}s.
+ * <p>
+ * A session opens with a {@link ReplicationHandshake}: a replica that cannot sign the challenge with the shared secret
+ * is disconnected. The replica names the log incarnation and last LSN it applied. If it is this log and the log still
+ * retains everything after that LSN, streaming starts there; otherwise the replica first receives a snapshot of the
+ * repository followed by the LSN it is consistent with. Entries are full-state upserts and deletes, so replaying the log over a snapshot that already saw
+ * some of its writes converges to the primary's state. While idle the session sends heartbeats carrying the primary's
+ * last LSN, from which the replica derives its staleness.
+ */
+@Slf4j
+public class ReplicationServer {
+
+    private final ReplicationProperties properties;
+
+    private final ReplicationLog replicationLog;
+
+    private final MemoryTransactionRepository localRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final SecretKeySpec key;
+
+    private final Set<Socket> sessions = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean running;
+
+    private ServerSocket serverSocket;
+
+    public ReplicationServer(ReplicationProperties properties, ReplicationLog replicationLog, MemoryTransactionRepository localRepository,
+            ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.replicationLog = replicationLog;
+        this.localRepository = localRepository;
+        this.objectMapper = objectMapper;
+        this.key = ReplicationHandshake.key(properties.getSecret());
+    }
+
+    public synchronized void start() {
+        try {
+            serverSocket = new ServerSocket();
+            serverSocket.bind(new InetSocketAddress(properties.getBindAddress(), properties.getPort()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot listen for replicas on port " + properties.getPort(), e);
+        }
+        running = true;
+        Thread acceptor = new Thread(this::acceptLoop, "transaction-replication-server");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        log.info("Streaming replication log on {}:{}", properties.getBindAddress(), properties.getPort());
+    }
+
+    public synchronized void stop() {
+        running = false;
+        closeQuietly(serverSocket);
+        sessions.forEach(ReplicationServer::closeQuietly);
+    }
+
+    public int localPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int connectedReplicas() {
+        return sessions.size();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                sessions.add(socket);
+                Thread.ofPlatform().daemon().name("transaction-replication-session").start(() -> serve(socket));
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("Accepting replica connection failed", e);
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+            String nonce = ReplicationHandshake.newNonce();
+            writer.write(ReplicationHandshake.challenge(replicationLog.incarnation(), nonce));
+            writer.newLine();
+            writer.flush();
+            // Unauthenticated peers get no longer than a few heartbeats to answer.
+            socket.setSoTimeout((int) properties.getHeartbeatInterval().multipliedBy(5).toMillis());
+            ReplicationHandshake.Hello hello = ReplicationHandshake.verifyHello(key, nonce, reader.readLine());
+            if (hello == null) {
+                log.warn("Rejected replication connection from {}: bad handshake", socket.getRemoteSocketAddress());
+                return;
+            }
+            socket.setSoTimeout(0);
+            long cursor = hello.lsn();
+            if (!replicationLog.incarnation().equals(hello.incarnation()) || replicationLog.readAfter(cursor, 0) == null) {
+                cursor = sendSnapshot(writer);
+            }
+            log.info("Replica {} streaming from LSN {}", socket.getRemoteSocketAddress(), cursor);
+            stream(writer, cursor);
+        } catch (IOException | UncheckedIOException e) {
+            log.info("Replica {} disconnected: {}", socket.getRemoteSocketAddress(), e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            sessions.remove(socket);
+        }
+    }
+
+    private long sendSnapshot(BufferedWriter writer) throws IOException {
+        long snapshotLsn = replicationLog.lastLsn();
+        write(writer, new ReplicationEntry(ReplicationEntry.Type.SNAPSHOT, 0, snapshotLsn, null, null));
+        localRepository.forEach(transaction -> {
+            try {
+                write(writer, new ReplicationEntry(ReplicationEntry.Type.UPSERT, 0, snapshotLsn, transaction.getId(), transaction));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        write(writer, new ReplicationEntry(ReplicationEntry.Type.SNAPSHOT_END, snapshotLsn, snapshotLsn, null, null));
+        writer.flush();
+        return snapshotLsn;
+    }
+
+    private void stream(BufferedWriter writer, long cursor) throws IOException, InterruptedException {
+        long heartbeatNanos = properties.getHeartbeatInterval().toNanos();
+        long lastHeartbeat = 0;
+        while (running) {
+            List<ReplicationEntry> batch = replicationLog.readAfter(cursor, properties.getBatchSize());
+            if (batch == null) {
+                // Fell out of the retained log; the replica reconnects and receives a snapshot.
+                return;
+            }
+            long primaryLsn = replicationLog.lastLsn();
+            for (ReplicationEntry entry : batch) {
+                write(writer, entry.sentAt(primaryLsn));
+                cursor = entry.lsn();
+            }
+            long now = System.nanoTime();
+            if (now - lastHeartbeat >= heartbeatNanos) {
+                write(writer, new ReplicationEntry(ReplicationEntry.Type.HEARTBEAT, cursor, primaryLsn, null, null));
+                lastHeartbeat = now;
+            }
+            writer.flush();
+            if (batch.isEmpty()) {
+                replicationLog.awaitAfter(cursor, properties.getHeartbeatInterval().toMillis());
+            }
+        }
+    }
+
+    private void write(BufferedWriter writer, ReplicationEntry entry) throws IOException {
+        writer.write(objectMapper.writeValueAsString(entry));
+        writer.newLine();
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+            // Shutting down anyway.
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package org.chen.sid.transactionmanagement.adapter.out.repo;
+
+import io.micrometer.core.annotation.Timed;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.CategorySummary;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.Page;
+import org.chen.sid.transactionmanagement.common.jfr.PageScanEvent;
+import org.chen.sid.transactionmanagement.domain.infrastructure.TransactionRepository;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.chen.sid.transactionmanagement.domain.model.entity.TransactionType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Relational adapter for the {@link TransactionRepository} port, enabled with the {@code jdbc} profile.
+ * <p>
+ * Pages are ordered by {@code (create_time, id)} and read with a keyset seek on the matching index, so deep pages do not
+ * materialize the skipped rows.
+ */
+@Repository
+@Profile("jdbc")
+@Timed(value = "transaction.repository", histogram = true)
+public class JdbcTransactionRepository implements TransactionRepository {
+
+    private static final String REPOSITORY = "jdbc";
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String COLUMNS = "id, name, amount, category, type, create_time, update_time";
+
+    private static final String UPSERT_SQL = "MERGE INTO transactions (" + COLUMNS + ") KEY (id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String FIND_BY_ID_SQL = "SELECT " + COLUMNS + " FROM transactions WHERE id = ?";
+
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM transactions";
+
+    private static final String FIRST_PAGE_SQL = "SELECT " + COLUMNS + " FROM transactions ORDER BY create_time, id FETCH FIRST ? ROWS ONLY";
+
+    private static final String PAGE_BOUNDARY_SQL = "SELECT create_time, id FROM transactions ORDER BY create_time, id OFFSET ? ROWS FETCH NEXT 1 ROW ONLY";
+
+    private static final String PAGE_AFTER_SQL = "SELECT " + COLUMNS + " FROM transactions WHERE (create_time, id) > (?, ?) "
+                                                 + "ORDER BY create_time, id FETCH FIRST ? ROWS ONLY";
+
+    private static final String FIND_ALL_SQL = "SELECT " + COLUMNS + " FROM transactions";
+
+    private static final String SUMMARY_SQL = "SELECT category, COUNT(*) AS cnt, SUM(amount) AS total FROM transactions GROUP BY category";
+
+    private static final String DELETE_SQL = "DELETE FROM transactions WHERE id = ?";
+
+    private static final String EXISTS_SQL = "SELECT COUNT(*) FROM transactions WHERE id = ?";
+
+    private static final RowMapper<Transaction> ROW_MAPPER = JdbcTransactionRepository::mapRow;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public JdbcTransactionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Transaction save(Transaction transaction) {
+        validate(transaction);
+        jdbcTemplate.update(UPSERT_SQL, ps -> bind(ps, transaction));
+        return transaction;
+    }
+
+    @Override
+    public List<Transaction> saveAll(List<Transaction> transactions) {
+        transactions.forEach(JdbcTransactionRepository::validate);
+        jdbcTemplate.batchUpdate(UPSERT_SQL, transactions, BATCH_SIZE, JdbcTransactionRepository::bind);
+        return transactions;
+    }
+
+    @Override
+    public Optional<Transaction> findById(String id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return jdbcTemplate.query(FIND_BY_ID_SQL, ROW_MAPPER, id).stream().findFirst();
+    }
+
+    @Override
+    public Page<Transaction> findPage(long page, long size) {
+        PageScanEvent scan = PageScanEvent.begin(REPOSITORY, page, size);
+        Long total = jdbcTemplate.queryForObject(COUNT_SQL, Long.class);
+        long offset = (page - 1) * size;
+        if (offset == 0) {
+            List<Transaction> data = jdbcTemplate.query(FIRST_PAGE_SQL, ROW_MAPPER, size);
+            scan.commit(data.size(), data.size());
+            return new Page<>(total, data);
+        }
+        if (offset >= total) {
+            scan.commit(0, 0);
+            return new Page<>(total, List.of());
+        }
+        // Locate the last key of the previous page on the index only, then seek from it.
+        List<Object[]> boundary = jdbcTemplate.query(PAGE_BOUNDARY_SQL,
+                (rs, rowNum) -> new Object[]{rs.getObject("create_time", LocalDateTime.class), rs.getString("id")}, offset - 1);
+        if (boundary.isEmpty()) {
+            scan.commit(offset, 0);
+            return new Page<>(total, List.of());
+        }
+        List<Transaction> data = jdbcTemplate.query(PAGE_AFTER_SQL, ROW_MAPPER, boundary.get(0)[0], boundary.get(0)[1], size);
+        scan.commit(offset + data.size(), data.size());
+        return new Page<>(total, data);
+    }
+
+    @Override
+    public List<CategorySummary> summarizeByCategory() {
+        return jdbcTemplate.query(SUMMARY_SQL,
+                (rs, rowNum) -> new CategorySummary(rs.getString("category"), rs.getLong("cnt"), rs.getBigDecimal("total")));
+    }
+
+    @Override
+    public boolean deleteById(String id) {
+        if (id == null) {
+            return false;
+        }
+        return jdbcTemplate.update(DELETE_SQL, id) > 0;
+    }
+
+    @Override
+    public List<String> deleteAllById(List<String> ids) {
+        List<String> present = ids.stream().filter(Objects::nonNull).toList();
+        int[][] counts = jdbcTemplate.batchUpdate(DELETE_SQL, present, BATCH_SIZE, (statement, id) -> statement.setString(1, id));
+        List<String> deleted = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                    deleted.add(present.get(index));
+                }
+                index++;
+            }
+        }
+        return deleted;
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        if (id == null) {
+            return false;
+        }
+        Long count = jdbcTemplate.queryForObject(EXISTS_SQL, Long.class, id);
+        return count != null && count > 0;
+    }
+
+    public void forEach(Consumer<Transaction> consumer) {
+        jdbcTemplate.query(FIND_ALL_SQL, (RowCallbackHandler) rs -> consumer.accept(mapRow(rs, 0)));
+    }
+
+    private static void validate(Transaction transaction) {
+        if (transaction == null) {
+            throw new IllegalArgumentException("Transaction cannot be null");
+        }
+        if (transaction.getId() == null) {
+            throw new IllegalArgumentException("Transaction ID cannot be null");
+        }
+    }
+
+    private static void bind(PreparedStatement ps, Transaction transaction) throws SQLException {
+        ps.setString(1, transaction.getId());
+        ps.setString(2, transaction.getName());
+        ps.setBigDecimal(3, transaction.getAmount());
+        ps.setString(4, transaction.getCategory());
+        ps.setString(5, transaction.getType() == null ? null : transaction.getType().name());
+        ps.setObject(6, transaction.getCreateTime());
+        ps.setObject(7, transaction.getUpdateTime());
+    }
+
+    private static Transaction mapRow(ResultSet rs, int rowNum) throws SQLException {
+        String type = rs.getString("type");
+        return Transaction.builder()
+                .id(rs.getString("id"))
+                .name(rs.getString("name"))
+                .amount(rs.getBigDecimal("amount"))
+                .category(rs.getString("category"))
+                .type(type == null ? null : TransactionType.valueOf(type))
+                .createTime(rs.getObject("create_time", LocalDateTime.class))
+                .updateTime(rs.getObject("update_time", LocalDateTime.class))
+                .build();
+    }
+}
@@ -0,0 +1,233 @@
+package org.chen.sid.transactionmanagement.adapter.out.repo;
+
+import org.chen.sid.transactionmanagement.config.properties.EventSourcingProperties;
+import org.chen.sid.transactionmanagement.domain.infrastructure.TransactionEventStore;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionDeletedEvent;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Append-only, per-transaction event log fed by the command side's domain events.
+ * <p>
+ * Each stream keeps its events ordered by {@code occurredAt}: listeners may deliver the events of concurrent commands
+ * out of order, so a late event is inserted in place and the folded state is recomputed from there. Each stream keeps
+ * its folded current state and a snapshot every {@code snapshotInterval} events, so a point-in-time read replays at
+ * most one snapshot interval instead of the whole stream.
+ * <p>
+ * A stream keeps at most {@code max-events-per-transaction} events; older ones are folded into a base state. The
+ * stream of a deleted transaction is dropped {@code deleted-retention} after the deletion, checked as later events
+ * arrive.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "transaction.event-sourcing", name = "enabled", havingValue = "true")
+public class MemoryTransactionEventStore implements TransactionEventStore {
+
+    private final ConcurrentHashMap<String, EventStream> streams = new ConcurrentHashMap<>();
+
+    private final ConcurrentLinkedQueue<Deletion> deletions = new ConcurrentLinkedQueue<>();
+
+    private final int snapshotInterval;
+
+    private final int maxEvents;
+
+    private final Duration deletedRetention;
+
+    @Autowired
+    public MemoryTransactionEventStore(EventSourcingProperties properties) {
+        if (properties.getSnapshotInterval() <= 0) {
+            throw new IllegalArgumentException("Snapshot interval must be greater than 0");
+        }
+        if (properties.getMaxEventsPerTransaction() <= 0) {
+            throw new IllegalArgumentException("Max events per transaction must be greater than 0");
+        }
+        this.snapshotInterval = properties.getSnapshotInterval();
+        this.maxEvents = properties.getMaxEventsPerTransaction();
+        this.deletedRetention = properties.getDeletedRetention();
+    }
+
+    @EventListener
+    public void on(TransactionEvent event) {
+        append(event);
+    }
+
+    @Override
+    public void append(TransactionEvent event) {
+        streams.computeIfAbsent(event.transactionId(), id -> new EventStream()).append(event, snapshotInterval, maxEvents);
+        LocalDateTime now = LocalDateTime.now();
+        if (event instanceof TransactionDeletedEvent deleted) {
+            deletions.add(new Deletion(now, deleted));
+        }
+        dropExpiredDeletions(now.minus(deletedRetention));
+    }
+
+    @Override
+    public List<TransactionEvent> findEvents(String transactionId) {
+        EventStream stream = streams.get(transactionId);
+        return stream == null ? List.of() : stream.events();
+    }
+
+    @Override
+    public Optional<Transaction> findStateAsOf(String transactionId, LocalDateTime asOf) {
+        EventStream stream = streams.get(transactionId);
+        return stream == null ? Optional.empty() : Optional.ofNullable(stream.stateAsOf(asOf));
+    }
+
+    int streamCount() {
+        return streams.size();
+    }
+
+    /**
+     * Retention counts from when the deletion was appended, not from its {@code occurredAt}, so replayed or late events
+     * are kept as long as live ones.
+     */
+    private void dropExpiredDeletions(LocalDateTime appendedUntil) {
+        Deletion deletion;
+        while ((deletion = deletions.peek()) != null && !deletion.appendedAt().isAfter(appendedUntil)) {
+            if (deletions.remove(deletion)) {
+                TransactionDeletedEvent event = deletion.event();
+                // Only if nothing happened to the ID since, e.g. a create reusing it.
+                streams.computeIfPresent(event.transactionId(), (id, stream) -> stream.endsWith(event) ? null : stream);
+            }
+        }
+    }
+
+    private static final class EventStream {
+
+        private final List<TransactionEvent> events = new ArrayList<>();
+
+        private final List<Snapshot> snapshots = new ArrayList<>();
+
+        /**
+         * State folded from the events compacted away, and when the last of them occurred; {@code null} until then.
+         */
+        private Transaction base;
+
+        private LocalDateTime baseOccurredAt;
+
+        private Transaction current;
+
+        synchronized void append(TransactionEvent event, int snapshotInterval, int maxEvents) {
+            int position = events.size();
+            while (position > 0 && events.get(position - 1).occurredAt().isAfter(event.occurredAt())) {
+                position--;
+            }
+            events.add(position, event);
+            if (position == events.size() - 1) {
+                current = event.applyTo(current);
+                if (events.size() % snapshotInterval == 0) {
+                    snapshots.add(new Snapshot(events.size(), event.occurredAt(), current));
+                }
+            } else {
+                refoldFrom(position, snapshotInterval);
+            }
+            if (events.size() > maxEvents) {
+                compact(events.size() - maxEvents + maxEvents / 4);
+            }
+        }
+
+        synchronized boolean endsWith(TransactionEvent event) {
+            return !events.isEmpty() && events.get(events.size() - 1) == event;
+        }
+
+        synchronized List<TransactionEvent> events() {
+            return List.copyOf(events);
+        }
+
+        synchronized Transaction stateAsOf(LocalDateTime asOf) {
+            if (events.isEmpty() || events.get(0).occurredAt().isAfter(asOf)) {
+                return baseOccurredAt != null && !baseOccurredAt.isAfter(asOf) ? copy(base) : null;
+            }
+            if (!events.get(events.size() - 1).occurredAt().isAfter(asOf)) {
+                return copy(current);
+            }
+            Snapshot snapshot = latestSnapshotAtOrBefore(asOf);
+            Transaction state = snapshot == null ? base : snapshot.state();
+            for (int i = snapshot == null ? 0 : snapshot.version(); i < events.size(); i++) {
+                TransactionEvent event = events.get(i);
+                if (event.occurredAt().isAfter(asOf)) {
+                    break;
+                }
+                state = event.applyTo(state);
+            }
+            return copy(state);
+        }
+
+        /**
+         * Recomputes the snapshots and current state after an event was inserted at {@code position}.
+         */
+        private void refoldFrom(int position, int snapshotInterval) {
+            snapshots.removeIf(snapshot -> snapshot.version() > position);
+            Snapshot last = snapshots.isEmpty() ? null : snapshots.get(snapshots.size() - 1);
+            Transaction state = last == null ? base : last.state();
+            for (int i = last == null ? 0 : last.version(); i < events.size(); i++) {
+                state = events.get(i).applyTo(state);
+                if ((i + 1) % snapshotInterval == 0) {
+                    snapshots.add(new Snapshot(i + 1, events.get(i).occurredAt(), state));
+                }
+            }
+            current = state;
+        }
+
+        /**
+         * Folds the oldest {@code count} events into the base state and drops them.
+         */
+        private void compact(int count) {
+            List<TransactionEvent> oldest = events.subList(0, count);
+            for (TransactionEvent event : oldest) {
+                base = event.applyTo(base);
+            }
+            baseOccurredAt = oldest.get(count - 1).occurredAt();
+            oldest.clear();
+            List<Snapshot> shifted = new ArrayList<>(snapshots.size());
+            for (Snapshot snapshot : snapshots) {
+                if (snapshot.version() > count) {
+                    shifted.add(new Snapshot(snapshot.version() - count, snapshot.occurredAt(), snapshot.state()));
+                }
+            }
+            snapshots.clear();
+            snapshots.addAll(shifted);
+        }
+
+        private Snapshot latestSnapshotAtOrBefore(LocalDateTime asOf) {
+            int low = 0;
+            int high = snapshots.size() - 1;
+            Snapshot found = null;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                Snapshot candidate = snapshots.get(middle);
+                if (candidate.occurredAt().isAfter(asOf)) {
+                    high = middle - 1;
+                } else {
+                    found = candidate;
+                    low = middle + 1;
+                }
+            }
+            return found;
+        }
+
+        private static Transaction copy(Transaction state) {
+            return state == null ? null : state.toBuilder().build();
+        }
+    }
+
+    /**
+     * @param version number of events folded into {@code state}
+     */
+    private record Snapshot(int version, LocalDateTime occurredAt, Transaction state) {
+    }
+
+    private record Deletion(LocalDateTime appendedAt, TransactionDeletedEvent event) {
+    }
+}
@@ -1,23 +1,65 @@
 package org.chen.sid.transactionmanagement.adapter.out.repo;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.CategorySummary;
 import org.chen.sid.transactionmanagement.application.usecase.query.dto.Page;
+import org.chen.sid.transactionmanagement.common.jfr.PageScanEvent;
+import org.chen.sid.transactionmanagement.common.jfr.RepositoryOperationEvent;
 import org.chen.sid.transactionmanagement.domain.infrastructure.TransactionRepository;
 import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Spliterator;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 
 @Repository
+@Profile("!jdbc & !sharded")
+@Timed(value = "transaction.repository", histogram = true)
 public class MemoryTransactionRepository implements TransactionRepository {
 
+    private static final String REPOSITORY = "memory";
+
     private final ConcurrentHashMap<String, Transaction> transactionStore = new ConcurrentHashMap<>();
 
     private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
+    private final Timer readLockWait;
+
+    private final Timer writeLockWait;
+
+    /**
+     * Creates an unmetered repository, as used inside the write-behind cache and in tests.
+     */
+    public MemoryTransactionRepository() {
+        this(new CompositeMeterRegistry());
+    }
+
+    @Autowired
+    public MemoryTransactionRepository(MeterRegistry meterRegistry) {
+        this.readLockWait = RepositoryLocks.lockWaitTimer(meterRegistry, "read");
+        this.writeLockWait = RepositoryLocks.lockWaitTimer(meterRegistry, "write");
+        Gauge.builder("transaction.store.size", transactionStore, Map::size)
+                .description("Transactions held by the in-memory repository")
+                .register(meterRegistry);
+    }
+
     @Override
     public Transaction save(Transaction transaction) {
         if (transaction == null) {
@@ -26,12 +68,67 @@ public class MemoryTransactionRepository implements TransactionRepository {
         if (transaction.getId() == null) {
             throw new IllegalArgumentException("Transaction ID cannot be null");
         }
-        lock.writeLock().lock();
+        RepositoryOperationEvent event = RepositoryOperationEvent.begin(REPOSITORY, "save");
+        Lock writeLock = acquireWrite(event);
         try {
             transactionStore.put(transaction.getId(), transaction);
             return transaction;
         } finally {
-            lock.writeLock().unlock();
+            RepositoryLocks.release(writeLock, event);
+        }
+    }
+
+    /**
+     * Saves all transactions under one acquisition of the write lock.
+     */
+    @Override
+    public List<Transaction> saveAll(List<Transaction> transactions) {
+        for (Transaction transaction : transactions) {
+            if (transaction == null || transaction.getId() == null) {
+                throw new IllegalArgumentException("Transaction and its ID cannot be null");
+            }
+        }
+        RepositoryOperationEvent event = RepositoryOperationEvent.begin(REPOSITORY, "saveAll");
+        Lock writeLock = acquireWrite(event);
+        try {
+            transactions.forEach(transaction -> transactionStore.put(transaction.getId(), transaction));
+            return transactions;
+        } finally {
+            RepositoryLocks.release(writeLock, event);
+        }
+    }
+
+    /**
+     * Checks and saves all transactions under one acquisition of the write lock.
+     */
+    @Override
+    public List<Transaction> saveAllIfUnchanged(List<Transaction> transactions, Map<String, LocalDateTime> readUpdateTimes) {
+        for (Transaction transaction : transactions) {
+            if (transaction == null || transaction.getId() == null) {
+                throw new IllegalArgumentException("Transaction and its ID cannot be null");
+            }
+        }
+        RepositoryOperationEvent event = RepositoryOperationEvent.begin(REPOSITORY, "saveAllIfUnchanged");
+        Lock writeLock = acquireWrite(event);
+        try {
+            return transactions.stream()
+                    .filter(transaction -> putIfUnchanged(transaction, readUpdateTimes.get(transaction.getId())))
+                    .toList();
+        } finally {
+            RepositoryLocks.release(writeLock, event);
+        }
+    }
+
+    /**
+     * Saves {@code transaction} only if the stored one still has {@code readUpdateTime}.
+     */
+    public boolean saveIfUnchanged(Transaction transaction, LocalDateTime readUpdateTime) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.begin(REPOSITORY, "saveIfUnchanged");
+        Lock writeLock = acquireWrite(event);
+        try {
+            return putIfUnchanged(transaction, readUpdateTime);
+        } finally {
+            RepositoryLocks.release(writeLock, event);
         }
     }
 
@@ -40,23 +137,46 @@ public class MemoryTransactionRepository implements TransactionRepository {
         if (id == null) {
             return Optional.empty();
         }
-        lock.readLock().lock();
+        RepositoryOperationEvent event = RepositoryOperationEvent.begin(REPOSITORY, "findById");
+        Lock readLock = acquireRead(event);
         try {
             return Optional.ofNullable(transactionStore.get(id));
         } finally {
-            lock.readLock().unlock();
+            RepositoryLocks.release(readLock, event);
         }
     }
 
     @Override
     public Page<Transaction> findPage(long page, long size) {
-        lock.readLock().lock();
+        RepositoryOperationEvent event = RepositoryOperationEvent.begin(REPOSITORY, "findPage");
+        Lock readLock = acquireRead(event);
         try {
+            PageScanEvent scan = PageScanEvent.begin(REPOSITORY, page, size);
             long total = transactionStore.mappingCount();
-            List<Transaction> data = transactionStore.values().stream().skip((page - 1) * size).limit(size).toList();
+            long offset = (page - 1) * size;
+            List<Transaction> data = transactionStore.values().stream().skip(offset).limit(size).toList();
+            scan.commit(Math.min(offset, total) + data.size(), data.size());
             return new Page<>(total, data);
         } finally {
-            lock.readLock().unlock();
+            RepositoryLocks.release(readLock, event);
+        }
+    }
+
+    @Override
+    public List<CategorySummary> summarizeByCategory() {
+        RepositoryOperationEvent event = RepositoryOperationEvent.begin(REPOSITORY, "summarizeByCategory");
+        Lock readLock = acquireRead(event);
+        try {
+            Map<String, CategorySummary> summaries = new HashMap<>();
+            for (Transaction transaction : transactionStore.values()) {
+                CategorySummary summary = summaries.computeIfAbsent(transaction.getCategory(),
+                        category -> new CategorySummary(category, 0, BigDecimal.ZERO));
+                summary.setCount(summary.getCount() + 1);
+                summary.setTotalAmount(summary.getTotalAmount().add(transaction.getAmount()));
+            }
+            return List.copyOf(summaries.values());
+        } finally {
+            RepositoryLocks.release(readLock, event);
         }
     }
 
@@ -65,11 +185,43 @@ public class MemoryTransactionRepository implements TransactionRepository {
         if (id == null) {
             return false;
         }
-        lock.writeLock().lock();
+        RepositoryOperationEvent event = RepositoryOperationEvent.begin(REPOSITORY, "deleteById");
+        Lock writeLock = acquireWrite(event);
         try {
             return transactionStore.remove(id) != null;
         } finally {
-            lock.writeLock().unlock();
+            RepositoryLocks.release(writeLock, event);
+        }
+    }
+
+    /**
+     * Deletes all transactions under one acquisition of the write lock.
+     */
+    @Override
+    public List<String> deleteAllById(List<String> ids) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.begin(REPOSITORY, "deleteAllById");
+        Lock writeLock = acquireWrite(event);
+        try {
+            return ids.stream().filter(id -> id != null && transactionStore.remove(id) != null).toList();
+        } finally {
+            RepositoryLocks.release(writeLock, event);
+        }
+    }
+
+    /**
+     * Removes {@code transaction} unless it was updated after {@code updateTime}, e.g. once a copy was archived.
+     */
+    public boolean evict(Transaction transaction, LocalDateTime updateTime) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.begin(REPOSITORY, "evict");
+        Lock writeLock = acquireWrite(event);
+        try {
+            Transaction current = transactionStore.get(transaction.getId());
+            if (current == null || !Objects.equals(current.getUpdateTime(), updateTime)) {
+                return false;
+            }
+            return transactionStore.remove(transaction.getId(), current);
+        } finally {
+            RepositoryLocks.release(writeLock, event);
         }
     }
 
@@ -78,11 +230,42 @@ public class MemoryTransactionRepository implements TransactionRepository {
         if (id == null) {
             return false;
         }
-        lock.readLock().lock();
+        RepositoryOperationEvent event = RepositoryOperationEvent.begin(REPOSITORY, "existsById");
+        Lock readLock = acquireRead(event);
         try {
             return transactionStore.containsKey(id);
         } finally {
-            lock.readLock().unlock();
+            RepositoryLocks.release(readLock, event);
+        }
+    }
+
+    @Override
+    public Spliterator<Transaction> scan() {
+        return transactionStore.values().spliterator();
+    }
+
+    /**
+     * Visits every transaction without taking the lock, so a long scan never blocks writers. The iteration is weakly
+     * consistent: each transaction stored when it starts is visited exactly once, later writes may or may not be.
+     */
+    public void forEach(Consumer<Transaction> consumer) {
+        transactionStore.values().forEach(consumer);
+    }
+
+    private boolean putIfUnchanged(Transaction transaction, LocalDateTime readUpdateTime) {
+        Transaction current = transactionStore.get(transaction.getId());
+        if (current == null || !Objects.equals(current.getUpdateTime(), readUpdateTime)) {
+            return false;
         }
+        transactionStore.put(transaction.getId(), transaction);
+        return true;
+    }
+
+    private Lock acquireRead(RepositoryOperationEvent event) {
+        return RepositoryLocks.acquire(lock.readLock(), readLockWait, "read", event);
+    }
+
+    private Lock acquireWrite(RepositoryOperationEvent event) {
+        return RepositoryLocks.acquire(lock.writeLock(), writeLockWait, "write", event);
     }
 }
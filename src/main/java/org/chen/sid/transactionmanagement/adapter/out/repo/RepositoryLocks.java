@@ -0,0 +1,41 @@
+package org.chen.sid.transactionmanagement.adapter.out.repo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.chen.sid.transactionmanagement.common.jfr.RepositoryOperationEvent;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Lock acquisition shared by the in-memory repositories: the wait is recorded in a {@code transaction.repository.lock.wait}
+ * timer and, with the hold time, in the operation's JFR event.
+ */
+final class RepositoryLocks {
+
+    private RepositoryLocks() {
+    }
+
+    static Lock acquire(Lock lock, Timer waitTimer, String mode, RepositoryOperationEvent event) {
+        long start = System.nanoTime();
+        lock.lock();
+        long acquired = System.nanoTime();
+        waitTimer.record(acquired - start, TimeUnit.NANOSECONDS);
+        event.lockAcquired(mode, acquired - start, acquired);
+        return lock;
+    }
+
+    static void release(Lock lock, RepositoryOperationEvent event) {
+        event.lockReleasing();
+        lock.unlock();
+        event.commit();
+    }
+
+    static Timer lockWaitTimer(MeterRegistry meterRegistry, String mode) {
+        return Timer.builder("transaction.repository.lock.wait")
+                .description("Time spent waiting for the repository lock")
+                .tag("mode", mode)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
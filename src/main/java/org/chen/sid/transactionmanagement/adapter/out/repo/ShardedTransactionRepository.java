@@ -0,0 +1,426 @@
+package org.chen.sid.transactionmanagement.adapter.out.repo;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.CategorySummary;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.Page;
+import org.chen.sid.transactionmanagement.common.jfr.PageScanEvent;
+import org.chen.sid.transactionmanagement.common.jfr.RepositoryOperationEvent;
+import org.chen.sid.transactionmanagement.config.properties.ShardingProperties;
+import org.chen.sid.transactionmanagement.domain.infrastructure.TransactionRepository;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory repository split into independent shards by ID hash, each with its own map, {@code (createTime, id)}
+ * order index and per-category counters.
+ * <p>
+ * Writes lock only their shard, so writers on different shards never contend. Lookups and pages take no lock: lookups
+ * go to one shard, pages are a k-way merge of the shards' order indexes that stops after the requested rows. Summaries
+ * add up the shards' counters in parallel on the common fork-join pool, each under its shard's read lock. Lock waits
+ * are recorded like those of the in-memory repository, per operation in JFR and in the shared lock wait timer.
+ */
+@Repository
+@Profile("sharded")
+@Timed(value = "transaction.repository", histogram = true)
+public class ShardedTransactionRepository implements TransactionRepository {
+
+    private static final String REPOSITORY = "sharded";
+
+    private final Shard[] shards;
+
+    /**
+     * Creates an unmetered repository, as used in tests.
+     */
+    public ShardedTransactionRepository(int shardCount) {
+        this(shardCount, new CompositeMeterRegistry());
+    }
+
+    @Autowired
+    public ShardedTransactionRepository(ShardingProperties properties, MeterRegistry meterRegistry) {
+        this(properties.getShards(), meterRegistry);
+    }
+
+    private ShardedTransactionRepository(int shardCount, MeterRegistry meterRegistry) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be greater than 0");
+        }
+        int powerOfTwo = 1;
+        while (powerOfTwo < shardCount) {
+            powerOfTwo <<= 1;
+        }
+        this.shards = new Shard[powerOfTwo];
+        Timer readLockWait = RepositoryLocks.lockWaitTimer(meterRegistry, "read");
+        Timer writeLockWait = RepositoryLocks.lockWaitTimer(meterRegistry, "write");
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard(readLockWait, writeLockWait);
+        }
+        Gauge.builder("transaction.store.size", this, ShardedTransactionRepository::size)
+                .description("Transactions held by the in-memory repository")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Transaction save(Transaction transaction) {
+        if (transaction == null) {
+            throw new IllegalArgumentException("Transaction cannot be null");
+        }
+        if (transaction.getId() == null) {
+            throw new IllegalArgumentException("Transaction ID cannot be null");
+        }
+        shardFor(transaction.getId()).save(transaction);
+        return transaction;
+    }
+
+    /**
+     * Checks and saves each transaction under its shard's lock.
+     */
+    @Override
+    public List<Transaction> saveAllIfUnchanged(List<Transaction> transactions, Map<String, LocalDateTime> readUpdateTimes) {
+        for (Transaction transaction : transactions) {
+            if (transaction == null || transaction.getId() == null) {
+                throw new IllegalArgumentException("Transaction and its ID cannot be null");
+            }
+        }
+        return transactions.stream()
+                .filter(transaction -> shardFor(transaction.getId()).saveIfUnchanged(transaction, readUpdateTimes.get(transaction.getId())))
+                .toList();
+    }
+
+    @Override
+    public Optional<Transaction> findById(String id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(shardFor(id).byId.get(id));
+    }
+
+    @Override
+    public Page<Transaction> findPage(long page, long size) {
+        PageScanEvent scan = PageScanEvent.begin(REPOSITORY, page, size);
+        long total = size();
+        PriorityQueue<ShardCursor> heads = new PriorityQueue<>(shards.length);
+        for (Shard shard : shards) {
+            ShardCursor cursor = new ShardCursor(shard.inOrder.entrySet().iterator());
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        List<Transaction> data = new ArrayList<>((int) Math.min(size, total));
+        long skipped = 0;
+        for (long skip = (page - 1) * size; skip > 0 && !heads.isEmpty(); skip--) {
+            next(heads);
+            skipped++;
+        }
+        while (data.size() < size && !heads.isEmpty()) {
+            data.add(next(heads));
+        }
+        scan.commit(skipped + data.size(), data.size());
+        return new Page<>(total, data);
+    }
+
+    @Override
+    public List<CategorySummary> summarizeByCategory() {
+        Map<String, CategorySummary> merged = Arrays.stream(shards)
+                .parallel()
+                .map(Shard::summaries)
+                .reduce(new HashMap<>(), ShardedTransactionRepository::mergeSummaries, ShardedTransactionRepository::mergeSummaries);
+        return List.copyOf(merged.values());
+    }
+
+    @Override
+    public boolean deleteById(String id) {
+        if (id == null) {
+            return false;
+        }
+        return shardFor(id).delete(id);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        if (id == null) {
+            return false;
+        }
+        return shardFor(id).byId.containsKey(id);
+    }
+
+    @Override
+    public Spliterator<Transaction> scan() {
+        return new ShardsSpliterator(shards, 0, shards.length);
+    }
+
+    public long size() {
+        long size = 0;
+        for (Shard shard : shards) {
+            size += shard.byId.mappingCount();
+        }
+        return size;
+    }
+
+    int shardCount() {
+        return shards.length;
+    }
+
+    private Shard shardFor(String id) {
+        int hash = id.hashCode();
+        return shards[(hash ^ hash >>> 16) & (shards.length - 1)];
+    }
+
+    private static Transaction next(PriorityQueue<ShardCursor> heads) {
+        ShardCursor cursor = heads.poll();
+        Transaction transaction = cursor.current.getValue();
+        if (cursor.advance()) {
+            heads.add(cursor);
+        }
+        return transaction;
+    }
+
+    private static Map<String, CategorySummary> mergeSummaries(Map<String, CategorySummary> left, Map<String, CategorySummary> right) {
+        // Accumulates into a fresh map; the identity map is shared by all parallel reductions.
+        Map<String, CategorySummary> merged = new HashMap<>(left);
+        right.forEach((category, summary) -> merged.merge(category, summary,
+                (a, b) -> new CategorySummary(a.getCategory(), a.getCount() + b.getCount(), a.getTotalAmount().add(b.getTotalAmount()))));
+        return merged;
+    }
+
+    private static final class Shard {
+
+        private final ConcurrentHashMap<String, Transaction> byId = new ConcurrentHashMap<>();
+
+        private final ConcurrentSkipListMap<OrderKey, Transaction> inOrder = new ConcurrentSkipListMap<>();
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private final Timer readLockWait;
+
+        private final Timer writeLockWait;
+
+        /**
+         * Keyed by category, {@code null} for uncategorized transactions; guarded by the shard's lock.
+         */
+        private final HashMap<String, CategorySummary> categories = new HashMap<>();
+
+        /**
+         * What each stored transaction was last indexed and counted under; guarded by the shard's lock. Callers update the
+         * instances returned by {@code findById} in place before saving them, so the previous values cannot be read
+         * back from the stored transaction.
+         */
+        private final HashMap<String, Indexed> indexed = new HashMap<>();
+
+        private Shard(Timer readLockWait, Timer writeLockWait) {
+            this.readLockWait = readLockWait;
+            this.writeLockWait = writeLockWait;
+        }
+
+        void save(Transaction transaction) {
+            RepositoryOperationEvent event = RepositoryOperationEvent.begin(REPOSITORY, "save");
+            Lock writeLock = RepositoryLocks.acquire(lock.writeLock(), writeLockWait, "write", event);
+            try {
+                put(transaction);
+            } finally {
+                RepositoryLocks.release(writeLock, event);
+            }
+        }
+
+        boolean saveIfUnchanged(Transaction transaction, LocalDateTime readUpdateTime) {
+            RepositoryOperationEvent event = RepositoryOperationEvent.begin(REPOSITORY, "saveIfUnchanged");
+            Lock writeLock = RepositoryLocks.acquire(lock.writeLock(), writeLockWait, "write", event);
+            try {
+                Transaction current = byId.get(transaction.getId());
+                if (current == null || !Objects.equals(current.getUpdateTime(), readUpdateTime)) {
+                    return false;
+                }
+                put(transaction);
+                return true;
+            } finally {
+                RepositoryLocks.release(writeLock, event);
+            }
+        }
+
+        boolean delete(String id) {
+            RepositoryOperationEvent event = RepositoryOperationEvent.begin(REPOSITORY, "deleteById");
+            Lock writeLock = RepositoryLocks.acquire(lock.writeLock(), writeLockWait, "write", event);
+            try {
+                Indexed previous = indexed.remove(id);
+                if (previous == null) {
+                    return false;
+                }
+                byId.remove(id);
+                inOrder.remove(previous.key());
+                adjustCategory(previous.category(), previous.amount().negate(), -1);
+                return true;
+            } finally {
+                RepositoryLocks.release(writeLock, event);
+            }
+        }
+
+        Map<String, CategorySummary> summaries() {
+            RepositoryOperationEvent event = RepositoryOperationEvent.begin(REPOSITORY, "summarizeByCategory");
+            Lock readLock = RepositoryLocks.acquire(lock.readLock(), readLockWait, "read", event);
+            try {
+                Map<String, CategorySummary> copy = new HashMap<>(categories.size());
+                categories.forEach((category, summary) -> copy.put(category,
+                        new CategorySummary(category, summary.getCount(), summary.getTotalAmount())));
+                return copy;
+            } finally {
+                RepositoryLocks.release(readLock, event);
+            }
+        }
+
+        private void put(Transaction transaction) {
+            Indexed current = Indexed.of(transaction);
+            Indexed previous = indexed.put(transaction.getId(), current);
+            byId.put(transaction.getId(), transaction);
+            if (previous != null) {
+                if (!previous.key().equals(current.key())) {
+                    inOrder.remove(previous.key());
+                }
+                adjustCategory(previous.category(), previous.amount().negate(), -1);
+            }
+            inOrder.put(current.key(), transaction);
+            adjustCategory(current.category(), current.amount(), 1);
+        }
+
+
+        private void adjustCategory(String category, BigDecimal amount, int count) {
+            CategorySummary summary = categories.computeIfAbsent(category, key -> new CategorySummary(key, 0, BigDecimal.ZERO));
+            summary.setCount(summary.getCount() + count);
+            summary.setTotalAmount(summary.getTotalAmount().add(amount));
+            if (summary.getCount() == 0) {
+                categories.remove(category);
+            }
+        }
+    }
+
+    private record Indexed(OrderKey key, String category, BigDecimal amount) {
+
+        static Indexed of(Transaction transaction) {
+            return new Indexed(OrderKey.of(transaction), transaction.getCategory(), transaction.getAmount());
+        }
+    }
+
+    /**
+     * Splits across shards first and then within a shard, so a parallel scan starts with one chunk per shard.
+     */
+    private static final class ShardsSpliterator implements Spliterator<Transaction> {
+
+        private final Shard[] shards;
+
+        private final int end;
+
+        private int next;
+
+        private Spliterator<Transaction> current;
+
+        private ShardsSpliterator(Shard[] shards, int start, int end) {
+            this.shards = shards;
+            this.next = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Transaction> action) {
+            while (true) {
+                if (current != null && current.tryAdvance(action)) {
+                    return true;
+                }
+                if (next == end) {
+                    return false;
+                }
+                current = shards[next++].byId.values().spliterator();
+            }
+        }
+
+        @Override
+        public Spliterator<Transaction> trySplit() {
+            if (current == null && end - next > 1) {
+                int middle = (next + end) >>> 1;
+                ShardsSpliterator prefix = new ShardsSpliterator(shards, next, middle);
+                next = middle;
+                return prefix;
+            }
+            if (current == null && end - next == 1) {
+                current = shards[next++].byId.values().spliterator();
+            }
+            return current == null ? null : current.trySplit();
+        }
+
+        @Override
+        public long estimateSize() {
+            long size = current == null ? 0 : current.estimateSize();
+            for (int i = next; i < end; i++) {
+                size += shards[i].byId.mappingCount();
+            }
+            return size;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.CONCURRENT | Spliterator.NONNULL;
+        }
+    }
+
+    private static final class ShardCursor implements Comparable<ShardCursor> {
+
+        private final Iterator<Map.Entry<OrderKey, Transaction>> iterator;
+
+        private Map.Entry<OrderKey, Transaction> current;
+
+        private ShardCursor(Iterator<Map.Entry<OrderKey, Transaction>> iterator) {
+            this.iterator = iterator;
+        }
+
+        boolean advance() {
+            if (!iterator.hasNext()) {
+                return false;
+            }
+            current = iterator.next();
+            return true;
+        }
+
+        @Override
+        public int compareTo(ShardCursor other) {
+            return current.getKey().compareTo(other.current.getKey());
+        }
+    }
+
+    private record OrderKey(LocalDateTime createTime, String id) implements Comparable<OrderKey> {
+
+        private static final Comparator<OrderKey> ORDER = Comparator.comparing(OrderKey::createTime,
+                Comparator.nullsFirst(Comparator.naturalOrder())).thenComparing(OrderKey::id);
+
+        static OrderKey of(Transaction transaction) {
+            return new OrderKey(transaction.getCreateTime(), transaction.getId());
+        }
+
+        @Override
+        public int compareTo(OrderKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
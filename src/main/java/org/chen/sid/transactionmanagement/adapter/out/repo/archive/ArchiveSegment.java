@@ -0,0 +1,283 @@
+package org.chen.sid.transactionmanagement.adapter.out.repo.archive;
+
+import org.chen.sid.transactionmanagement.common.cache.BloomFilter;
+import org.chen.sid.transactionmanagement.common.compression.ContentCodec;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.chen.sid.transactionmanagement.domain.model.entity.TransactionType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * One immutable archive file: transactions sorted by ID, in compressed blocks of {@code blockSize} records.
+ * <p>
+ * Only a Bloom filter of the IDs and the first ID and file offset of each block stay in memory. A lookup of an ID the
+ * segment does not hold usually reads nothing; one it holds reads and decompresses a single block.
+ */
+final class ArchiveSegment implements Closeable {
+
+    private final long sequence;
+
+    private final Path file;
+
+    private final FileChannel channel;
+
+    private final ContentCodec codec;
+
+    private final BloomFilter ids;
+
+    private final String[] firstIds;
+
+    /**
+     * Start of every block, followed by the end of the last one.
+     */
+    private final long[] offsets;
+
+    private final int size;
+
+    private ArchiveSegment(long sequence, Path file, ContentCodec codec, BloomFilter ids, String[] firstIds, long[] offsets, int size)
+            throws IOException {
+        this.sequence = sequence;
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.codec = codec;
+        this.ids = ids;
+        this.firstIds = firstIds;
+        this.offsets = offsets;
+        this.size = size;
+    }
+
+    boolean mightContain(String id) {
+        return ids.mightContain(id);
+    }
+
+    Optional<Transaction> find(String id) {
+        if (!ids.mightContain(id)) {
+            return Optional.empty();
+        }
+        int block = Arrays.binarySearch(firstIds, id);
+        if (block < 0) {
+            block = -block - 2;
+        }
+        if (block < 0) {
+            return Optional.empty();
+        }
+        try (DataInputStream in = new DataInputStream(codec.decompress(new ByteArrayInputStream(readBlock(block))))) {
+            for (int remaining = in.readInt(); remaining > 0; remaining--) {
+                Transaction transaction = readRecord(in);
+                int order = transaction.getId().compareTo(id);
+                if (order == 0) {
+                    return Optional.of(transaction);
+                }
+                if (order > 0) {
+                    break;
+                }
+            }
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archive segment " + file, e);
+        }
+    }
+
+    /**
+     * Every record of one block, in ID order.
+     */
+    List<Transaction> block(int block) {
+        try (DataInputStream in = new DataInputStream(codec.decompress(new ByteArrayInputStream(readBlock(block))))) {
+            int remaining = in.readInt();
+            List<Transaction> transactions = new ArrayList<>(remaining);
+            for (; remaining > 0; remaining--) {
+                transactions.add(readRecord(in));
+            }
+            return transactions;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archive segment " + file, e);
+        }
+    }
+
+    int blockCount() {
+        return firstIds.length;
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long bytes() {
+        return offsets[offsets.length - 1];
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private byte[] readBlock(int block) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) (offsets[block + 1] - offsets[block]));
+        long position = offsets[block];
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException("Archive segment " + file + " is truncated");
+            }
+        }
+        return buffer.array();
+    }
+
+    private static void writeRecord(DataOutputStream out, Transaction transaction) throws IOException {
+        out.writeUTF(transaction.getId());
+        out.writeUTF(transaction.getName());
+        out.writeUTF(transaction.getAmount().toString());
+        writeNullable(out, transaction.getCategory());
+        writeNullable(out, transaction.getType() == null ? null : transaction.getType().name());
+        writeTime(out, transaction.getCreateTime());
+        writeTime(out, transaction.getUpdateTime());
+    }
+
+    private static Transaction readRecord(DataInputStream in) throws IOException {
+        Transaction.TransactionBuilder builder = Transaction.builder().id(in.readUTF()).name(in.readUTF()).amount(new BigDecimal(in.readUTF()));
+        builder.category(readNullable(in));
+        String type = readNullable(in);
+        return builder.type(type == null ? null : TransactionType.valueOf(type)).createTime(readTime(in)).updateTime(readTime(in)).build();
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeTime(DataOutputStream out, LocalDateTime time) throws IOException {
+        out.writeBoolean(time != null);
+        if (time != null) {
+            out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(time.getNano());
+        }
+    }
+
+    private static LocalDateTime readTime(DataInputStream in) throws IOException {
+        return in.readBoolean() ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC) : null;
+    }
+
+    /**
+     * Appends transactions, which must arrive in ascending ID order, and turns the file into a segment on
+     * {@link #finish()}.
+     */
+    static final class Writer implements Closeable {
+
+        private final long sequence;
+
+        private final Path file;
+
+        private final FileChannel channel;
+
+        private final ContentCodec codec;
+
+        private final int level;
+
+        private final int blockSize;
+
+        private final BloomFilter ids;
+
+        private final List<Transaction> pending;
+
+        private final List<String> firstIds = new ArrayList<>();
+
+        private final List<Long> offsets = new ArrayList<>();
+
+        private long position;
+
+        private int size;
+
+        private boolean finished;
+
+        Writer(long sequence, Path file, ContentCodec codec, int level, int blockSize, int expectedSize, double falsePositiveRate)
+                throws IOException {
+            this.sequence = sequence;
+            this.file = file;
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            this.codec = codec;
+            this.level = level;
+            this.blockSize = blockSize;
+            this.ids = new BloomFilter(Math.max(expectedSize, 1), falsePositiveRate);
+            this.pending = new ArrayList<>(blockSize);
+        }
+
+        void append(Transaction transaction) throws IOException {
+            ids.put(transaction.getId());
+            pending.add(transaction);
+            size++;
+            if (pending.size() == blockSize) {
+                writeBlock();
+            }
+        }
+
+        ArchiveSegment finish() throws IOException {
+            writeBlock();
+            channel.force(true);
+            channel.close();
+            finished = true;
+            offsets.add(position);
+            return new ArchiveSegment(sequence, file, codec, ids, firstIds.toArray(String[]::new),
+                    offsets.stream().mapToLong(Long::longValue).toArray(), size);
+        }
+
+        /**
+         * Deletes the file unless {@link #finish()} completed.
+         */
+        @Override
+        public void close() throws IOException {
+            if (!finished) {
+                channel.close();
+                Files.deleteIfExists(file);
+            }
+        }
+
+        private void writeBlock() throws IOException {
+            if (pending.isEmpty()) {
+                return;
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(codec.compress(bytes, level))) {
+                out.writeInt(pending.size());
+                for (Transaction transaction : pending) {
+                    writeRecord(out, transaction);
+                }
+            }
+            firstIds.add(pending.getFirst().getId());
+            offsets.add(position);
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            pending.clear();
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package org.chen.sid.transactionmanagement.adapter.out.repo.archive;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.chen.sid.transactionmanagement.adapter.out.repo.MemoryTransactionRepository;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.CategorySummary;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.Page;
+import org.chen.sid.transactionmanagement.config.properties.RetentionProperties;
+import org.chen.sid.transactionmanagement.domain.infrastructure.TransactionRepository;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps recent transactions in the in-memory repository and moves those older than {@code max-age} to compressed
+ * archive files, where {@link #findById} still finds them on a slower path.
+ * <p>
+ * A single background thread sweeps the store every {@code sweep-interval}. It copies old transactions into one new
+ * archive segment and then evicts them from memory, pausing after every {@code batch-size} transactions so it never
+ * competes with requests for long. A transaction updated during the sweep stays in memory, which shadows its archived
+ * copy. Pages list the in-memory transactions and then the archived ones, and summaries add the archive's per-category
+ * totals; scans cover the in-memory transactions only.
+ */
+@Slf4j
+@Primary
+@Repository
+@Profile("!jdbc & !sharded & !cluster & !replication")
+@ConditionalOnProperty(prefix = "transaction.retention", name = "enabled", havingValue = "true")
+public class ArchivingTransactionRepository implements TransactionRepository, SmartLifecycle {
+
+    /**
+     * Before the web server starts accepting requests, so the archive directory is ready for the first delete.
+     */
+    public static final int RETENTION_PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private static final String TIMER = "transaction.repository";
+
+    private final MemoryTransactionRepository memoryRepository;
+
+    private final TransactionArchive archive;
+
+    private final RetentionProperties properties;
+
+    private final Counter archived;
+
+    private final Timer archiveReads;
+
+    private volatile boolean running;
+
+    private ScheduledExecutorService sweeper;
+
+    @Autowired
+    public ArchivingTransactionRepository(MemoryTransactionRepository memoryRepository, RetentionProperties properties,
+            MeterRegistry meterRegistry) {
+        if (properties.getBatchSize() <= 0 || properties.getBlockSize() <= 0) {
+            throw new IllegalArgumentException("Retention batch and block sizes must be greater than 0");
+        }
+        this.memoryRepository = memoryRepository;
+        this.archive = new TransactionArchive(properties);
+        this.properties = properties;
+        this.archived = Counter.builder("transaction.retention.archived")
+                .description("Transactions moved from memory to the archive")
+                .register(meterRegistry);
+        this.archiveReads = Timer.builder("transaction.archive.reads")
+                .description("Lookups that missed memory and searched the archive")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("transaction.archive.records", archive, TransactionArchive::records)
+                .description("Transactions stored in archive segments, including superseded copies")
+                .register(meterRegistry);
+        Gauge.builder("transaction.archive.bytes", archive, TransactionArchive::bytes)
+                .description("Compressed size of the archive segments")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public Transaction save(Transaction transaction) {
+        boolean inMemory = transaction != null && memoryRepository.existsById(transaction.getId());
+        Transaction saved = memoryRepository.save(transaction);
+        if (!inMemory && archive.mightContain(transaction.getId())) {
+            // Possibly an update of an archived transaction: the copy in memory now hides the archived one.
+            archive.shadow(transaction.getId());
+        }
+        return saved;
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public Optional<Transaction> findById(String id) {
+        Optional<Transaction> transaction = memoryRepository.findById(id);
+        if (transaction.isPresent() || id == null) {
+            return transaction;
+        }
+        return archiveReads.record(() -> archive.find(id));
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public Page<Transaction> findPage(long page, long size) {
+        Page<Transaction> memoryPage = memoryRepository.findPage(page, size);
+        long total = memoryPage.getTotal() + archive.visibleRecords();
+        if (memoryPage.getData().size() == size) {
+            return new Page<>(total, memoryPage.getData());
+        }
+        long archiveOffset = Math.max(0, (page - 1) * size - memoryPage.getTotal());
+        List<Transaction> data = new ArrayList<>(memoryPage.getData());
+        data.addAll(archiveReads.record(() -> archive.page(archiveOffset, size - data.size(), memoryRepository::existsById)));
+        return new Page<>(total, data);
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public List<CategorySummary> summarizeByCategory() {
+        Map<String, CategorySummary> summaries = new HashMap<>();
+        for (CategorySummary summary : memoryRepository.summarizeByCategory()) {
+            summaries.put(summary.getCategory(), summary);
+        }
+        for (CategorySummary archived : archive.summarizeByCategory()) {
+            summaries.merge(archived.getCategory(), archived, (hot, cold) -> new CategorySummary(hot.getCategory(),
+                    hot.getCount() + cold.getCount(), hot.getTotalAmount().add(cold.getTotalAmount())));
+        }
+        return List.copyOf(summaries.values());
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public boolean deleteById(String id) {
+        if (id == null) {
+            return false;
+        }
+        boolean deleted = memoryRepository.deleteById(id);
+        // The archive may also hold an older copy that the in-memory one shadowed.
+        if (archive.find(id).isPresent()) {
+            archive.markDeleted(id);
+            deleted = true;
+        }
+        return deleted;
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public boolean existsById(String id) {
+        return memoryRepository.existsById(id) || (id != null && archive.find(id).isPresent());
+    }
+
+    @Override
+    public Spliterator<Transaction> scan() {
+        return memoryRepository.scan();
+    }
+
+    @Override
+    public boolean scanCoversAll() {
+        // Archived transactions are only reachable by ID.
+        return false;
+    }
+
+    @Override
+    public void start() {
+        try {
+            archive.open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not prepare archive directory " + properties.getDirectory(), e);
+        }
+        running = true;
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "transaction-retention");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getSweepInterval().toMillis();
+        sweeper.scheduleWithFixedDelay(this::sweepQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (sweeper == null) {
+            return;
+        }
+        running = false;
+        sweeper.shutdownNow();
+        try {
+            sweeper.awaitTermination(5, TimeUnit.SECONDS);
+            archive.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.warn("Could not close archive segments", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return RETENTION_PHASE;
+    }
+
+    /**
+     * Archives up to {@code max-per-sweep} transactions created before {@code now - max-age}.
+     *
+     * @return the number evicted from memory
+     */
+    int sweep() throws IOException, InterruptedException {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getMaxAge());
+        List<Candidate> candidates = new ArrayList<>();
+        Iterator<Transaction> transactions = Spliterators.iterator(memoryRepository.scan());
+        while (transactions.hasNext() && candidates.size() < properties.getMaxPerSweep()) {
+            Transaction transaction = transactions.next();
+            if (transaction.getCreateTime() != null && transaction.getCreateTime().isBefore(cutoff)) {
+                // Copied so an update in progress cannot change the record while it is written.
+                Transaction copy = transaction.toBuilder().build();
+                candidates.add(new Candidate(copy, copy.getUpdateTime()));
+            }
+        }
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        candidates.sort(Comparator.comparing(candidate -> candidate.transaction().getId()));
+
+        ArchiveSegment segment;
+        try (ArchiveSegment.Writer writer = archive.newSegment(candidates.size())) {
+            for (int i = 0; i < candidates.size(); i++) {
+                writer.append(candidates.get(i).transaction());
+                pauseAfter(i);
+            }
+            segment = writer.finish();
+        }
+        archive.add(segment, candidates.stream().map(Candidate::transaction).toList());
+
+        int evicted = 0;
+        for (int i = 0; i < candidates.size(); i++) {
+            Candidate candidate = candidates.get(i);
+            if (memoryRepository.evict(candidate.transaction(), candidate.updateTime())) {
+                evicted++;
+            } else if (memoryRepository.existsById(candidate.transaction().getId())) {
+                // Updated after it was copied: the newer version in memory hides the archived copy.
+                archive.shadow(candidate.transaction().getId());
+            } else {
+                // Deleted after it was copied: hide the copy that was just archived.
+                archive.markDeleted(candidate.transaction().getId());
+            }
+            pauseAfter(i);
+        }
+        archived.increment(evicted);
+        log.info("Archived {} transactions created before {} into segment {} ({} KB)", evicted, cutoff, segment.sequence(),
+                segment.bytes() / 1024);
+        return evicted;
+    }
+
+    private void sweepQuietly() {
+        try {
+            sweep();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            log.error("Archive sweep failed, retrying in {}", properties.getSweepInterval(), e);
+        }
+    }
+
+    private void pauseAfter(int index) throws InterruptedException {
+        if ((index + 1) % properties.getBatchSize() == 0) {
+            TimeUnit.NANOSECONDS.sleep(properties.getBatchPause().toNanos());
+        }
+    }
+
+    private record Candidate(Transaction transaction, LocalDateTime updateTime) {
+    }
+}
@@ -0,0 +1,252 @@
+package org.chen.sid.transactionmanagement.adapter.out.repo.archive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.CategorySummary;
+import org.chen.sid.transactionmanagement.common.compression.ContentCodec;
+import org.chen.sid.transactionmanagement.config.properties.RetentionProperties;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * The archive tier: segments written by successive sweeps, searched newest first.
+ * <p>
+ * Segments are immutable, so deleting an archived transaction records a tombstone that hides it in every segment
+ * registered so far. The archive lives as long as the in-memory store it was spilled from: segments left by a previous
+ * run are removed on {@link #open()}.
+ * <p>
+ * Per-category totals of the visible archived copies are kept as segments are added, copies are shadowed by an
+ * in-memory version and IDs are deleted, so summaries do not have to read the segments.
+ */
+@Slf4j
+final class TransactionArchive implements Closeable {
+
+    private static final String SEGMENT_GLOB = "segment-*.archive";
+
+    private final RetentionProperties properties;
+
+    private final ContentCodec codec;
+
+    private final List<ArchiveSegment> segments = new CopyOnWriteArrayList<>();
+
+    /**
+     * Deleted ID to the sequence of the newest segment it is hidden in.
+     */
+    private final ConcurrentHashMap<String, Long> tombstones = new ConcurrentHashMap<>();
+
+    private final AtomicLong nextSequence = new AtomicLong(1);
+
+    /**
+     * Category to count and amount of the archived copies that are neither superseded, deleted nor shadowed.
+     */
+    private final Map<String, CategorySummary> totals = new HashMap<>();
+
+    /**
+     * Archived IDs whose newest copy is hidden by a version in memory, and so left out of {@link #totals}.
+     */
+    private final Set<String> shadowed = new HashSet<>();
+
+    private volatile long lastSequence;
+
+    TransactionArchive(RetentionProperties properties) {
+        this.properties = properties;
+        if (properties.getCodec().isAvailable()) {
+            this.codec = properties.getCodec();
+        } else {
+            log.warn("Archive codec {} is not available on this platform, using gzip", properties.getCodec());
+            this.codec = ContentCodec.GZIP;
+        }
+    }
+
+    void open() throws IOException {
+        Files.createDirectories(properties.getDirectory());
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(properties.getDirectory(), SEGMENT_GLOB)) {
+            for (Path leftover : leftovers) {
+                Files.delete(leftover);
+            }
+        }
+    }
+
+    ArchiveSegment.Writer newSegment(int expectedSize) throws IOException {
+        long sequence = nextSequence.getAndIncrement();
+        Path file = properties.getDirectory().resolve(String.format("segment-%06d.archive", sequence));
+        return new ArchiveSegment.Writer(sequence, file, codec, properties.getCompressionLevel(), properties.getBlockSize(), expectedSize,
+                properties.getBloomFilterFalsePositiveRate());
+    }
+
+    /**
+     * Registers a segment written by the sweep, the only caller, so no other segment is added meanwhile. The copies the
+     * new records supersede are looked up before taking the lock, which then only adjusts the totals.
+     *
+     * @param transactions the records written to {@code segment}
+     */
+    void add(ArchiveSegment segment, List<Transaction> transactions) {
+        Map<String, Transaction> superseded = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            find(transaction.getId()).ifPresent(copy -> superseded.put(copy.getId(), copy));
+        }
+        synchronized (this) {
+            for (Transaction transaction : transactions) {
+                Transaction copy = superseded.get(transaction.getId());
+                // A delete since the lookup has already taken the copy out of the totals.
+                if (!shadowed.remove(transaction.getId()) && copy != null && !deletedSince(transaction.getId())) {
+                    count(copy, -1);
+                }
+                count(transaction, 1);
+            }
+            segments.add(segment);
+            lastSequence = segment.sequence();
+        }
+    }
+
+    /**
+     * Whether some segment may hold {@code id}; reads only the Bloom filters and takes no lock.
+     */
+    boolean mightContain(String id) {
+        for (ArchiveSegment segment : segments) {
+            if (segment.mightContain(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Takes the archived copy of {@code id}, if any, out of the totals because a version in memory now hides it.
+     */
+    synchronized void shadow(String id) {
+        if (!shadowed.contains(id)) {
+            find(id).ifPresent(archived -> {
+                count(archived, -1);
+                shadowed.add(id);
+            });
+        }
+    }
+
+    Optional<Transaction> find(String id) {
+        Long hiddenUpTo = tombstones.get(id);
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            ArchiveSegment segment = segments.get(i);
+            if (hiddenUpTo != null && segment.sequence() <= hiddenUpTo) {
+                return Optional.empty();
+            }
+            Optional<Transaction> transaction = segment.find(id);
+            if (transaction.isPresent()) {
+                return transaction;
+            }
+        }
+        return Optional.empty();
+    }
+
+    synchronized void markDeleted(String id) {
+        if (!shadowed.remove(id)) {
+            find(id).ifPresent(archived -> count(archived, -1));
+        }
+        tombstones.put(id, lastSequence);
+    }
+
+    synchronized List<CategorySummary> summarizeByCategory() {
+        return totals.values().stream()
+                .map(total -> new CategorySummary(total.getCategory(), total.getCount(), total.getTotalAmount()))
+                .toList();
+    }
+
+    /**
+     * Archived transactions not superseded, deleted or shadowed.
+     */
+    synchronized long visibleRecords() {
+        return totals.values().stream().mapToLong(CategorySummary::getCount).sum();
+    }
+
+    /**
+     * Reads the visible archived transactions in segment and ID order, skipping the first {@code offset}; every page
+     * reads the segments from the start.
+     *
+     * @param inMemory whether an ID has a version in memory, which hides its archived copies
+     */
+    List<Transaction> page(long offset, long limit, Predicate<String> inMemory) {
+        List<Transaction> page = new ArrayList<>();
+        long skipped = 0;
+        List<ArchiveSegment> current = List.copyOf(segments);
+        for (int i = 0; i < current.size() && page.size() < limit; i++) {
+            ArchiveSegment segment = current.get(i);
+            for (int block = 0; block < segment.blockCount() && page.size() < limit; block++) {
+                for (Transaction transaction : segment.block(block)) {
+                    if (!visible(transaction.getId(), current, i) || inMemory.test(transaction.getId())) {
+                        continue;
+                    }
+                    if (skipped < offset) {
+                        skipped++;
+                    } else if (page.size() < limit) {
+                        page.add(transaction);
+                    }
+                }
+            }
+        }
+        return page;
+    }
+
+    private boolean deletedSince(String id) {
+        Long hiddenUpTo = tombstones.get(id);
+        return hiddenUpTo != null && hiddenUpTo >= lastSequence;
+    }
+
+    private boolean visible(String id, List<ArchiveSegment> current, int index) {
+        Long hiddenUpTo = tombstones.get(id);
+        if (hiddenUpTo != null && current.get(index).sequence() <= hiddenUpTo) {
+            return false;
+        }
+        for (int newer = index + 1; newer < current.size(); newer++) {
+            if (current.get(newer).find(id).isPresent()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void count(Transaction transaction, int sign) {
+        CategorySummary total = totals.computeIfAbsent(transaction.getCategory(),
+                category -> new CategorySummary(category, 0, BigDecimal.ZERO));
+        total.setCount(total.getCount() + sign);
+        BigDecimal amount = transaction.getAmount() == null ? BigDecimal.ZERO : transaction.getAmount();
+        total.setTotalAmount(sign > 0 ? total.getTotalAmount().add(amount) : total.getTotalAmount().subtract(amount));
+        if (total.getCount() == 0) {
+            totals.remove(transaction.getCategory());
+        }
+    }
+
+    long records() {
+        return segments.stream().mapToLong(ArchiveSegment::size).sum();
+    }
+
+    long bytes() {
+        return segments.stream().mapToLong(ArchiveSegment::bytes).sum();
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (ArchiveSegment segment : segments) {
+            segment.close();
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package org.chen.sid.transactionmanagement.adapter.out.repo.writebehind;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.chen.sid.transactionmanagement.adapter.out.repo.JdbcTransactionRepository;
+import org.chen.sid.transactionmanagement.adapter.out.repo.MemoryTransactionRepository;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.CategorySummary;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.Page;
+import org.chen.sid.transactionmanagement.common.concurrent.MpscRingBuffer;
+import org.chen.sid.transactionmanagement.config.properties.WriteBehindProperties;
+import org.chen.sid.transactionmanagement.domain.infrastructure.TransactionRepository;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Serves all reads and writes from memory and persists to the JDBC store from a single background flusher.
+ * <p>
+ * Writes are applied to memory and queued on a lock-free ring buffer. The flusher drains the buffer in batches and
+ * collapses repeated writes to one ID into a single upsert or delete. With {@link WriteBehindProperties.Durability#FLUSH}
+ * the caller is acknowledged only after its batch reached the durable store.
+ * <p>
+ * A failing batch is retried {@code max-retries} times with doubling backoff and then split, so one poison row cannot
+ * hold back the rest. Writes that still fail on their own, or are pending when the flusher stops, are dead-lettered:
+ * logged, counted in {@code transaction.write-behind.dead.letters} and kept in {@link #deadLetters()}. Their in-memory
+ * apply is not rolled back, since later writes to the same ID may already have been served; a {@code FLUSH} caller
+ * gets an error instead of an acknowledgement.
+ */
+@Slf4j
+@Primary
+@Repository
+@Profile("jdbc")
+@ConditionalOnProperty(prefix = "transaction.write-behind", name = "enabled", havingValue = "true")
+public class WriteBehindTransactionRepository implements TransactionRepository, SmartLifecycle {
+
+    public static final int WRITE_BEHIND_PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private static final String TIMER = "transaction.repository";
+
+    private static final int LOCK_STRIPES = 64;
+
+    private static final long RETRY_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private final MemoryTransactionRepository memoryRepository = new MemoryTransactionRepository();
+
+    private final JdbcTransactionRepository durableRepository;
+
+    private final WriteBehindProperties properties;
+
+    private final MpscRingBuffer<PendingWrite> buffer;
+
+    private final Object[] stripes = new Object[LOCK_STRIPES];
+
+    private final ConcurrentLinkedDeque<DeadLetter> deadLetters = new ConcurrentLinkedDeque<>();
+
+    private final Counter deadLettered;
+
+    private volatile boolean running;
+
+    private Thread flusher;
+
+    /**
+     * Creates an unmetered repository, as used in tests.
+     */
+    public WriteBehindTransactionRepository(JdbcTransactionRepository durableRepository, WriteBehindProperties properties) {
+        this(durableRepository, properties, new CompositeMeterRegistry());
+    }
+
+    @Autowired
+    public WriteBehindTransactionRepository(JdbcTransactionRepository durableRepository, WriteBehindProperties properties,
+            MeterRegistry meterRegistry) {
+        this.durableRepository = durableRepository;
+        this.properties = properties;
+        this.buffer = new MpscRingBuffer<>(properties.getBufferCapacity());
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+        this.deadLettered = Counter.builder("transaction.write-behind.dead.letters")
+                .description("Writes given up on after the durable store kept rejecting them")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public Transaction save(Transaction transaction) {
+        if (transaction == null) {
+            throw new IllegalArgumentException("Transaction cannot be null");
+        }
+        if (transaction.getId() == null) {
+            throw new IllegalArgumentException("Transaction ID cannot be null");
+        }
+        PendingWrite write;
+        // The stripe keeps the queue order of one ID identical to the order in which memory applied it.
+        synchronized (stripeFor(transaction.getId())) {
+            memoryRepository.save(transaction);
+            write = enqueue(transaction.getId(), transaction.toBuilder().build());
+        }
+        awaitIfRequired(write);
+        return transaction;
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public List<Transaction> saveAllIfUnchanged(List<Transaction> transactions, Map<String, LocalDateTime> readUpdateTimes) {
+        List<Transaction> saved = new ArrayList<>(transactions.size());
+        List<PendingWrite> writes = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            if (transaction == null || transaction.getId() == null) {
+                throw new IllegalArgumentException("Transaction and its ID cannot be null");
+            }
+            synchronized (stripeFor(transaction.getId())) {
+                if (memoryRepository.saveIfUnchanged(transaction, readUpdateTimes.get(transaction.getId()))) {
+                    saved.add(transaction);
+                    writes.add(enqueue(transaction.getId(), transaction.toBuilder().build()));
+                }
+            }
+        }
+        writes.forEach(this::awaitIfRequired);
+        return saved;
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public Optional<Transaction> findById(String id) {
+        return memoryRepository.findById(id);
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public Page<Transaction> findPage(long page, long size) {
+        return memoryRepository.findPage(page, size);
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public List<CategorySummary> summarizeByCategory() {
+        return memoryRepository.summarizeByCategory();
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public boolean deleteById(String id) {
+        if (id == null) {
+            return false;
+        }
+        PendingWrite write;
+        synchronized (stripeFor(id)) {
+            if (!memoryRepository.deleteById(id)) {
+                return false;
+            }
+            write = enqueue(id, null);
+        }
+        awaitIfRequired(write);
+        return true;
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public boolean existsById(String id) {
+        return memoryRepository.existsById(id);
+    }
+
+    @Override
+    public Spliterator<Transaction> scan() {
+        return memoryRepository.scan();
+    }
+
+    public int pendingWrites() {
+        return buffer.size();
+    }
+
+    /**
+     * Most recent writes that never reached the durable store, oldest first.
+     */
+    public List<DeadLetter> deadLetters() {
+        return List.copyOf(deadLetters);
+    }
+
+    @Override
+    public void start() {
+        durableRepository.forEach(memoryRepository::save);
+        running = true;
+        flusher = new Thread(this::flushLoop, "transaction-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public void stop() {
+        if (flusher == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join(properties.getFlushTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Load the durable store before the web server starts accepting requests.
+        return WRITE_BEHIND_PHASE;
+    }
+
+    private PendingWrite enqueue(String id, Transaction snapshot) {
+        boolean awaitFlush = properties.getDurability() == WriteBehindProperties.Durability.FLUSH;
+        PendingWrite write = new PendingWrite(id, snapshot, awaitFlush ? new CompletableFuture<>() : null);
+        while (!buffer.offer(write)) {
+            // Buffer full: back-pressure the writer until the flusher catches up.
+            LockSupport.unpark(flusher);
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+        }
+        if (awaitFlush) {
+            LockSupport.unpark(flusher);
+        }
+        return write;
+    }
+
+    private void awaitIfRequired(PendingWrite write) {
+        if (write.flushed() == null) {
+            return;
+        }
+        try {
+            write.flushed().get(properties.getFlushTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for transaction flush", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Transaction was not flushed to the durable store", e);
+        }
+    }
+
+    private void flushLoop() {
+        long intervalNanos = properties.getFlushInterval().toNanos();
+        while (running || buffer.size() > 0) {
+            Map<String, PendingWrite> coalesced = new LinkedHashMap<>();
+            List<PendingWrite> drained = new ArrayList<>();
+            buffer.drain(write -> {
+                coalesced.put(write.id(), write);
+                drained.add(write);
+            }, properties.getBatchSize());
+            if (drained.isEmpty()) {
+                LockSupport.parkNanos(intervalNanos);
+                continue;
+            }
+            Set<String> failed = flushWithRetry(coalesced.values());
+            drained.forEach(write -> write.complete(!failed.contains(write.id())));
+        }
+    }
+
+    /**
+     * @return IDs of the writes that were dead-lettered
+     */
+    private Set<String> flushWithRetry(Collection<PendingWrite> writes) {
+        long backoffNanos = RETRY_BACKOFF_NANOS;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                flush(writes);
+                return Set.of();
+            } catch (RuntimeException e) {
+                if (!running || attempt >= properties.getMaxRetries()) {
+                    log.error("Write-behind flush of {} writes failed after {} attempts, retrying them one by one", writes.size(), attempt, e);
+                    break;
+                }
+                log.warn("Write-behind flush failed, retrying in {} ms", TimeUnit.NANOSECONDS.toMillis(backoffNanos), e);
+                LockSupport.parkNanos(backoffNanos);
+                backoffNanos *= 2;
+            }
+        }
+        Set<String> failed = new HashSet<>();
+        for (PendingWrite write : writes) {
+            try {
+                flush(List.of(write));
+            } catch (RuntimeException e) {
+                deadLetter(write, e);
+                failed.add(write.id());
+            }
+        }
+        return failed;
+    }
+
+    private void flush(Collection<PendingWrite> writes) {
+        List<Transaction> upserts = new ArrayList<>();
+        for (PendingWrite write : writes) {
+            if (write.snapshot() == null) {
+                durableRepository.deleteById(write.id());
+            } else {
+                upserts.add(write.snapshot());
+            }
+        }
+        durableRepository.saveAll(upserts);
+    }
+
+    private void deadLetter(PendingWrite write, RuntimeException cause) {
+        log.error("Dead-lettering write-behind {} of transaction {}", write.snapshot() == null ? "delete" : "upsert", write.id(), cause);
+        deadLettered.increment();
+        deadLetters.addLast(new DeadLetter(write.id(), write.snapshot(), String.valueOf(cause.getMessage())));
+        while (deadLetters.size() > properties.getDeadLetterCapacity()) {
+            deadLetters.pollFirst();
+        }
+    }
+
+    private Object stripeFor(String id) {
+        return stripes[id.hashCode() & (LOCK_STRIPES - 1)];
+    }
+
+    private record PendingWrite(String id, Transaction snapshot, CompletableFuture<Void> flushed) {
+
+        void complete(boolean success) {
+            if (flushed == null) {
+                return;
+            }
+            if (success) {
+                flushed.complete(null);
+            } else {
+                flushed.completeExceptionally(new IllegalStateException("Durable store rejected the write of " + id));
+            }
+        }
+    }
+
+    /**
+     * @param snapshot the upserted transaction, {@code null} for a delete
+     */
+    public record DeadLetter(String id, Transaction snapshot, String error) {
+    }
+}
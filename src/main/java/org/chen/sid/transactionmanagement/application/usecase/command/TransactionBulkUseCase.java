@@ -0,0 +1,231 @@
+package org.chen.sid.transactionmanagement.application.usecase.command;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.chen.sid.transactionmanagement.application.usecase.command.bulk.BulkJob;
+import org.chen.sid.transactionmanagement.application.usecase.command.bulk.BulkJobState;
+import org.chen.sid.transactionmanagement.application.usecase.command.bulk.BulkOperation;
+import org.chen.sid.transactionmanagement.application.usecase.command.dto.BulkJobDTO;
+import org.chen.sid.transactionmanagement.application.usecase.command.dto.BulkJobRequestDTO;
+import org.chen.sid.transactionmanagement.application.usecase.query.missing.MissingTransactionIds;
+import org.chen.sid.transactionmanagement.application.validator.CommonRequestParamValidator;
+import org.chen.sid.transactionmanagement.common.exception.DataNotFoundException;
+import org.chen.sid.transactionmanagement.common.exception.FeatureNotEnabledException;
+import org.chen.sid.transactionmanagement.common.exception.TooManyRequestsException;
+import org.chen.sid.transactionmanagement.config.properties.BulkJobProperties;
+import org.chen.sid.transactionmanagement.domain.infrastructure.TransactionEventPublisher;
+import org.chen.sid.transactionmanagement.domain.infrastructure.TransactionRepository;
+import org.chen.sid.transactionmanagement.domain.model.command.UpsertTransactionCommand;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionDeletedEvent;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionUpdatedEvent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Deletes or updates every transaction matching a filter as a background job.
+ * <p>
+ * Jobs run one at a time on a dedicated thread. A job first collects the IDs matching its filter, then works through
+ * them in chunks: each chunk re-checks the filter, writes with one repository call that skips rows changed since they
+ * were re-read, publishes the usual domain events
+ * and evicts its IDs from the {@code transaction} cache, and is followed by a pause so online requests keep priority.
+ * Cancellation takes effect between chunks. Jobs are refused on stores whose scan misses part of the data, such as
+ * archived transactions, since they would silently skip those rows.
+ */
+@Slf4j
+@Service
+public class TransactionBulkUseCase {
+
+    private static final String CACHE_NAME = "transaction";
+
+    private final TransactionRepository transactionRepository;
+
+    private final TransactionEventPublisher transactionEventPublisher;
+
+    private final MissingTransactionIds missingTransactionIds;
+
+    private final Cache cache;
+
+    private final BulkJobProperties properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, BulkJob> jobs = new LinkedHashMap<>();
+
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "transaction-bulk-jobs");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public TransactionBulkUseCase(TransactionRepository transactionRepository, TransactionEventPublisher transactionEventPublisher,
+            ObjectProvider<MissingTransactionIds> missingTransactionIds, CacheManager cacheManager, BulkJobProperties properties,
+            MeterRegistry meterRegistry) {
+        if (properties.getChunkSize() <= 0) {
+            throw new IllegalArgumentException("Bulk job chunk size must be greater than 0");
+        }
+        this.transactionRepository = transactionRepository;
+        this.transactionEventPublisher = transactionEventPublisher;
+        this.missingTransactionIds = missingTransactionIds.getIfAvailable();
+        this.cache = cacheManager.getCache(CACHE_NAME);
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public BulkJobDTO submit(BulkJobRequestDTO request) {
+        CommonRequestParamValidator.validateBulkJob(request);
+        if (!transactionRepository.scanCoversAll()) {
+            throw new FeatureNotEnabledException("Bulk jobs are not available while transactions are archived");
+        }
+        UpsertTransactionCommand changes = request.getOperation() == BulkOperation.UPDATE
+                ? UpsertTransactionCommand.builder().category(request.getCategory()).type(request.getType()).build()
+                : null;
+        BulkJob job = new BulkJob(request.getOperation(), request.getFilter(), changes);
+        synchronized (jobs) {
+            if (jobs.values().stream().filter(existing -> !existing.isFinished()).count() >= properties.getMaxActiveJobs()) {
+                throw new TooManyRequestsException("Too many bulk jobs queued or running, retry later");
+            }
+            jobs.put(job.getId(), job);
+            forgetOldJobs();
+        }
+        runner.execute(() -> run(job));
+        return job.toDTO();
+    }
+
+    public BulkJobDTO getJob(String jobId) {
+        return findJob(jobId).toDTO();
+    }
+
+    public List<BulkJobDTO> getJobs() {
+        synchronized (jobs) {
+            return jobs.values().stream().map(BulkJob::toDTO).toList();
+        }
+    }
+
+    public BulkJobDTO cancelJob(String jobId) {
+        BulkJob job = findJob(jobId);
+        job.cancel();
+        return job.toDTO();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        synchronized (jobs) {
+            jobs.values().forEach(BulkJob::cancel);
+        }
+        runner.shutdown();
+    }
+
+    private void run(BulkJob job) {
+        if (!job.start()) {
+            return;
+        }
+        try {
+            Predicate<Transaction> matches = job.getFilter().toPredicate();
+            List<String> ids = new ArrayList<>();
+            transactionRepository.scan().forEachRemaining(transaction -> {
+                if (matches.test(transaction)) {
+                    ids.add(transaction.getId());
+                }
+            });
+            job.matched(ids.size());
+            for (int from = 0; from < ids.size(); from += properties.getChunkSize()) {
+                if (job.isCancelRequested()) {
+                    break;
+                }
+                if (from > 0) {
+                    TimeUnit.NANOSECONDS.sleep(properties.getChunkPause().toNanos());
+                }
+                List<String> chunk = ids.subList(from, Math.min(from + properties.getChunkSize(), ids.size()));
+                int changed = job.getOperation() == BulkOperation.DELETE ? deleteChunk(chunk, matches) : updateChunk(chunk, matches,
+                        job.getChanges());
+                chunk.forEach(cache::evict);
+                job.progressed(chunk.size(), changed);
+                meterRegistry.counter("transaction.bulk.rows", "operation", job.getOperation().name()).increment(changed);
+            }
+            job.finish(job.isCancelRequested() ? BulkJobState.CANCELLED : BulkJobState.SUCCEEDED, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finish(BulkJobState.CANCELLED, null);
+        } catch (RuntimeException e) {
+            log.error("Bulk job {} failed", job.getId(), e);
+            job.finish(BulkJobState.FAILED, e.getMessage());
+        }
+        log.info("Bulk {} job {} {}: {} of {} matched transactions changed", job.getOperation(), job.getId(), job.toDTO().getState(),
+                job.toDTO().getAffected(), job.toDTO().getMatched());
+    }
+
+    private int deleteChunk(List<String> chunk, Predicate<Transaction> matches) {
+        List<String> stillMatching = currentMatches(chunk, matches).stream().map(Transaction::getId).toList();
+        List<String> deleted = transactionRepository.deleteAllById(stillMatching);
+        for (String id : deleted) {
+            if (missingTransactionIds != null) {
+                missingTransactionIds.deleted(id);
+            }
+            transactionEventPublisher.publish(TransactionDeletedEvent.of(id));
+        }
+        return deleted.size();
+    }
+
+    private int updateChunk(List<String> chunk, Predicate<Transaction> matches, UpsertTransactionCommand changes) {
+        List<Transaction> updated = new ArrayList<>(chunk.size());
+        Map<String, LocalDateTime> readUpdateTimes = new HashMap<>();
+        for (Transaction transaction : currentMatches(chunk, matches)) {
+            readUpdateTimes.put(transaction.getId(), transaction.getUpdateTime());
+            // Update copies, so readers holding the stored instances never see a half-applied change.
+            Transaction copy = transaction.toBuilder().build();
+            copy.update(changes);
+            updated.add(copy);
+        }
+        // A row written since it was read is skipped rather than overwritten with the stale copy.
+        List<Transaction> saved = transactionRepository.saveAllIfUnchanged(updated, readUpdateTimes);
+        saved.forEach(transaction -> transactionEventPublisher.publish(TransactionUpdatedEvent.of(transaction, changes)));
+        return saved.size();
+    }
+
+    /**
+     * Transactions changed since the IDs were collected may no longer match and are skipped.
+     */
+    private List<Transaction> currentMatches(List<String> chunk, Predicate<Transaction> matches) {
+        return chunk.stream().map(transactionRepository::findById).flatMap(Optional::stream).filter(matches).toList();
+    }
+
+    private BulkJob findJob(String jobId) {
+        synchronized (jobs) {
+            BulkJob job = jobs.get(jobId);
+            if (job == null) {
+                throw new DataNotFoundException("Bulk job not found with id: " + jobId);
+            }
+            return job;
+        }
+    }
+
+    private void forgetOldJobs() {
+        long finished = jobs.values().stream().filter(BulkJob::isFinished).count();
+        Iterator<BulkJob> oldestFirst = jobs.values().iterator();
+        while (finished > properties.getRetainedJobs() && oldestFirst.hasNext()) {
+            if (oldestFirst.next().isFinished()) {
+                oldestFirst.remove();
+                finished--;
+            }
+        }
+    }
+}
@@ -1,30 +1,69 @@
 package org.chen.sid.transactionmanagement.application.usecase.command;
 
+import io.micrometer.core.annotation.Timed;
 import org.chen.sid.transactionmanagement.application.usecase.command.dto.UpsertTransactionRequestDTO;
+import org.chen.sid.transactionmanagement.application.usecase.command.idempotency.IdempotencyStore;
+import org.chen.sid.transactionmanagement.application.usecase.query.missing.MissingTransactionIds;
 import org.chen.sid.transactionmanagement.application.validator.CommonRequestParamValidator;
 import org.chen.sid.transactionmanagement.common.exception.DataNotFoundException;
+import org.chen.sid.transactionmanagement.domain.infrastructure.TransactionEventPublisher;
 import org.chen.sid.transactionmanagement.domain.infrastructure.TransactionRepository;
 import org.chen.sid.transactionmanagement.domain.model.command.UpsertTransactionCommand;
 import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionCreatedEvent;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionDeletedEvent;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionUpdatedEvent;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 
 @Service
+@Timed(value = "transaction.usecase", histogram = true)
 public class TransactionCommandUseCase {
 
     private final TransactionRepository transactionRepository;
 
+    private final TransactionEventPublisher transactionEventPublisher;
+
+    private final IdempotencyStore idempotencyStore;
+
+    private final MissingTransactionIds missingTransactionIds;
+
     @Autowired
-    public TransactionCommandUseCase(TransactionRepository transactionRepository) {
+    public TransactionCommandUseCase(TransactionRepository transactionRepository, TransactionEventPublisher transactionEventPublisher,
+            IdempotencyStore idempotencyStore, ObjectProvider<MissingTransactionIds> missingTransactionIds) {
         this.transactionRepository = transactionRepository;
+        this.transactionEventPublisher = transactionEventPublisher;
+        this.idempotencyStore = idempotencyStore;
+        this.missingTransactionIds = missingTransactionIds.getIfAvailable();
+    }
+
+    /**
+     * Creates a transaction at most once per {@code idempotencyKey}: a retry with the same key and payload is answered
+     * with the originally created transaction without touching the repository.
+     */
+    public Transaction createTransaction(UpsertTransactionRequestDTO request, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return createTransaction(request);
+        }
+        CommonRequestParamValidator.validateIdempotencyKey(idempotencyKey);
+        return idempotencyStore.execute(idempotencyKey, request, () -> createTransaction(request));
     }
 
     public Transaction createTransaction(UpsertTransactionRequestDTO request) {
         UpsertTransactionCommand command = UpsertTransactionCommand.of(request.getName(), request.getAmount(), request.getCategory(),
                 request.getType());
         Transaction transaction = Transaction.create(command);
-        return transactionRepository.save(transaction);
+        if (missingTransactionIds != null) {
+            missingTransactionIds.beforeCreate(transaction.getId());
+        }
+        Transaction saved = transactionRepository.save(transaction);
+        if (missingTransactionIds != null) {
+            missingTransactionIds.created(transaction.getId());
+        }
+        transactionEventPublisher.publish(TransactionCreatedEvent.of(transaction));
+        return saved;
     }
 
     @CacheEvict(value = "transaction", key = "#id")
@@ -37,12 +76,19 @@ public class TransactionCommandUseCase {
                 .orElseThrow(() -> new DataNotFoundException("Transaction not found with id: " + id));
 
         transaction.update(command);
-        return transactionRepository.save(transaction);
+        Transaction saved = transactionRepository.save(transaction);
+        transactionEventPublisher.publish(TransactionUpdatedEvent.of(transaction, command));
+        return saved;
     }
 
     @CacheEvict(value = "transaction", key = "#id")
     public void deleteTransaction(String id) {
         CommonRequestParamValidator.validateId(id);
-        transactionRepository.deleteById(id);
+        if (transactionRepository.deleteById(id)) {
+            if (missingTransactionIds != null) {
+                missingTransactionIds.deleted(id);
+            }
+            transactionEventPublisher.publish(TransactionDeletedEvent.of(id));
+        }
     }
 }
@@ -0,0 +1,103 @@
+package org.chen.sid.transactionmanagement.application.usecase.command.bulk;
+
+import lombok.Getter;
+import org.chen.sid.transactionmanagement.application.usecase.command.dto.BulkJobDTO;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.TransactionFilterDTO;
+import org.chen.sid.transactionmanagement.domain.model.command.UpsertTransactionCommand;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * State and progress of one bulk mutation. Progress is written only by the thread running the job.
+ */
+public final class BulkJob {
+
+    @Getter
+    private final String id = UUID.randomUUID().toString();
+
+    @Getter
+    private final BulkOperation operation;
+
+    @Getter
+    private final TransactionFilterDTO filter;
+
+    /**
+     * Changes applied by an {@link BulkOperation#UPDATE}, otherwise {@code null}.
+     */
+    @Getter
+    private final UpsertTransactionCommand changes;
+
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+
+    private volatile BulkJobState state = BulkJobState.QUEUED;
+
+    private volatile boolean cancelRequested;
+
+    private volatile long matched;
+
+    private volatile long processed;
+
+    private volatile long affected;
+
+    private volatile LocalDateTime startedAt;
+
+    private volatile LocalDateTime finishedAt;
+
+    private volatile String error;
+
+    public BulkJob(BulkOperation operation, TransactionFilterDTO filter, UpsertTransactionCommand changes) {
+        this.operation = operation;
+        this.filter = filter;
+        this.changes = changes;
+    }
+
+    /**
+     * @return {@code false} if the job was cancelled while queued
+     */
+    public synchronized boolean start() {
+        if (state != BulkJobState.QUEUED) {
+            return false;
+        }
+        state = BulkJobState.RUNNING;
+        startedAt = LocalDateTime.now();
+        return true;
+    }
+
+    /**
+     * A queued job is cancelled at once; a running one stops before its next chunk.
+     */
+    public synchronized void cancel() {
+        cancelRequested = true;
+        if (state == BulkJobState.QUEUED) {
+            finish(BulkJobState.CANCELLED, null);
+        }
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    public boolean isFinished() {
+        return state.isFinished();
+    }
+
+    public void matched(long count) {
+        matched = count;
+    }
+
+    public void progressed(int handled, int changed) {
+        processed += handled;
+        affected += changed;
+    }
+
+    public synchronized void finish(BulkJobState finalState, String failure) {
+        state = finalState;
+        error = failure;
+        finishedAt = LocalDateTime.now();
+    }
+
+    public BulkJobDTO toDTO() {
+        return new BulkJobDTO(id, operation, state, matched, processed, affected, submittedAt, startedAt, finishedAt, error);
+    }
+}
@@ -0,0 +1,9 @@
+package org.chen.sid.transactionmanagement.application.usecase.command.bulk;
+
+public enum BulkJobState {
+    QUEUED, RUNNING, SUCCEEDED, CANCELLED, FAILED;
+
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == CANCELLED || this == FAILED;
+    }
+}
@@ -0,0 +1,5 @@
+package org.chen.sid.transactionmanagement.application.usecase.command.bulk;
+
+public enum BulkOperation {
+    DELETE, UPDATE
+}
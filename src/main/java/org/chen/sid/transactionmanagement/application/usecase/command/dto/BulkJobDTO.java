@@ -0,0 +1,42 @@
+package org.chen.sid.transactionmanagement.application.usecase.command.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.chen.sid.transactionmanagement.application.usecase.command.bulk.BulkJobState;
+import org.chen.sid.transactionmanagement.application.usecase.command.bulk.BulkOperation;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkJobDTO {
+    @Schema(description = "Job id")
+    private String id;
+
+    @Schema(description = "Bulk operation", example = "DELETE")
+    private BulkOperation operation;
+
+    @Schema(description = "Job state", example = "RUNNING")
+    private BulkJobState state;
+
+    @Schema(description = "Transactions that matched the filter when the job started", example = "12000")
+    private long matched;
+
+    @Schema(description = "Matched transactions handled so far", example = "3500")
+    private long processed;
+
+    @Schema(description = "Transactions deleted or updated; a transaction changed to no longer match is skipped", example = "3498")
+    private long affected;
+
+    private LocalDateTime submittedAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    @Schema(description = "Failure reason of a FAILED job")
+    private String error;
+}
@@ -0,0 +1,31 @@
+package org.chen.sid.transactionmanagement.application.usecase.command.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.chen.sid.transactionmanagement.application.usecase.command.bulk.BulkOperation;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.TransactionFilterDTO;
+import org.chen.sid.transactionmanagement.domain.model.entity.TransactionType;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Bulk mutation of the transactions matching a filter")
+public class BulkJobRequestDTO {
+
+    @NotNull(message = "Bulk operation cannot be null")
+    @Schema(description = "What to do with every matching transaction", example = "UPDATE")
+    private BulkOperation operation;
+
+    @NotNull(message = "Bulk filter cannot be null")
+    @Schema(description = "Transactions to change; at least one criterion is required")
+    private TransactionFilterDTO filter;
+
+    @Schema(description = "New category, for UPDATE", example = "Groceries")
+    private String category;
+
+    @Schema(description = "New type, for UPDATE", example = "WITHDRAW")
+    private TransactionType type;
+}
@@ -0,0 +1,125 @@
+package org.chen.sid.transactionmanagement.application.usecase.command.idempotency;
+
+import org.chen.sid.transactionmanagement.common.exception.IdempotencyKeyInProgressException;
+import org.chen.sid.transactionmanagement.common.exception.IdempotencyKeyReusedException;
+import org.chen.sid.transactionmanagement.config.properties.IdempotencyProperties;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the outcome of requests carrying an {@code Idempotency-Key}, so that a retried request is answered with
+ * the original result instead of being executed again.
+ * <p>
+ * The first request for a key registers an in-flight placeholder before it runs; concurrent retries wait on it. A
+ * failed request forgets its key so it can be retried. Entries expire after {@code ttl} and are forgotten oldest first
+ * once {@code max-entries} is exceeded; with a constant TTL, insertion order is also expiry order.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final ArrayDeque<Entry> insertionOrder = new ArrayDeque<>();
+
+    private final long ttlNanos;
+
+    private final int maxEntries;
+
+    private final long inFlightTimeoutMillis;
+
+    @Autowired
+    public IdempotencyStore(IdempotencyProperties properties) {
+        if (properties.getMaxEntries() <= 0) {
+            throw new IllegalArgumentException("Idempotency store capacity must be greater than 0");
+        }
+        this.ttlNanos = properties.getTtl().toNanos();
+        this.maxEntries = properties.getMaxEntries();
+        this.inFlightTimeoutMillis = properties.getInFlightTimeout().toMillis();
+    }
+
+    /**
+     * @param fingerprint value identifying the request payload; a retry must carry an equal one
+     * @return the result of {@code action}, run at most once per key within the TTL
+     */
+    public Transaction execute(String key, Object fingerprint, Supplier<Transaction> action) {
+        while (true) {
+            long now = System.nanoTime();
+            Entry entry = new Entry(key, fingerprint, now);
+            Entry existing = entries.putIfAbsent(key, entry);
+            if (existing == null) {
+                remember(entry, now);
+                return run(entry, action);
+            }
+            if (existing.isExpired(now, ttlNanos)) {
+                entries.remove(key, existing);
+                continue;
+            }
+            if (!existing.fingerprint().equals(fingerprint)) {
+                throw new IdempotencyKeyReusedException("Idempotency key " + key + " was already used with a different request");
+            }
+            Transaction replayed = await(existing);
+            if (replayed != null) {
+                return replayed.toBuilder().build();
+            }
+            // The first request failed and released the key: run this one instead.
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private Transaction run(Entry entry, Supplier<Transaction> action) {
+        try {
+            Transaction result = action.get();
+            entry.result().complete(result.toBuilder().build());
+            return result;
+        } catch (RuntimeException e) {
+            entries.remove(entry.key(), entry);
+            entry.result().complete(null);
+            throw e;
+        }
+    }
+
+    private Transaction await(Entry entry) {
+        try {
+            return entry.result().get(inFlightTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException("Interrupted while waiting for request with idempotency key " + entry.key());
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyInProgressException("A request with idempotency key " + entry.key() + " is still in progress");
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    private synchronized void remember(Entry entry, long now) {
+        insertionOrder.addLast(entry);
+        Entry oldest;
+        while ((oldest = insertionOrder.peekFirst()) != null && (oldest.isExpired(now, ttlNanos) || insertionOrder.size() > maxEntries)) {
+            insertionOrder.removeFirst();
+            entries.remove(oldest.key(), oldest);
+        }
+    }
+
+    private record Entry(String key, Object fingerprint, long createdAtNanos, CompletableFuture<Transaction> result) {
+
+        Entry(String key, Object fingerprint, long createdAtNanos) {
+            this(key, fingerprint, createdAtNanos, new CompletableFuture<>());
+        }
+
+        boolean isExpired(long now, long ttlNanos) {
+            return now - createdAtNanos >= ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.chen.sid.transactionmanagement.application.usecase.query;
+
+import io.micrometer.core.annotation.Timed;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.TransactionDTO;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.TransactionHistoryEntryDTO;
+import org.chen.sid.transactionmanagement.application.validator.CommonRequestParamValidator;
+import org.chen.sid.transactionmanagement.common.exception.DataNotFoundException;
+import org.chen.sid.transactionmanagement.common.exception.FeatureNotEnabledException;
+import org.chen.sid.transactionmanagement.domain.infrastructure.TransactionEventStore;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionEvent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@Timed(value = "transaction.usecase", histogram = true)
+public class TransactionHistoryUseCase {
+
+    private final ObjectProvider<TransactionEventStore> transactionEventStore;
+
+    @Autowired
+    public TransactionHistoryUseCase(ObjectProvider<TransactionEventStore> transactionEventStore) {
+        this.transactionEventStore = transactionEventStore;
+    }
+
+    public List<TransactionHistoryEntryDTO> getTransactionHistory(String id) {
+        CommonRequestParamValidator.validateId(id);
+        List<TransactionEvent> events = eventStore().findEvents(id);
+        if (events.isEmpty()) {
+            throw new DataNotFoundException("Transaction history not found with id: " + id);
+        }
+        List<TransactionHistoryEntryDTO> history = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            history.add(TransactionHistoryEntryDTO.from(i + 1, events.get(i)));
+        }
+        return history;
+    }
+
+    public TransactionDTO getTransactionAsOf(String id, LocalDateTime asOf) {
+        CommonRequestParamValidator.validateId(id);
+        return TransactionDTO.from(eventStore().findStateAsOf(id, asOf)
+                .orElseThrow(() -> new DataNotFoundException("Transaction not found with id: " + id + " as of " + asOf)));
+    }
+
+    private TransactionEventStore eventStore() {
+        TransactionEventStore eventStore = transactionEventStore.getIfAvailable();
+        if (eventStore == null) {
+            throw new FeatureNotEnabledException("Transaction history requires transaction.event-sourcing.enabled=true");
+        }
+        return eventStore;
+    }
+}
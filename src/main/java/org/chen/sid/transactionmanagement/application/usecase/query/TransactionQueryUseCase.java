@@ -1,24 +1,70 @@
 package org.chen.sid.transactionmanagement.application.usecase.query;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.annotation.Timed;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.CategorySummary;
 import org.chen.sid.transactionmanagement.application.usecase.query.dto.Page;
 import org.chen.sid.transactionmanagement.application.usecase.query.dto.TransactionDTO;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.TransactionFilterDTO;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.TransactionStatsDTO;
+import org.chen.sid.transactionmanagement.application.usecase.query.missing.MissingTransactionIds;
+import org.chen.sid.transactionmanagement.application.usecase.query.scan.AmountStats;
+import org.chen.sid.transactionmanagement.application.usecase.query.scan.ParallelScanEngine;
+import org.chen.sid.transactionmanagement.application.usecase.query.scan.TopRows;
 import org.chen.sid.transactionmanagement.application.validator.CommonRequestParamValidator;
 import org.chen.sid.transactionmanagement.common.exception.DataNotFoundException;
-import org.chen.sid.transactionmanagement.domain.infrastructure.TransactionRepository;
+import org.chen.sid.transactionmanagement.common.exception.FeatureNotEnabledException;
+import org.chen.sid.transactionmanagement.common.exception.RequestArgumentIllegalException;
+import org.chen.sid.transactionmanagement.common.jfr.CacheLoadEvent;
+import org.chen.sid.transactionmanagement.config.ReadModelConfig;
+import org.chen.sid.transactionmanagement.config.properties.ScanProperties;
+import org.chen.sid.transactionmanagement.domain.infrastructure.TransactionReadRepository;
 import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.StreamSupport;
+
 @Service
-@RequiredArgsConstructor
+@Timed(value = "transaction.usecase", histogram = true)
 public class TransactionQueryUseCase {
-    private final TransactionRepository transactionRepository;
+    private final TransactionReadRepository transactionRepository;
+
+    private final ParallelScanEngine scanEngine;
+
+    private final int maxScanWindow;
+
+    private final MissingTransactionIds missingTransactionIds;
+
+    @Autowired
+    public TransactionQueryUseCase(@Qualifier(ReadModelConfig.QUERY_REPOSITORY) TransactionReadRepository transactionRepository,
+            ParallelScanEngine scanEngine, ScanProperties scanProperties, ObjectProvider<MissingTransactionIds> missingTransactionIds) {
+        this.transactionRepository = transactionRepository;
+        this.scanEngine = scanEngine;
+        this.maxScanWindow = scanProperties.getMaxWindow();
+        this.missingTransactionIds = missingTransactionIds.getIfAvailable();
+    }
 
     @Cacheable(value = "transaction", key = "#id")
     public TransactionDTO getTransactionById(String id) {
         CommonRequestParamValidator.validateId(id);
-        return TransactionDTO.from(transactionRepository.findById(id).orElseThrow(() -> new DataNotFoundException("Transaction not found")));
+        if (missingTransactionIds != null && missingTransactionIds.isKnownMissing(id)) {
+            throw DataNotFoundException.TRANSACTION_NOT_FOUND;
+        }
+        long epoch = missingTransactionIds == null ? 0 : missingTransactionIds.epoch(id);
+        // Only runs on a cache miss, so this is the cache load.
+        CacheLoadEvent load = CacheLoadEvent.begin("transaction", id);
+        Optional<Transaction> transaction = transactionRepository.findById(id);
+        load.commit(transaction.isPresent());
+        if (transaction.isEmpty() && missingTransactionIds != null) {
+            missingTransactionIds.recordMissing(id, epoch);
+        }
+        return TransactionDTO.from(transaction.orElseThrow(() -> DataNotFoundException.TRANSACTION_NOT_FOUND));
     }
 
     public Page<TransactionDTO> getPageTransactions(long page, long limit) {
@@ -26,4 +72,53 @@ public class TransactionQueryUseCase {
         Page<Transaction> transactionPage = transactionRepository.findPage(page, limit);
         return new Page<>(transactionPage.getTotal(), transactionPage.getData().stream().map(TransactionDTO::from).toList());
     }
+
+    /**
+     * Every transaction, read lazily from the store's scan instead of page by page, so a full export costs one pass.
+     * Stores that hold their data in memory visit each transaction once, in no particular order; transactions written
+     * during the export may or may not be included.
+     */
+    public Iterator<TransactionDTO> scanTransactions() {
+        requireFullScan("Listing every transaction is");
+        return StreamSupport.stream(transactionRepository.scan(), false).map(TransactionDTO::from).iterator();
+    }
+
+    public List<CategorySummary> getCategorySummaries() {
+        return transactionRepository.summarizeByCategory();
+    }
+
+    /**
+     * Pages through the transactions matching {@code filter} in {@code (createTime, id)} order, whatever order the store
+     * pages in. No index covers these criteria, so every call scans the whole store.
+     */
+    public Page<TransactionDTO> filterTransactions(TransactionFilterDTO filter, long page, long size) {
+        CommonRequestParamValidator.validatePaginationParameters(page, size);
+        CommonRequestParamValidator.validateFilter(filter);
+        if (page * size > maxScanWindow) {
+            throw new RequestArgumentIllegalException("Filtered results are limited to the first " + maxScanWindow + " rows, narrow the filter");
+        }
+        requireFullScan("Filters and stats are");
+        int window = (int) (page * size);
+        TopRows rows = scanEngine.scan(transactionRepository.scan(), filter.toPredicate(), () -> new TopRows(window), TopRows::add,
+                TopRows::merge);
+        List<Transaction> sorted = rows.sorted();
+        int offset = (int) Math.min(sorted.size(), (page - 1) * size);
+        return new Page<>(rows.matched(), sorted.subList(offset, sorted.size()).stream().map(TransactionDTO::from).toList());
+    }
+
+    public TransactionStatsDTO getTransactionStats(TransactionFilterDTO filter) {
+        CommonRequestParamValidator.validateFilter(filter);
+        requireFullScan("Filters and stats are");
+        return scanEngine.scan(transactionRepository.scan(), filter.toPredicate(), AmountStats::new, AmountStats::add, AmountStats::merge)
+                .toDTO();
+    }
+
+    /**
+     * Refuses scans that would silently leave out transactions, such as archived ones, which pages and summaries count.
+     */
+    private void requireFullScan(String feature) {
+        if (!transactionRepository.scanCoversAll()) {
+            throw new FeatureNotEnabledException(feature + " not available while transactions are archived");
+        }
+    }
 }
@@ -0,0 +1,60 @@
+package org.chen.sid.transactionmanagement.application.usecase.query;
+
+import io.micrometer.core.annotation.Timed;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.TransactionDTO;
+import org.chen.sid.transactionmanagement.application.usecase.query.search.SearchMatch;
+import org.chen.sid.transactionmanagement.application.usecase.query.search.TransactionNameIndex;
+import org.chen.sid.transactionmanagement.application.usecase.query.search.TransactionNameIndexer;
+import org.chen.sid.transactionmanagement.application.validator.CommonRequestParamValidator;
+import org.chen.sid.transactionmanagement.common.exception.FeatureNotEnabledException;
+import org.chen.sid.transactionmanagement.config.ReadModelConfig;
+import org.chen.sid.transactionmanagement.config.properties.SearchProperties;
+import org.chen.sid.transactionmanagement.domain.infrastructure.TransactionReadRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@Timed(value = "transaction.usecase", histogram = true)
+public class TransactionSearchUseCase {
+
+    private final ObjectProvider<TransactionNameIndexer> nameIndexer;
+
+    private final TransactionReadRepository transactionRepository;
+
+    private final SearchProperties properties;
+
+    @Autowired
+    public TransactionSearchUseCase(ObjectProvider<TransactionNameIndexer> nameIndexer,
+            @Qualifier(ReadModelConfig.QUERY_REPOSITORY) TransactionReadRepository transactionRepository, SearchProperties properties) {
+        this.nameIndexer = nameIndexer;
+        this.transactionRepository = transactionRepository;
+        this.properties = properties;
+    }
+
+    /**
+     * @param limit {@code null} for the configured default
+     * @return matching transactions, most recently created or renamed first
+     */
+    public List<TransactionDTO> searchByName(String query, SearchMatch match, Integer limit) {
+        int effectiveLimit = limit == null ? properties.getDefaultLimit() : limit;
+        CommonRequestParamValidator.validateSearch(query, match, effectiveLimit, properties.getMaxLimit());
+        TransactionNameIndexer indexer = nameIndexer.getIfAvailable();
+        if (indexer == null) {
+            throw new FeatureNotEnabledException("Name search requires transaction.search.enabled=true");
+        }
+        String normalized = TransactionNameIndex.normalize(query);
+        // The index trails the commands slightly; a transaction renamed or deleted since is left out.
+        return indexer.search(query, match, effectiveLimit)
+                .stream()
+                .map(transactionRepository::findById)
+                .flatMap(Optional::stream)
+                .filter(transaction -> match.matches(TransactionNameIndex.normalize(transaction.getName()), normalized))
+                .map(TransactionDTO::from)
+                .toList();
+    }
+}
@@ -0,0 +1,22 @@
+package org.chen.sid.transactionmanagement.application.usecase.query.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategorySummary {
+    @Schema(description = "Transaction category, null for uncategorized transactions", example = "Food")
+    private String category;
+
+    @Schema(description = "Number of transactions in the category", example = "42")
+    private long count;
+
+    @Schema(description = "Sum of transaction amounts in the category", example = "1024.50")
+    private BigDecimal totalAmount;
+}
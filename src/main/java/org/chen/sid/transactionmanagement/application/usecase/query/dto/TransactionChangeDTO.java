@@ -0,0 +1,42 @@
+package org.chen.sid.transactionmanagement.application.usecase.query.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionCreatedEvent;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionDeletedEvent;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionEvent;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionUpdatedEvent;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionChangeDTO {
+    @Schema(description = "Feed sequence number, usable as resume point", example = "42")
+    private long sequence;
+
+    @Schema(description = "Change type", example = "UPDATED")
+    private String change;
+
+    @Schema(description = "Transaction id")
+    private String transactionId;
+
+    @Schema(description = "Time the change took effect")
+    private LocalDateTime occurredAt;
+
+    @Schema(description = "Transaction after the change, absent for deletions")
+    private TransactionDTO transaction;
+
+    public static TransactionChangeDTO from(long sequence, TransactionEvent event) {
+        return switch (event) {
+            case TransactionCreatedEvent created -> new TransactionChangeDTO(sequence, "CREATED", created.transactionId(), created.occurredAt(),
+                    TransactionDTO.from(created.transaction()));
+            case TransactionUpdatedEvent updated -> new TransactionChangeDTO(sequence, "UPDATED", updated.transactionId(), updated.occurredAt(),
+                    TransactionDTO.from(updated.transaction()));
+            case TransactionDeletedEvent deleted -> new TransactionChangeDTO(sequence, "DELETED", deleted.transactionId(), deleted.occurredAt(), null);
+        };
+    }
+}
@@ -0,0 +1,60 @@
+package org.chen.sid.transactionmanagement.application.usecase.query.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.chen.sid.transactionmanagement.domain.model.entity.TransactionType;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+/**
+ * Criteria of an ad-hoc query; every field left empty matches all transactions.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionFilterDTO {
+    @Schema(description = "Case-insensitive part of the transaction name", example = "goods")
+    private String name;
+
+    @Schema(description = "Transaction category", example = "Daily")
+    private String category;
+
+    @Schema(description = "Transaction type", example = "DEPOSIT")
+    private TransactionType type;
+
+    @Schema(description = "Minimum amount, inclusive", example = "10")
+    private BigDecimal minAmount;
+
+    @Schema(description = "Maximum amount, inclusive", example = "500")
+    private BigDecimal maxAmount;
+
+    @Schema(description = "Created at or after this time")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @Schema(description = "Created before this time")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    public Predicate<Transaction> toPredicate() {
+        String namePart = name == null || name.isEmpty() ? null : name.toLowerCase(Locale.ROOT);
+        return transaction -> (namePart == null || transaction.getName() != null && transaction.getName()
+                .toLowerCase(Locale.ROOT)
+                .contains(namePart))
+                && (category == null || category.equals(transaction.getCategory()))
+                && (type == null || type == transaction.getType())
+                && (minAmount == null || transaction.getAmount().compareTo(minAmount) >= 0)
+                && (maxAmount == null || transaction.getAmount().compareTo(maxAmount) <= 0)
+                && (from == null || transaction.getCreateTime() != null && !transaction.getCreateTime().isBefore(from))
+                && (to == null || transaction.getCreateTime() != null && transaction.getCreateTime().isBefore(to));
+    }
+}
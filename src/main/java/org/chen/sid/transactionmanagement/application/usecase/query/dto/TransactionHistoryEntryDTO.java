@@ -0,0 +1,70 @@
+package org.chen.sid.transactionmanagement.application.usecase.query.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.chen.sid.transactionmanagement.domain.model.command.UpsertTransactionCommand;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.chen.sid.transactionmanagement.domain.model.entity.TransactionType;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionCreatedEvent;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionDeletedEvent;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionEvent;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionUpdatedEvent;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionHistoryEntryDTO {
+    @Schema(description = "Position of the event in the transaction history, starting at 1", example = "1")
+    private long version;
+
+    @Schema(description = "Event type", example = "UPDATED")
+    private String event;
+
+    @Schema(description = "Time the event took effect")
+    private LocalDateTime occurredAt;
+
+    @Schema(description = "Transaction name set by the event", example = "Purchase goods")
+    private String name;
+
+    @Schema(description = "Transaction amount set by the event", example = "100.50")
+    private BigDecimal amount;
+
+    @Schema(description = "Transaction category set by the event", example = "Daily")
+    private String category;
+
+    @Schema(description = "Transaction type set by the event", example = "DEPOSIT")
+    private TransactionType type;
+
+    public static TransactionHistoryEntryDTO from(long version, TransactionEvent event) {
+        TransactionHistoryEntryDTO dto = new TransactionHistoryEntryDTO();
+        dto.setVersion(version);
+        dto.setOccurredAt(event.occurredAt());
+        switch (event) {
+            case TransactionCreatedEvent created -> {
+                Transaction transaction = created.transaction();
+                dto.setEvent("CREATED");
+                dto.setName(transaction.getName());
+                dto.setAmount(transaction.getAmount());
+                dto.setCategory(transaction.getCategory());
+                dto.setType(transaction.getType());
+            }
+            case TransactionUpdatedEvent updated -> {
+                UpsertTransactionCommand changes = updated.changes();
+                dto.setEvent("UPDATED");
+                dto.setName(changes.getName() == null ? null : changes.getName().trim());
+                dto.setAmount(changes.getAmount());
+                dto.setCategory(changes.getCategory());
+                dto.setType(changes.getType());
+            }
+            case TransactionDeletedEvent ignored -> dto.setEvent("DELETED");
+        }
+        return dto;
+    }
+}
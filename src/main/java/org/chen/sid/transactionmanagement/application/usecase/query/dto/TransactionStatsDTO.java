@@ -0,0 +1,28 @@
+package org.chen.sid.transactionmanagement.application.usecase.query.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionStatsDTO {
+    @Schema(description = "Number of matching transactions", example = "42")
+    private long count;
+
+    @Schema(description = "Sum of matching amounts", example = "1024.50")
+    private BigDecimal totalAmount;
+
+    @Schema(description = "Smallest matching amount, null when nothing matched", example = "1.00")
+    private BigDecimal minAmount;
+
+    @Schema(description = "Largest matching amount, null when nothing matched", example = "300.00")
+    private BigDecimal maxAmount;
+
+    @Schema(description = "Average matching amount, null when nothing matched", example = "24.39")
+    private BigDecimal averageAmount;
+}
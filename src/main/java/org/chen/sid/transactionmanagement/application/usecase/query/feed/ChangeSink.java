@@ -0,0 +1,15 @@
+package org.chen.sid.transactionmanagement.application.usecase.query.feed;
+
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.TransactionChangeDTO;
+
+import java.io.IOException;
+
+/**
+ * Delivery channel of one change feed subscriber, e.g. an SSE connection.
+ */
+public interface ChangeSink {
+
+    void send(TransactionChangeDTO change) throws IOException;
+
+    void close();
+}
@@ -0,0 +1,241 @@
+package org.chen.sid.transactionmanagement.application.usecase.query.feed;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.TransactionChangeDTO;
+import org.chen.sid.transactionmanagement.common.exception.ResumePointExpiredException;
+import org.chen.sid.transactionmanagement.common.exception.TooManyRequestsException;
+import org.chen.sid.transactionmanagement.config.properties.ChangeFeedProperties;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Push feed of transaction changes, numbered by a gap-free sequence.
+ * <p>
+ * The latest {@code retention} changes are kept so subscribers can resume after a sequence number. Each subscriber has
+ * a bounded buffer drained on its own virtual thread, so a client that stops reading blocks only its own sends.
+ * Publishing never blocks on a subscriber; a subscriber whose buffer overflows, or whose write blocks longer than
+ * {@code write-timeout}, is disconnected so it can resume from its last sequence. One drain sends at most a buffer's
+ * worth of changes before handing over to a fresh task.
+ */
+@Slf4j
+@Component
+public class TransactionChangeFeed {
+
+    private final ChangeFeedProperties properties;
+
+    private final ArrayDeque<TransactionChangeDTO> retained;
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService sender = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("transaction-change-feed-", 0)
+            .factory());
+
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "transaction-change-feed-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final long writeTimeoutNanos;
+
+    private long lastSequence;
+
+    @Autowired
+    public TransactionChangeFeed(ChangeFeedProperties properties) {
+        this.properties = properties;
+        this.retained = new ArrayDeque<>(properties.getRetention());
+        this.writeTimeoutNanos = properties.getWriteTimeout().toNanos();
+        long checkMillis = Math.max(10, properties.getWriteTimeout().toMillis() / 4);
+        watchdog.scheduleWithFixedDelay(this::disconnectStalled, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener
+    public void on(TransactionEvent event) {
+        synchronized (this) {
+            TransactionChangeDTO change = TransactionChangeDTO.from(++lastSequence, event);
+            if (retained.size() == properties.getRetention()) {
+                retained.removeFirst();
+            }
+            retained.addLast(change);
+            for (Subscription subscription : subscriptions) {
+                subscription.offer(change);
+            }
+        }
+    }
+
+    /**
+     * @param afterSequence deliver changes with a greater sequence; {@code null} to receive only new changes
+     */
+    public Subscription subscribe(Long afterSequence, ChangeSink sink) {
+        if (subscriptions.size() >= properties.getMaxSubscribers()) {
+            throw new TooManyRequestsException("Change feed subscriber limit reached");
+        }
+        Subscription subscription = new Subscription(sink);
+        synchronized (this) {
+            List<TransactionChangeDTO> backlog = backlogAfter(afterSequence);
+            if (backlog.size() > properties.getSubscriberBuffer()) {
+                throw new ResumePointExpiredException("Resume point " + afterSequence + " is too far behind, resynchronize and subscribe again");
+            }
+            backlog.forEach(subscription::offer);
+            subscriptions.add(subscription);
+        }
+        return subscription;
+    }
+
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.forEach(Subscription::cancel);
+        watchdog.shutdownNow();
+        sender.shutdownNow();
+    }
+
+    private void disconnectStalled() {
+        long now = System.nanoTime();
+        for (Subscription subscription : subscriptions) {
+            long sendingSince = subscription.sendingSince;
+            if (sendingSince != 0 && now - sendingSince > writeTimeoutNanos) {
+                log.warn("Disconnecting change feed subscriber blocked on a write for over {}", properties.getWriteTimeout());
+                subscription.disconnect();
+            }
+        }
+    }
+
+    /**
+     * Sequences restart at 0 when the application restarts, so a resume point past the last sequence was issued by an
+     * earlier run and is rejected rather than silently skipping the changes made since.
+     */
+    private List<TransactionChangeDTO> backlogAfter(Long afterSequence) {
+        if (afterSequence != null && afterSequence > lastSequence) {
+            throw new ResumePointExpiredException("Resume point " + afterSequence + " is ahead of this feed, resynchronize and subscribe again");
+        }
+        if (afterSequence == null || afterSequence == lastSequence) {
+            return List.of();
+        }
+        long oldestRetained = retained.isEmpty() ? lastSequence + 1 : retained.peekFirst().getSequence();
+        if (afterSequence + 1 < oldestRetained) {
+            throw new ResumePointExpiredException("Resume point " + afterSequence + " is no longer retained, resynchronize and subscribe again");
+        }
+        List<TransactionChangeDTO> backlog = new ArrayList<>();
+        for (TransactionChangeDTO change : retained) {
+            if (change.getSequence() > afterSequence) {
+                backlog.add(change);
+            }
+        }
+        return backlog;
+    }
+
+    public final class Subscription {
+
+        private final ChangeSink sink;
+
+        private final ArrayBlockingQueue<TransactionChangeDTO> buffer = new ArrayBlockingQueue<>(properties.getSubscriberBuffer());
+
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private volatile boolean cancelled;
+
+        /**
+         * {@link System#nanoTime()} when the send in progress started, {@code 0} while idle.
+         */
+        private volatile long sendingSince;
+
+        private volatile Thread drainer;
+
+        private Subscription(ChangeSink sink) {
+            this.sink = sink;
+        }
+
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            subscriptions.remove(this);
+            buffer.clear();
+            sink.close();
+        }
+
+        private void offer(TransactionChangeDTO change) {
+            if (cancelled) {
+                return;
+            }
+            if (!buffer.offer(change)) {
+                log.warn("Disconnecting slow change feed subscriber at sequence {}", change.getSequence());
+                disconnect();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        /**
+         * Cancels without waiting on the sink, which may be blocked on the stalled write.
+         */
+        private void disconnect() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            subscriptions.remove(this);
+            buffer.clear();
+            Thread thread = drainer;
+            if (thread != null) {
+                thread.interrupt();
+            }
+            sender.execute(sink::close);
+        }
+
+        private void drain() {
+            drainer = Thread.currentThread();
+            try {
+                TransactionChangeDTO change;
+                for (int sent = 0; !cancelled && (change = buffer.peek()) != null; sent++) {
+                    if (sent == properties.getSubscriberBuffer()) {
+                        // Keep the draining flag and continue on a fresh task, so one drain never runs unbounded.
+                        sender.execute(this::drain);
+                        return;
+                    }
+                    buffer.poll();
+                    sendingSince = System.nanoTime();
+                    try {
+                        sink.send(change);
+                    } catch (Exception e) {
+                        cancel();
+                    } finally {
+                        sendingSince = 0;
+                    }
+                }
+            } finally {
+                drainer = null;
+            }
+            draining.set(false);
+            if (!cancelled && !buffer.isEmpty() && draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package org.chen.sid.transactionmanagement.application.usecase.query.missing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.chen.sid.transactionmanagement.common.cache.BloomFilter;
+import org.chen.sid.transactionmanagement.config.properties.MissingIdsProperties;
+import org.chen.sid.transactionmanagement.domain.infrastructure.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Answers lookups of transaction IDs that are known not to exist, so repeated 404s do not reach the repository.
+ * <p>
+ * IDs found missing are remembered for {@code ttl}. Optionally, a Bloom filter over every live ID rejects IDs that were
+ * never created without any repository call; deleted IDs stay in the filter and fall through to the remembered misses.
+ * <p>
+ * A create must never be hidden: its ID enters the Bloom filter before it is saved, and once saved,
+ * {@link #created(String)} forgets the ID and bumps an epoch of its stripe. A lookup records its miss only if that epoch
+ * did not change while it read the repository, so a miss read before a concurrent create is discarded.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "transaction.missing-ids", name = "enabled", havingValue = "true")
+public class MissingTransactionIds implements SmartLifecycle {
+
+    /**
+     * After the repositories have loaded, before the web server accepts requests.
+     */
+    private static final int MISSING_IDS_PHASE = SmartLifecycle.DEFAULT_PHASE - 3072;
+
+    private static final int EPOCH_STRIPES = 256;
+
+    private final ConcurrentHashMap<String, Long> missingSince = new ConcurrentHashMap<>();
+
+    private final ArrayDeque<Missing> insertionOrder = new ArrayDeque<>();
+
+    private final AtomicLongArray epochs = new AtomicLongArray(EPOCH_STRIPES);
+
+    private final TransactionRepository transactionRepository;
+
+    private final BloomFilter liveIds;
+
+    private final long ttlNanos;
+
+    private final int maxEntries;
+
+    private final Counter bloomFilterRejections;
+
+    private final Counter cacheRejections;
+
+    private volatile boolean liveIdsLoaded;
+
+    private volatile boolean running;
+
+    @Autowired
+    public MissingTransactionIds(TransactionRepository transactionRepository, MissingIdsProperties properties, MeterRegistry meterRegistry) {
+        if (properties.getMaxEntries() <= 0) {
+            throw new IllegalArgumentException("Missing ID cache capacity must be greater than 0");
+        }
+        MissingIdsProperties.BloomFilter bloomFilter = properties.getBloomFilter();
+        this.transactionRepository = transactionRepository;
+        this.liveIds = bloomFilter.isEnabled() ? new BloomFilter(bloomFilter.getExpectedInsertions(), bloomFilter.getFalsePositiveRate()) : null;
+        this.ttlNanos = properties.getTtl().toNanos();
+        this.maxEntries = properties.getMaxEntries();
+        this.bloomFilterRejections = Counter.builder("transaction.missing.ids.rejected").tag("source", "bloom-filter").register(meterRegistry);
+        this.cacheRejections = Counter.builder("transaction.missing.ids.rejected").tag("source", "cache").register(meterRegistry);
+        Gauge.builder("transaction.missing.ids.cached", missingSince, ConcurrentHashMap::size).register(meterRegistry);
+    }
+
+    public boolean isKnownMissing(String id) {
+        if (liveIdsLoaded && !liveIds.mightContain(id)) {
+            bloomFilterRejections.increment();
+            return true;
+        }
+        Long since = missingSince.get(id);
+        if (since == null) {
+            return false;
+        }
+        if (System.nanoTime() - since < ttlNanos) {
+            cacheRejections.increment();
+            return true;
+        }
+        missingSince.remove(id, since);
+        return false;
+    }
+
+    /**
+     * @return the epoch to pass to {@link #recordMissing}, read before the repository lookup
+     */
+    public long epoch(String id) {
+        return epochs.get(stripe(id));
+    }
+
+    public void recordMissing(String id, long epochBeforeLookup) {
+        long now = System.nanoTime();
+        Long since = now;
+        missingSince.put(id, since);
+        // Checked after the put: a create that bumped the epoch earlier is detected here, a later one removes the entry.
+        if (epochs.get(stripe(id)) != epochBeforeLookup) {
+            missingSince.remove(id, since);
+            return;
+        }
+        remember(id, now);
+    }
+
+    /**
+     * Must be called before the transaction is saved.
+     */
+    public void beforeCreate(String id) {
+        if (liveIds != null) {
+            liveIds.put(id);
+        }
+    }
+
+    /**
+     * Must be called once the transaction is visible to queries.
+     */
+    public void created(String id) {
+        epochs.incrementAndGet(stripe(id));
+        missingSince.remove(id);
+    }
+
+    public void deleted(String id) {
+        long now = System.nanoTime();
+        missingSince.put(id, now);
+        remember(id, now);
+    }
+
+    public int size() {
+        return missingSince.size();
+    }
+
+    @Override
+    public void start() {
+        if (liveIds != null) {
+            long[] loaded = new long[1];
+            transactionRepository.scan().forEachRemaining(transaction -> {
+                liveIds.put(transaction.getId());
+                loaded[0]++;
+            });
+            liveIdsLoaded = true;
+            log.info("Bloom filter of live transaction IDs loaded with {} IDs ({} bits, {} hashes)", loaded[0], liveIds.bitCount(),
+                    liveIds.hashCount());
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return MISSING_IDS_PHASE;
+    }
+
+    private synchronized void remember(String id, long now) {
+        insertionOrder.addLast(new Missing(id, now));
+        Missing oldest;
+        while ((oldest = insertionOrder.peekFirst()) != null && (now - oldest.since() >= ttlNanos || insertionOrder.size() > maxEntries)) {
+            insertionOrder.removeFirst();
+            missingSince.remove(oldest.id(), oldest.since());
+        }
+    }
+
+    private static int stripe(String id) {
+        return id.hashCode() & (EPOCH_STRIPES - 1);
+    }
+
+    private record Missing(String id, long since) {
+    }
+}
@@ -0,0 +1,186 @@
+package org.chen.sid.transactionmanagement.application.usecase.query.projection;
+
+import io.micrometer.core.annotation.Timed;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.CategorySummary;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.Page;
+import org.chen.sid.transactionmanagement.common.jfr.PageScanEvent;
+import org.chen.sid.transactionmanagement.domain.infrastructure.TransactionReadRepository;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionCreatedEvent;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionDeletedEvent;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionEvent;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionUpdatedEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Query-side copy of the transactions, maintained only by {@link TransactionReadModelProjector}.
+ * <p>
+ * Rows are kept pre-sorted by {@code (createTime, id)} and per-category totals are updated incrementally, so reads never
+ * touch the command-side repository or its lock. Writes are applied by a single projector thread; readers see a weakly
+ * consistent view without locking.
+ * <p>
+ * Deletes leave a tombstone for the most recent {@value #MAX_TOMBSTONES} deleted IDs, so an update that was published
+ * before the delete but arrives after it does not bring the row back.
+ */
+@Component
+@ConditionalOnProperty(prefix = "transaction.read-model", name = "enabled", havingValue = "true")
+public class TransactionReadModel implements TransactionReadRepository {
+
+    private static final String TIMER = "transaction.repository";
+
+    private static final String UNCATEGORIZED = "";
+
+    private static final int MAX_TOMBSTONES = 10_000;
+
+    private final ConcurrentHashMap<String, Transaction> transactionsById = new ConcurrentHashMap<>();
+
+    private final ConcurrentSkipListMap<OrderKey, Transaction> transactionsInOrder = new ConcurrentSkipListMap<>();
+
+    private final ConcurrentHashMap<String, CategorySummary> categorySummaries = new ConcurrentHashMap<>();
+
+    /**
+     * Deleted ID to the time of its deletion, oldest first.
+     */
+    private final Map<String, LocalDateTime> tombstones = Collections.synchronizedMap(new LinkedHashMap<>() {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, LocalDateTime> eldest) {
+            return size() > MAX_TOMBSTONES;
+        }
+    });
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public Optional<Transaction> findById(String id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(transactionsById.get(id));
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public Page<Transaction> findPage(long page, long size) {
+        PageScanEvent scan = PageScanEvent.begin("read-model", page, size);
+        long total = transactionsById.size();
+        List<Transaction> data = new ArrayList<>((int) Math.min(size, total));
+        Iterator<Transaction> iterator = transactionsInOrder.values().iterator();
+        long skipped = 0;
+        for (long skip = (page - 1) * size; skip > 0 && iterator.hasNext(); skip--) {
+            iterator.next();
+            skipped++;
+        }
+        while (data.size() < size && iterator.hasNext()) {
+            data.add(iterator.next());
+        }
+        scan.commit(skipped + data.size(), data.size());
+        return new Page<>(total, data);
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public List<CategorySummary> summarizeByCategory() {
+        return categorySummaries.values()
+                .stream()
+                .filter(summary -> summary.getCount() > 0)
+                .sorted(Comparator.comparing(CategorySummary::getCategory, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .toList();
+    }
+
+    @Override
+    public Spliterator<Transaction> scan() {
+        return transactionsById.values().spliterator();
+    }
+
+    public long size() {
+        return transactionsById.size();
+    }
+
+    void apply(TransactionEvent event) {
+        switch (event) {
+            case TransactionCreatedEvent created -> upsert(created.transaction());
+            case TransactionUpdatedEvent updated -> upsert(updated.transaction());
+            case TransactionDeletedEvent deleted -> remove(deleted.transactionId(), deleted.occurredAt());
+        }
+    }
+
+    void load(Transaction transaction) {
+        upsert(transaction.toBuilder().build());
+    }
+
+    private void upsert(Transaction transaction) {
+        LocalDateTime deletedAt = tombstones.get(transaction.getId());
+        if (deletedAt != null) {
+            if (transaction.getUpdateTime() == null || !transaction.getUpdateTime().isAfter(deletedAt)) {
+                // Written before the delete that was already applied.
+                return;
+            }
+            // A create reusing the ID after the delete.
+            tombstones.remove(transaction.getId());
+        }
+        Transaction previous = transactionsById.get(transaction.getId());
+        if (previous != null && isOlder(transaction, previous)) {
+            // Events of concurrent commands may arrive out of order; the newest update wins.
+            return;
+        }
+        transactionsById.put(transaction.getId(), transaction);
+        if (previous != null) {
+            transactionsInOrder.remove(OrderKey.of(previous));
+            adjustCategory(previous, -1);
+        }
+        transactionsInOrder.put(OrderKey.of(transaction), transaction);
+        adjustCategory(transaction, 1);
+    }
+
+    private void remove(String id, LocalDateTime deletedAt) {
+        tombstones.merge(id, deletedAt, (earlier, later) -> later.isAfter(earlier) ? later : earlier);
+        Transaction previous = transactionsById.remove(id);
+        if (previous != null) {
+            transactionsInOrder.remove(OrderKey.of(previous));
+            adjustCategory(previous, -1);
+        }
+    }
+
+    private void adjustCategory(Transaction transaction, int sign) {
+        String key = transaction.getCategory() == null ? UNCATEGORIZED : transaction.getCategory();
+        BigDecimal amount = sign > 0 ? transaction.getAmount() : transaction.getAmount().negate();
+        categorySummaries.compute(key, (category, summary) -> summary == null
+                ? new CategorySummary(transaction.getCategory(), sign, amount)
+                : new CategorySummary(transaction.getCategory(), summary.getCount() + sign, summary.getTotalAmount().add(amount)));
+    }
+
+    private static boolean isOlder(Transaction candidate, Transaction current) {
+        return candidate.getUpdateTime() != null && current.getUpdateTime() != null && candidate.getUpdateTime()
+                .isBefore(current.getUpdateTime());
+    }
+
+    private record OrderKey(LocalDateTime createTime, String id) implements Comparable<OrderKey> {
+
+        private static final Comparator<OrderKey> ORDER = Comparator.comparing(OrderKey::createTime,
+                Comparator.nullsFirst(Comparator.naturalOrder())).thenComparing(OrderKey::id);
+
+        static OrderKey of(Transaction transaction) {
+            return new OrderKey(transaction.getCreateTime(), transaction.getId());
+        }
+
+        @Override
+        public int compareTo(OrderKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.chen.sid.transactionmanagement.application.usecase.query.projection;
+
+import lombok.extern.slf4j.Slf4j;
+import org.chen.sid.transactionmanagement.application.usecase.query.missing.MissingTransactionIds;
+import org.chen.sid.transactionmanagement.domain.infrastructure.TransactionRepository;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionCreatedEvent;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionEvent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies domain events to the {@link TransactionReadModel} on a dedicated thread, so command latency does not include
+ * the projection and events are applied in publication order.
+ * <p>
+ * Queries read the read model, so the command's own cache eviction runs too early: a read in between would cache the
+ * old row again. The projector evicts the transaction once more after applying its event.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "transaction.read-model", name = "enabled", havingValue = "true")
+public class TransactionReadModelProjector implements SmartLifecycle {
+
+    /**
+     * After the repositories have loaded, before the web server accepts requests.
+     */
+    private static final int PROJECTOR_PHASE = SmartLifecycle.DEFAULT_PHASE - 3072;
+
+    private static final String CACHE_NAME = "transaction";
+
+    private final TransactionReadModel readModel;
+
+    private final TransactionRepository transactionRepository;
+
+    private final MissingTransactionIds missingTransactionIds;
+
+    private final Cache transactionCache;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "transaction-read-model-projector");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean running;
+
+    @Autowired
+    public TransactionReadModelProjector(TransactionReadModel readModel, TransactionRepository transactionRepository,
+            ObjectProvider<MissingTransactionIds> missingTransactionIds, CacheManager cacheManager) {
+        this.readModel = readModel;
+        this.transactionRepository = transactionRepository;
+        this.missingTransactionIds = missingTransactionIds.getIfAvailable();
+        this.transactionCache = cacheManager.getCache(CACHE_NAME);
+    }
+
+    @EventListener
+    public void on(TransactionEvent event) {
+        executor.execute(() -> {
+            readModel.apply(event);
+            if (transactionCache != null) {
+                transactionCache.evict(event.transactionId());
+            }
+            if (missingTransactionIds != null && event instanceof TransactionCreatedEvent created) {
+                // Queries only see the transaction now; a miss remembered in between must not hide it.
+                missingTransactionIds.created(created.transactionId());
+            }
+        });
+    }
+
+    @Override
+    public void start() {
+        // One pass over the store; paging an in-memory store re-walks the skipped rows for every page.
+        transactionRepository.scan().forEachRemaining(readModel::load);
+        log.info("Read model bootstrapped with {} transactions", readModel.size());
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PROJECTOR_PHASE;
+    }
+}
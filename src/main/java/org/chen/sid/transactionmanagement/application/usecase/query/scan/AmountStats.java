@@ -0,0 +1,45 @@
+package org.chen.sid.transactionmanagement.application.usecase.query.scan;
+
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.TransactionStatsDTO;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * Scan accumulator of count, sum, minimum and maximum of matching amounts.
+ */
+public final class AmountStats {
+
+    private long count;
+
+    private BigDecimal total = BigDecimal.ZERO;
+
+    private BigDecimal min;
+
+    private BigDecimal max;
+
+    public void add(Transaction transaction) {
+        BigDecimal amount = transaction.getAmount();
+        count++;
+        total = total.add(amount);
+        min = min == null || amount.compareTo(min) < 0 ? amount : min;
+        max = max == null || amount.compareTo(max) > 0 ? amount : max;
+    }
+
+    public AmountStats merge(AmountStats other) {
+        if (other.count == 0) {
+            return this;
+        }
+        count += other.count;
+        total = total.add(other.total);
+        min = min == null || other.min.compareTo(min) < 0 ? other.min : min;
+        max = max == null || other.max.compareTo(max) > 0 ? other.max : max;
+        return this;
+    }
+
+    public TransactionStatsDTO toDTO() {
+        BigDecimal average = count == 0 ? null : total.divide(BigDecimal.valueOf(count), MathContext.DECIMAL64);
+        return new TransactionStatsDTO(count, total, min, max, average);
+    }
+}
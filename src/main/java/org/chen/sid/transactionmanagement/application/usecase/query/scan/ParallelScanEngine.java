@@ -0,0 +1,154 @@
+package org.chen.sid.transactionmanagement.application.usecase.query.scan;
+
+import jakarta.annotation.PreDestroy;
+import org.chen.sid.transactionmanagement.common.exception.ScanTimeoutException;
+import org.chen.sid.transactionmanagement.config.properties.ScanProperties;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Evaluates a filter and an accumulation over a whole store on a dedicated fork-join pool.
+ * <p>
+ * The source is split into a few chunks per worker. At most {@code max-parallelism-per-query} workers pull chunks from
+ * a shared queue, so a skewed chunk does not leave the other workers idle, and fold matching rows into their own
+ * accumulator; the accumulators are combined at the end. Workers check every {@value #CHECK_INTERVAL} rows whether the
+ * scan was cancelled or ran out of its time budget; a scan that runs out fails with {@link ScanTimeoutException}
+ * rather than answering from the rows it got through.
+ */
+@Component
+public class ParallelScanEngine {
+
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private static final int CHECK_INTERVAL = 1024;
+
+    private final ForkJoinPool pool;
+
+    private final int maxParallelismPerQuery;
+
+    private final long timeBudgetNanos;
+
+    @Autowired
+    public ParallelScanEngine(ScanProperties properties) {
+        if (properties.getParallelism() <= 0 || properties.getMaxParallelismPerQuery() <= 0) {
+            throw new IllegalArgumentException("Scan parallelism must be greater than 0");
+        }
+        this.pool = new ForkJoinPool(properties.getParallelism(), pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("transaction-scan-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        this.maxParallelismPerQuery = Math.min(properties.getMaxParallelismPerQuery(), properties.getParallelism());
+        this.timeBudgetNanos = properties.getTimeBudget().toNanos();
+    }
+
+    public <A> A scan(Spliterator<Transaction> source, Predicate<? super Transaction> filter, Supplier<A> supplier,
+            BiConsumer<A, Transaction> accumulator, BinaryOperator<A> combiner) {
+        long deadline = System.nanoTime() + timeBudgetNanos;
+        ConcurrentLinkedQueue<Spliterator<Transaction>> chunks = new ConcurrentLinkedQueue<>(split(source,
+                maxParallelismPerQuery * CHUNKS_PER_WORKER, deadline));
+        int workers = Math.min(maxParallelismPerQuery, chunks.size());
+        AtomicBoolean cancelled = new AtomicBoolean();
+        List<ForkJoinTask<A>> tasks = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            tasks.add(pool.submit(() -> work(chunks, filter, supplier.get(), accumulator, cancelled, deadline)));
+        }
+        try {
+            A result = supplier.get();
+            for (ForkJoinTask<A> task : tasks) {
+                result = combiner.apply(result, task.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            }
+            return result;
+        } catch (TimeoutException e) {
+            throw timedOut();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while scanning transactions", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Transaction scan failed", e.getCause());
+        } finally {
+            cancelled.set(true);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Splits breadth-first until there are {@code target} chunks or nothing splits any further. Splitting a lazily
+     * loaded source reads rows, so it is held to the same deadline as the workers.
+     */
+    private static List<Spliterator<Transaction>> split(Spliterator<Transaction> source, int target, long deadline) {
+        ArrayDeque<Spliterator<Transaction>> splittable = new ArrayDeque<>();
+        List<Spliterator<Transaction>> chunks = new ArrayList<>(target);
+        splittable.add(source);
+        while (!splittable.isEmpty() && splittable.size() + chunks.size() < target) {
+            if (System.nanoTime() - deadline > 0) {
+                throw timedOut();
+            }
+            Spliterator<Transaction> chunk = splittable.poll();
+            Spliterator<Transaction> prefix = chunk.trySplit();
+            if (prefix == null) {
+                chunks.add(chunk);
+            } else {
+                splittable.add(chunk);
+                splittable.add(prefix);
+            }
+        }
+        chunks.addAll(splittable);
+        return chunks;
+    }
+
+    static <A> A work(ConcurrentLinkedQueue<Spliterator<Transaction>> chunks, Predicate<? super Transaction> filter, A accumulated,
+            BiConsumer<A, Transaction> accumulator, AtomicBoolean cancelled, long deadline) {
+        long[] visited = new long[1];
+        Spliterator<Transaction> chunk;
+        while ((chunk = chunks.poll()) != null) {
+            boolean more = true;
+            while (more) {
+                if (++visited[0] % CHECK_INTERVAL == 0) {
+                    if (cancelled.get()) {
+                        // The caller has already given up; nobody reads this result.
+                        return accumulated;
+                    }
+                    if (System.nanoTime() - deadline > 0) {
+                        throw timedOut();
+                    }
+                }
+                more = chunk.tryAdvance(transaction -> {
+                    if (filter.test(transaction)) {
+                        accumulator.accept(accumulated, transaction);
+                    }
+                });
+            }
+        }
+        return accumulated;
+    }
+
+    private static ScanTimeoutException timedOut() {
+        return new ScanTimeoutException("Query exceeded its time budget, narrow the filter");
+    }
+}
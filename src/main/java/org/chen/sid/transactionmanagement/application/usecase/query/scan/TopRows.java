@@ -0,0 +1,60 @@
+package org.chen.sid.transactionmanagement.application.usecase.query.scan;
+
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Scan accumulator keeping the first {@code limit} matching rows in {@code (createTime, id)} order, without holding every
+ * match. The order is fixed here rather than taken from the store, since {@code findPage} of the plain in-memory
+ * repository follows its hash map and the sharded one merges by {@code (createTime, id)}.
+ */
+public final class TopRows {
+
+    public static final Comparator<Transaction> ORDER = Comparator.comparing(Transaction::getCreateTime,
+            Comparator.nullsFirst(Comparator.naturalOrder())).thenComparing(Transaction::getId);
+
+    private final int limit;
+
+    // Max-heap on ORDER: the head is the row to drop when a smaller one arrives.
+    private final PriorityQueue<Transaction> rows;
+
+    private long matched;
+
+    public TopRows(int limit) {
+        this.limit = limit;
+        this.rows = new PriorityQueue<>(Math.min(limit, 1024) + 1, ORDER.reversed());
+    }
+
+    public void add(Transaction transaction) {
+        matched++;
+        if (rows.size() < limit) {
+            rows.add(transaction);
+        } else if (limit > 0 && ORDER.compare(transaction, rows.peek()) < 0) {
+            rows.poll();
+            rows.add(transaction);
+        }
+    }
+
+    public TopRows merge(TopRows other) {
+        matched += other.matched;
+        other.rows.forEach(row -> {
+            matched--;
+            add(row);
+        });
+        return this;
+    }
+
+    public long matched() {
+        return matched;
+    }
+
+    public List<Transaction> sorted() {
+        List<Transaction> sorted = new ArrayList<>(rows);
+        sorted.sort(ORDER);
+        return sorted;
+    }
+}
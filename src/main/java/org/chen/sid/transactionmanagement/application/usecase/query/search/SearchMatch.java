@@ -0,0 +1,20 @@
+package org.chen.sid.transactionmanagement.application.usecase.query.search;
+
+public enum SearchMatch {
+    /**
+     * The name starts with the query.
+     */
+    PREFIX,
+    /**
+     * The name contains the query anywhere.
+     */
+    SUBSTRING;
+
+    /**
+     * @param name  a name normalized by {@link TransactionNameIndex#normalize(String)}
+     * @param query a query normalized the same way
+     */
+    public boolean matches(String name, String query) {
+        return this == PREFIX ? name.startsWith(query) : name.contains(query);
+    }
+}
@@ -0,0 +1,216 @@
+package org.chen.sid.transactionmanagement.application.usecase.query.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram index over transaction names for case-insensitive prefix and substring search.
+ * <p>
+ * Every indexed name gets a new document number, and each trigram maps to the ascending list of documents containing
+ * it. Names are padded with two start markers, so a prefix of one or two characters is a single trigram as well. A
+ * query intersects the lists of its trigrams, walking the shortest one from its newest document, and confirms each
+ * candidate against the stored name. Renamed and deleted documents are only marked dead; once they outnumber the live
+ * ones the index is rebuilt off to the side and swapped in.
+ * <p>
+ * Searches may run concurrently, but all changes must come from one thread.
+ */
+public class TransactionNameIndex {
+
+    public static final int TRIGRAM = 3;
+
+    private static final char START = '\u0002';
+
+    private static final String PADDING = String.valueOf(START).repeat(TRIGRAM - 1);
+
+    private static final int MIN_REBUILD_DEAD = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Generation current = new Generation(16);
+
+    public void put(String id, String name) {
+        String normalized = normalize(name);
+        lock.writeLock().lock();
+        try {
+            Integer doc = current.docs.get(id);
+            if (doc != null && current.names[doc].equals(normalized)) {
+                return;
+            }
+            current.remove(id);
+            current.add(id, normalized);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        rebuildIfSparse();
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            current.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        rebuildIfSparse();
+    }
+
+    /**
+     * @return IDs of the matching transactions, most recently indexed first
+     */
+    public List<String> search(String query, SearchMatch match, int limit) {
+        String normalized = normalize(query);
+        List<Long> trigrams = match == SearchMatch.PREFIX ? trigrams(PADDING + normalized) : trigrams(normalized);
+        if (trigrams.isEmpty()) {
+            throw new IllegalArgumentException("Query is too short to look up: " + query);
+        }
+        lock.readLock().lock();
+        try {
+            return current.search(trigrams, normalized, match, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return current.docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Names and queries are compared case-insensitively.
+     */
+    public static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private void rebuildIfSparse() {
+        // Only the writer thread changes the current generation, so it can be read here without the lock.
+        int live = current.docs.size();
+        int dead = current.docCount - live;
+        if (dead < MIN_REBUILD_DEAD || dead <= live) {
+            return;
+        }
+        Generation rebuilt = new Generation(Math.max(16, live * 2));
+        for (int doc = 0; doc < current.docCount; doc++) {
+            if (current.names[doc] != null) {
+                rebuilt.add(current.ids[doc], current.names[doc]);
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            current = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static List<Long> trigrams(String text) {
+        List<Long> trigrams = new ArrayList<>(Math.max(0, text.length() - TRIGRAM + 1));
+        for (int i = 0; i + TRIGRAM <= text.length(); i++) {
+            trigrams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return trigrams;
+    }
+
+    private static final class Generation {
+
+        private final Map<String, Integer> docs = new HashMap<>();
+
+        private final Map<Long, Postings> postings = new HashMap<>();
+
+        private String[] ids;
+
+        /**
+         * Normalized names by document; {@code null} once the document is dead.
+         */
+        private String[] names;
+
+        private int docCount;
+
+        private Generation(int capacity) {
+            ids = new String[capacity];
+            names = new String[capacity];
+        }
+
+        private void add(String id, String normalized) {
+            if (docCount == ids.length) {
+                ids = Arrays.copyOf(ids, docCount * 2);
+                names = Arrays.copyOf(names, docCount * 2);
+            }
+            int doc = docCount++;
+            ids[doc] = id;
+            names[doc] = normalized;
+            docs.put(id, doc);
+            for (long trigram : trigrams(PADDING + normalized)) {
+                postings.computeIfAbsent(trigram, key -> new Postings()).add(doc);
+            }
+        }
+
+        private void remove(String id) {
+            Integer doc = docs.remove(id);
+            if (doc != null) {
+                names[doc] = null;
+            }
+        }
+
+        private List<String> search(List<Long> trigrams, String normalized, SearchMatch match, int limit) {
+            List<Postings> lists = new ArrayList<>(trigrams.size());
+            for (long trigram : trigrams) {
+                Postings list = postings.get(trigram);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+            Postings shortest = lists.getFirst();
+            List<String> matches = new ArrayList<>(Math.min(limit, shortest.size));
+            for (int i = shortest.size - 1; i >= 0 && matches.size() < limit; i--) {
+                int doc = shortest.docs[i];
+                String name = names[doc];
+                if (name != null && containsAll(lists, doc) && match.matches(name, normalized)) {
+                    matches.add(ids[doc]);
+                }
+            }
+            return matches;
+        }
+
+        private static boolean containsAll(List<Postings> lists, int doc) {
+            for (int i = 1; i < lists.size(); i++) {
+                if (Arrays.binarySearch(lists.get(i).docs, 0, lists.get(i).size, doc) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+
+        private int size;
+
+        private void add(int doc) {
+            if (size > 0 && docs[size - 1] == doc) {
+                // The trigram occurs more than once in the name.
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package org.chen.sid.transactionmanagement.application.usecase.query.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.chen.sid.transactionmanagement.domain.infrastructure.TransactionRepository;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionCreatedEvent;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionDeletedEvent;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionEvent;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionUpdatedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the {@link TransactionNameIndex} in step with the domain events, applied in publication order on a dedicated
+ * thread so command latency does not include indexing.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "transaction.search", name = "enabled", havingValue = "true")
+public class TransactionNameIndexer implements SmartLifecycle {
+
+    /**
+     * After the repositories have loaded, before the web server accepts requests.
+     */
+    private static final int INDEXER_PHASE = SmartLifecycle.DEFAULT_PHASE - 3072;
+
+    private final TransactionNameIndex index = new TransactionNameIndex();
+
+    private final TransactionRepository transactionRepository;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "transaction-name-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean running;
+
+    @Autowired
+    public TransactionNameIndexer(TransactionRepository transactionRepository, MeterRegistry meterRegistry) {
+        this.transactionRepository = transactionRepository;
+        Gauge.builder("transaction.search.index.size", index, TransactionNameIndex::size)
+                .description("Transactions in the name search index")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void on(TransactionEvent event) {
+        executor.execute(() -> {
+            switch (event) {
+                case TransactionCreatedEvent created -> index.put(created.transactionId(), created.transaction().getName());
+                case TransactionUpdatedEvent updated -> reindex(updated.transactionId());
+                case TransactionDeletedEvent deleted -> index.remove(deleted.transactionId());
+            }
+        });
+    }
+
+    public List<String> search(String query, SearchMatch match, int limit) {
+        return index.search(query, match, limit);
+    }
+
+    @Override
+    public void start() {
+        try {
+            // Loaded on the indexer thread, which must be the only one changing the index.
+            executor.submit(() -> transactionRepository.scan()
+                    .forEachRemaining(transaction -> index.put(transaction.getId(), transaction.getName()))).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while building the name index", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Name index could not be built", e.getCause());
+        }
+        log.info("Name index built with {} transactions", index.size());
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return INDEXER_PHASE;
+    }
+
+    /**
+     * Events of concurrent updates may arrive out of order, so the name is read back rather than taken from the event.
+     */
+    private void reindex(String id) {
+        transactionRepository.findById(id)
+                .ifPresentOrElse(transaction -> index.put(id, transaction.getName()), () -> index.remove(id));
+    }
+}
@@ -0,0 +1,184 @@
+package org.chen.sid.transactionmanagement.application.usecase.query.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.chen.sid.transactionmanagement.application.usecase.command.dto.UpsertTransactionRequestDTO;
+import org.chen.sid.transactionmanagement.application.usecase.query.TransactionQueryUseCase;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.Page;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.TransactionDTO;
+import org.chen.sid.transactionmanagement.common.cache.MeteredConcurrentMapCache;
+import org.chen.sid.transactionmanagement.config.properties.WarmupProperties;
+import org.chen.sid.transactionmanagement.domain.model.command.UpsertTransactionCommand;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Drives synthetic read-only traffic through the query use case, the validator and the MVC {@link ObjectMapper} before
+ * the application reports readiness, so the first real requests do not run in the interpreter.
+ * <p>
+ * Spring Boot publishes {@code ReadinessState.ACCEPTING_TRAFFIC} only after all {@link ApplicationRunner}s returned,
+ * so readiness flips when warm-up finishes. Nothing is written to the store. Afterwards the {@code transaction} cache is
+ * cleared and, if a hot-IDs file is configured, refilled with the IDs that were read most before the last shutdown.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "transaction.warmup", name = "enabled", havingValue = "true")
+public class TransactionWarmup implements ApplicationRunner {
+
+    private static final String CACHE_NAME = "transaction";
+
+    private static final int SAMPLE_IDS = 100;
+
+    private static final String SAMPLE_REQUEST = """
+            {"name":"Warm-up purchase","amount":100.50,"category":"Food","type":"WITHDRAW"}""";
+
+    private final TransactionQueryUseCase transactionQueryUseCase;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final Cache cache;
+
+    private final ListableBeanFactory beanFactory;
+
+    private final WarmupProperties properties;
+
+    @Autowired
+    public TransactionWarmup(TransactionQueryUseCase transactionQueryUseCase, ObjectMapper objectMapper, Validator validator,
+            CacheManager cacheManager, ListableBeanFactory beanFactory, WarmupProperties properties) {
+        this.transactionQueryUseCase = transactionQueryUseCase;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.cache = cacheManager.getCache(CACHE_NAME);
+        this.beanFactory = beanFactory;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        // With lazy initialization the web layer would otherwise be created by the first request.
+        int controllers = beanFactory.getBeansWithAnnotation(RestController.class).size();
+        int iterations = exercise(start + properties.getTimeBudget().toNanos());
+        cache.clear();
+        if (cache instanceof MeteredConcurrentMapCache metered) {
+            metered.resetHottestKeys();
+        }
+        int preloaded = preloadHotIds();
+        log.info("Warm-up finished in {} ms: {} iterations, {} controllers, {} hot transactions cached",
+                (System.nanoTime() - start) / 1_000_000, iterations, controllers, preloaded);
+    }
+
+    @PreDestroy
+    public void saveHotIds() {
+        Path file = properties.getHotIdsFile();
+        if (file == null || !(cache instanceof MeteredConcurrentMapCache metered)) {
+            return;
+        }
+        List<String> ids = metered.hottestKeys(properties.getMaxHotIds()).stream().map(String::valueOf).toList();
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            Files.write(temporary, ids, StandardCharsets.UTF_8);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Saved {} hot transaction IDs to {}", ids.size(), file);
+        } catch (IOException e) {
+            log.warn("Could not save hot transaction IDs to {}", file, e);
+        }
+    }
+
+    int exercise(long deadlineNanos) {
+        List<String> ids = sampleIds();
+        int iteration = 0;
+        while (iteration < properties.getIterations() && System.nanoTime() < deadlineNanos) {
+            String id = ids.get(iteration % ids.size());
+            try {
+                if (iteration % 2 == 0) {
+                    // Alternate cache misses, which load from the repository, with cache hits.
+                    cache.evict(id);
+                }
+                objectMapper.writeValueAsBytes(lookup(id));
+                if (iteration % 8 == 1) {
+                    lookup(UUID.randomUUID().toString());
+                }
+                if (iteration % 2 == 1) {
+                    UpsertTransactionRequestDTO request = objectMapper.readValue(SAMPLE_REQUEST, UpsertTransactionRequestDTO.class);
+                    validator.validate(request);
+                    Transaction transaction = Transaction.create(
+                            UpsertTransactionCommand.of(request.getName(), request.getAmount(), request.getCategory(), request.getType()));
+                    objectMapper.writeValueAsBytes(transaction);
+                    objectMapper.writeValueAsBytes(TransactionDTO.from(transaction));
+                }
+                if (iteration % 64 == 2) {
+                    objectMapper.writeValueAsBytes(transactionQueryUseCase.getPageTransactions(1, 20));
+                }
+                if (iteration % 256 == 3) {
+                    objectMapper.writeValueAsBytes(transactionQueryUseCase.getCategorySummaries());
+                }
+            } catch (IOException | RuntimeException e) {
+                log.debug("Warm-up request failed", e);
+            }
+            iteration++;
+        }
+        return iteration;
+    }
+
+    private TransactionDTO lookup(String id) {
+        try {
+            return transactionQueryUseCase.getTransactionById(id);
+        } catch (RuntimeException e) {
+            // Unknown IDs exercise the not-found path.
+            return null;
+        }
+    }
+
+    private List<String> sampleIds() {
+        Page<TransactionDTO> page = transactionQueryUseCase.getPageTransactions(1, SAMPLE_IDS);
+        List<String> ids = new ArrayList<>(page.getData().stream().map(TransactionDTO::getId).toList());
+        if (ids.isEmpty()) {
+            ids.add(UUID.randomUUID().toString());
+        }
+        return ids;
+    }
+
+    private int preloadHotIds() {
+        Path file = properties.getHotIdsFile();
+        if (file == null || !Files.isReadable(file)) {
+            return 0;
+        }
+        List<String> ids;
+        try {
+            ids = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.warn("Could not read hot transaction IDs from {}", file, e);
+            return 0;
+        }
+        return (int) ids.stream()
+                .map(String::trim)
+                .filter(id -> !id.isEmpty())
+                .limit(properties.getMaxHotIds())
+                .filter(id -> lookup(id) != null)
+                .count();
+    }
+}
@@ -1,25 +1,79 @@
 package org.chen.sid.transactionmanagement.application.validator;
 
+import org.chen.sid.transactionmanagement.application.usecase.command.bulk.BulkOperation;
+import org.chen.sid.transactionmanagement.application.usecase.command.dto.BulkJobRequestDTO;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.TransactionFilterDTO;
+import org.chen.sid.transactionmanagement.application.usecase.query.search.SearchMatch;
+import org.chen.sid.transactionmanagement.application.usecase.query.search.TransactionNameIndex;
 import org.chen.sid.transactionmanagement.common.exception.RequestArgumentIllegalException;
 
 public class CommonRequestParamValidator {
     private static final int MAX_PAGE_SIZE = 1000;
 
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
     public static void validateId(String id) {
         if (id == null || id.trim().isEmpty()) {
-            throw new RequestArgumentIllegalException("Transaction ID cannot be null or empty");
+            throw RequestArgumentIllegalException.EMPTY_ID;
         }
     }
 
     public static void validatePaginationParameters(long page, long size) {
         if (page <= 0) {
-            throw new RequestArgumentIllegalException("Page number must be greater than 0");
+            throw RequestArgumentIllegalException.PAGE_NOT_POSITIVE;
         }
         if (size <= 0) {
-            throw new RequestArgumentIllegalException("Page size must be greater than 0");
+            throw RequestArgumentIllegalException.SIZE_NOT_POSITIVE;
         }
         if (size > MAX_PAGE_SIZE) {
-            throw new RequestArgumentIllegalException("Page size must be less than 1000");
+            throw RequestArgumentIllegalException.SIZE_TOO_LARGE;
+        }
+    }
+
+    public static void validateIdempotencyKey(String idempotencyKey) {
+        if (idempotencyKey.isBlank()) {
+            throw new RequestArgumentIllegalException("Idempotency key cannot be empty");
+        }
+        if (idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new RequestArgumentIllegalException("Idempotency key cannot exceed 255 characters");
+        }
+    }
+
+    public static void validateFilter(TransactionFilterDTO filter) {
+        if (filter.getMinAmount() != null && filter.getMaxAmount() != null && filter.getMinAmount().compareTo(filter.getMaxAmount()) > 0) {
+            throw new RequestArgumentIllegalException("Minimum amount cannot be greater than maximum amount");
+        }
+        if (filter.getFrom() != null && filter.getTo() != null && !filter.getFrom().isBefore(filter.getTo())) {
+            throw new RequestArgumentIllegalException("Time range start must be before its end");
+        }
+    }
+
+    public static void validateBulkJob(BulkJobRequestDTO request) {
+        TransactionFilterDTO filter = request.getFilter();
+        validateFilter(filter);
+        boolean noName = filter.getName() == null || filter.getName().isEmpty();
+        if (noName && filter.getCategory() == null && filter.getType() == null && filter.getMinAmount() == null && filter.getMaxAmount() == null
+                && filter.getFrom() == null && filter.getTo() == null) {
+            throw new RequestArgumentIllegalException("Bulk jobs need at least one filter criterion");
+        }
+        boolean hasChanges = request.getCategory() != null || request.getType() != null;
+        if (request.getOperation() == BulkOperation.UPDATE && !hasChanges) {
+            throw new RequestArgumentIllegalException("Bulk update needs a new category or type");
+        }
+        if (request.getOperation() == BulkOperation.DELETE && hasChanges) {
+            throw new RequestArgumentIllegalException("Bulk delete does not take a category or type");
+        }
+    }
+
+    public static void validateSearch(String query, SearchMatch match, int limit, int maxLimit) {
+        if (query == null || query.isBlank()) {
+            throw new RequestArgumentIllegalException("Search query cannot be null or empty");
+        }
+        if (match == SearchMatch.SUBSTRING && query.length() < TransactionNameIndex.TRIGRAM) {
+            throw new RequestArgumentIllegalException("Substring search needs at least " + TransactionNameIndex.TRIGRAM + " characters");
+        }
+        if (limit <= 0 || limit > maxLimit) {
+            throw new RequestArgumentIllegalException("Search limit must be between 1 and " + maxLimit);
         }
     }
 }
@@ -0,0 +1,86 @@
+package org.chen.sid.transactionmanagement.common.cache;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Approximate access counts of the most frequently used keys, from a random sample of the accesses.
+ * <p>
+ * At most {@code capacity} keys are tracked. When a new key finds the table full, all counts are halved and keys
+ * that drop to zero are forgotten, so keys that stopped being accessed make room for new ones.
+ */
+public class HotKeySampler<K> {
+
+    private final int capacity;
+
+    private final int sampleMask;
+
+    private final ConcurrentHashMap<K, AtomicLong> counts = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean decaying = new AtomicBoolean();
+
+    /**
+     * @param sampleRate one in this many accesses is counted; a power of two
+     */
+    public HotKeySampler(int capacity, int sampleRate) {
+        if (Integer.bitCount(sampleRate) != 1) {
+            throw new IllegalArgumentException("Sample rate must be a power of two");
+        }
+        this.capacity = capacity;
+        this.sampleMask = sampleRate - 1;
+    }
+
+    public void record(K key) {
+        if ((ThreadLocalRandom.current().nextInt() & sampleMask) != 0) {
+            return;
+        }
+        AtomicLong count = counts.get(key);
+        if (count == null) {
+            if (counts.size() >= capacity) {
+                decay();
+                if (counts.size() >= capacity) {
+                    return;
+                }
+            }
+            count = counts.computeIfAbsent(key, ignored -> new AtomicLong());
+        }
+        count.incrementAndGet();
+    }
+
+    /**
+     * @return up to {@code limit} keys, most accessed first
+     */
+    public List<K> hottest(int limit) {
+        return counts.entrySet()
+                .stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().get()))
+                .sorted(Map.Entry.<K, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    public int size() {
+        return counts.size();
+    }
+
+    public void reset() {
+        counts.clear();
+    }
+
+    private void decay() {
+        if (!decaying.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            counts.values().removeIf(count -> count.updateAndGet(value -> value / 2) == 0);
+        } finally {
+            decaying.set(false);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.chen.sid.transactionmanagement.common.cache;
+
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ConcurrentMapCache} that counts hits, misses, puts and evictions for {@link MeteredConcurrentMapCacheMetrics},
+ * and samples which keys are read most.
+ */
+public class MeteredConcurrentMapCache extends ConcurrentMapCache {
+
+    private static final int HOT_KEY_CAPACITY = 4096;
+
+    private static final int HOT_KEY_SAMPLE_RATE = 16;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder puts = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final HotKeySampler<Object> hotKeys = new HotKeySampler<>(HOT_KEY_CAPACITY, HOT_KEY_SAMPLE_RATE);
+
+    public MeteredConcurrentMapCache(String name, boolean allowNullValues) {
+        super(name, new ConcurrentHashMap<>(256), allowNullValues);
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = super.lookup(key);
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+            hotKeys.record(key);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        super.put(key, value);
+        puts.increment();
+        hotKeys.record(key);
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictIfPresent(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = super.evictIfPresent(key);
+        if (evicted) {
+            evictions.increment();
+        }
+        return evicted;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long putCount() {
+        return puts.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public long size() {
+        return getNativeCache().size();
+    }
+
+    /**
+     * @return up to {@code limit} keys, most read first (approximate)
+     */
+    public List<Object> hottestKeys(int limit) {
+        return hotKeys.hottest(limit);
+    }
+
+    /**
+     * Forgets the sampled key popularity, e.g. after synthetic traffic.
+     */
+    public void resetHottestKeys() {
+        hotKeys.reset();
+    }
+}
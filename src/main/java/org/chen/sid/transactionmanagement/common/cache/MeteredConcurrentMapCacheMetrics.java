@@ -0,0 +1,45 @@
+package org.chen.sid.transactionmanagement.common.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+/**
+ * Publishes the standard {@code cache.gets}, {@code cache.puts}, {@code cache.evictions} and {@code cache.size} meters
+ * for a {@link MeteredConcurrentMapCache}.
+ */
+public class MeteredConcurrentMapCacheMetrics extends CacheMeterBinder<MeteredConcurrentMapCache> {
+
+    public MeteredConcurrentMapCacheMetrics(MeteredConcurrentMapCache cache, Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+    }
+
+    @Override
+    protected Long size() {
+        return getCache().size();
+    }
+
+    @Override
+    protected long hitCount() {
+        return getCache().hitCount();
+    }
+
+    @Override
+    protected Long missCount() {
+        return getCache().missCount();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        return getCache().evictionCount();
+    }
+
+    @Override
+    protected long putCount() {
+        return getCache().putCount();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+    }
+}
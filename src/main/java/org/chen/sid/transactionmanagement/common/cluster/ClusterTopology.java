@@ -0,0 +1,54 @@
+package org.chen.sid.transactionmanagement.common.cluster;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Static cluster membership: which node this is, where the others are, and which node owns a transaction ID.
+ */
+public class ClusterTopology {
+
+    private final String self;
+
+    private final Map<String, URI> nodes;
+
+    private final ConsistentHashRing ring;
+
+    public ClusterTopology(String self, Map<String, URI> nodes, int virtualNodes) {
+        if (self == null || !nodes.containsKey(self)) {
+            throw new IllegalArgumentException("Cluster node " + self + " is not one of the configured nodes " + nodes.keySet());
+        }
+        this.self = self;
+        this.nodes = new TreeMap<>(nodes);
+        this.ring = new ConsistentHashRing(this.nodes.keySet(), virtualNodes);
+    }
+
+    public String self() {
+        return self;
+    }
+
+    /**
+     * @return all node IDs in a stable order, which also orders cross-node pages
+     */
+    public List<String> nodeIds() {
+        return List.copyOf(nodes.keySet());
+    }
+
+    public String ownerOf(String transactionId) {
+        return ring.ownerOf(transactionId);
+    }
+
+    public boolean isLocal(String node) {
+        return self.equals(node);
+    }
+
+    public URI urlOf(String node) {
+        URI url = nodes.get(node);
+        if (url == null) {
+            throw new IllegalArgumentException("Unknown cluster node " + node);
+        }
+        return url;
+    }
+}
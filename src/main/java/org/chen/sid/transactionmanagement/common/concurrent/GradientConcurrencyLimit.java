@@ -0,0 +1,107 @@
+package org.chen.sid.transactionmanagement.common.concurrent;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive concurrency limit in the style of Netflix's Gradient2.
+ * <p>
+ * A long-window average of the round-trip time approximates the latency without queueing. Each sample compares it with
+ * the observed latency: while they match the limit grows by a small queue allowance, and once queueing inflates the
+ * latency the limit shrinks in proportion (never by more than half per sample). Samples taken while less than half of
+ * the limit is in use say nothing about capacity and do not change it.
+ * <p>
+ * {@link #tryAcquire()} is a lock-free CAS on the in-flight count; only limit updates synchronize.
+ */
+public class GradientConcurrencyLimit {
+
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double smoothing;
+
+    private final double tolerance;
+
+    private final double longWindowWeight;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile int limit;
+
+    private double estimatedLimit;
+
+    private double longRttNanos;
+
+    /**
+     * @param smoothing  weight of a new limit estimate, in (0, 1]
+     * @param tolerance  latency inflation tolerated before the limit shrinks, at least 1
+     * @param longWindow number of samples averaged into the no-load latency
+     */
+    public GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double smoothing, double tolerance, int longWindow) {
+        if (minLimit <= 0 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 0 < min <= initial <= max");
+        }
+        if (smoothing <= 0 || smoothing > 1 || tolerance < 1 || longWindow <= 0) {
+            throw new IllegalArgumentException("Invalid gradient limit parameters");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.longWindowWeight = 2.0 / (longWindow + 1);
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * @return {@code true} if the caller was admitted and must call {@link #release}
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * @param rttNanos latency of the admitted request
+     * @param sample   {@code false} for requests whose latency says nothing about capacity, e.g. failures
+     */
+    public void release(long rttNanos, boolean sample) {
+        int inFlightAtRelease = inFlight.getAndDecrement();
+        if (sample && rttNanos > 0) {
+            update(rttNanos, inFlightAtRelease);
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long rttNanos, int inFlightAtRelease) {
+        longRttNanos = longRttNanos == 0 ? rttNanos : longRttNanos + (rttNanos - longRttNanos) * longWindowWeight;
+        if (longRttNanos / rttNanos > 2) {
+            // Latency dropped well below the average, e.g. after a burst: let the baseline catch up quickly.
+            longRttNanos *= 0.95;
+        }
+        if (inFlightAtRelease < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRttNanos / rttNanos));
+        double queueSize = Math.sqrt(estimatedLimit);
+        double newLimit = estimatedLimit * gradient + queueSize;
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
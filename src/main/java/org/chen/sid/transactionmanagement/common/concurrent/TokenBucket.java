@@ -0,0 +1,59 @@
+package org.chen.sid.transactionmanagement.common.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, implemented as the generic cell rate algorithm.
+ * <p>
+ * Instead of a token count and a refill timestamp, the bucket keeps one value: the theoretical arrival time (TAT) at
+ * which it would be full again. Taking {@code n} tokens pushes the TAT {@code n} emission intervals further; the
+ * request conforms while the TAT stays within {@code capacity} intervals of now. A single CAS updates the bucket, and a
+ * TAT in the past means a full, idle bucket.
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+
+    private final long burstToleranceNanos;
+
+    private final AtomicLong theoreticalArrivalNanos;
+
+    /**
+     * @param tokensPerSecond sustained refill rate
+     * @param capacity        tokens available in a burst
+     * @param nowNanos        current {@link System#nanoTime()}
+     */
+    public TokenBucket(double tokensPerSecond, int capacity, long nowNanos) {
+        if (tokensPerSecond <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("Token bucket rate and capacity must be greater than 0");
+        }
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / tokensPerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * capacity;
+        this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @return {@code 0} if the tokens were taken, otherwise the nanoseconds until they would be available
+     */
+    public long tryConsume(int tokens, long nowNanos) {
+        long increment = emissionIntervalNanos * tokens;
+        while (true) {
+            long current = theoreticalArrivalNanos.get();
+            long next = Math.max(current, nowNanos) + increment;
+            long excess = next - nowNanos - burstToleranceNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if the bucket has been full for at least {@code idleNanos}
+     */
+    public boolean isIdle(long nowNanos, long idleNanos) {
+        return nowNanos - theoreticalArrivalNanos.get() >= idleNanos;
+    }
+}
@@ -4,7 +4,10 @@ import org.chen.sid.transactionmanagement.common.exception.basic.BusinessExcepti
 import org.springframework.http.HttpStatus;
 
 public class DataNotFoundException extends BusinessException {
+
+    public static final DataNotFoundException TRANSACTION_NOT_FOUND = new DataNotFoundException("Transaction not found");
+
     public DataNotFoundException(String message) {
         super(HttpStatus.NOT_FOUND, message);
     }
-}
\ No newline at end of file
+}
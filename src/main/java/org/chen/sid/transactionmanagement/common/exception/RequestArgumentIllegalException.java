@@ -5,6 +5,15 @@ import org.springframework.http.HttpStatus;
 
 public class RequestArgumentIllegalException extends BusinessException {
 
+    public static final RequestArgumentIllegalException EMPTY_ID = new RequestArgumentIllegalException("Transaction ID cannot be null or empty");
+
+    public static final RequestArgumentIllegalException PAGE_NOT_POSITIVE = new RequestArgumentIllegalException(
+            "Page number must be greater than 0");
+
+    public static final RequestArgumentIllegalException SIZE_NOT_POSITIVE = new RequestArgumentIllegalException("Page size must be greater than 0");
+
+    public static final RequestArgumentIllegalException SIZE_TOO_LARGE = new RequestArgumentIllegalException("Page size must be less than 1000");
+
     public RequestArgumentIllegalException(String message) {
         super(HttpStatus.BAD_REQUEST, message);
     }
@@ -0,0 +1,11 @@
+package org.chen.sid.transactionmanagement.common.exception;
+
+import org.chen.sid.transactionmanagement.common.exception.basic.BusinessException;
+import org.springframework.http.HttpStatus;
+
+public class ScanTimeoutException extends BusinessException {
+
+    public ScanTimeoutException(String message) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, message);
+    }
+}
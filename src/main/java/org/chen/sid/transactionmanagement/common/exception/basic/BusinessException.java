@@ -3,12 +3,18 @@ package org.chen.sid.transactionmanagement.common.exception.basic;
 import lombok.Getter;
 import org.springframework.http.HttpStatus;
 
+/**
+ * Expected failure answered with {@link #getHttpStatus()}.
+ * <p>
+ * These are control flow rather than bugs, so no stack trace is captured and suppression is disabled: an instance is
+ * immutable and cheap, and constant instances may be thrown repeatedly from any thread.
+ */
 @Getter
 public class BusinessException extends RuntimeException {
     private final HttpStatus httpStatus;
 
     public BusinessException(HttpStatus httpStatus, String message) {
-        super(message);
+        super(message, null, false, false);
         this.httpStatus = httpStatus;
     }
 }
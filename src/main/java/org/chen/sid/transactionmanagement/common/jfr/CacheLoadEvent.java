@@ -0,0 +1,43 @@
+package org.chen.sid.transactionmanagement.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Loading a value into a cache after a miss.
+ */
+@Name("org.chen.sid.transactionmanagement.CacheLoad")
+@Label("Cache Load")
+@Category({"Transaction Management", "Cache"})
+@StackTrace(false)
+public class CacheLoadEvent extends Event {
+
+    @Label("Cache")
+    public String cache;
+
+    @Label("Key")
+    public String key;
+
+    @Label("Found")
+    public boolean found;
+
+    public static CacheLoadEvent begin(String cache, String key) {
+        CacheLoadEvent event = new CacheLoadEvent();
+        if (event.isEnabled()) {
+            event.cache = cache;
+            event.key = key;
+            event.begin();
+        }
+        return event;
+    }
+
+    public void commit(boolean found) {
+        if (shouldCommit()) {
+            this.found = found;
+            commit();
+        }
+    }
+}
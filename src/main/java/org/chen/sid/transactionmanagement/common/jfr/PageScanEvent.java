@@ -0,0 +1,53 @@
+package org.chen.sid.transactionmanagement.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One page read, with how many rows had to be walked to produce it.
+ */
+@Name("org.chen.sid.transactionmanagement.PageScan")
+@Label("Page Scan")
+@Category({"Transaction Management", "Repository"})
+@StackTrace(false)
+public class PageScanEvent extends Event {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Page")
+    public long page;
+
+    @Label("Page Size")
+    public long size;
+
+    @Label("Rows Scanned")
+    @Description("Rows visited, including the ones skipped to reach the page")
+    public long rowsScanned;
+
+    @Label("Rows Returned")
+    public long rowsReturned;
+
+    public static PageScanEvent begin(String repository, long page, long size) {
+        PageScanEvent event = new PageScanEvent();
+        if (event.isEnabled()) {
+            event.repository = repository;
+            event.page = page;
+            event.size = size;
+            event.begin();
+        }
+        return event;
+    }
+
+    public void commit(long rowsScanned, long rowsReturned) {
+        if (shouldCommit()) {
+            this.rowsScanned = rowsScanned;
+            this.rowsReturned = rowsReturned;
+            commit();
+        }
+    }
+}
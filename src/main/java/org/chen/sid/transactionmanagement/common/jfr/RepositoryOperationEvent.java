@@ -0,0 +1,70 @@
+package org.chen.sid.transactionmanagement.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One repository call, with the time spent waiting for and holding the store lock.
+ * <p>
+ * Fields are only filled in while the event is enabled in the running recording, so a disabled event costs an
+ * allocation that escape analysis removes and an {@link #isEnabled()} check.
+ */
+@Name("org.chen.sid.transactionmanagement.RepositoryOperation")
+@Label("Repository Operation")
+@Category({"Transaction Management", "Repository"})
+@StackTrace(false)
+public class RepositoryOperationEvent extends Event {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Lock Mode")
+    public String lockMode;
+
+    @Label("Lock Wait")
+    @Description("Time spent waiting to acquire the store lock")
+    @Timespan(Timespan.NANOSECONDS)
+    public long lockWait;
+
+    @Label("Lock Hold")
+    @Description("Time the store lock was held")
+    @Timespan(Timespan.NANOSECONDS)
+    public long lockHold;
+
+    private transient long lockAcquiredAt;
+
+    public static RepositoryOperationEvent begin(String repository, String operation) {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        if (event.isEnabled()) {
+            event.repository = repository;
+            event.operation = operation;
+            event.begin();
+        }
+        return event;
+    }
+
+    public void lockAcquired(String lockMode, long waitNanos, long acquiredAt) {
+        if (isEnabled()) {
+            this.lockMode = lockMode;
+            this.lockWait = waitNanos;
+            this.lockAcquiredAt = acquiredAt;
+        }
+    }
+
+    /**
+     * Call just before releasing the lock.
+     */
+    public void lockReleasing() {
+        if (isEnabled()) {
+            this.lockHold = System.nanoTime() - lockAcquiredAt;
+        }
+    }
+}
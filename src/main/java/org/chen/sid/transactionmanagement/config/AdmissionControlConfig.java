@@ -0,0 +1,30 @@
+package org.chen.sid.transactionmanagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.chen.sid.transactionmanagement.adapter.in.filter.AdmissionControlFilter;
+import org.chen.sid.transactionmanagement.config.properties.AdmissionControlProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty(prefix = "transaction.admission", name = "enabled", havingValue = "true")
+public class AdmissionControlConfig {
+
+    /**
+     * Runs ahead of everything but the observation filter, so a rejection costs as little as possible.
+     */
+    public static final int ADMISSION_FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE + 20;
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(AdmissionControlProperties properties,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(
+                new AdmissionControlFilter(properties, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(ADMISSION_FILTER_ORDER);
+        return registration;
+    }
+}
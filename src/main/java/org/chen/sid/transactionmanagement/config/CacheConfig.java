@@ -1,7 +1,11 @@
 package org.chen.sid.transactionmanagement.config;
 
+import org.chen.sid.transactionmanagement.common.cache.MeteredConcurrentMapCache;
+import org.chen.sid.transactionmanagement.common.cache.MeteredConcurrentMapCacheMetrics;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,6 +16,20 @@ public class CacheConfig {
 
     @Bean
     public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager("transaction");
+        return new ConcurrentMapCacheManager("transaction") {
+
+            @Override
+            protected ConcurrentMapCache createConcurrentMapCache(String name) {
+                return new MeteredConcurrentMapCache(name, isAllowNullValues());
+            }
+        };
+    }
+
+    /**
+     * Lets the actuator bind hit/miss meters to the caches above; Spring Boot has no binder for plain map caches.
+     */
+    @Bean
+    public CacheMeterBinderProvider<MeteredConcurrentMapCache> meteredConcurrentMapCacheMeterBinderProvider() {
+        return MeteredConcurrentMapCacheMetrics::new;
     }
 }
@@ -0,0 +1,94 @@
+package org.chen.sid.transactionmanagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.chen.sid.transactionmanagement.adapter.in.filter.ClusterAuthenticationFilter;
+import org.chen.sid.transactionmanagement.adapter.in.filter.ClusterForwardingFilter;
+import org.chen.sid.transactionmanagement.adapter.out.cluster.ClusterNodeClient;
+import org.chen.sid.transactionmanagement.adapter.out.cluster.PartitionedTransactionRepository;
+import org.chen.sid.transactionmanagement.adapter.out.repo.MemoryTransactionRepository;
+import org.chen.sid.transactionmanagement.common.cluster.ClusterTopology;
+import org.chen.sid.transactionmanagement.config.properties.ClusterProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+
+/**
+ * Hash-partitioned cluster: every node keeps the transactions whose IDs it owns in its own in-memory repository,
+ * forwards single-transaction requests to the owner and fans list and summary queries out to all nodes.
+ */
+@Configuration
+@Profile("cluster")
+public class ClusterConfig {
+
+    /**
+     * After rate limiting and admission control, so the receiving node protects itself before waiting on a peer.
+     */
+    public static final int CLUSTER_FORWARDING_FILTER_ORDER = AdmissionControlConfig.ADMISSION_FILTER_ORDER + 10;
+
+    /**
+     * Ahead of rate limiting, which exempts requests forwarded by a peer.
+     */
+    public static final int CLUSTER_AUTHENTICATION_FILTER_ORDER = RateLimitConfig.RATE_LIMIT_FILTER_ORDER - 10;
+
+    @Bean
+    public ClusterTopology clusterTopology(ClusterProperties properties) {
+        return new ClusterTopology(properties.getSelf(), properties.getNodes(), properties.getVirtualNodes());
+    }
+
+    @Bean
+    public RestClient clusterRestClient(RestClient.Builder builder, ClusterProperties properties) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.getConnectTimeout())
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(properties.getRequestTimeout());
+        return builder.requestFactory(requestFactory)
+                .defaultHeader(ClusterAuthenticationFilter.TOKEN_HEADER, requireSecret(properties))
+                .build();
+    }
+
+    @Bean
+    public ClusterNodeClient clusterNodeClient(RestClient clusterRestClient, ClusterTopology clusterTopology) {
+        return new ClusterNodeClient(clusterRestClient, clusterTopology);
+    }
+
+    @Bean
+    @Primary
+    public PartitionedTransactionRepository partitionedTransactionRepository(MemoryTransactionRepository localRepository,
+            ClusterTopology clusterTopology, ClusterNodeClient clusterNodeClient) {
+        return new PartitionedTransactionRepository(localRepository, clusterTopology, clusterNodeClient);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ClusterForwardingFilter> clusterForwardingFilter(ClusterTopology clusterTopology, RestClient clusterRestClient,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ClusterForwardingFilter> registration = new FilterRegistrationBean<>(
+                new ClusterForwardingFilter(clusterTopology, clusterRestClient, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(CLUSTER_FORWARDING_FILTER_ORDER);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ClusterAuthenticationFilter> clusterAuthenticationFilter(ClusterProperties properties) {
+        FilterRegistrationBean<ClusterAuthenticationFilter> registration = new FilterRegistrationBean<>(
+                new ClusterAuthenticationFilter(requireSecret(properties)));
+        registration.addUrlPatterns("/api/*", ClusterNodeClient.INTERNAL_PATH + "/*");
+        registration.setOrder(CLUSTER_AUTHENTICATION_FILTER_ORDER);
+        return registration;
+    }
+
+    private static String requireSecret(ClusterProperties properties) {
+        if (properties.getSecret() == null || properties.getSecret().isBlank()) {
+            throw new IllegalStateException("transaction.cluster.secret must be set for the cluster profile");
+        }
+        return properties.getSecret();
+    }
+}
@@ -0,0 +1,30 @@
+package org.chen.sid.transactionmanagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.chen.sid.transactionmanagement.adapter.in.filter.ResponseCompressionFilter;
+import org.chen.sid.transactionmanagement.config.properties.CompressionProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "transaction.compression", name = "enabled", havingValue = "true")
+public class CompressionConfig {
+
+    /**
+     * Behind rate limiting and admission control, so rejected requests never pay for a compressing wrapper, and ahead of
+     * cluster forwarding, so relayed responses are compressed as well.
+     */
+    public static final int COMPRESSION_FILTER_ORDER = AdmissionControlConfig.ADMISSION_FILTER_ORDER + 5;
+
+    @Bean
+    public FilterRegistrationBean<ResponseCompressionFilter> responseCompressionFilter(CompressionProperties properties,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ResponseCompressionFilter> registration = new FilterRegistrationBean<>(
+                new ResponseCompressionFilter(properties, meterRegistry));
+        registration.addUrlPatterns("/*");
+        registration.setOrder(COMPRESSION_FILTER_ORDER);
+        return registration;
+    }
+}
@@ -0,0 +1,41 @@
+package org.chen.sid.transactionmanagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.chen.sid.transactionmanagement.adapter.in.filter.ClientRateLimiter;
+import org.chen.sid.transactionmanagement.adapter.in.filter.RateLimitFilter;
+import org.chen.sid.transactionmanagement.common.cluster.ClusterTopology;
+import org.chen.sid.transactionmanagement.config.properties.RateLimitProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "transaction.rate-limit", name = "enabled", havingValue = "true")
+public class RateLimitConfig {
+
+    /**
+     * Ahead of admission control, so a client over its rate never takes a concurrency slot.
+     */
+    public static final int RATE_LIMIT_FILTER_ORDER = AdmissionControlConfig.ADMISSION_FILTER_ORDER - 10;
+
+    @Bean
+    public ClientRateLimiter clientRateLimiter(RateLimitProperties properties) {
+        return new ClientRateLimiter(properties);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(ClientRateLimiter clientRateLimiter, RateLimitProperties properties,
+            MeterRegistry meterRegistry, ObjectProvider<ClusterTopology> clusterTopology) {
+        RateLimitFilter filter = new RateLimitFilter(clientRateLimiter, properties, meterRegistry);
+        filter.setExemptClusterForwarded(clusterTopology.getIfAvailable() != null);
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(RATE_LIMIT_FILTER_ORDER);
+        return registration;
+    }
+}
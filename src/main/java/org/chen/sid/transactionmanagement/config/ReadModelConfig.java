@@ -0,0 +1,29 @@
+package org.chen.sid.transactionmanagement.config;
+
+import org.chen.sid.transactionmanagement.application.usecase.query.projection.TransactionReadModel;
+import org.chen.sid.transactionmanagement.domain.infrastructure.TransactionReadRepository;
+import org.chen.sid.transactionmanagement.domain.infrastructure.TransactionRepository;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ReadModelConfig {
+
+    public static final String QUERY_REPOSITORY = "queryTransactionRepository";
+
+    /**
+     * The store behind the query use case: the projected read model when {@code transaction.read-model.enabled=true},
+     * otherwise the command-side repository itself.
+     */
+    @Bean(name = QUERY_REPOSITORY, defaultCandidate = false)
+    public TransactionReadRepository queryTransactionRepository(TransactionRepository transactionRepository,
+            ObjectProvider<TransactionReadModel> readModel) {
+        TransactionReadModel projected = readModel.getIfAvailable();
+        TransactionReadRepository selected = projected != null ? projected : transactionRepository;
+        // This alias is proxied again like any other bean, so expose the target rather than the proxy to avoid double timing.
+        Object target = AopProxyUtils.getSingletonTarget(selected);
+        return target != null ? (TransactionReadRepository) target : selected;
+    }
+}
@@ -0,0 +1,62 @@
+package org.chen.sid.transactionmanagement.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.chen.sid.transactionmanagement.adapter.in.filter.ReplicaStalenessFilter;
+import org.chen.sid.transactionmanagement.adapter.out.replication.ReplicatedTransactionRepository;
+import org.chen.sid.transactionmanagement.adapter.out.replication.ReplicationNode;
+import org.chen.sid.transactionmanagement.adapter.out.repo.MemoryTransactionRepository;
+import org.chen.sid.transactionmanagement.config.properties.ReplicationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+import java.time.Duration;
+
+/**
+ * Primary/replica log shipping: the primary streams every write to its replicas, which serve reads within a staleness
+ * bound and reject writes until promoted.
+ */
+@Configuration
+@Profile("replication")
+public class ReplicationConfig {
+
+    /**
+     * Ahead of admission control: a read the replica cannot serve fresh enough should not take a concurrency slot.
+     */
+    public static final int REPLICA_STALENESS_FILTER_ORDER = AdmissionControlConfig.ADMISSION_FILTER_ORDER - 5;
+
+    @Bean
+    public ReplicationNode replicationNode(ReplicationProperties properties, MemoryTransactionRepository localRepository,
+            ObjectMapper objectMapper, CacheManager cacheManager, MeterRegistry meterRegistry) {
+        ReplicationNode node = new ReplicationNode(properties, localRepository, objectMapper, cacheManager.getCache("transaction"));
+        Gauge.builder("transaction.replication.lsn", node, n -> n.status().appliedLsn()).tag("kind", "applied").register(meterRegistry);
+        Gauge.builder("transaction.replication.lsn", node, n -> n.status().primaryLsn()).tag("kind", "primary").register(meterRegistry);
+        Gauge.builder("transaction.replication.staleness", node, n -> {
+            Duration staleness = n.staleness();
+            return staleness == null ? Double.NaN : staleness.toNanos() / 1e9;
+        }).baseUnit("seconds").register(meterRegistry);
+        return node;
+    }
+
+    @Bean
+    @Primary
+    public ReplicatedTransactionRepository replicatedTransactionRepository(MemoryTransactionRepository localRepository,
+            ReplicationNode replicationNode) {
+        return new ReplicatedTransactionRepository(localRepository, replicationNode);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReplicaStalenessFilter> replicaStalenessFilter(ReplicationNode replicationNode,
+            ReplicationProperties properties) {
+        FilterRegistrationBean<ReplicaStalenessFilter> registration = new FilterRegistrationBean<>(
+                new ReplicaStalenessFilter(replicationNode, properties.getMaxStaleness()));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(REPLICA_STALENESS_FILTER_ORDER);
+        return registration;
+    }
+}
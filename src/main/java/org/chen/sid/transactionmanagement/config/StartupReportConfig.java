@@ -0,0 +1,65 @@
+package org.chen.sid.transactionmanagement.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.chen.sid.transactionmanagement.config.properties.StartupReportProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Logs how long startup took and which bean instantiations dominated it, once the application is ready.
+ * <p>
+ * Durations include the beans each one depends on. The full timeline stays available at {@code /actuator/startup}.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "transaction.startup-report", name = "enabled", havingValue = "true")
+public class StartupReportConfig {
+
+    private static final String BEAN_INSTANTIATION = "spring.beans.instantiate";
+
+    private final StartupReportProperties properties;
+
+    @Autowired
+    public StartupReportConfig(StartupReportProperties properties) {
+        this.properties = properties;
+    }
+
+    @EventListener
+    public void report(ApplicationReadyEvent event) {
+        long jvmUptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        log.info("Ready in {} ms ({} ms since JVM start, {} beans created, lazy initialization {})", event.getTimeTaken().toMillis(),
+                jvmUptime, event.getApplicationContext().getBeanFactory().getSingletonCount(),
+                event.getApplicationContext().getEnvironment().getProperty("spring.main.lazy-initialization", "false"));
+        if (!(event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup startup)) {
+            return;
+        }
+        StartupTimeline timeline = startup.getBufferedTimeline();
+        String slowest = timeline.getEvents()
+                .stream()
+                .filter(step -> BEAN_INSTANTIATION.equals(step.getStartupStep().getName()))
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(properties.getSlowestBeans())
+                .map(step -> String.format("%n  %5d ms  %s", step.getDuration().toMillis(), beanNameOf(step.getStartupStep())))
+                .collect(Collectors.joining());
+        log.info("Slowest bean instantiations (including their dependencies):{}", slowest);
+    }
+
+    private static String beanNameOf(StartupStep step) {
+        return StreamSupport.stream(step.getTags().spliterator(), false)
+                .filter(tag -> "beanName".equals(tag.getKey()))
+                .map(StartupStep.Tag::getValue)
+                .findFirst()
+                .orElse("?");
+    }
+}
@@ -0,0 +1,60 @@
+package org.chen.sid.transactionmanagement.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "transaction.admission")
+public class AdmissionControlProperties {
+
+    /**
+     * Limit for create, update and delete requests, which contend for the repository write lock.
+     */
+    private Limit command = new Limit(16, 4, 128);
+
+    /**
+     * Limit for reads.
+     */
+    private Limit query = new Limit(64, 8, 512);
+
+    /**
+     * Value of the {@code Retry-After} header on rejected requests.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    @Data
+    public static class Limit {
+
+        private int initial;
+
+        private int min;
+
+        private int max;
+
+        /**
+         * Weight of each new estimate; lower values react more slowly but are steadier.
+         */
+        private double smoothing = 0.2;
+
+        /**
+         * How much the latency may exceed its no-load average before the limit shrinks.
+         */
+        private double tolerance = 1.5;
+
+        /**
+         * Samples averaged into the no-load latency.
+         */
+        private int longWindow = 600;
+
+        public Limit() {
+        }
+
+        public Limit(int initial, int min, int max) {
+            this.initial = initial;
+            this.min = min;
+            this.max = max;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.chen.sid.transactionmanagement.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "transaction.bulk-jobs")
+public class BulkJobProperties {
+
+    /**
+     * Transactions written under one repository call, cache invalidation batch and progress update.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Pause between chunks, leaving the repository lock and the CPU to online requests.
+     */
+    private Duration chunkPause = Duration.ofMillis(20);
+
+    /**
+     * Queued and running jobs; further submissions get 429.
+     */
+    private int maxActiveJobs = 4;
+
+    /**
+     * Finished jobs whose status stays available.
+     */
+    private int retainedJobs = 100;
+}
@@ -0,0 +1,55 @@
+package org.chen.sid.transactionmanagement.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "transaction.cache-invalidation")
+public class CacheInvalidationProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Identifies this node's messages; a random ID is used when blank.
+     */
+    private String nodeId;
+
+    private String bindAddress = "0.0.0.0";
+
+    private int port = 7400;
+
+    /**
+     * {@code host:port} of every other node's invalidation socket.
+     */
+    private List<String> peers = new ArrayList<>();
+
+    /**
+     * How long evictions are collected and coalesced before they are sent.
+     */
+    private Duration flushInterval = Duration.ofMillis(5);
+
+    /**
+     * Upper bound of one datagram; stays below a typical MTU so batches are not fragmented.
+     */
+    private int maxDatagramBytes = 1400;
+
+    /**
+     * Pending IDs beyond this are replaced by a single clear-all message.
+     */
+    private int maxPending = 10_000;
+
+    /**
+     * How long a sender may stay quiet before it repeats its last sequence, which bounds how long a lost datagram can
+     * go unnoticed.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(1);
+
+    /**
+     * Shared by all nodes to sign datagrams; required, since any datagram could otherwise clear every node's cache.
+     */
+    private String secret;
+}
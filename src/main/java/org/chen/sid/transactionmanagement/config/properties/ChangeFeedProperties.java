@@ -0,0 +1,30 @@
+package org.chen.sid.transactionmanagement.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "transaction.change-feed")
+public class ChangeFeedProperties {
+
+    /**
+     * Most recent changes kept for subscribers resuming from a sequence number.
+     */
+    private int retention = 4096;
+
+    /**
+     * Changes buffered per subscriber; a subscriber that falls further behind is disconnected.
+     */
+    private int subscriberBuffer = 1024;
+
+    private int maxSubscribers = 256;
+
+    /**
+     * Longest a single event may take to reach a subscriber; a subscriber whose write blocks longer is disconnected.
+     */
+    private Duration writeTimeout = Duration.ofSeconds(5);
+
+    private Duration emitterTimeout = Duration.ofMinutes(30);
+}
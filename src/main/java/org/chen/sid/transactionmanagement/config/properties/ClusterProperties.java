@@ -0,0 +1,38 @@
+package org.chen.sid.transactionmanagement.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "transaction.cluster")
+public class ClusterProperties {
+
+    /**
+     * ID of this node; must be one of {@link #nodes}.
+     */
+    private String self;
+
+    /**
+     * Every node of the cluster, by ID, with the base URL other nodes reach it at.
+     */
+    private Map<String, URI> nodes = new LinkedHashMap<>();
+
+    /**
+     * Shared secret sent by nodes to each other; internal and forwarded requests without it are rejected.
+     */
+    private String secret;
+
+    /**
+     * Points per node on the hash ring; more points spread partitions more evenly.
+     */
+    private int virtualNodes = 128;
+
+    private Duration connectTimeout = Duration.ofSeconds(1);
+
+    private Duration requestTimeout = Duration.ofSeconds(5);
+}
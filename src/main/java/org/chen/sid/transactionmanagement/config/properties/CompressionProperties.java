@@ -0,0 +1,47 @@
+package org.chen.sid.transactionmanagement.config.properties;
+
+import lombok.Data;
+import org.chen.sid.transactionmanagement.common.compression.ContentCodec;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "transaction.compression")
+public class CompressionProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Codecs in order of preference; a response uses the first one the client accepts.
+     */
+    private List<ContentCodec> codecs = new ArrayList<>(List.of(ContentCodec.ZSTD, ContentCodec.GZIP));
+
+    /**
+     * Smaller responses are sent uncompressed, since compression would barely shrink them.
+     */
+    private DataSize minResponseSize = DataSize.ofKilobytes(2);
+
+    private List<String> mimeTypes = new ArrayList<>(List.of("application/json", "application/problem+json", "application/cbor",
+            "text/plain", "text/html", "text/css", "text/javascript", "application/javascript", "application/openmetrics-text"));
+
+    /**
+     * 1 (fastest) to 9 (smallest).
+     */
+    private int gzipLevel = 6;
+
+    /**
+     * 1 (fastest) to 22 (smallest); negative levels trade more ratio for speed. On transaction pages level 1 is both
+     * faster and smaller than the library default of 3.
+     */
+    private int zstdLevel = 1;
+
+    public int levelOf(ContentCodec codec) {
+        return switch (codec) {
+            case GZIP -> gzipLevel;
+            case ZSTD -> zstdLevel;
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package org.chen.sid.transactionmanagement.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "transaction.event-sourcing")
+public class EventSourcingProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * A snapshot of the folded state is kept every this many events of one transaction.
+     */
+    private int snapshotInterval = 16;
+
+    /**
+     * Events kept per transaction; older ones are folded into a base state, so history and point-in-time reads reach
+     * back only to the oldest kept event.
+     */
+    private int maxEventsPerTransaction = 1000;
+
+    /**
+     * How long the log of a deleted transaction is kept after its deletion.
+     */
+    private Duration deletedRetention = Duration.ofDays(1);
+}
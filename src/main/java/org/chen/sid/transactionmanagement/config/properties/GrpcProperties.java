@@ -0,0 +1,28 @@
+package org.chen.sid.transactionmanagement.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "transaction.grpc")
+public class GrpcProperties {
+
+    private boolean enabled = false;
+
+    private String bindAddress = "0.0.0.0";
+
+    private int port = 9090;
+
+    /**
+     * Largest request message, which bounds the size of one ingest batch.
+     */
+    private DataSize maxInboundMessageSize = DataSize.ofMegabytes(4);
+
+    /**
+     * How long in-flight calls may finish on shutdown before they are cancelled.
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,26 @@
+package org.chen.sid.transactionmanagement.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "transaction.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * How long a key is remembered after its first request.
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Upper bound on remembered keys; the oldest are forgotten first.
+     */
+    private int maxEntries = 100_000;
+
+    /**
+     * How long a retry waits for the first request with the same key to finish.
+     */
+    private Duration inFlightTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,31 @@
+package org.chen.sid.transactionmanagement.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "transaction.jfr")
+public class JfrProperties {
+
+    /**
+     * Local directory the recordings are dumped to.
+     */
+    private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "transaction-jfr");
+
+    /**
+     * Built-in JFR configuration the recording starts from: {@code default} or {@code profile}.
+     */
+    private String settings = "profile";
+
+    private Duration defaultDuration = Duration.ofSeconds(60);
+
+    private Duration maxDuration = Duration.ofMinutes(10);
+
+    /**
+     * Recordings kept in {@link #directory}; the oldest are deleted when a new one starts.
+     */
+    private int maxFiles = 5;
+}
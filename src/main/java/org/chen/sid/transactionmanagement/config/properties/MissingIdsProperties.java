@@ -0,0 +1,40 @@
+package org.chen.sid.transactionmanagement.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "transaction.missing-ids")
+public class MissingIdsProperties {
+
+    /**
+     * How long an ID found missing is answered with {@code 404} without asking the repository. Also bounds how long a
+     * transaction created through another node stays hidden on this one.
+     */
+    private Duration ttl = Duration.ofSeconds(2);
+
+    /**
+     * Upper bound on remembered missing IDs; the oldest are forgotten first.
+     */
+    private int maxEntries = 100_000;
+
+    private BloomFilter bloomFilter = new BloomFilter();
+
+    @Data
+    public static class BloomFilter {
+
+        /**
+         * Track live IDs in a Bloom filter, so unknown IDs are rejected without a repository round trip. Worth it only
+         * for persistent backends, and safe only when this node is the store's single writer: the filter is loaded at
+         * startup and then learns only this node's creates, so rows created elsewhere would be rejected. The
+         * false-positive rate grows once the store exceeds {@link #expectedInsertions}.
+         */
+        private boolean enabled = false;
+
+        private long expectedInsertions = 1_000_000;
+
+        private double falsePositiveRate = 0.01;
+    }
+}
@@ -0,0 +1,94 @@
+package org.chen.sid.transactionmanagement.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+@Data
+@ConfigurationProperties(prefix = "transaction.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * Request header identifying an API client; clients without it are limited by IP address.
+     */
+    private String apiKeyHeader = "X-API-Key";
+
+    /**
+     * API keys that get their own {@link #apiKey} bucket. Any other key is ignored and the request is limited by IP
+     * address, so clients cannot raise their budget by inventing keys.
+     */
+    private Set<String> apiKeys = new HashSet<>();
+
+    private Bucket apiKey = new Bucket(200, 400);
+
+    private Bucket ip = new Bucket(50, 100);
+
+    private Cost cost = new Cost();
+
+    /**
+     * Upper bound on tracked addresses; beyond it new addresses share a fixed set of overflow buckets until idle ones
+     * are evicted.
+     */
+    private int maxClients = 100_000;
+
+    /**
+     * A bucket that has been full for this long is dropped.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(5);
+
+    private Duration evictionInterval = Duration.ofMinutes(1);
+
+    @Data
+    public static class Bucket {
+
+        private double tokensPerSecond;
+
+        private int capacity;
+
+        public Bucket() {
+        }
+
+        public Bucket(double tokensPerSecond, int capacity) {
+            this.tokensPerSecond = tokensPerSecond;
+            this.capacity = capacity;
+        }
+    }
+
+    /**
+     * Tokens charged per request, by endpoint.
+     */
+    @Data
+    public static class Cost {
+
+        /**
+         * {@code GET /{id}}.
+         */
+        private int lookup = 1;
+
+        /**
+         * {@code GET /}, plus one token per {@link #pageRowsPerToken} requested rows.
+         */
+        private int page = 2;
+
+        private int pageRowsPerToken = 50;
+
+        /**
+         * {@code POST}, {@code PUT} and {@code DELETE}.
+         */
+        private int command = 2;
+
+        /**
+         * {@code GET /filter} and {@code GET /stats}, which scan the whole store; filtered pages add row tokens like
+         * {@link #page}.
+         */
+        private int scan = 10;
+
+        /**
+         * Everything else, e.g. summaries and history.
+         */
+        private int other = 2;
+    }
+}
@@ -0,0 +1,54 @@
+package org.chen.sid.transactionmanagement.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "transaction.replication")
+public class ReplicationProperties {
+
+    /**
+     * Role at startup; a replica becomes primary through {@code POST /actuator/replication}.
+     */
+    private Role role = Role.PRIMARY;
+
+    /**
+     * Address and port the primary streams its log on. A replica opens them once promoted. Loopback by default; bind a
+     * private interface for replicas on other hosts.
+     */
+    private String bindAddress = "127.0.0.1";
+
+    private int port = 7070;
+
+    private String primaryHost = "localhost";
+
+    private int primaryPort = 7070;
+
+    /**
+     * Shared by the primary and its replicas, which prove they know it when opening a session; required.
+     */
+    private String secret;
+
+    /**
+     * Log entries kept for replicas to resume from; a replica further behind receives a full snapshot.
+     */
+    private int retention = 100_000;
+
+    private int batchSize = 512;
+
+    private Duration heartbeatInterval = Duration.ofMillis(200);
+
+    /**
+     * Replica reads are rejected once the replica was last in sync with the primary longer ago than this. Clients may
+     * send their own bound in the {@code X-Max-Staleness} header.
+     */
+    private Duration maxStaleness = Duration.ofSeconds(2);
+
+    private Duration reconnectBackoff = Duration.ofSeconds(1);
+
+    public enum Role {
+        PRIMARY, REPLICA
+    }
+}
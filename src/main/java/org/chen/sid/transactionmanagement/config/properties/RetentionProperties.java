@@ -0,0 +1,47 @@
+package org.chen.sid.transactionmanagement.config.properties;
+
+import lombok.Data;
+import org.chen.sid.transactionmanagement.common.compression.ContentCodec;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "transaction.retention")
+public class RetentionProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Transactions created longer ago than this move from memory to the archive.
+     */
+    private Duration maxAge = Duration.ofDays(30);
+
+    private Duration sweepInterval = Duration.ofMinutes(1);
+
+    /**
+     * Upper bound on the transactions archived by one sweep, which become one archive segment.
+     */
+    private int maxPerSweep = 100_000;
+
+    /**
+     * Transactions written or evicted from memory between two pauses; with {@code batch-pause} this bounds the rate.
+     */
+    private int batchSize = 1000;
+
+    private Duration batchPause = Duration.ofMillis(50);
+
+    private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "transaction-archive");
+
+    private ContentCodec codec = ContentCodec.ZSTD;
+
+    private int compressionLevel = 3;
+
+    /**
+     * Transactions per compressed block; a lookup in the archive decompresses one block.
+     */
+    private int blockSize = 128;
+
+    private double bloomFilterFalsePositiveRate = 0.01;
+}
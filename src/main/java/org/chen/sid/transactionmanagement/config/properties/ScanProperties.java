@@ -0,0 +1,31 @@
+package org.chen.sid.transactionmanagement.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "transaction.scan")
+public class ScanProperties {
+
+    /**
+     * Threads of the scan pool shared by all queries.
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Most threads one query may occupy, so a single expensive scan cannot take every core.
+     */
+    private int maxParallelismPerQuery = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /**
+     * A scan running longer is cancelled and answered with {@code 503}.
+     */
+    private Duration timeBudget = Duration.ofSeconds(2);
+
+    /**
+     * Upper bound of {@code page * size} for filtered pages; every worker keeps that many rows.
+     */
+    private int maxWindow = 10_000;
+}
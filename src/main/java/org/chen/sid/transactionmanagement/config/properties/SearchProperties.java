@@ -0,0 +1,21 @@
+package org.chen.sid.transactionmanagement.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "transaction.search")
+public class SearchProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Results returned when the request does not give a limit.
+     */
+    private int defaultLimit = 20;
+
+    /**
+     * Largest accepted limit; every result is a repository lookup.
+     */
+    private int maxLimit = 200;
+}
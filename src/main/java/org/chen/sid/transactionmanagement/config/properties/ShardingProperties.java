@@ -0,0 +1,14 @@
+package org.chen.sid.transactionmanagement.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "transaction.sharding")
+public class ShardingProperties {
+
+    /**
+     * Number of independent partitions, rounded up to a power of two; around the number of cores writing concurrently.
+     */
+    private int shards = 16;
+}
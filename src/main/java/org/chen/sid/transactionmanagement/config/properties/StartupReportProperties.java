@@ -0,0 +1,16 @@
+package org.chen.sid.transactionmanagement.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "transaction.startup-report")
+public class StartupReportProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Slowest bean instantiations listed in the report.
+     */
+    private int slowestBeans = 10;
+}
@@ -0,0 +1,32 @@
+package org.chen.sid.transactionmanagement.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "transaction.warmup")
+public class WarmupProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Synthetic requests driven through the use cases and serializers; enough for C2 to compile the hot paths.
+     */
+    private int iterations = 20_000;
+
+    /**
+     * Warm-up stops after this long even if iterations remain, so readiness is never held back indefinitely.
+     */
+    private Duration timeBudget = Duration.ofSeconds(30);
+
+    /**
+     * Where the most read transaction IDs are written on shutdown and loaded into the cache on the next start; unset
+     * to skip. Only useful with a durable store and a path that survives restarts.
+     */
+    private Path hotIdsFile;
+
+    private int maxHotIds = 1000;
+}
@@ -0,0 +1,44 @@
+package org.chen.sid.transactionmanagement.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "transaction.write-behind")
+public class WriteBehindProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * When a write is acknowledged to the caller: after the in-memory apply, or after the durable store flushed it.
+     */
+    private Durability durability = Durability.MEMORY;
+
+    /**
+     * Ring buffer slots, rounded up to a power of two.
+     */
+    private int bufferCapacity = 16384;
+
+    private int batchSize = 512;
+
+    private Duration flushInterval = Duration.ofMillis(20);
+
+    private Duration flushTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Attempts for a failing batch, with doubling backoff, before its writes are retried one by one; a write that still
+     * fails on its own is dead-lettered.
+     */
+    private int maxRetries = 5;
+
+    /**
+     * Most recent dead-lettered writes kept for inspection.
+     */
+    private int deadLetterCapacity = 1000;
+
+    public enum Durability {
+        MEMORY, FLUSH
+    }
+}
@@ -0,0 +1,8 @@
+package org.chen.sid.transactionmanagement.domain.infrastructure;
+
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionEvent;
+
+public interface TransactionEventPublisher {
+
+    void publish(TransactionEvent event);
+}
@@ -0,0 +1,17 @@
+package org.chen.sid.transactionmanagement.domain.infrastructure;
+
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface TransactionEventStore {
+
+    void append(TransactionEvent event);
+
+    List<TransactionEvent> findEvents(String transactionId);
+
+    Optional<Transaction> findStateAsOf(String transactionId, LocalDateTime asOf);
+}
@@ -0,0 +1,67 @@
+package org.chen.sid.transactionmanagement.domain.infrastructure;
+
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.CategorySummary;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.Page;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+public interface TransactionReadRepository {
+
+    int SCAN_PAGE_SIZE = 1000;
+
+    Optional<Transaction> findById(String id);
+
+    Page<Transaction> findPage(long page, long size);
+
+    List<CategorySummary> summarizeByCategory();
+
+    /**
+     * Every transaction as a splittable source for parallel scans. The default reads pages lazily as the scan advances,
+     * so a scan that runs out of its time budget stops loading too, and rows moved between pages by concurrent writes
+     * may be missed or seen twice; stores that hold their data in memory return a weakly consistent view of it instead.
+     */
+    default Spliterator<Transaction> scan() {
+        Iterator<Transaction> pages = new Iterator<>() {
+
+            private long page;
+
+            private Iterator<Transaction> current = Collections.emptyIterator();
+
+            private boolean exhausted;
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && !exhausted) {
+                    List<Transaction> data = findPage(++page, SCAN_PAGE_SIZE).getData();
+                    exhausted = data.size() < SCAN_PAGE_SIZE;
+                    current = data.iterator();
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public Transaction next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+        return Spliterators.spliteratorUnknownSize(pages, Spliterator.NONNULL);
+    }
+
+    /**
+     * Whether {@link #scan()} visits every stored transaction; stores that keep part of their data outside the scanned
+     * view, such as an archive, return {@code false}.
+     */
+    default boolean scanCoversAll() {
+        return true;
+    }
+}
@@ -1,19 +1,45 @@
 package org.chen.sid.transactionmanagement.domain.infrastructure;
 
-import org.chen.sid.transactionmanagement.application.usecase.query.dto.Page;
 import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
 
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
-public interface TransactionRepository {
+public interface TransactionRepository extends TransactionReadRepository {
 
     Transaction save(Transaction transaction);
 
-    Optional<Transaction> findById(String id);
-
-    Page<Transaction> findPage(long page, long size);
+    default List<Transaction> saveAll(List<Transaction> transactions) {
+        return transactions.stream().map(this::save).toList();
+    }
+
+    /**
+     * Saves each transaction only if the stored one still has the update time it had when read, so a write made in
+     * between is not overwritten by a stale copy. The default checks and saves one transaction at a time; stores with a
+     * write lock check under it.
+     *
+     * @param readUpdateTimes update time of each transaction, by ID, when it was read
+     * @return the transactions that were saved
+     */
+    default List<Transaction> saveAllIfUnchanged(List<Transaction> transactions, Map<String, LocalDateTime> readUpdateTimes) {
+        return transactions.stream()
+                .filter(transaction -> findById(transaction.getId())
+                        .filter(current -> Objects.equals(current.getUpdateTime(), readUpdateTimes.get(transaction.getId())))
+                        .isPresent())
+                .map(this::save)
+                .toList();
+    }
 
     boolean deleteById(String id);
 
+    /**
+     * @return the IDs that existed and were deleted
+     */
+    default List<String> deleteAllById(List<String> ids) {
+        return ids.stream().filter(this::deleteById).toList();
+    }
+
     boolean existsById(String id);
 }
@@ -9,7 +9,7 @@ import org.chen.sid.transactionmanagement.domain.model.entity.TransactionType;
 import java.math.BigDecimal;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class UpsertTransactionCommand {
@@ -11,7 +11,7 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Transaction {
@@ -46,10 +46,21 @@ public class Transaction {
     public void update(UpsertTransactionCommand command) {
         if (command.getName() != null) {
             validateName(command.getName());
-            this.name = command.getName().trim();
         }
         if (command.getAmount() != null) {
             validateAmount(command.getAmount());
+        }
+        applyChanges(command, LocalDateTime.now());
+    }
+
+    /**
+     * Applies an already validated command, e.g. when replaying recorded events.
+     */
+    public void applyChanges(UpsertTransactionCommand command, LocalDateTime updateTime) {
+        if (command.getName() != null) {
+            this.name = command.getName().trim();
+        }
+        if (command.getAmount() != null) {
             this.amount = command.getAmount();
         }
         if (command.getCategory() != null) {
@@ -58,7 +69,7 @@ public class Transaction {
         if (command.getType() != null) {
             this.type = command.getType();
         }
-        this.updateTime = LocalDateTime.now();
+        this.updateTime = updateTime;
     }
 
     private static void validateName(String name) {
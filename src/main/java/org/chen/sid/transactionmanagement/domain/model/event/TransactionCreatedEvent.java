@@ -0,0 +1,25 @@
+package org.chen.sid.transactionmanagement.domain.model.event;
+
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+
+import java.time.LocalDateTime;
+
+/**
+ * @param transaction snapshot of the created transaction, never mutated afterwards
+ */
+public record TransactionCreatedEvent(Transaction transaction, LocalDateTime occurredAt) implements TransactionEvent {
+
+    public static TransactionCreatedEvent of(Transaction transaction) {
+        return new TransactionCreatedEvent(transaction.toBuilder().build(), transaction.getCreateTime());
+    }
+
+    @Override
+    public String transactionId() {
+        return transaction.getId();
+    }
+
+    @Override
+    public Transaction applyTo(Transaction state) {
+        return transaction.toBuilder().build();
+    }
+}
@@ -0,0 +1,17 @@
+package org.chen.sid.transactionmanagement.domain.model.event;
+
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+
+import java.time.LocalDateTime;
+
+public record TransactionDeletedEvent(String transactionId, LocalDateTime occurredAt) implements TransactionEvent {
+
+    public static TransactionDeletedEvent of(String transactionId) {
+        return new TransactionDeletedEvent(transactionId, LocalDateTime.now());
+    }
+
+    @Override
+    public Transaction applyTo(Transaction state) {
+        return null;
+    }
+}
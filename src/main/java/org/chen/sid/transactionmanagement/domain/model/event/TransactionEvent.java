@@ -0,0 +1,20 @@
+package org.chen.sid.transactionmanagement.domain.model.event;
+
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+
+import java.time.LocalDateTime;
+
+public sealed interface TransactionEvent permits TransactionCreatedEvent, TransactionUpdatedEvent, TransactionDeletedEvent {
+
+    String transactionId();
+
+    LocalDateTime occurredAt();
+
+    /**
+     * Folds this event into the state produced by the preceding events of the same transaction.
+     *
+     * @param state the state before this event, {@code null} if the transaction did not exist
+     * @return a new state instance, {@code null} if the transaction no longer exists
+     */
+    Transaction applyTo(Transaction state);
+}
@@ -0,0 +1,33 @@
+package org.chen.sid.transactionmanagement.domain.model.event;
+
+import org.chen.sid.transactionmanagement.domain.model.command.UpsertTransactionCommand;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+
+import java.time.LocalDateTime;
+
+/**
+ * @param transaction snapshot of the transaction after the update, never mutated afterwards
+ * @param changes     the command that was applied; {@code null} fields were left unchanged
+ */
+public record TransactionUpdatedEvent(Transaction transaction, UpsertTransactionCommand changes, LocalDateTime occurredAt)
+        implements TransactionEvent {
+
+    public static TransactionUpdatedEvent of(Transaction transaction, UpsertTransactionCommand changes) {
+        return new TransactionUpdatedEvent(transaction.toBuilder().build(), changes.toBuilder().build(), transaction.getUpdateTime());
+    }
+
+    @Override
+    public String transactionId() {
+        return transaction.getId();
+    }
+
+    @Override
+    public Transaction applyTo(Transaction state) {
+        if (state == null) {
+            return transaction.toBuilder().build();
+        }
+        Transaction next = state.toBuilder().build();
+        next.applyChanges(changes, occurredAt);
+        return next;
+    }
+}
@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS transactions
+(
+    id          VARCHAR(64)    NOT NULL PRIMARY KEY,
+    name        VARCHAR(100)   NOT NULL,
+    amount      DECIMAL(19, 2) NOT NULL,
+    category    VARCHAR(100),
+    type        VARCHAR(16),
+    create_time TIMESTAMP(6)   NOT NULL,
+    update_time TIMESTAMP(6)   NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_transactions_create_time_id ON transactions (create_time, id);
@@ -1,12 +1,20 @@
 package org.chen.sid.transactionmanagement.adapter.in;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.chen.sid.transactionmanagement.application.usecase.command.TransactionCommandUseCase;
 import org.chen.sid.transactionmanagement.application.usecase.command.dto.UpsertTransactionRequestDTO;
+import org.chen.sid.transactionmanagement.application.usecase.query.TransactionHistoryUseCase;
 import org.chen.sid.transactionmanagement.application.usecase.query.TransactionQueryUseCase;
+import org.chen.sid.transactionmanagement.application.usecase.query.TransactionSearchUseCase;
 import org.chen.sid.transactionmanagement.application.usecase.query.dto.Page;
 import org.chen.sid.transactionmanagement.application.usecase.query.dto.TransactionDTO;
+import org.chen.sid.transactionmanagement.application.usecase.query.search.SearchMatch;
 import org.chen.sid.transactionmanagement.common.exception.DataNotFoundException;
+import org.chen.sid.transactionmanagement.common.exception.IdempotencyKeyReusedException;
+import org.chen.sid.transactionmanagement.config.CborConfig;
 import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
 import org.chen.sid.transactionmanagement.domain.model.entity.TransactionType;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,15 +22,20 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
@@ -34,10 +47,12 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(TransactionController.class)
+@Import({SimpleMeterRegistry.class, CborConfig.class})
 class TransactionControllerTest {
 
     @Autowired
@@ -49,9 +64,18 @@ class TransactionControllerTest {
     @MockBean
     private TransactionQueryUseCase transactionQueryUseCase;
 
+    @MockBean
+    private TransactionHistoryUseCase transactionHistoryUseCase;
+
+    @MockBean
+    private TransactionSearchUseCase transactionSearchUseCase;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private Transaction sampleTransaction;
 
     private TransactionDTO sampleTransactionDto;
@@ -84,7 +108,7 @@ class TransactionControllerTest {
 
     @Test
     void should_return_created_transaction_when_valid_request_given() throws Exception {
-        when(transactionCommandUseCase.createTransaction(any(UpsertTransactionRequestDTO.class))).thenReturn(sampleTransaction);
+        when(transactionCommandUseCase.createTransaction(any(UpsertTransactionRequestDTO.class), isNull())).thenReturn(sampleTransaction);
 
         mockMvc.perform(post("/api/v1/transactions").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(upsertRequest)))
                 .andExpect(status().isCreated())
@@ -94,7 +118,38 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.category").value("Food"))
                 .andExpect(jsonPath("$.type").value("DEPOSIT"));
 
-        verify(transactionCommandUseCase, times(1)).createTransaction(any(UpsertTransactionRequestDTO.class));
+        verify(transactionCommandUseCase, times(1)).createTransaction(any(UpsertTransactionRequestDTO.class), isNull());
+    }
+
+    @Test
+    void should_search_by_substring_when_match_not_given() throws Exception {
+        when(transactionSearchUseCase.searchByName("trans", SearchMatch.SUBSTRING, null)).thenReturn(List.of(sampleTransactionDto));
+
+        mockMvc.perform(get("/api/v1/transactions/search").param("q", "trans"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("test-id-123"));
+    }
+
+    @Test
+    void should_pass_idempotency_key_when_header_given() throws Exception {
+        when(transactionCommandUseCase.createTransaction(any(UpsertTransactionRequestDTO.class), eq("key-1"))).thenReturn(sampleTransaction);
+
+        mockMvc.perform(post("/api/v1/transactions").header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(upsertRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value("test-id-123"));
+    }
+
+    @Test
+    void should_return_unprocessable_entity_when_idempotency_key_reused() throws Exception {
+        when(transactionCommandUseCase.createTransaction(any(UpsertTransactionRequestDTO.class), eq("key-1"))).thenThrow(
+                new IdempotencyKeyReusedException("Idempotency key key-1 was already used with a different request"));
+
+        mockMvc.perform(post("/api/v1/transactions").header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(upsertRequest)))
+                .andExpect(status().isUnprocessableEntity());
     }
 
     @Test
@@ -106,12 +161,12 @@ class TransactionControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.title").value("Validation Error"));
 
-        verify(transactionCommandUseCase, never()).createTransaction(any(UpsertTransactionRequestDTO.class));
+        verify(transactionCommandUseCase, never()).createTransaction(any(UpsertTransactionRequestDTO.class), isNull());
     }
 
     @Test
     void should_return_bad_request_when_business_exception_thrown() throws Exception {
-        when(transactionCommandUseCase.createTransaction(any(UpsertTransactionRequestDTO.class))).thenThrow(
+        when(transactionCommandUseCase.createTransaction(any(UpsertTransactionRequestDTO.class), isNull())).thenThrow(
                 new IllegalArgumentException("Transaction amount cannot be negative"));
 
         mockMvc.perform(post("/api/v1/transactions").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(upsertRequest)))
@@ -155,6 +210,19 @@ class TransactionControllerTest {
         verify(transactionQueryUseCase, times(1)).getTransactionById("test-id-123");
     }
 
+    @Test
+    void should_return_historical_transaction_when_as_of_given() throws Exception {
+        LocalDateTime asOf = LocalDateTime.of(2024, 1, 15, 10, 30);
+        when(transactionHistoryUseCase.getTransactionAsOf("test-id-123", asOf)).thenReturn(sampleTransactionDto);
+
+        mockMvc.perform(get("/api/v1/transactions/test-id-123").param("asOf", "2024-01-15T10:30:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value("test-id-123"));
+
+        verify(transactionHistoryUseCase, times(1)).getTransactionAsOf("test-id-123", asOf);
+        verify(transactionQueryUseCase, never()).getTransactionById(anyString());
+    }
+
     @Test
     void should_return_all_transactions_when_transactions_exist() throws Exception {
         TransactionDTO transaction2 = TransactionDTO.builder()
@@ -211,4 +279,49 @@ class TransactionControllerTest {
 
         verify(transactionCommandUseCase, times(1)).deleteTransaction(anyString());
     }
-}
\ No newline at end of file
+
+    @Test
+    void should_return_prebuilt_problem_and_count_error_when_transaction_not_found() throws Exception {
+        when(transactionQueryUseCase.getTransactionById("missing")).thenThrow(DataNotFoundException.TRANSACTION_NOT_FOUND);
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/v1/transactions/missing"))
+                    .andExpect(status().isNotFound())
+                    .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                    .andExpect(jsonPath("$.title").value("Business exception"))
+                    .andExpect(jsonPath("$.detail").value("Transaction not found"))
+                    .andExpect(jsonPath("$.instance").value("/api/v1/transactions/missing"));
+        }
+
+        assertThat(DataNotFoundException.TRANSACTION_NOT_FOUND.getStackTrace()).isEmpty();
+        assertThat(meterRegistry.get("transaction.errors").tag("exception", "DataNotFoundException").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void should_exchange_cbor_with_scaled_amounts_and_epoch_timestamps_when_requested() throws Exception {
+        ObjectMapper cborMapper = CborConfig.cborObjectMapper();
+        when(transactionCommandUseCase.createTransaction(any(UpsertTransactionRequestDTO.class), isNull())).thenReturn(sampleTransaction);
+        when(transactionQueryUseCase.getTransactionById("test-id-123")).thenReturn(sampleTransactionDto);
+
+        mockMvc.perform(post("/api/v1/transactions").contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(upsertRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+        byte[] body = mockMvc.perform(get("/api/v1/transactions/test-id-123").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        verify(transactionCommandUseCase).createTransaction(eq(upsertRequest), isNull());
+        JsonNode node = cborMapper.readTree(body);
+        assertThat(node.get("amount").isBigDecimal()).isTrue();
+        assertThat(node.get("createTime").isIntegralNumber()).isTrue();
+        TransactionDTO decoded = cborMapper.readValue(body, TransactionDTO.class);
+        assertThat(decoded.getAmount()).isEqualTo(new BigDecimal("100.00"));
+        assertThat(decoded.getCreateTime()).isEqualTo(sampleTransactionDto.getCreateTime().truncatedTo(ChronoUnit.MILLIS));
+        assertThat(body.length).isLessThan(objectMapper.writeValueAsBytes(sampleTransactionDto).length);
+    }
+}
@@ -0,0 +1,75 @@
+package org.chen.sid.transactionmanagement.adapter.in.actuator;
+
+import org.chen.sid.transactionmanagement.config.properties.JfrProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class JfrRecordingEndpointTest {
+
+    @TempDir
+    private Path directory;
+
+    private JfrRecordingEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        JfrProperties properties = new JfrProperties();
+        properties.setDirectory(directory);
+        properties.setSettings("default");
+        properties.setMaxFiles(2);
+        endpoint = new JfrRecordingEndpoint(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        await().atMost(Duration.ofSeconds(10)).until(() -> endpoint.latestRecording() == null || !"RUNNING".equals(endpoint.latestRecording().state()));
+    }
+
+    @Test
+    void should_dump_recording_to_directory_when_duration_elapsed() {
+        WebEndpointResponse<JfrRecordingEndpoint.RecordingDescriptor> response = endpoint.startRecording(Duration.ofSeconds(1));
+
+        assertThat(response.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        Path file = Path.of(response.getBody().file());
+        assertThat(file.getParent()).isEqualTo(directory);
+        await().atMost(Duration.ofSeconds(10)).until(() -> Files.exists(file) && Files.size(file) > 0);
+    }
+
+    @Test
+    void should_reject_second_recording_while_one_is_running() {
+        endpoint.startRecording(Duration.ofSeconds(1));
+
+        assertThat(endpoint.startRecording(Duration.ofSeconds(1)).getStatus()).isEqualTo(409);
+    }
+
+    @Test
+    void should_reject_duration_above_maximum() {
+        assertThat(endpoint.startRecording(Duration.ofHours(1)).getStatus()).isEqualTo(WebEndpointResponse.STATUS_BAD_REQUEST);
+    }
+
+    @Test
+    void should_delete_oldest_recordings_when_max_files_reached() throws Exception {
+        Files.createFile(directory.resolve("transaction-20240101-000000.jfr"));
+        Files.createFile(directory.resolve("transaction-20240102-000000.jfr"));
+        Files.createFile(directory.resolve("notes.txt"));
+
+        Path file = Path.of(endpoint.startRecording(Duration.ofSeconds(1)).getBody().file());
+        await().atMost(Duration.ofSeconds(10)).until(() -> Files.exists(file));
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.map(Path::getFileName).map(Path::toString))
+                    .containsExactlyInAnyOrder("transaction-20240102-000000.jfr", "notes.txt", file.getFileName().toString());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.chen.sid.transactionmanagement.adapter.in.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.chen.sid.transactionmanagement.config.properties.AdmissionControlProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        AdmissionControlProperties properties = new AdmissionControlProperties();
+        properties.setCommand(new AdmissionControlProperties.Limit(1, 1, 1));
+        properties.setQuery(new AdmissionControlProperties.Limit(4, 4, 4));
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new AdmissionControlFilter(properties, meterRegistry);
+    }
+
+    @Test
+    void should_reject_command_with_503_and_retry_after_when_limit_exhausted() throws Exception {
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> {
+                filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/transactions"), new MockHttpServletResponse(), blockingChain(inside, finish));
+                return null;
+            });
+            assertThat(inside.await(5, TimeUnit.SECONDS)).isTrue();
+
+            MockHttpServletResponse rejected = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("PUT", "/api/v1/transactions/id-1"), rejected, new MockFilterChain());
+            MockHttpServletResponse query = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/transactions/id-1"), query, new MockFilterChain());
+
+            assertThat(rejected.getStatus()).isEqualTo(503);
+            assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+            assertThat(rejected.getContentAsString()).contains("\"status\":503");
+            assertThat(query.getStatus()).isEqualTo(200);
+            assertThat(meterRegistry.get("transaction.admission.rejected").tag("kind", "command").counter().count()).isEqualTo(1);
+        } finally {
+            finish.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void should_not_limit_change_feed_or_other_paths() throws Exception {
+        AdmissionControlProperties properties = new AdmissionControlProperties();
+        properties.setQuery(new AdmissionControlProperties.Limit(1, 1, 1));
+        AdmissionControlFilter strictFilter = new AdmissionControlFilter(properties, new SimpleMeterRegistry());
+
+        assertThat(strictFilter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/v1/transactions/changes"))).isTrue();
+        assertThat(strictFilter.shouldNotFilter(new MockHttpServletRequest("GET", "/actuator/health"))).isTrue();
+        assertThat(strictFilter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/v1/transactions"))).isFalse();
+    }
+
+    private static FilterChain blockingChain(CountDownLatch inside, CountDownLatch finish) {
+        return (request, response) -> {
+            inside.countDown();
+            try {
+                finish.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+}
@@ -0,0 +1,60 @@
+package org.chen.sid.transactionmanagement.adapter.in.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClusterAuthenticationFilterTest {
+
+    private final ClusterAuthenticationFilter filter = new ClusterAuthenticationFilter("s3cret");
+
+    @Test
+    void should_reject_internal_request_when_token_missing_or_wrong() throws Exception {
+        MockHttpServletResponse missing = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("PUT", "/internal/v1/transactions/id-1"), missing, new MockFilterChain());
+        MockHttpServletRequest wrongToken = new MockHttpServletRequest("GET", "/internal/v1/transactions");
+        wrongToken.addHeader(ClusterAuthenticationFilter.TOKEN_HEADER, "guess");
+        MockHttpServletResponse wrong = new MockHttpServletResponse();
+        filter.doFilter(wrongToken, wrong, new MockFilterChain());
+
+        assertThat(missing.getStatus()).isEqualTo(403);
+        assertThat(wrong.getStatus()).isEqualTo(403);
+    }
+
+    @Test
+    void should_reject_forged_forwarded_header_when_token_missing() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/transactions/id-1");
+        request.addHeader(ClusterForwardingFilter.FORWARDED_HEADER, "node-2");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(403);
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void should_pass_request_when_token_valid_or_not_cluster_internal() throws Exception {
+        MockHttpServletRequest forwarded = new MockHttpServletRequest("GET", "/api/v1/transactions/id-1");
+        forwarded.addHeader(ClusterForwardingFilter.FORWARDED_HEADER, "node-2");
+        forwarded.addHeader(ClusterAuthenticationFilter.TOKEN_HEADER, "s3cret");
+        MockFilterChain forwardedChain = new MockFilterChain();
+        MockFilterChain publicChain = new MockFilterChain();
+
+        filter.doFilter(forwarded, new MockHttpServletResponse(), forwardedChain);
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/transactions/id-1"), new MockHttpServletResponse(), publicChain);
+
+        assertThat(forwardedChain.getRequest()).isNotNull();
+        assertThat(publicChain.getRequest()).isNotNull();
+    }
+
+    @Test
+    void should_refuse_to_start_when_secret_missing() {
+        assertThatThrownBy(() -> new ClusterAuthenticationFilter(" ")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,127 @@
+package org.chen.sid.transactionmanagement.adapter.in.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.chen.sid.transactionmanagement.config.properties.RateLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private RateLimitProperties properties;
+
+    private ClientRateLimiter rateLimiter;
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setIp(new RateLimitProperties.Bucket(1, 3));
+        properties.setApiKey(new RateLimitProperties.Bucket(1, 10));
+        properties.setApiKeys(Set.of("client-a", "client-b"));
+        rateLimiter = new ClientRateLimiter(properties);
+        filter = new RateLimitFilter(rateLimiter, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void should_charge_pages_by_requested_rows_and_lookups_least() {
+        MockHttpServletRequest largePage = new MockHttpServletRequest("GET", "/api/v1/transactions");
+        largePage.setParameter("size", "1000");
+
+        assertThat(filter.costOf(new MockHttpServletRequest("GET", "/api/v1/transactions/id-1"))).isEqualTo(1);
+        assertThat(filter.costOf(new MockHttpServletRequest("GET", "/api/v1/transactions"))).isEqualTo(2);
+        assertThat(filter.costOf(largePage)).isEqualTo(22);
+        assertThat(filter.costOf(new MockHttpServletRequest("GET", "/api/v1/transactions/summary"))).isEqualTo(2);
+        assertThat(filter.costOf(new MockHttpServletRequest("GET", "/api/v1/transactions/stats"))).isEqualTo(10);
+        assertThat(filter.costOf(new MockHttpServletRequest("DELETE", "/api/v1/transactions/id-1"))).isEqualTo(2);
+    }
+
+    @Test
+    void should_reject_with_429_and_retry_after_when_client_exhausts_bucket() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertThat(lookup(null).getStatus()).isEqualTo(200);
+        }
+
+        MockHttpServletResponse rejected = lookup(null);
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(rejected.getContentAsString()).contains("\"status\":429");
+    }
+
+    @Test
+    void should_limit_api_keys_independently_of_address() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            lookup(null);
+        }
+
+        assertThat(lookup(null).getStatus()).isEqualTo(429);
+        assertThat(lookup("client-a").getStatus()).isEqualTo(200);
+        assertThat(lookup("client-b").getStatus()).isEqualTo(200);
+        assertThat(rateLimiter.trackedClients()).isEqualTo(3);
+    }
+
+    @Test
+    void should_limit_unknown_api_keys_by_address() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertThat(lookup("invented-" + i).getStatus()).isEqualTo(200);
+        }
+
+        assertThat(lookup("invented-3").getStatus()).isEqualTo(429);
+        assertThat(lookup(null).getStatus()).isEqualTo(429);
+        assertThat(rateLimiter.trackedClients()).isEqualTo(1);
+    }
+
+    @Test
+    void should_spread_new_addresses_over_overflow_buckets_when_client_limit_reached() throws Exception {
+        properties.setMaxClients(1);
+        rateLimiter = new ClientRateLimiter(properties);
+        filter = new RateLimitFilter(rateLimiter, properties, new SimpleMeterRegistry());
+        lookupFrom("10.0.0.1", null);
+        for (int i = 0; i < 3; i++) {
+            lookupFrom("10.0.0.2", null);
+        }
+
+        assertThat(lookupFrom("10.0.0.2", null).getStatus()).isEqualTo(429);
+        assertThat(lookupFrom("10.0.0.3", null).getStatus()).isEqualTo(200);
+        assertThat(lookupFrom("10.0.0.4", "client-a").getStatus()).isEqualTo(200);
+        assertThat(rateLimiter.trackedClients()).isEqualTo(2);
+    }
+
+    @Test
+    void should_evict_buckets_when_idle() throws Exception {
+        properties.setIdleTimeout(Duration.ZERO);
+        properties.setApiKey(new RateLimitProperties.Bucket(100, 10));
+        rateLimiter = new ClientRateLimiter(properties);
+        filter = new RateLimitFilter(rateLimiter, properties, new SimpleMeterRegistry());
+        lookup("client-a");
+
+        Thread.sleep(50);
+        rateLimiter.evictIdleBuckets();
+
+        assertThat(rateLimiter.trackedClients()).isZero();
+    }
+
+    private MockHttpServletResponse lookup(String apiKey) throws Exception {
+        return lookupFrom("127.0.0.1", apiKey);
+    }
+
+    private MockHttpServletResponse lookupFrom(String address, String apiKey) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/transactions/id-1");
+        request.setRemoteAddr(address);
+        if (apiKey != null) {
+            request.addHeader("X-API-Key", apiKey);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,120 @@
+package org.chen.sid.transactionmanagement.adapter.in.filter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.chen.sid.transactionmanagement.common.compression.ContentCodec;
+import org.chen.sid.transactionmanagement.config.properties.CompressionProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCompressionFilterTest {
+
+    private static final String LARGE_BODY = "{\"category\":\"Food\",\"type\":\"WITHDRAW\"},".repeat(200);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ResponseCompressionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        CompressionProperties properties = new CompressionProperties();
+        properties.setMinResponseSize(DataSize.ofBytes(1024));
+        filter = new ResponseCompressionFilter(properties, meterRegistry);
+    }
+
+    @Test
+    void should_prefer_zstd_and_respect_refused_codecs_when_negotiating() {
+        assertThat(filter.negotiate("gzip, deflate, br, zstd")).isEqualTo(ContentCodec.ZSTD);
+        assertThat(filter.negotiate("gzip, zstd;q=0")).isEqualTo(ContentCodec.GZIP);
+        assertThat(filter.negotiate("*;q=0.5, zstd;q=0")).isEqualTo(ContentCodec.GZIP);
+        assertThat(filter.negotiate("br, identity")).isNull();
+        assertThat(filter.negotiate(null)).isNull();
+    }
+
+    @Test
+    void should_compress_body_when_it_exceeds_threshold() throws Exception {
+        MockHttpServletResponse response = serve("zstd", MediaType.APPLICATION_JSON_VALUE, LARGE_BODY);
+
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("zstd");
+        assertThat(response.getHeader("Vary")).isEqualTo("Accept-Encoding");
+        assertThat(response.getHeader("Content-Length")).isNull();
+        assertThat(response.getContentAsByteArray().length).isLessThan(LARGE_BODY.length() / 10);
+        assertThat(decompress(ContentCodec.ZSTD, response.getContentAsByteArray())).isEqualTo(LARGE_BODY);
+        assertThat(meterRegistry.get("transaction.compression.bytes").tag("codec", "zstd").tag("side", "uncompressed").counter().count())
+                .isEqualTo(LARGE_BODY.length());
+    }
+
+    @Test
+    void should_compress_with_gzip_when_client_accepts_only_gzip() throws Exception {
+        MockHttpServletResponse response = serve("gzip", MediaType.APPLICATION_JSON_VALUE, LARGE_BODY);
+
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(decompress(ContentCodec.GZIP, response.getContentAsByteArray())).isEqualTo(LARGE_BODY);
+    }
+
+    @Test
+    void should_send_small_body_uncompressed_with_exact_length() throws Exception {
+        MockHttpServletResponse response = serve("gzip", MediaType.APPLICATION_JSON_VALUE, "{\"id\":\"1\"}");
+
+        assertThat(response.getHeader("Content-Encoding")).isNull();
+        assertThat(response.getHeader("Vary")).isEqualTo("Accept-Encoding");
+        assertThat(response.getContentLength()).isEqualTo(10);
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":\"1\"}");
+    }
+
+    @Test
+    void should_pass_through_when_content_type_is_not_compressible() throws Exception {
+        MockHttpServletResponse response = serve("gzip", MediaType.TEXT_EVENT_STREAM_VALUE, LARGE_BODY);
+
+        assertThat(response.getHeader("Content-Encoding")).isNull();
+        assertThat(response.getHeader("Vary")).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(LARGE_BODY);
+    }
+
+    @Test
+    void should_pass_through_when_client_accepts_no_supported_codec() throws Exception {
+        MockHttpServletResponse response = serve("br", MediaType.APPLICATION_JSON_VALUE, LARGE_BODY);
+
+        assertThat(response.getHeader("Content-Encoding")).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(LARGE_BODY);
+    }
+
+    private MockHttpServletResponse serve(String acceptEncoding, String contentType, String body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/transactions");
+        request.addHeader("Accept-Encoding", acceptEncoding);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType(contentType);
+                byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+                // Written in pieces and flushed like a message converter does.
+                resp.getOutputStream().write(bytes, 0, bytes.length / 2);
+                resp.getOutputStream().write(bytes, bytes.length / 2, bytes.length - bytes.length / 2);
+                resp.getOutputStream().flush();
+            }
+        }));
+        return response;
+    }
+
+    private static String decompress(ContentCodec codec, byte[] compressed) throws IOException {
+        try (InputStream in = codec.decompress(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package org.chen.sid.transactionmanagement.adapter.in.grpc;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.Validation;
+import org.chen.sid.transactionmanagement.adapter.in.grpc.proto.CreateTransactionRequest;
+import org.chen.sid.transactionmanagement.adapter.in.grpc.proto.GetTransactionRequest;
+import org.chen.sid.transactionmanagement.adapter.in.grpc.proto.IngestAck;
+import org.chen.sid.transactionmanagement.adapter.in.grpc.proto.IngestBatch;
+import org.chen.sid.transactionmanagement.adapter.in.grpc.proto.ListTransactionsRequest;
+import org.chen.sid.transactionmanagement.adapter.in.grpc.proto.TransactionServiceGrpc;
+import org.chen.sid.transactionmanagement.adapter.in.grpc.proto.UpsertTransaction;
+import org.chen.sid.transactionmanagement.application.usecase.command.TransactionCommandUseCase;
+import org.chen.sid.transactionmanagement.application.usecase.command.dto.UpsertTransactionRequestDTO;
+import org.chen.sid.transactionmanagement.application.usecase.query.TransactionQueryUseCase;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.TransactionDTO;
+import org.chen.sid.transactionmanagement.common.exception.DataNotFoundException;
+import org.chen.sid.transactionmanagement.common.exception.FeatureNotEnabledException;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.chen.sid.transactionmanagement.domain.model.entity.TransactionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TransactionGrpcServiceTest {
+
+    private final TransactionCommandUseCase transactionCommandUseCase = mock(TransactionCommandUseCase.class);
+
+    private final TransactionQueryUseCase transactionQueryUseCase = mock(TransactionQueryUseCase.class);
+
+    private Server server;
+
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        TransactionGrpcService service = new TransactionGrpcService(transactionCommandUseCase, transactionQueryUseCase,
+                Validation.buildDefaultValidatorFactory().getValidator());
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name).directExecutor().addService(service).build().start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void should_return_transaction_when_get_by_id() {
+        when(transactionQueryUseCase.getTransactionById("id-1")).thenReturn(dto("id-1"));
+
+        var transaction = TransactionServiceGrpc.newBlockingStub(channel).getTransaction(GetTransactionRequest.newBuilder().setId("id-1").build());
+
+        assertThat(transaction.getId()).isEqualTo("id-1");
+        assertThat(TransactionMessages.toBigDecimal(transaction.getAmount())).isEqualTo(new BigDecimal("100.50"));
+        assertThat(transaction.getType()).isEqualTo(org.chen.sid.transactionmanagement.adapter.in.grpc.proto.TransactionType.DEPOSIT);
+        assertThat(transaction.hasCategory()).isFalse();
+        assertThat(transaction.getCreateTime().getSeconds()).isPositive();
+    }
+
+    @Test
+    void should_answer_not_found_when_transaction_does_not_exist() {
+        when(transactionQueryUseCase.getTransactionById("missing")).thenThrow(DataNotFoundException.TRANSACTION_NOT_FOUND);
+
+        assertThatThrownBy(() -> TransactionServiceGrpc.newBlockingStub(channel)
+                .getTransaction(GetTransactionRequest.newBuilder().setId("missing").build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.NOT_FOUND));
+    }
+
+    @Test
+    void should_create_transaction_with_idempotency_key_when_request_is_valid() {
+        when(transactionCommandUseCase.createTransaction(any(UpsertTransactionRequestDTO.class), eq("key-1"))).thenReturn(entity("id-1"));
+
+        var transaction = TransactionServiceGrpc.newBlockingStub(channel)
+                .createTransaction(CreateTransactionRequest.newBuilder().setTransaction(upsert("Salary", "100.50")).setIdempotencyKey("key-1").build());
+
+        assertThat(transaction.getId()).isEqualTo("id-1");
+        verify(transactionCommandUseCase).createTransaction(
+                new UpsertTransactionRequestDTO("Salary", new BigDecimal("100.50"), null, TransactionType.DEPOSIT), "key-1");
+    }
+
+    @Test
+    void should_reject_create_when_name_is_missing() {
+        assertThatThrownBy(() -> TransactionServiceGrpc.newBlockingStub(channel)
+                .createTransaction(CreateTransactionRequest.newBuilder().setTransaction(upsert("", "1.00")).build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class, e -> {
+                    assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+                    assertThat(e.getStatus().getDescription()).contains("name");
+                });
+        verify(transactionCommandUseCase, never()).createTransaction(any(), any());
+    }
+
+    @Test
+    void should_stream_every_scanned_transaction_when_listing_transactions() {
+        when(transactionQueryUseCase.scanTransactions()).thenReturn(List.of(dto("a"), dto("b"), dto("c")).iterator());
+
+        List<String> ids = new ArrayList<>();
+        TransactionServiceGrpc.newBlockingStub(channel)
+                .listTransactions(ListTransactionsRequest.getDefaultInstance())
+                .forEachRemaining(transaction -> ids.add(transaction.getId()));
+
+        assertThat(ids).containsExactly("a", "b", "c");
+        verify(transactionQueryUseCase, times(1)).scanTransactions();
+        verify(transactionQueryUseCase, never()).getPageTransactions(anyLong(), anyLong());
+    }
+
+    @Test
+    void should_answer_unimplemented_when_transactions_cannot_be_scanned() {
+        when(transactionQueryUseCase.scanTransactions())
+                .thenThrow(new FeatureNotEnabledException("Listing every transaction is not available while transactions are archived"));
+
+        assertThatThrownBy(() -> TransactionServiceGrpc.newBlockingStub(channel)
+                .listTransactions(ListTransactionsRequest.getDefaultInstance())
+                .forEachRemaining(transaction -> {
+                }))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.UNIMPLEMENTED));
+    }
+
+    @Test
+    void should_acknowledge_each_batch_with_created_ids_and_rejected_items_when_ingesting() throws Exception {
+        when(transactionCommandUseCase.createTransaction(any(UpsertTransactionRequestDTO.class)))
+                .thenReturn(entity("id-1"), entity("id-2"), entity("id-3"));
+        List<IngestAck> acks = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<Void> completed = new CompletableFuture<>();
+
+        StreamObserver<IngestBatch> requests = TransactionServiceGrpc.newStub(channel).ingestTransactions(new StreamObserver<>() {
+            @Override
+            public void onNext(IngestAck ack) {
+                acks.add(ack);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                completed.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onCompleted() {
+                completed.complete(null);
+            }
+        });
+        requests.onNext(IngestBatch.newBuilder().addTransactions(upsert("First", "1.00")).addTransactions(upsert("Second", "-1")).build());
+        IngestBatch.Builder second = IngestBatch.newBuilder();
+        IntStream.range(0, 2).forEach(i -> second.addTransactions(upsert("Next " + i, "2.00")));
+        requests.onNext(second.build());
+        requests.onCompleted();
+        completed.get(5, TimeUnit.SECONDS);
+
+        assertThat(acks).hasSize(2);
+        assertThat(acks.get(0).getBatch()).isEqualTo(1);
+        assertThat(acks.get(0).getIdsList()).containsExactly("id-1", "");
+        assertThat(acks.get(0).getErrorsList()).singleElement().satisfies(error -> {
+            assertThat(error.getIndex()).isEqualTo(1);
+            assertThat(error.getCode()).isEqualTo("INVALID_ARGUMENT");
+        });
+        assertThat(acks.get(1).getIdsList()).containsExactly("id-2", "id-3");
+        verify(transactionCommandUseCase, times(3)).createTransaction(any(UpsertTransactionRequestDTO.class));
+    }
+
+    private static UpsertTransaction upsert(String name, String amount) {
+        return UpsertTransaction.newBuilder()
+                .setName(name)
+                .setAmount(TransactionMessages.toDecimal(new BigDecimal(amount)))
+                .setType(org.chen.sid.transactionmanagement.adapter.in.grpc.proto.TransactionType.DEPOSIT)
+                .build();
+    }
+
+    private static TransactionDTO dto(String id) {
+        return TransactionDTO.from(entity(id));
+    }
+
+    private static Transaction entity(String id) {
+        LocalDateTime now = LocalDateTime.now();
+        return Transaction.builder()
+                .id(id)
+                .name("Salary")
+                .amount(new BigDecimal("100.50"))
+                .type(TransactionType.DEPOSIT)
+                .createTime(now)
+                .updateTime(now)
+                .build();
+    }
+}
@@ -0,0 +1,66 @@
+package org.chen.sid.transactionmanagement.adapter.out.cache;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheInvalidationMessageTest {
+
+    private static final SecretKeySpec KEY = CacheInvalidationMessage.key("cluster-secret");
+
+    @Test
+    void should_decode_what_was_encoded() {
+        CacheInvalidationMessage message = new CacheInvalidationMessage("node-1", 42, 7, false, List.of("a", "b"));
+        CacheInvalidationMessage heartbeat = CacheInvalidationMessage.heartbeat("node-1", 42, 7);
+
+        byte[] data = message.encode(KEY);
+        byte[] heartbeatData = heartbeat.encode(KEY);
+
+        assertThat(CacheInvalidationMessage.decode(data, data.length, KEY)).isEqualTo(message);
+        assertThat(CacheInvalidationMessage.decode(heartbeatData, heartbeatData.length, KEY)).isEqualTo(heartbeat)
+                .matches(CacheInvalidationMessage::heartbeat);
+    }
+
+    @Test
+    void should_return_null_when_signed_with_other_secret_or_tampered() {
+        byte[] forged = CacheInvalidationMessage.clearAll("node-1", 42, 1).encode(CacheInvalidationMessage.key("guessed"));
+        byte[] tampered = new String(new CacheInvalidationMessage("node-1", 42, 1, false, List.of("a")).encode(KEY), StandardCharsets.UTF_8)
+                .replace("\na", "\n*")
+                .getBytes(StandardCharsets.UTF_8);
+
+        assertThat(CacheInvalidationMessage.decode(forged, forged.length, KEY)).isNull();
+        assertThat(CacheInvalidationMessage.decode(tampered, tampered.length, KEY)).isNull();
+    }
+
+    @Test
+    void should_return_null_when_datagram_is_not_invalidation() {
+        byte[] data = "hello world".getBytes();
+
+        assertThat(CacheInvalidationMessage.decode(data, data.length, KEY)).isNull();
+    }
+
+    @Test
+    void should_split_into_consecutive_datagrams_when_ids_exceed_size() {
+        List<String> ids = IntStream.range(0, 100).mapToObj(i -> "transaction-" + i).toList();
+
+        List<CacheInvalidationMessage> messages = CacheInvalidationMessage.pack("node-1", 42, 5, ids, 200);
+
+        assertThat(messages).hasSizeGreaterThan(1);
+        assertThat(messages).extracting(CacheInvalidationMessage::sequence)
+                .containsExactlyElementsOf(IntStream.range(0, messages.size()).mapToObj(i -> 5L + i).toList());
+        assertThat(messages).allSatisfy(message -> assertThat(message.encode(KEY).length).isLessThanOrEqualTo(200));
+        assertThat(messages.stream().flatMap(message -> message.ids().stream())).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    void should_clear_all_when_id_does_not_fit_datagram() {
+        List<CacheInvalidationMessage> messages = CacheInvalidationMessage.pack("node-1", 42, 1, List.of("x".repeat(300)), 200);
+
+        assertThat(messages).containsExactly(CacheInvalidationMessage.clearAll("node-1", 42, 1));
+    }
+}
@@ -0,0 +1,194 @@
+package org.chen.sid.transactionmanagement.adapter.out.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.chen.sid.transactionmanagement.config.properties.CacheInvalidationProperties;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionDeletedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class UdpCacheInvalidationBusTest {
+
+    private static final String SECRET = "cluster-secret";
+
+    private final ConcurrentMapCacheManager receiverCaches = new ConcurrentMapCacheManager("transaction");
+
+    private final Cache receiverCache = receiverCaches.getCache("transaction");
+
+    private UdpCacheInvalidationBus receiver;
+
+    private UdpCacheInvalidationBus sender;
+
+    @AfterEach
+    void tearDown() {
+        if (sender != null) {
+            sender.stop();
+        }
+        if (receiver != null) {
+            receiver.stop();
+        }
+    }
+
+    @Test
+    void should_evict_on_peer_when_transaction_deleted() {
+        receiver = startBus("receiver", receiverCaches, List.of());
+        sender = startBus("sender", new ConcurrentMapCacheManager("transaction"), List.of("127.0.0.1:" + receiver.localPort()));
+        receiverCache.put("a", "cached");
+        receiverCache.put("b", "cached");
+
+        sender.on(TransactionDeletedEvent.of("a"));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> receiverCache.get("a") == null);
+        assertThat(receiverCache.get("b")).isNotNull();
+    }
+
+    @Test
+    void should_clear_cache_when_sequence_gap_detected() {
+        receiver = startBus("receiver", receiverCaches, List.of());
+        receiverCache.put("a", "cached");
+        receiverCache.put("b", "cached");
+
+        receiver.handle(new CacheInvalidationMessage("peer", 1, 1, false, List.of("a")));
+        assertThat(receiverCache.get("b")).isNotNull();
+        receiver.handle(new CacheInvalidationMessage("peer", 1, 3, false, List.of("c")));
+
+        assertThat(receiverCache.get("b")).isNull();
+    }
+
+    @Test
+    void should_clear_cache_when_heartbeat_reveals_lost_last_datagram() {
+        receiver = startBus("receiver", receiverCaches, List.of());
+        receiverCache.put("b", "cached");
+
+        receiver.handle(new CacheInvalidationMessage("peer", 1, 1, false, List.of("a")));
+        receiver.handle(CacheInvalidationMessage.heartbeat("peer", 1, 1));
+        assertThat(receiverCache.get("b")).isNotNull();
+        receiver.handle(CacheInvalidationMessage.heartbeat("peer", 1, 2));
+
+        assertThat(receiverCache.get("b")).isNull();
+    }
+
+    @Test
+    void should_send_heartbeat_with_last_sequence_when_quiet() throws Exception {
+        try (DatagramSocket peer = new DatagramSocket(new InetSocketAddress("127.0.0.1", 0))) {
+            peer.setSoTimeout(5000);
+            CacheInvalidationProperties properties = properties("sender", List.of("127.0.0.1:" + peer.getLocalPort()));
+            properties.setHeartbeatInterval(Duration.ofMillis(20));
+            sender = new UdpCacheInvalidationBus(properties, new ConcurrentMapCacheManager("transaction"), new SimpleMeterRegistry());
+            sender.start();
+
+            sender.publish("a");
+            CacheInvalidationMessage first;
+            do {
+                first = receive(peer);
+            } while (first.heartbeat());
+
+            assertThat(first.ids()).containsExactly("a");
+            assertThat(receive(peer)).matches(CacheInvalidationMessage::heartbeat)
+                    .extracting(CacheInvalidationMessage::sequence)
+                    .isEqualTo(first.sequence());
+        }
+    }
+
+    @Test
+    void should_ignore_replayed_and_older_incarnation_datagrams() {
+        receiver = startBus("receiver", receiverCaches, List.of());
+        receiver.handle(new CacheInvalidationMessage("peer", 2, 1, false, List.of("a")));
+        receiver.handle(new CacheInvalidationMessage("peer", 2, 2, false, List.of("a")));
+        receiverCache.put("b", "cached");
+
+        receiver.handle(CacheInvalidationMessage.clearAll("peer", 2, 1));
+        receiver.handle(CacheInvalidationMessage.clearAll("peer", 1, 9));
+
+        assertThat(receiverCache.get("b")).isNotNull();
+    }
+
+    @Test
+    void should_drop_datagrams_not_signed_with_cluster_secret() throws Exception {
+        receiver = startBus("receiver", receiverCaches, List.of());
+        receiverCache.put("b", "cached");
+        byte[] forged = CacheInvalidationMessage.clearAll("peer", 1, 1).encode(CacheInvalidationMessage.key("guessed"));
+        byte[] signed = new CacheInvalidationMessage("peer", 1, 2, false, List.of("c")).encode(CacheInvalidationMessage.key(SECRET));
+        receiverCache.put("c", "cached");
+
+        try (DatagramSocket socket = new DatagramSocket()) {
+            InetSocketAddress address = new InetSocketAddress("127.0.0.1", receiver.localPort());
+            socket.send(new DatagramPacket(forged, forged.length, address));
+            socket.send(new DatagramPacket(signed, signed.length, address));
+        }
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> receiverCache.get("c") == null);
+        assertThat(receiverCache.get("b")).isNotNull();
+    }
+
+    @Test
+    void should_refuse_to_start_without_secret() {
+        CacheInvalidationProperties properties = properties("receiver", List.of());
+        properties.setSecret(" ");
+
+        assertThatThrownBy(() -> new UdpCacheInvalidationBus(properties, receiverCaches, new SimpleMeterRegistry()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void should_ignore_own_messages() {
+        receiver = startBus("receiver", receiverCaches, List.of());
+        receiverCache.put("a", "cached");
+
+        receiver.handle(CacheInvalidationMessage.clearAll("receiver", 1, 1));
+
+        assertThat(receiverCache.get("a")).isNotNull();
+    }
+
+    @Test
+    void should_send_clear_all_when_pending_ids_overflow() {
+        receiver = startBus("receiver", receiverCaches, List.of());
+        CacheInvalidationProperties properties = properties("sender", List.of("127.0.0.1:" + receiver.localPort()));
+        properties.setMaxPending(2);
+        properties.setFlushInterval(Duration.ofHours(1));
+        sender = new UdpCacheInvalidationBus(properties, new ConcurrentMapCacheManager("transaction"), new SimpleMeterRegistry());
+        sender.start();
+        receiverCache.put("z", "cached");
+
+        sender.publish("a");
+        sender.publish("b");
+        sender.publish("c");
+        sender.flush();
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> receiverCache.get("z") == null);
+    }
+
+    private static CacheInvalidationMessage receive(DatagramSocket socket) throws Exception {
+        DatagramPacket packet = new DatagramPacket(new byte[2048], 2048);
+        socket.receive(packet);
+        return CacheInvalidationMessage.decode(packet.getData(), packet.getLength(), CacheInvalidationMessage.key(SECRET));
+    }
+
+    private static UdpCacheInvalidationBus startBus(String nodeId, ConcurrentMapCacheManager cacheManager, List<String> peers) {
+        UdpCacheInvalidationBus bus = new UdpCacheInvalidationBus(properties(nodeId, peers), cacheManager, new SimpleMeterRegistry());
+        bus.start();
+        return bus;
+    }
+
+    private static CacheInvalidationProperties properties(String nodeId, List<String> peers) {
+        CacheInvalidationProperties properties = new CacheInvalidationProperties();
+        properties.setNodeId(nodeId);
+        properties.setBindAddress("127.0.0.1");
+        properties.setPort(0);
+        properties.setPeers(peers);
+        properties.setFlushInterval(Duration.ofMillis(5));
+        properties.setSecret(SECRET);
+        return properties;
+    }
+}
@@ -0,0 +1,157 @@
+package org.chen.sid.transactionmanagement.adapter.out.cluster;
+
+import org.chen.sid.transactionmanagement.adapter.out.repo.MemoryTransactionRepository;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.CategorySummary;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.Page;
+import org.chen.sid.transactionmanagement.common.cluster.ClusterTopology;
+import org.chen.sid.transactionmanagement.common.exception.ClusterNodeUnavailableException;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.chen.sid.transactionmanagement.domain.model.entity.TransactionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.jsonPath;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class PartitionedTransactionRepositoryTest {
+
+    private static final String REMOTE = "http://node-b:8080/internal/v1/transactions";
+
+    private final ClusterTopology topology = new ClusterTopology("node-a",
+            Map.of("node-a", URI.create("http://node-a:8080"), "node-b", URI.create("http://node-b:8080")), 64);
+
+    private MemoryTransactionRepository localRepository;
+
+    private MockRestServiceServer server;
+
+    private PartitionedTransactionRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder();
+        server = MockRestServiceServer.bindTo(builder).ignoreExpectOrder(true).build();
+        localRepository = new MemoryTransactionRepository();
+        repository = new PartitionedTransactionRepository(localRepository, topology, new ClusterNodeClient(builder.build(), topology));
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.shutdown();
+    }
+
+    @Test
+    void should_store_locally_when_id_owned_by_this_node() {
+        Transaction transaction = transaction(idOwnedBy("node-a"));
+
+        repository.save(transaction);
+
+        assertThat(localRepository.findById(transaction.getId())).isPresent();
+        assertThat(repository.findById(transaction.getId())).isPresent();
+        server.verify();
+    }
+
+    @Test
+    void should_send_to_owner_when_id_owned_by_other_node() {
+        Transaction transaction = transaction(idOwnedBy("node-b"));
+        server.expect(requestTo(REMOTE + "/" + transaction.getId()))
+                .andExpect(method(HttpMethod.PUT))
+                .andExpect(jsonPath("$.name").value("Remote"))
+                .andRespond(withStatus(HttpStatus.NO_CONTENT));
+
+        repository.save(transaction);
+
+        assertThat(localRepository.existsById(transaction.getId())).isFalse();
+        server.verify();
+    }
+
+    @Test
+    void should_return_empty_when_owner_does_not_have_id() {
+        String id = idOwnedBy("node-b");
+        server.expect(requestTo(REMOTE + "/" + id)).andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        assertThat(repository.findById(id)).isEmpty();
+        server.verify();
+    }
+
+    @Test
+    void should_concatenate_node_pages_when_page_spans_nodes() {
+        IntStream.range(0, 3).forEach(i -> localRepository.save(transaction(idOwnedBy("node-a", i))));
+        server.expect(requestTo(REMOTE + "?page=1&size=1")).andRespond(withSuccess("""
+                {"total":2,"data":[{"id":"remote-1","name":"Remote","amount":1}]}""", MediaType.APPLICATION_JSON));
+        server.expect(requestTo(REMOTE + "?page=1&size=2")).andRespond(withSuccess("""
+                {"total":2,"data":[{"id":"remote-1","name":"Remote","amount":1},{"id":"remote-2","name":"Remote","amount":2}]}""",
+                MediaType.APPLICATION_JSON));
+
+        Page<Transaction> page = repository.findPage(2, 2);
+
+        assertThat(page.getTotal()).isEqualTo(5);
+        assertThat(page.getData()).hasSize(2);
+        assertThat(page.getData().get(0).getId()).isNotIn("remote-1", "remote-2");
+        assertThat(page.getData().get(1).getId()).isEqualTo("remote-1");
+        server.verify();
+    }
+
+    @Test
+    void should_merge_category_summaries_across_nodes() {
+        localRepository.save(transaction(idOwnedBy("node-a")));
+        server.expect(requestTo(REMOTE + "/summary")).andRespond(withSuccess("""
+                [{"category":"Food","count":2,"totalAmount":30},{"category":"Rent","count":1,"totalAmount":500}]""",
+                MediaType.APPLICATION_JSON));
+
+        assertThat(repository.summarizeByCategory()).containsExactly(new CategorySummary("Food", 3, new BigDecimal("40.00")),
+                new CategorySummary("Rent", 1, new BigDecimal("500")));
+        server.verify();
+    }
+
+    @Test
+    void should_throw_exception_when_owner_unavailable() {
+        String id = idOwnedBy("node-b");
+        server.expect(requestTo(REMOTE + "/" + id)).andRespond(withServerError());
+
+        assertThatThrownBy(() -> repository.findById(id)).isInstanceOf(ClusterNodeUnavailableException.class)
+                .hasMessageContaining("node-b");
+    }
+
+    private String idOwnedBy(String node) {
+        return idOwnedBy(node, 0);
+    }
+
+    private String idOwnedBy(String node, int skip) {
+        return IntStream.iterate(0, i -> i + 1)
+                .mapToObj(i -> "transaction-" + i)
+                .filter(id -> topology.ownerOf(id).equals(node))
+                .skip(skip)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static Transaction transaction(String id) {
+        return Transaction.builder()
+                .id(id)
+                .name("Remote")
+                .amount(new BigDecimal("10.00"))
+                .category("Food")
+                .type(TransactionType.DEPOSIT)
+                .createTime(LocalDateTime.now())
+                .updateTime(LocalDateTime.now())
+                .build();
+    }
+}
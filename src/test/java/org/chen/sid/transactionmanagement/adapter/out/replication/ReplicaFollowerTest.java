@@ -0,0 +1,196 @@
+package org.chen.sid.transactionmanagement.adapter.out.replication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.chen.sid.transactionmanagement.adapter.out.repo.MemoryTransactionRepository;
+import org.chen.sid.transactionmanagement.config.properties.ReplicationProperties;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.chen.sid.transactionmanagement.domain.model.entity.TransactionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class ReplicaFollowerTest {
+
+    private static final String SECRET = "test-replication-secret";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final MemoryTransactionRepository primaryRepository = new MemoryTransactionRepository();
+
+    private final MemoryTransactionRepository replicaRepository = new MemoryTransactionRepository();
+
+    private final ConcurrentMapCache replicaCache = new ConcurrentMapCache("transaction");
+
+    private ReplicationServer server;
+
+    private ReplicaFollower follower;
+
+    @AfterEach
+    void tearDown() {
+        if (follower != null) {
+            follower.stop();
+        }
+        server.stop();
+    }
+
+    @Test
+    void should_apply_streamed_writes_in_order_when_following_primary() {
+        ReplicationLog log = startPrimary(16);
+        ReplicatedTransactionRepository primary = primaryOf(log);
+        follower = startReplica();
+
+        primary.save(transaction("a", "first"));
+        primary.save(transaction("a", "second"));
+        primary.save(transaction("b", "other"));
+        primary.deleteById("b");
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> follower.appliedLsn() == 4);
+        assertThat(replicaRepository.findById("a")).get().extracting(Transaction::getName).isEqualTo("second");
+        assertThat(replicaRepository.existsById("b")).isFalse();
+        await().atMost(Duration.ofSeconds(5)).until(() -> follower.stalenessNanos() < Duration.ofSeconds(1).toNanos());
+    }
+
+    @Test
+    void should_send_snapshot_when_replica_behind_retained_log() {
+        ReplicationLog log = startPrimary(2);
+        ReplicatedTransactionRepository primary = primaryOf(log);
+        for (int i = 0; i < 5; i++) {
+            primary.save(transaction("id-" + i, "name-" + i));
+        }
+        replicaRepository.save(transaction("stale", "not on primary"));
+        replicaCache.put("stale", "cached");
+
+        follower = startReplica();
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> follower.appliedLsn() == 5);
+        assertThat(replicaRepository.findPage(1, 10).getTotal()).isEqualTo(5);
+        assertThat(replicaRepository.existsById("stale")).isFalse();
+        assertThat(replicaCache.get("stale")).isNull();
+    }
+
+    @Test
+    void should_report_unbounded_staleness_while_loading_snapshot() {
+        ReplicationProperties properties = new ReplicationProperties();
+        properties.setSecret(SECRET);
+        follower = new ReplicaFollower(properties, replicaRepository, objectMapper, replicaCache);
+        startPrimary(16);
+
+        assertThat(follower.stalenessNanos()).isEqualTo(Long.MAX_VALUE);
+        follower.apply(new ReplicationEntry(ReplicationEntry.Type.HEARTBEAT, 0, 0, null, null));
+        assertThat(follower.stalenessNanos()).isLessThan(Long.MAX_VALUE);
+
+        follower.apply(new ReplicationEntry(ReplicationEntry.Type.SNAPSHOT, 0, 7, null, null));
+        assertThat(follower.stalenessNanos()).isEqualTo(Long.MAX_VALUE);
+        follower.apply(new ReplicationEntry(ReplicationEntry.Type.SNAPSHOT_END, 7, 7, null, null));
+        assertThat(follower.stalenessNanos()).isLessThan(Long.MAX_VALUE);
+    }
+
+    @Test
+    void should_evict_cached_transaction_when_update_applied() {
+        ReplicationLog log = startPrimary(16);
+        ReplicatedTransactionRepository primary = primaryOf(log);
+        follower = startReplica();
+        replicaCache.put("a", "cached");
+
+        primary.save(transaction("a", "updated"));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> follower.appliedLsn() == 1);
+        assertThat(replicaCache.get("a")).isNull();
+    }
+
+    @Test
+    void should_refuse_replica_when_secret_differs() throws Exception {
+        ReplicationLog log = startPrimary(16);
+        primaryOf(log).save(transaction("a", "secret data"));
+
+        follower = startReplica("wrong-secret");
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> server.connectedReplicas() == 0 && !follower.isConnected());
+        Thread.sleep(200);
+        assertThat(replicaRepository.existsById("a")).isFalse();
+        assertThat(follower.appliedLsn()).isZero();
+    }
+
+    @Test
+    void should_send_snapshot_when_primary_restarted_with_new_log() {
+        ReplicationLog log = startPrimary(16);
+        ReplicatedTransactionRepository primary = primaryOf(log);
+        follower = startReplica();
+        primary.save(transaction("old", "only on the previous primary"));
+        await().atMost(Duration.ofSeconds(5)).until(() -> follower.appliedLsn() == 1);
+        follower.stop();
+        server.stop();
+
+        // A restarted primary: empty store, new log, and LSNs past the replica's again.
+        primaryRepository.deleteById("old");
+        ReplicationLog restarted = startPrimary(16);
+        ReplicatedTransactionRepository restartedPrimary = primaryOf(restarted);
+        restartedPrimary.save(transaction("new-1", "first"));
+        restartedPrimary.save(transaction("new-2", "second"));
+        follower = startReplica();
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> follower.appliedLsn() == 2 && replicaRepository.existsById("new-2"));
+        assertThat(replicaRepository.existsById("old")).isFalse();
+        assertThat(replicaRepository.existsById("new-1")).isTrue();
+    }
+
+    private ReplicationLog startPrimary(int retention) {
+        ReplicationProperties properties = new ReplicationProperties();
+        properties.setPort(0);
+        properties.setSecret(SECRET);
+        properties.setHeartbeatInterval(Duration.ofMillis(50));
+        ReplicationLog log = new ReplicationLog(retention, 0);
+        server = new ReplicationServer(properties, log, primaryRepository, objectMapper);
+        server.start();
+        return log;
+    }
+
+    private ReplicatedTransactionRepository primaryOf(ReplicationLog log) {
+        ReplicationNode node = new ReplicationNode(new ReplicationProperties(), primaryRepository, objectMapper, null) {
+            @Override
+            public ReplicationLog primaryLog() {
+                return log;
+            }
+        };
+        return new ReplicatedTransactionRepository(primaryRepository, node);
+    }
+
+    private ReplicaFollower startReplica() {
+        return startReplica(SECRET);
+    }
+
+    private ReplicaFollower startReplica(String secret) {
+        ReplicationProperties properties = new ReplicationProperties();
+        properties.setSecret(secret);
+        properties.setRole(ReplicationProperties.Role.REPLICA);
+        properties.setPrimaryHost("127.0.0.1");
+        properties.setPrimaryPort(server.localPort());
+        properties.setHeartbeatInterval(Duration.ofMillis(50));
+        properties.setReconnectBackoff(Duration.ofMillis(50));
+        ReplicaFollower replica = new ReplicaFollower(properties, replicaRepository, objectMapper, replicaCache);
+        replica.start();
+        return replica;
+    }
+
+    private static Transaction transaction(String id, String name) {
+        return Transaction.builder()
+                .id(id)
+                .name(name)
+                .amount(new BigDecimal("10.00"))
+                .category("Food")
+                .type(TransactionType.DEPOSIT)
+                .createTime(LocalDateTime.now())
+                .updateTime(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package org.chen.sid.transactionmanagement.adapter.out.replication;
+
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicationLogTest {
+
+    @Test
+    void should_number_entries_without_gaps() {
+        ReplicationLog log = new ReplicationLog(8, 0);
+
+        assertThat(log.appendUpsert(Transaction.builder().id("a").build())).isEqualTo(1);
+        assertThat(log.appendDelete("a")).isEqualTo(2);
+
+        List<ReplicationEntry> entries = log.readAfter(0, 10);
+        assertThat(entries).extracting(ReplicationEntry::lsn).containsExactly(1L, 2L);
+        assertThat(entries).extracting(ReplicationEntry::type).containsExactly(ReplicationEntry.Type.UPSERT, ReplicationEntry.Type.DELETE);
+    }
+
+    @Test
+    void should_read_in_batches_after_given_lsn() {
+        ReplicationLog log = new ReplicationLog(8, 0);
+        for (int i = 0; i < 5; i++) {
+            log.appendDelete("id-" + i);
+        }
+
+        assertThat(log.readAfter(1, 2)).extracting(ReplicationEntry::lsn).containsExactly(2L, 3L);
+        assertThat(log.readAfter(5, 2)).isEmpty();
+    }
+
+    @Test
+    void should_return_null_when_entries_no_longer_retained() {
+        ReplicationLog log = new ReplicationLog(4, 0);
+        for (int i = 0; i < 6; i++) {
+            log.appendDelete("id-" + i);
+        }
+
+        assertThat(log.readAfter(1, 10)).isNull();
+        assertThat(log.readAfter(2, 10)).extracting(ReplicationEntry::lsn).containsExactly(3L, 4L, 5L, 6L);
+    }
+
+    @Test
+    void should_return_null_when_lsn_ahead_of_log() {
+        ReplicationLog log = new ReplicationLog(4, 0);
+        log.appendDelete("a");
+
+        assertThat(log.readAfter(7, 10)).isNull();
+    }
+
+    @Test
+    void should_continue_numbering_when_reset_to_promoted_lsn() {
+        ReplicationLog log = new ReplicationLog(4, 0);
+
+        log.resetTo(41);
+
+        assertThat(log.readAfter(41, 10)).isEmpty();
+        assertThat(log.appendDelete("a")).isEqualTo(42);
+        assertThat(log.readAfter(40, 10)).isNull();
+    }
+}
@@ -0,0 +1,123 @@
+package org.chen.sid.transactionmanagement.adapter.out.repo;
+
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.Page;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.chen.sid.transactionmanagement.domain.model.entity.TransactionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JdbcTransactionRepositoryTest {
+
+    private EmbeddedDatabase database;
+
+    private JdbcTransactionRepository repository;
+
+    private Transaction sampleTransaction;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().generateUniqueName(true)
+                .setType(EmbeddedDatabaseType.H2)
+                .addScript("db/schema.sql")
+                .build();
+        repository = new JdbcTransactionRepository(new JdbcTemplate(database));
+        sampleTransaction = Transaction.builder()
+                .id("test-id-123")
+                .name("Test Transaction")
+                .amount(new BigDecimal("100.00")).category("Food").type(TransactionType.DEPOSIT)
+                .createTime(LocalDateTime.now())
+                .updateTime(LocalDateTime.now())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void should_save_and_find_transaction_when_valid_transaction_given() {
+        repository.save(sampleTransaction);
+
+        Optional<Transaction> result = repository.findById("test-id-123");
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getName()).isEqualTo("Test Transaction");
+        assertThat(result.get().getAmount()).isEqualByComparingTo("100.00");
+        assertThat(result.get().getType()).isEqualTo(TransactionType.DEPOSIT);
+    }
+
+    @Test
+    void should_overwrite_existing_row_when_saving_same_id() {
+        repository.save(sampleTransaction);
+        sampleTransaction.setName("Updated Transaction");
+
+        repository.save(sampleTransaction);
+
+        assertThat(repository.findById("test-id-123")).get().extracting(Transaction::getName).isEqualTo("Updated Transaction");
+        assertThat(repository.findPage(1, 10).getTotal()).isEqualTo(1);
+    }
+
+    @Test
+    void should_throw_exception_when_null_id_given() {
+        sampleTransaction.setId(null);
+
+        assertThatThrownBy(() -> repository.save(sampleTransaction)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Transaction ID cannot be null");
+    }
+
+    @Test
+    void should_return_pages_in_create_time_order_when_batch_saved() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Transaction> transactions = IntStream.range(0, 25)
+                .mapToObj(i -> Transaction.builder()
+                        .id(String.format("id-%02d", i))
+                        .name("Transaction " + i)
+                        .amount(BigDecimal.ONE)
+                        .createTime(base.plusMinutes(i))
+                        .updateTime(base.plusMinutes(i))
+                        .build())
+                .toList();
+        repository.saveAll(transactions);
+
+        Page<Transaction> first = repository.findPage(1, 10);
+        Page<Transaction> third = repository.findPage(3, 10);
+        Page<Transaction> beyond = repository.findPage(4, 10);
+
+        assertThat(first.getTotal()).isEqualTo(25);
+        assertThat(first.getData()).extracting(Transaction::getId).startsWith("id-00", "id-01").hasSize(10);
+        assertThat(third.getData()).extracting(Transaction::getId).containsExactly("id-20", "id-21", "id-22", "id-23", "id-24");
+        assertThat(beyond.getData()).isEmpty();
+    }
+
+    @Test
+    void should_delete_transaction_when_valid_id_given() {
+        repository.save(sampleTransaction);
+
+        assertThat(repository.deleteById("test-id-123")).isTrue();
+        assertThat(repository.existsById("test-id-123")).isFalse();
+        assertThat(repository.deleteById("test-id-123")).isFalse();
+    }
+
+    @Test
+    void should_return_only_existing_ids_when_deleting_in_batch() {
+        repository.save(sampleTransaction);
+
+        assertThat(repository.deleteAllById(List.of("missing-id", "test-id-123"))).containsExactly("test-id-123");
+        assertThat(repository.existsById("test-id-123")).isFalse();
+    }
+}
@@ -0,0 +1,132 @@
+package org.chen.sid.transactionmanagement.adapter.out.repo;
+
+import org.chen.sid.transactionmanagement.config.properties.EventSourcingProperties;
+import org.chen.sid.transactionmanagement.domain.model.command.UpsertTransactionCommand;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionCreatedEvent;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionDeletedEvent;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionUpdatedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemoryTransactionEventStoreTest {
+
+    private static final LocalDateTime CREATE_TIME = LocalDateTime.of(2024, 1, 15, 10, 0);
+
+    private MemoryTransactionEventStore eventStore;
+
+    @BeforeEach
+    void setUp() {
+        EventSourcingProperties properties = new EventSourcingProperties();
+        properties.setSnapshotInterval(4);
+        eventStore = new MemoryTransactionEventStore(properties);
+        appendHistory(eventStore);
+    }
+
+    private static void appendHistory(MemoryTransactionEventStore store) {
+        store.append(new TransactionCreatedEvent(Transaction.builder()
+                .id("test-id-123")
+                .name("Version 0")
+                .amount(new BigDecimal("100.00"))
+                .category("Food")
+                .createTime(CREATE_TIME)
+                .updateTime(CREATE_TIME)
+                .build(), CREATE_TIME));
+        for (int i = 1; i <= 10; i++) {
+            store.append(update(i));
+        }
+    }
+
+    private static TransactionUpdatedEvent update(int version) {
+        UpsertTransactionCommand changes = UpsertTransactionCommand.builder().name("Version " + version).build();
+        return new TransactionUpdatedEvent(Transaction.builder().id("test-id-123").build(), changes, CREATE_TIME.plusMinutes(version));
+    }
+
+    @Test
+    void should_return_every_event_in_order_when_history_requested() {
+        assertThat(eventStore.findEvents("test-id-123")).hasSize(11).first().isInstanceOf(TransactionCreatedEvent.class);
+        assertThat(eventStore.findEvents("unknown")).isEmpty();
+    }
+
+    @Test
+    void should_fold_state_at_given_time_when_as_of_between_snapshots() {
+        assertThat(eventStore.findStateAsOf("test-id-123", CREATE_TIME.plusMinutes(6).plusSeconds(30))).get().satisfies(state -> {
+            assertThat(state.getName()).isEqualTo("Version 6");
+            assertThat(state.getCategory()).isEqualTo("Food");
+            assertThat(state.getUpdateTime()).isEqualTo(CREATE_TIME.plusMinutes(6));
+        });
+        assertThat(eventStore.findStateAsOf("test-id-123", CREATE_TIME.plusMinutes(2))).get()
+                .extracting(Transaction::getName)
+                .isEqualTo("Version 2");
+    }
+
+    @Test
+    void should_return_current_state_when_as_of_after_last_event() {
+        assertThat(eventStore.findStateAsOf("test-id-123", CREATE_TIME.plusDays(1))).get().extracting(Transaction::getName).isEqualTo("Version 10");
+    }
+
+    @Test
+    void should_return_empty_when_as_of_before_creation_or_after_deletion() {
+        eventStore.append(new TransactionDeletedEvent("test-id-123", CREATE_TIME.plusHours(1)));
+
+        assertThat(eventStore.findStateAsOf("test-id-123", CREATE_TIME.minusSeconds(1))).isEmpty();
+        assertThat(eventStore.findStateAsOf("test-id-123", CREATE_TIME.plusHours(2))).isEmpty();
+        assertThat(eventStore.findStateAsOf("test-id-123", CREATE_TIME.plusMinutes(30))).get()
+                .extracting(Transaction::getName)
+                .isEqualTo("Version 10");
+    }
+
+    @Test
+    void should_keep_occurrence_order_when_event_appended_late() {
+        eventStore.append(update(12));
+        eventStore.append(update(11));
+
+        assertThat(eventStore.findEvents("test-id-123")).extracting(event -> event.occurredAt())
+                .isSorted()
+                .hasSize(13);
+        assertThat(eventStore.findStateAsOf("test-id-123", CREATE_TIME.plusDays(1))).get().extracting(Transaction::getName).isEqualTo("Version 12");
+        assertThat(eventStore.findStateAsOf("test-id-123", CREATE_TIME.plusMinutes(11))).get()
+                .extracting(Transaction::getName)
+                .isEqualTo("Version 11");
+    }
+
+    @Test
+    void should_fold_oldest_events_into_base_when_stream_exceeds_limit() {
+        EventSourcingProperties properties = new EventSourcingProperties();
+        properties.setSnapshotInterval(2);
+        properties.setMaxEventsPerTransaction(4);
+        MemoryTransactionEventStore compactingStore = new MemoryTransactionEventStore(properties);
+        appendHistory(compactingStore);
+
+        assertThat(compactingStore.findEvents("test-id-123")).hasSizeLessThanOrEqualTo(4);
+        assertThat(compactingStore.findStateAsOf("test-id-123", CREATE_TIME.minusSeconds(1))).isEmpty();
+        assertThat(compactingStore.findStateAsOf("test-id-123", CREATE_TIME.plusMinutes(8))).get()
+                .satisfies(state -> {
+                    assertThat(state.getName()).isEqualTo("Version 8");
+                    assertThat(state.getCategory()).isEqualTo("Food");
+                });
+        assertThat(compactingStore.findStateAsOf("test-id-123", CREATE_TIME.plusDays(1))).get()
+                .extracting(Transaction::getName)
+                .isEqualTo("Version 10");
+    }
+
+    @Test
+    void should_drop_stream_when_deleted_longer_than_retention() {
+        EventSourcingProperties properties = new EventSourcingProperties();
+        properties.setDeletedRetention(Duration.ZERO);
+        MemoryTransactionEventStore expiringStore = new MemoryTransactionEventStore(properties);
+        appendHistory(expiringStore);
+        eventStore.append(new TransactionDeletedEvent("test-id-123", CREATE_TIME.plusHours(1)));
+
+        expiringStore.append(new TransactionDeletedEvent("test-id-123", CREATE_TIME.plusHours(1)));
+
+        assertThat(expiringStore.streamCount()).isZero();
+        assertThat(eventStore.streamCount()).isEqualTo(1);
+    }
+}
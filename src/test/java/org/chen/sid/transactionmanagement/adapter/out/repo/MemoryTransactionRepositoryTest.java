@@ -1,16 +1,27 @@
 package org.chen.sid.transactionmanagement.adapter.out.repo;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.chen.sid.transactionmanagement.application.usecase.query.dto.Page;
+import org.chen.sid.transactionmanagement.common.jfr.PageScanEvent;
+import org.chen.sid.transactionmanagement.common.jfr.RepositoryOperationEvent;
 import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 
 class MemoryTransactionRepositoryTest {
 
@@ -133,6 +144,45 @@ class MemoryTransactionRepositoryTest {
         assertThat(result).isFalse();
     }
 
+    @Test
+    void should_return_only_existing_ids_when_deleting_several() {
+        Transaction other = sampleTransaction.toBuilder().id("test-id-456").build();
+        repository.saveAll(List.of(sampleTransaction, other));
+
+        List<String> deleted = repository.deleteAllById(List.of("test-id-123", "non-existent-id", "test-id-456"));
+
+        assertThat(deleted).containsExactly("test-id-123", "test-id-456");
+        assertThat(repository.existsById("test-id-123")).isFalse();
+        assertThat(repository.existsById("test-id-456")).isFalse();
+    }
+
+    @Test
+    void should_save_only_unchanged_transactions_when_saving_conditionally() {
+        LocalDateTime readVersion = sampleTransaction.getUpdateTime();
+        repository.save(sampleTransaction);
+        Transaction stale = sampleTransaction.toBuilder().name("Stale").build();
+        repository.save(sampleTransaction.toBuilder().name("Concurrent").updateTime(readVersion.plusSeconds(1)).build());
+
+        assertThat(repository.saveAllIfUnchanged(List.of(stale), Map.of("test-id-123", readVersion))).isEmpty();
+        assertThat(repository.findById("test-id-123")).get().extracting(Transaction::getName).isEqualTo("Concurrent");
+        assertThat(repository.saveIfUnchanged(stale, readVersion.plusSeconds(1))).isTrue();
+        assertThat(repository.findById("test-id-123")).get().extracting(Transaction::getName).isEqualTo("Stale");
+        assertThat(repository.saveIfUnchanged(sampleTransaction.toBuilder().id("absent").build(), readVersion)).isFalse();
+        assertThat(repository.existsById("absent")).isFalse();
+    }
+
+    @Test
+    void should_evict_transaction_only_when_not_updated_since_given_time() {
+        LocalDateTime archivedVersion = sampleTransaction.getUpdateTime();
+        repository.save(sampleTransaction);
+        sampleTransaction.setUpdateTime(archivedVersion.plusSeconds(1));
+
+        assertThat(repository.evict(sampleTransaction, archivedVersion)).isFalse();
+        assertThat(repository.existsById("test-id-123")).isTrue();
+        assertThat(repository.evict(sampleTransaction, sampleTransaction.getUpdateTime())).isTrue();
+        assertThat(repository.existsById("test-id-123")).isFalse();
+    }
+
     @Test
     void should_return_true_when_transaction_exists() {
         repository.save(sampleTransaction);
@@ -177,4 +227,43 @@ class MemoryTransactionRepositoryTest {
             assertThat(repository.existsById("test-id-" + i)).isTrue();
         }
     }
+
+    @Test
+    void should_record_lock_wait_and_store_size_when_meter_registry_given() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MemoryTransactionRepository meteredRepository = new MemoryTransactionRepository(meterRegistry);
+
+        meteredRepository.save(sampleTransaction);
+        meteredRepository.findById(sampleTransaction.getId());
+        meteredRepository.existsById(sampleTransaction.getId());
+
+        assertThat(meterRegistry.get("transaction.repository.lock.wait").tag("mode", "write").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("transaction.repository.lock.wait").tag("mode", "read").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("transaction.store.size").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void should_emit_jfr_events_when_recording(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("repository.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(RepositoryOperationEvent.class);
+            recording.enable(PageScanEvent.class);
+            recording.start();
+            repository.save(sampleTransaction);
+            repository.findPage(1, 10);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertThat(events).filteredOn(event -> event.getEventType().getName().endsWith("RepositoryOperation"))
+                .extracting(event -> event.getString("operation"), event -> event.getString("lockMode"))
+                .containsExactly(tuple("save", "write"), tuple("findPage", "read"));
+        assertThat(events).filteredOn(event -> event.getEventType().getName().endsWith("PageScan"))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getLong("rowsScanned")).isEqualTo(1);
+                    assertThat(event.getLong("rowsReturned")).isEqualTo(1);
+                });
+    }
 }
@@ -0,0 +1,199 @@
+package org.chen.sid.transactionmanagement.adapter.out.repo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.CategorySummary;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.Page;
+import org.chen.sid.transactionmanagement.common.jfr.RepositoryOperationEvent;
+import org.chen.sid.transactionmanagement.config.properties.ShardingProperties;
+import org.chen.sid.transactionmanagement.domain.model.command.UpsertTransactionCommand;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.chen.sid.transactionmanagement.domain.model.entity.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ShardedTransactionRepositoryTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private final ShardedTransactionRepository repository = new ShardedTransactionRepository(8);
+
+    @Test
+    void should_round_shard_count_up_to_power_of_two() {
+        assertThat(new ShardedTransactionRepository(5).shardCount()).isEqualTo(8);
+        assertThat(new ShardedTransactionRepository(1).shardCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_find_update_and_delete_transaction_by_id() {
+        repository.save(transaction("a", 1, "Food", "10"));
+        repository.save(transaction("a", 1, "Rent", "20"));
+
+        assertThat(repository.findById("a")).get().extracting(Transaction::getCategory).isEqualTo("Rent");
+        assertThat(repository.size()).isEqualTo(1);
+        assertThat(repository.deleteById("a")).isTrue();
+        assertThat(repository.deleteById("a")).isFalse();
+        assertThat(repository.existsById("a")).isFalse();
+    }
+
+    @Test
+    void should_throw_exception_when_null_id_given() {
+        Transaction transaction = transaction("a", 1, "Food", "10");
+        transaction.setId(null);
+
+        assertThatThrownBy(() -> repository.save(transaction)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Transaction ID cannot be null");
+    }
+
+    @Test
+    void should_save_only_unchanged_transactions_when_saving_conditionally() {
+        repository.save(transaction("a", 1, "Food", "10"));
+        repository.save(transaction("b", 2, "Food", "5"));
+        repository.save(transaction("b", 3, "Rent", "5"));
+
+        List<Transaction> saved = repository.saveAllIfUnchanged(List.of(transaction("a", 4, "Groceries", "10"),
+                transaction("b", 4, "Groceries", "5"), transaction("c", 4, "Groceries", "1")), Map.of("a", BASE_TIME.plusMinutes(1),
+                "b", BASE_TIME.plusMinutes(2), "c", BASE_TIME.plusMinutes(4)));
+
+        assertThat(saved).extracting(Transaction::getId).containsExactly("a");
+        assertThat(repository.findById("b")).get().extracting(Transaction::getCategory).isEqualTo("Rent");
+        assertThat(repository.existsById("c")).isFalse();
+        assertThat(repository.summarizeByCategory()).containsExactlyInAnyOrder(new CategorySummary("Groceries", 1, new BigDecimal("10")),
+                new CategorySummary("Rent", 1, new BigDecimal("5")));
+    }
+
+    @Test
+    void should_record_shard_lock_wait_and_jfr_events_when_writing(@TempDir Path directory) throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ShardingProperties properties = new ShardingProperties();
+        properties.setShards(2);
+        ShardedTransactionRepository meteredRepository = new ShardedTransactionRepository(properties, meterRegistry);
+        Path file = directory.resolve("sharded.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(RepositoryOperationEvent.class);
+            recording.start();
+            meteredRepository.save(transaction("a", 1, "Food", "10"));
+            meteredRepository.deleteById("a");
+            meteredRepository.findById("a");
+            recording.stop();
+            recording.dump(file);
+        }
+
+        assertThat(meterRegistry.get("transaction.repository.lock.wait").tag("mode", "write").timer().count()).isEqualTo(2);
+        assertThat(RecordingFile.readAllEvents(file))
+                .filteredOn(event -> event.getEventType().getName().endsWith("RepositoryOperation"))
+                .extracting(event -> event.getString("repository"), event -> event.getString("operation"),
+                        event -> event.getString("lockMode"))
+                .containsExactly(tuple("sharded", "save", "write"), tuple("sharded", "deleteById", "write"));
+        meteredRepository.summarizeByCategory();
+        assertThat(meterRegistry.get("transaction.repository.lock.wait").tag("mode", "read").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void should_merge_shards_in_create_time_order_when_paging() {
+        for (int i = 0; i < 50; i++) {
+            repository.save(transaction("id-" + (49 - i), 49 - i, "Food", "1"));
+        }
+
+        Page<Transaction> page = repository.findPage(3, 7);
+
+        assertThat(page.getTotal()).isEqualTo(50);
+        assertThat(page.getData()).extracting(Transaction::getId)
+                .containsExactly("id-14", "id-15", "id-16", "id-17", "id-18", "id-19", "id-20");
+        assertThat(repository.findPage(8, 7).getData()).extracting(Transaction::getId).containsExactly("id-49");
+        assertThat(repository.findPage(9, 7).getData()).isEmpty();
+    }
+
+    @Test
+    void should_keep_category_counters_when_transactions_change() {
+        repository.save(transaction("a", 1, "Food", "10"));
+        repository.save(transaction("b", 2, "Food", "5"));
+        repository.save(transaction("c", 3, null, "1"));
+        repository.save(transaction("b", 2, "Rent", "7"));
+        repository.deleteById("a");
+
+        assertThat(repository.summarizeByCategory()).containsExactlyInAnyOrder(new CategorySummary("Rent", 1, new BigDecimal("7")),
+                new CategorySummary(null, 1, new BigDecimal("1")));
+    }
+
+    @Test
+    void should_move_category_counters_when_found_transaction_is_updated_and_saved() {
+        repository.save(transaction("a", 1, "Food", "10"));
+        repository.save(transaction("b", 2, "Food", "5"));
+
+        Transaction found = repository.findById("a").orElseThrow();
+        found.update(UpsertTransactionCommand.of(null, new BigDecimal("3"), "Rent", null));
+        repository.save(found);
+
+        assertThat(repository.summarizeByCategory()).containsExactlyInAnyOrder(new CategorySummary("Food", 1, new BigDecimal("5")),
+                new CategorySummary("Rent", 1, new BigDecimal("3")));
+        assertThat(repository.deleteById("a")).isTrue();
+        assertThat(repository.summarizeByCategory()).containsExactly(new CategorySummary("Food", 1, new BigDecimal("5")));
+    }
+
+    @Test
+    void should_stay_consistent_when_written_concurrently() throws InterruptedException {
+        int threads = 8;
+        int perThread = 2_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Runnable> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            writers.add(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    String id = thread + "-" + i;
+                    repository.save(transaction(id, i, "Food", "1"));
+                    if (i % 2 == 0) {
+                        repository.deleteById(id);
+                    }
+                }
+            });
+        }
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            writers.forEach(writer -> executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                writer.run();
+            }));
+            start.countDown();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        }
+
+        long expected = (long) threads * perThread / 2;
+        assertThat(repository.size()).isEqualTo(expected);
+        assertThat(repository.findPage(1, Integer.MAX_VALUE).getData()).hasSize((int) expected);
+        assertThat(repository.summarizeByCategory()).containsExactly(new CategorySummary("Food", expected, BigDecimal.valueOf(expected)));
+    }
+
+    private static Transaction transaction(String id, int minute, String category, String amount) {
+        return Transaction.builder()
+                .id(id)
+                .name("Transaction " + id)
+                .amount(new BigDecimal(amount))
+                .category(category)
+                .type(TransactionType.DEPOSIT)
+                .createTime(BASE_TIME.plusMinutes(minute))
+                .updateTime(BASE_TIME.plusMinutes(minute))
+                .build();
+    }
+}
@@ -0,0 +1,174 @@
+package org.chen.sid.transactionmanagement.adapter.out.repo.archive;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.chen.sid.transactionmanagement.adapter.out.repo.MemoryTransactionRepository;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.Page;
+import org.chen.sid.transactionmanagement.config.properties.RetentionProperties;
+import org.chen.sid.transactionmanagement.domain.model.command.UpsertTransactionCommand;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.chen.sid.transactionmanagement.domain.model.entity.TransactionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArchivingTransactionRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final MemoryTransactionRepository memoryRepository = new MemoryTransactionRepository();
+
+    private RetentionProperties properties;
+
+    private ArchivingTransactionRepository repository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new RetentionProperties();
+        properties.setDirectory(directory);
+        properties.setMaxAge(Duration.ofDays(30));
+        properties.setBatchPause(Duration.ZERO);
+        properties.setBlockSize(16);
+        Files.writeString(directory.resolve("segment-000001.archive"), "left over by a previous run");
+        repository = new ArchivingTransactionRepository(memoryRepository, properties, meterRegistry);
+        repository.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.stop();
+    }
+
+    @Test
+    void should_move_old_transactions_to_archive_and_still_find_them() throws Exception {
+        Transaction old = transaction(LocalDateTime.now().minusDays(40));
+        old.setCategory("Food");
+        old.setType(TransactionType.WITHDRAW);
+        Transaction recent = transaction(LocalDateTime.now().minusDays(1));
+        repository.save(old);
+        repository.save(recent);
+
+        assertThat(repository.sweep()).isEqualTo(1);
+
+        assertThat(memoryRepository.existsById(old.getId())).isFalse();
+        assertThat(repository.findPage(1, 10).getData()).extracting(Transaction::getId).containsExactly(recent.getId(), old.getId());
+        assertThat(repository.findById(old.getId())).contains(old);
+        assertThat(repository.existsById(old.getId())).isTrue();
+        assertThat(repository.findById(UUID.randomUUID().toString())).isEmpty();
+        assertThat(meterRegistry.get("transaction.retention.archived").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("transaction.archive.records").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void should_find_every_transaction_when_archived_across_segments_and_blocks() throws Exception {
+        properties.setMaxPerSweep(600);
+        List<Transaction> old = IntStream.range(0, 1000).mapToObj(i -> transaction(LocalDateTime.now().minusDays(31 + i % 5))).toList();
+        old.forEach(repository::save);
+
+        assertThat(repository.sweep()).isEqualTo(600);
+        assertThat(repository.sweep()).isEqualTo(400);
+        assertThat(repository.sweep()).isZero();
+
+        assertThat(memoryRepository.findPage(1, 10).getTotal()).isZero();
+        assertThat(old).allSatisfy(transaction -> assertThat(repository.findById(transaction.getId())).contains(transaction));
+        assertThat(directory.resolve("segment-000001.archive")).isNotEmptyFile().content().doesNotContain("left over");
+    }
+
+    @Test
+    void should_hide_archived_transaction_when_deleted() throws Exception {
+        Transaction old = transaction(LocalDateTime.now().minusDays(40));
+        repository.save(old);
+        repository.sweep();
+
+        assertThat(repository.deleteById(old.getId())).isTrue();
+
+        assertThat(repository.findById(old.getId())).isEmpty();
+        assertThat(repository.existsById(old.getId())).isFalse();
+        assertThat(repository.deleteById(old.getId())).isFalse();
+    }
+
+    @Test
+    void should_serve_latest_version_when_archived_transaction_updated() throws Exception {
+        Transaction old = transaction(LocalDateTime.now().minusDays(40));
+        repository.save(old);
+        repository.sweep();
+
+        Transaction archived = repository.findById(old.getId()).orElseThrow();
+        archived.update(UpsertTransactionCommand.of("Renamed", new BigDecimal("7.00")));
+        repository.save(archived);
+        assertThat(memoryRepository.findById(old.getId())).contains(archived);
+
+        repository.sweep();
+        assertThat(memoryRepository.existsById(old.getId())).isFalse();
+        assertThat(repository.findById(old.getId())).get().extracting(Transaction::getName).isEqualTo("Renamed");
+    }
+
+    @Test
+    void should_page_through_memory_then_archive_when_transactions_archived() throws Exception {
+        List<Transaction> old = IntStream.range(0, 40).mapToObj(i -> transaction(LocalDateTime.now().minusDays(40))).toList();
+        old.forEach(repository::save);
+        repository.sweep();
+        List<Transaction> recent = IntStream.range(0, 5).mapToObj(i -> transaction(LocalDateTime.now())).toList();
+        recent.forEach(repository::save);
+        repository.deleteById(old.get(0).getId());
+
+        List<String> ids = new ArrayList<>();
+        for (int page = 1; page <= 5; page++) {
+            Page<Transaction> result = repository.findPage(page, 10);
+            assertThat(result.getTotal()).isEqualTo(44);
+            result.getData().forEach(transaction -> ids.add(transaction.getId()));
+        }
+
+        assertThat(ids).hasSize(44).doesNotHaveDuplicates().doesNotContain(old.get(0).getId());
+        assertThat(ids.subList(0, 5)).containsExactlyInAnyOrderElementsOf(recent.stream().map(Transaction::getId).toList());
+    }
+
+    @Test
+    void should_include_archived_transactions_in_summary_once_when_archived_updated_or_deleted() throws Exception {
+        List<Transaction> old = IntStream.range(0, 3).mapToObj(i -> transaction(LocalDateTime.now().minusDays(40))).toList();
+        old.forEach(repository::save);
+        repository.save(transaction(LocalDateTime.now()));
+        repository.sweep();
+
+        Transaction updated = repository.findById(old.get(0).getId()).orElseThrow();
+        updated.update(UpsertTransactionCommand.of("Renamed", new BigDecimal("10.00")));
+        repository.save(updated);
+        repository.deleteById(old.get(1).getId());
+
+        assertThat(repository.summarizeByCategory()).singleElement().satisfies(summary -> {
+            assertThat(summary.getCount()).isEqualTo(3);
+            assertThat(summary.getTotalAmount()).isEqualByComparingTo("17.00");
+        });
+
+        repository.sweep();
+        assertThat(repository.summarizeByCategory()).singleElement().satisfies(summary -> {
+            assertThat(summary.getCount()).isEqualTo(3);
+            assertThat(summary.getTotalAmount()).isEqualByComparingTo("17.00");
+        });
+    }
+
+    private static Transaction transaction(LocalDateTime createTime) {
+        return Transaction.builder()
+                .id(UUID.randomUUID().toString())
+                .name("Coffee")
+                .amount(new BigDecimal("3.50"))
+                .createTime(createTime)
+                .updateTime(createTime)
+                .build();
+    }
+}
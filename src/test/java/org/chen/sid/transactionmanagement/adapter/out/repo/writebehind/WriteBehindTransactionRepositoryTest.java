@@ -0,0 +1,128 @@
+package org.chen.sid.transactionmanagement.adapter.out.repo.writebehind;
+
+import org.chen.sid.transactionmanagement.adapter.out.repo.JdbcTransactionRepository;
+import org.chen.sid.transactionmanagement.config.properties.WriteBehindProperties;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WriteBehindTransactionRepositoryTest {
+
+    private EmbeddedDatabase database;
+
+    private JdbcTransactionRepository durableRepository;
+
+    private WriteBehindProperties properties;
+
+    private WriteBehindTransactionRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().generateUniqueName(true)
+                .setType(EmbeddedDatabaseType.H2)
+                .addScript("db/schema.sql")
+                .build();
+        durableRepository = new JdbcTransactionRepository(new JdbcTemplate(database));
+        properties = new WriteBehindProperties();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.stop();
+        database.shutdown();
+    }
+
+    @Test
+    void should_persist_last_write_when_same_id_updated_repeatedly() {
+        start(WriteBehindProperties.Durability.MEMORY);
+        Transaction transaction = transaction("test-id-123");
+
+        for (int i = 0; i < 100; i++) {
+            transaction.setName("Transaction " + i);
+            repository.save(transaction);
+        }
+        repository.stop();
+
+        assertThat(repository.findById("test-id-123")).get().extracting(Transaction::getName).isEqualTo("Transaction 99");
+        assertThat(durableRepository.findById("test-id-123")).get().extracting(Transaction::getName).isEqualTo("Transaction 99");
+    }
+
+    @Test
+    void should_be_durable_on_return_when_flush_durability_configured() {
+        start(WriteBehindProperties.Durability.FLUSH);
+
+        repository.save(transaction("test-id-123"));
+        assertThat(durableRepository.existsById("test-id-123")).isTrue();
+
+        repository.deleteById("test-id-123");
+        assertThat(durableRepository.existsById("test-id-123")).isFalse();
+    }
+
+    @Test
+    void should_load_durable_rows_into_memory_when_started() {
+        durableRepository.save(transaction("test-id-123"));
+
+        start(WriteBehindProperties.Durability.MEMORY);
+
+        assertThat(repository.existsById("test-id-123")).isTrue();
+        assertThat(repository.findPage(1, 10).getTotal()).isEqualTo(1);
+    }
+
+    @Test
+    void should_dead_letter_poison_row_and_persist_the_rest_of_its_batch() {
+        properties.setMaxRetries(2);
+        start(WriteBehindProperties.Durability.MEMORY);
+        Transaction poison = transaction("poison-id");
+        poison.setName("x".repeat(200));
+
+        repository.save(transaction("test-id-123"));
+        repository.save(poison);
+        repository.save(transaction("test-id-456"));
+        repository.stop();
+
+        assertThat(durableRepository.existsById("test-id-123")).isTrue();
+        assertThat(durableRepository.existsById("test-id-456")).isTrue();
+        assertThat(durableRepository.existsById("poison-id")).isFalse();
+        assertThat(repository.deadLetters()).extracting(WriteBehindTransactionRepository.DeadLetter::id).containsExactly("poison-id");
+    }
+
+    @Test
+    void should_fail_caller_instead_of_retrying_forever_when_flush_durability_configured() {
+        properties.setMaxRetries(1);
+        start(WriteBehindProperties.Durability.FLUSH);
+        Transaction poison = transaction("poison-id");
+        poison.setName("x".repeat(200));
+
+        assertThatThrownBy(() -> repository.save(poison)).isInstanceOf(IllegalStateException.class)
+                .hasMessage("Transaction was not flushed to the durable store");
+        repository.save(transaction("test-id-123"));
+        assertThat(durableRepository.existsById("test-id-123")).isTrue();
+    }
+
+    private void start(WriteBehindProperties.Durability durability) {
+        properties.setDurability(durability);
+        repository = new WriteBehindTransactionRepository(durableRepository, properties);
+        repository.start();
+    }
+
+    private static Transaction transaction(String id) {
+        return Transaction.builder()
+                .id(id)
+                .name("Test Transaction")
+                .amount(new BigDecimal("100.00"))
+                .createTime(LocalDateTime.now())
+                .updateTime(LocalDateTime.now())
+                .build();
+    }
+}
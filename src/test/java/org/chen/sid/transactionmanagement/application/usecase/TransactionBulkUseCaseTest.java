@@ -0,0 +1,225 @@
+package org.chen.sid.transactionmanagement.application.usecase;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.chen.sid.transactionmanagement.adapter.out.repo.MemoryTransactionRepository;
+import org.chen.sid.transactionmanagement.application.usecase.command.TransactionBulkUseCase;
+import org.chen.sid.transactionmanagement.application.usecase.command.bulk.BulkJobState;
+import org.chen.sid.transactionmanagement.application.usecase.command.bulk.BulkOperation;
+import org.chen.sid.transactionmanagement.application.usecase.command.dto.BulkJobDTO;
+import org.chen.sid.transactionmanagement.application.usecase.command.dto.BulkJobRequestDTO;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.TransactionFilterDTO;
+import org.chen.sid.transactionmanagement.common.exception.FeatureNotEnabledException;
+import org.chen.sid.transactionmanagement.common.exception.RequestArgumentIllegalException;
+import org.chen.sid.transactionmanagement.common.exception.TooManyRequestsException;
+import org.chen.sid.transactionmanagement.config.properties.BulkJobProperties;
+import org.chen.sid.transactionmanagement.domain.infrastructure.TransactionEventPublisher;
+import org.chen.sid.transactionmanagement.domain.infrastructure.TransactionRepository;
+import org.chen.sid.transactionmanagement.domain.model.command.UpsertTransactionCommand;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.chen.sid.transactionmanagement.domain.model.entity.TransactionType;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionDeletedEvent;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionUpdatedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class TransactionBulkUseCaseTest {
+
+    private final MemoryTransactionRepository repository = new MemoryTransactionRepository() {
+        @Override
+        public Optional<Transaction> findById(String id) {
+            Optional<Transaction> found = super.findById(id);
+            found.ifPresent(afterFindById);
+            return found;
+        }
+    };
+
+    /**
+     * Runs after each lookup, e.g. to write the transaction concurrently with a job.
+     */
+    private volatile Consumer<Transaction> afterFindById = transaction -> {
+    };
+
+    private final TransactionEventPublisher publisher = mock(TransactionEventPublisher.class);
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager("transaction");
+
+    private final BulkJobProperties properties = new BulkJobProperties();
+
+    private TransactionBulkUseCase bulkUseCase;
+
+    @BeforeEach
+    void setUp() {
+        properties.setChunkSize(10);
+        properties.setChunkPause(Duration.ZERO);
+        bulkUseCase = newUseCase();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkUseCase.shutdown();
+    }
+
+    @Test
+    void should_delete_only_matching_transactions_when_delete_job_runs() {
+        List<Transaction> food = store(25, "Food");
+        List<Transaction> rent = store(5, "Rent");
+        cacheManager.getCache("transaction").put(food.get(0).getId(), food.get(0));
+
+        BulkJobDTO job = bulkUseCase.submit(request(BulkOperation.DELETE, "Food", null));
+
+        BulkJobDTO finished = awaitFinished(job.getId());
+        assertThat(finished.getState()).isEqualTo(BulkJobState.SUCCEEDED);
+        assertThat(finished.getMatched()).isEqualTo(25);
+        assertThat(finished.getProcessed()).isEqualTo(25);
+        assertThat(finished.getAffected()).isEqualTo(25);
+        assertThat(food).noneMatch(transaction -> repository.existsById(transaction.getId()));
+        assertThat(rent).allMatch(transaction -> repository.existsById(transaction.getId()));
+        assertThat(cacheManager.getCache("transaction").get(food.get(0).getId())).isNull();
+        verify(publisher, times(25)).publish(any(TransactionDeletedEvent.class));
+    }
+
+    @Test
+    void should_update_matching_transactions_when_update_job_runs() {
+        List<Transaction> food = store(15, "Food");
+
+        BulkJobDTO job = bulkUseCase.submit(request(BulkOperation.UPDATE, "Food", "Groceries"));
+
+        assertThat(awaitFinished(job.getId()).getAffected()).isEqualTo(15);
+        assertThat(food).allMatch(transaction -> "Groceries".equals(repository.findById(transaction.getId()).orElseThrow().getCategory()));
+        verify(publisher, times(15)).publish(any(TransactionUpdatedEvent.class));
+    }
+
+    @Test
+    void should_leave_previously_read_instances_untouched_when_update_job_runs() {
+        Transaction stored = store(1, "Food").get(0);
+
+        BulkJobDTO job = bulkUseCase.submit(request(BulkOperation.UPDATE, "Food", "Groceries"));
+
+        assertThat(awaitFinished(job.getId()).getAffected()).isEqualTo(1);
+        assertThat(stored.getCategory()).isEqualTo("Food");
+        assertThat(repository.findById(stored.getId())).get().isNotSameAs(stored)
+                .extracting(Transaction::getCategory).isEqualTo("Groceries");
+    }
+
+    @Test
+    void should_skip_transaction_updated_concurrently_when_update_job_runs() {
+        Transaction stored = store(1, "Food").get(0);
+        afterFindById = transaction -> repository.save(transaction.toBuilder()
+                .name("Edited")
+                .updateTime(transaction.getUpdateTime().plusSeconds(1))
+                .build());
+
+        BulkJobDTO job = bulkUseCase.submit(request(BulkOperation.UPDATE, "Food", "Groceries"));
+
+        BulkJobDTO finished = awaitFinished(job.getId());
+        assertThat(finished.getProcessed()).isEqualTo(1);
+        assertThat(finished.getAffected()).isZero();
+        assertThat(repository.findById(stored.getId())).get()
+                .extracting(Transaction::getName, Transaction::getCategory)
+                .containsExactly("Edited", "Food");
+        verify(publisher, never()).publish(any(TransactionUpdatedEvent.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void should_reject_job_when_store_scan_misses_archived_transactions() {
+        TransactionRepository archiving = mock(TransactionRepository.class);
+        TransactionBulkUseCase archivingUseCase = new TransactionBulkUseCase(archiving, publisher, mock(ObjectProvider.class), cacheManager,
+                properties, new SimpleMeterRegistry());
+
+        assertThatThrownBy(() -> archivingUseCase.submit(request(BulkOperation.DELETE, "Food", null))).isInstanceOf(
+                FeatureNotEnabledException.class);
+        archivingUseCase.shutdown();
+    }
+
+    @Test
+    void should_stop_between_chunks_when_running_job_cancelled() {
+        properties.setChunkSize(1);
+        properties.setChunkPause(Duration.ofMillis(50));
+        bulkUseCase.shutdown();
+        bulkUseCase = newUseCase();
+        store(100, "Food");
+
+        BulkJobDTO job = bulkUseCase.submit(request(BulkOperation.DELETE, "Food", null));
+        await().atMost(Duration.ofSeconds(5)).until(() -> bulkUseCase.getJob(job.getId()).getProcessed() > 0);
+        bulkUseCase.cancelJob(job.getId());
+
+        BulkJobDTO finished = awaitFinished(job.getId());
+        assertThat(finished.getState()).isEqualTo(BulkJobState.CANCELLED);
+        assertThat(finished.getProcessed()).isLessThan(100);
+        assertThat(repository.scan().estimateSize()).isEqualTo(100 - finished.getAffected());
+    }
+
+    @Test
+    void should_reject_job_when_filter_has_no_criterion() {
+        BulkJobRequestDTO request = new BulkJobRequestDTO(BulkOperation.DELETE, new TransactionFilterDTO(), null, null);
+
+        assertThatThrownBy(() -> bulkUseCase.submit(request)).isInstanceOf(RequestArgumentIllegalException.class)
+                .hasMessage("Bulk jobs need at least one filter criterion");
+    }
+
+    @Test
+    void should_reject_update_job_when_no_changes_given() {
+        assertThatThrownBy(() -> bulkUseCase.submit(request(BulkOperation.UPDATE, "Food", null))).isInstanceOf(
+                RequestArgumentIllegalException.class).hasMessage("Bulk update needs a new category or type");
+    }
+
+    @Test
+    void should_reject_job_when_too_many_jobs_active() {
+        properties.setMaxActiveJobs(1);
+        properties.setChunkSize(1);
+        properties.setChunkPause(Duration.ofMillis(50));
+        bulkUseCase.shutdown();
+        bulkUseCase = newUseCase();
+        store(50, "Food");
+
+        bulkUseCase.submit(request(BulkOperation.DELETE, "Food", null));
+
+        assertThatThrownBy(() -> bulkUseCase.submit(request(BulkOperation.DELETE, "Food", null))).isInstanceOf(
+                TooManyRequestsException.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private TransactionBulkUseCase newUseCase() {
+        return new TransactionBulkUseCase(repository, publisher, mock(ObjectProvider.class), cacheManager, properties,
+                new SimpleMeterRegistry());
+    }
+
+    private BulkJobDTO awaitFinished(String jobId) {
+        await().atMost(Duration.ofSeconds(10)).until(() -> bulkUseCase.getJob(jobId).getState().isFinished());
+        return bulkUseCase.getJob(jobId);
+    }
+
+    private List<Transaction> store(int count, String category) {
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            transactions.add(repository.save(Transaction.create(
+                    UpsertTransactionCommand.of("Transaction " + i, new BigDecimal("10.00"), category, TransactionType.WITHDRAW))));
+        }
+        return transactions;
+    }
+
+    private static BulkJobRequestDTO request(BulkOperation operation, String category, String newCategory) {
+        return new BulkJobRequestDTO(operation, TransactionFilterDTO.builder().category(category).build(), newCategory, null);
+    }
+}
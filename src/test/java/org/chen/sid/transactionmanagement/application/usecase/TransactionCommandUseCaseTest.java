@@ -2,16 +2,25 @@ package org.chen.sid.transactionmanagement.application.usecase;
 
 import org.chen.sid.transactionmanagement.application.usecase.command.TransactionCommandUseCase;
 import org.chen.sid.transactionmanagement.application.usecase.command.dto.UpsertTransactionRequestDTO;
+import org.chen.sid.transactionmanagement.application.usecase.command.idempotency.IdempotencyStore;
+import org.chen.sid.transactionmanagement.application.usecase.query.missing.MissingTransactionIds;
 import org.chen.sid.transactionmanagement.common.exception.DataNotFoundException;
+import org.chen.sid.transactionmanagement.config.properties.IdempotencyProperties;
+import org.chen.sid.transactionmanagement.domain.infrastructure.TransactionEventPublisher;
 import org.chen.sid.transactionmanagement.domain.infrastructure.TransactionRepository;
 import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
 import org.chen.sid.transactionmanagement.domain.model.entity.TransactionType;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionCreatedEvent;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionDeletedEvent;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionUpdatedEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -31,6 +40,15 @@ class TransactionCommandUseCaseTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private TransactionEventPublisher transactionEventPublisher;
+
+    @Mock
+    private ObjectProvider<MissingTransactionIds> missingTransactionIds;
+
+    @Spy
+    private IdempotencyStore idempotencyStore = new IdempotencyStore(new IdempotencyProperties());
+
     @InjectMocks
     private TransactionCommandUseCase transactionCommandUseCase;
 
@@ -60,6 +78,20 @@ class TransactionCommandUseCaseTest {
         assertThat(result.getName()).isEqualTo("Test Transaction");
         assertThat(result.getAmount()).isEqualTo(new BigDecimal("100.00"));
         verify(transactionRepository, times(1)).save(any(Transaction.class));
+        verify(transactionEventPublisher, times(1)).publish(any(TransactionCreatedEvent.class));
+    }
+
+    @Test
+    void should_create_transaction_once_when_request_retried_with_same_idempotency_key() {
+        UpsertTransactionRequestDTO request = new UpsertTransactionRequestDTO("Test Transaction", new BigDecimal("100.00"));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Transaction created = transactionCommandUseCase.createTransaction(request, "key-1");
+        Transaction retried = transactionCommandUseCase.createTransaction(request, "key-1");
+
+        assertThat(retried.getId()).isEqualTo(created.getId());
+        verify(transactionRepository, times(1)).save(any(Transaction.class));
+        verify(transactionEventPublisher, times(1)).publish(any(TransactionCreatedEvent.class));
     }
 
     @Test
@@ -97,6 +129,7 @@ class TransactionCommandUseCaseTest {
         assertThat(result).isNotNull();
         verify(transactionRepository, times(1)).findById("test-id-123");
         verify(transactionRepository, times(1)).save(any(Transaction.class));
+        verify(transactionEventPublisher, times(1)).publish(any(TransactionUpdatedEvent.class));
     }
 
     @Test
@@ -128,6 +161,16 @@ class TransactionCommandUseCaseTest {
         transactionCommandUseCase.deleteTransaction(id);
 
         verify(transactionRepository, times(1)).deleteById(id);
+        verify(transactionEventPublisher, never()).publish(any());
+    }
+
+    @Test
+    void should_publish_deleted_event_when_transaction_removed() {
+        when(transactionRepository.deleteById("test-id-123")).thenReturn(true);
+
+        transactionCommandUseCase.deleteTransaction("test-id-123");
+
+        verify(transactionEventPublisher, times(1)).publish(any(TransactionDeletedEvent.class));
     }
 
 }
\ No newline at end of file
@@ -1,26 +1,41 @@
 package org.chen.sid.transactionmanagement.application.usecase;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.chen.sid.transactionmanagement.application.usecase.query.TransactionQueryUseCase;
 import org.chen.sid.transactionmanagement.application.usecase.query.dto.Page;
 import org.chen.sid.transactionmanagement.application.usecase.query.dto.TransactionDTO;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.TransactionFilterDTO;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.TransactionStatsDTO;
+import org.chen.sid.transactionmanagement.application.usecase.query.missing.MissingTransactionIds;
+import org.chen.sid.transactionmanagement.application.usecase.query.scan.ParallelScanEngine;
 import org.chen.sid.transactionmanagement.common.exception.DataNotFoundException;
+import org.chen.sid.transactionmanagement.common.exception.FeatureNotEnabledException;
+import org.chen.sid.transactionmanagement.common.exception.RequestArgumentIllegalException;
+import org.chen.sid.transactionmanagement.config.properties.MissingIdsProperties;
+import org.chen.sid.transactionmanagement.config.properties.ScanProperties;
 import org.chen.sid.transactionmanagement.domain.infrastructure.TransactionRepository;
 import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.chen.sid.transactionmanagement.domain.model.entity.TransactionType;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -31,7 +46,11 @@ class TransactionQueryUseCaseTest {
     @Mock
     private TransactionRepository transactionRepository;
 
-    @InjectMocks
+    @Mock
+    private ObjectProvider<MissingTransactionIds> missingTransactionIds;
+
+    private ParallelScanEngine scanEngine;
+
     private TransactionQueryUseCase transactionQueryUseCase;
 
     private Transaction sampleTransaction;
@@ -40,6 +59,13 @@ class TransactionQueryUseCaseTest {
 
     @BeforeEach
     void setUp() {
+        ScanProperties scanProperties = new ScanProperties();
+        scanProperties.setParallelism(4);
+        scanProperties.setMaxParallelismPerQuery(2);
+        scanProperties.setMaxWindow(100);
+        scanEngine = new ParallelScanEngine(scanProperties);
+        transactionQueryUseCase = new TransactionQueryUseCase(transactionRepository, scanEngine, scanProperties, missingTransactionIds);
+
         sampleTransaction = Transaction.builder()
                 .id("test-id-123")
                 .name("Test Transaction")
@@ -57,6 +83,11 @@ class TransactionQueryUseCaseTest {
                 .build();
     }
 
+    @AfterEach
+    void tearDown() {
+        scanEngine.shutdown();
+    }
+
     @Test
     void should_return_transaction_when_valid_id_given() {
         when(transactionRepository.findById("test-id-123")).thenReturn(Optional.of(sampleTransaction));
@@ -108,4 +139,98 @@ class TransactionQueryUseCaseTest {
         verify(transactionRepository, times(1)).findPage(1, 10);
     }
 
+    @Test
+    void should_return_matching_transactions_in_create_time_order_when_filter_given() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Transaction> transactions = IntStream.range(0, 50)
+                .mapToObj(i -> Transaction.builder()
+                        .id("id-" + i)
+                        .name(i % 2 == 0 ? "Coffee " + i : "Rent " + i)
+                        .amount(BigDecimal.valueOf(i))
+                        .type(TransactionType.WITHDRAW)
+                        .createTime(base.plusMinutes(50 - i))
+                        .build())
+                .toList();
+        when(transactionRepository.scanCoversAll()).thenReturn(true);
+        when(transactionRepository.scan()).thenAnswer(invocation -> transactions.spliterator());
+        TransactionFilterDTO filter = TransactionFilterDTO.builder().name("coffee").minAmount(BigDecimal.TEN).build();
+
+        Page<TransactionDTO> result = transactionQueryUseCase.filterTransactions(filter, 2, 5);
+
+        // Even ids 10..48 match; newest id has the earliest create time.
+        assertThat(result.getTotal()).isEqualTo(20);
+        assertThat(result.getData()).extracting(TransactionDTO::getId).containsExactly("id-38", "id-36", "id-34", "id-32", "id-30");
+    }
+
+    @Test
+    void should_return_amount_statistics_when_filter_given() {
+        List<Transaction> transactions = List.of(sampleTransaction, Transaction.builder()
+                .id("test-id-456")
+                .name("Another Transaction")
+                .amount(new BigDecimal("200.00"))
+                .category("Food")
+                .build());
+        when(transactionRepository.scanCoversAll()).thenReturn(true);
+        when(transactionRepository.scan()).thenAnswer(invocation -> transactions.spliterator());
+
+        TransactionStatsDTO stats = transactionQueryUseCase.getTransactionStats(new TransactionFilterDTO());
+
+        assertThat(stats.getCount()).isEqualTo(2);
+        assertThat(stats.getTotalAmount()).isEqualByComparingTo("300.00");
+        assertThat(stats.getMinAmount()).isEqualByComparingTo("100.00");
+        assertThat(stats.getMaxAmount()).isEqualByComparingTo("200.00");
+        assertThat(stats.getAverageAmount()).isEqualByComparingTo("150");
+    }
+
+    @Test
+    void should_refuse_filter_and_stats_when_scan_misses_archived_transactions() {
+        when(transactionRepository.scanCoversAll()).thenReturn(false);
+
+        assertThatThrownBy(() -> transactionQueryUseCase.filterTransactions(new TransactionFilterDTO(), 1, 10)).isInstanceOf(
+                FeatureNotEnabledException.class);
+        assertThatThrownBy(() -> transactionQueryUseCase.getTransactionStats(new TransactionFilterDTO())).isInstanceOf(
+                FeatureNotEnabledException.class);
+        assertThatThrownBy(() -> transactionQueryUseCase.scanTransactions()).isInstanceOf(FeatureNotEnabledException.class);
+    }
+
+    @Test
+    void should_list_every_transaction_from_one_scan_when_scanning() {
+        List<Transaction> transactions = List.of(sampleTransaction, sampleTransaction.toBuilder().id("test-id-456").build());
+        when(transactionRepository.scanCoversAll()).thenReturn(true);
+        when(transactionRepository.scan()).thenAnswer(invocation -> transactions.spliterator());
+
+        List<String> ids = new ArrayList<>();
+        transactionQueryUseCase.scanTransactions().forEachRemaining(transaction -> ids.add(transaction.getId()));
+
+        assertThat(ids).containsExactly("test-id-123", "test-id-456");
+        verify(transactionRepository, never()).findPage(anyLong(), anyLong());
+    }
+
+    @Test
+    void should_throw_exception_when_filter_window_or_range_invalid() {
+        TransactionFilterDTO inverted = TransactionFilterDTO.builder().minAmount(BigDecimal.TEN).maxAmount(BigDecimal.ONE).build();
+
+        assertThatThrownBy(() -> transactionQueryUseCase.filterTransactions(inverted, 1, 10)).isInstanceOf(
+                RequestArgumentIllegalException.class);
+        assertThatThrownBy(() -> transactionQueryUseCase.filterTransactions(new TransactionFilterDTO(), 11, 10)).isInstanceOf(
+                RequestArgumentIllegalException.class);
+    }
+
+    @Test
+    void should_answer_repeated_miss_without_repository_until_created() {
+        MissingTransactionIds missingIds = new MissingTransactionIds(transactionRepository, new MissingIdsProperties(), new SimpleMeterRegistry());
+        when(missingTransactionIds.getIfAvailable()).thenReturn(missingIds);
+        transactionQueryUseCase = new TransactionQueryUseCase(transactionRepository, scanEngine, new ScanProperties(), missingTransactionIds);
+        when(transactionRepository.findById("test-id-123")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> transactionQueryUseCase.getTransactionById("test-id-123")).isInstanceOf(DataNotFoundException.class);
+        assertThatThrownBy(() -> transactionQueryUseCase.getTransactionById("test-id-123")).isInstanceOf(DataNotFoundException.class);
+        verify(transactionRepository, times(1)).findById("test-id-123");
+
+        missingIds.beforeCreate("test-id-123");
+        when(transactionRepository.findById("test-id-123")).thenReturn(Optional.of(sampleTransaction));
+        missingIds.created("test-id-123");
+
+        assertThat(transactionQueryUseCase.getTransactionById("test-id-123").getId()).isEqualTo("test-id-123");
+    }
 }
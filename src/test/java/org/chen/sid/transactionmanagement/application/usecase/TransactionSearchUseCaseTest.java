@@ -0,0 +1,80 @@
+package org.chen.sid.transactionmanagement.application.usecase;
+
+import org.chen.sid.transactionmanagement.application.usecase.query.TransactionSearchUseCase;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.TransactionDTO;
+import org.chen.sid.transactionmanagement.application.usecase.query.search.SearchMatch;
+import org.chen.sid.transactionmanagement.application.usecase.query.search.TransactionNameIndexer;
+import org.chen.sid.transactionmanagement.common.exception.FeatureNotEnabledException;
+import org.chen.sid.transactionmanagement.common.exception.RequestArgumentIllegalException;
+import org.chen.sid.transactionmanagement.config.properties.SearchProperties;
+import org.chen.sid.transactionmanagement.domain.infrastructure.TransactionReadRepository;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionSearchUseCaseTest {
+
+    @Mock
+    private ObjectProvider<TransactionNameIndexer> nameIndexerProvider;
+
+    @Mock
+    private TransactionNameIndexer nameIndexer;
+
+    @Mock
+    private TransactionReadRepository transactionRepository;
+
+    private TransactionSearchUseCase searchUseCase;
+
+    @BeforeEach
+    void setUp() {
+        searchUseCase = new TransactionSearchUseCase(nameIndexerProvider, transactionRepository, new SearchProperties());
+    }
+
+    @Test
+    void should_return_indexed_transactions_still_matching_when_searching() {
+        when(nameIndexerProvider.getIfAvailable()).thenReturn(nameIndexer);
+        when(nameIndexer.search("coffee", SearchMatch.SUBSTRING, 20)).thenReturn(List.of("1", "2", "3"));
+        when(transactionRepository.findById("1")).thenReturn(Optional.of(transaction("1", "Morning Coffee")));
+        when(transactionRepository.findById("2")).thenReturn(Optional.of(transaction("2", "Renamed since indexing")));
+        when(transactionRepository.findById("3")).thenReturn(Optional.empty());
+
+        List<TransactionDTO> result = searchUseCase.searchByName("coffee", SearchMatch.SUBSTRING, null);
+
+        assertThat(result).extracting(TransactionDTO::getId).containsExactly("1");
+    }
+
+    @Test
+    void should_throw_exception_when_substring_query_shorter_than_trigram() {
+        assertThatThrownBy(() -> searchUseCase.searchByName("co", SearchMatch.SUBSTRING, null)).isInstanceOf(
+                RequestArgumentIllegalException.class).hasMessage("Substring search needs at least 3 characters");
+    }
+
+    @Test
+    void should_throw_exception_when_limit_exceeds_max_limit() {
+        assertThatThrownBy(() -> searchUseCase.searchByName("c", SearchMatch.PREFIX, 201)).isInstanceOf(
+                RequestArgumentIllegalException.class).hasMessage("Search limit must be between 1 and 200");
+    }
+
+    @Test
+    void should_throw_exception_when_search_not_enabled() {
+        assertThatThrownBy(() -> searchUseCase.searchByName("coffee", SearchMatch.PREFIX, 5)).isInstanceOf(
+                FeatureNotEnabledException.class);
+    }
+
+    private static Transaction transaction(String id, String name) {
+        return Transaction.builder().id(id).name(name).amount(new BigDecimal("4.50")).build();
+    }
+}
@@ -0,0 +1,136 @@
+package org.chen.sid.transactionmanagement.application.usecase.command.idempotency;
+
+import org.chen.sid.transactionmanagement.common.exception.IdempotencyKeyInProgressException;
+import org.chen.sid.transactionmanagement.common.exception.IdempotencyKeyReusedException;
+import org.chen.sid.transactionmanagement.config.properties.IdempotencyProperties;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyStoreTest {
+
+    private IdempotencyProperties properties;
+
+    private IdempotencyStore store;
+
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        properties = new IdempotencyProperties();
+        store = new IdempotencyStore(properties);
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    void should_run_action_once_and_replay_result_when_same_key_retried() {
+        Transaction first = store.execute("key-1", "payload", this::create);
+        Transaction retried = store.execute("key-1", "payload", this::create);
+
+        assertThat(executions).hasValue(1);
+        assertThat(retried.getId()).isEqualTo(first.getId());
+    }
+
+    @Test
+    void should_throw_exception_when_key_reused_with_different_payload() {
+        store.execute("key-1", "payload", this::create);
+
+        assertThatThrownBy(() -> store.execute("key-1", "other payload", this::create)).isInstanceOf(IdempotencyKeyReusedException.class);
+    }
+
+    @Test
+    void should_forget_key_when_action_failed() {
+        assertThatThrownBy(() -> store.execute("key-1", "payload", () -> {
+            throw new IllegalArgumentException("invalid");
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        store.execute("key-1", "payload", this::create);
+
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void should_wait_for_in_flight_request_when_retried_concurrently() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Transaction> first = CompletableFuture.supplyAsync(() -> store.execute("key-1", "payload", () -> {
+            started.countDown();
+            await(release);
+            return create();
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Transaction> retry = CompletableFuture.supplyAsync(() -> store.execute("key-1", "payload", this::create));
+        release.countDown();
+
+        assertThat(retry.get(5, TimeUnit.SECONDS).getId()).isEqualTo(first.get(5, TimeUnit.SECONDS).getId());
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void should_throw_exception_when_in_flight_request_does_not_finish_in_time() throws Exception {
+        properties.setInFlightTimeout(Duration.ofMillis(50));
+        store = new IdempotencyStore(properties);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture.runAsync(() -> store.execute("key-1", "payload", () -> {
+            started.countDown();
+            await(release);
+            return create();
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            assertThatThrownBy(() -> store.execute("key-1", "payload", this::create)).isInstanceOf(IdempotencyKeyInProgressException.class);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void should_forget_oldest_keys_when_capacity_exceeded() {
+        properties.setMaxEntries(2);
+        store = new IdempotencyStore(properties);
+
+        store.execute("key-1", "payload", this::create);
+        store.execute("key-2", "payload", this::create);
+        store.execute("key-3", "payload", this::create);
+        store.execute("key-1", "payload", this::create);
+
+        assertThat(executions).hasValue(4);
+        assertThat(store.size()).isEqualTo(2);
+    }
+
+    @Test
+    void should_run_action_again_when_key_expired() {
+        properties.setTtl(Duration.ZERO);
+        store = new IdempotencyStore(properties);
+
+        store.execute("key-1", "payload", this::create);
+        store.execute("key-1", "payload", this::create);
+
+        assertThat(executions).hasValue(2);
+    }
+
+    private Transaction create() {
+        return Transaction.builder().id("id-" + executions.incrementAndGet()).name("Test").amount(BigDecimal.ONE).build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package org.chen.sid.transactionmanagement.application.usecase.query.feed;
+
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.TransactionChangeDTO;
+import org.chen.sid.transactionmanagement.common.exception.ResumePointExpiredException;
+import org.chen.sid.transactionmanagement.config.properties.ChangeFeedProperties;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionDeletedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class TransactionChangeFeedTest {
+
+    private TransactionChangeFeed changeFeed;
+
+    @BeforeEach
+    void setUp() {
+        ChangeFeedProperties properties = new ChangeFeedProperties();
+        properties.setRetention(5);
+        properties.setSubscriberBuffer(3);
+        changeFeed = new TransactionChangeFeed(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        changeFeed.shutdown();
+    }
+
+    @Test
+    void should_push_new_changes_when_subscribed_without_resume_point() {
+        RecordingSink sink = new RecordingSink();
+        changeFeed.on(TransactionDeletedEvent.of("before-subscribe"));
+
+        changeFeed.subscribe(null, sink);
+        changeFeed.on(TransactionDeletedEvent.of("test-id-123"));
+
+        await().atMost(2, TimeUnit.SECONDS).until(() -> sink.received.size() == 1);
+        assertThat(sink.received.get(0).getSequence()).isEqualTo(2);
+        assertThat(sink.received.get(0).getChange()).isEqualTo("DELETED");
+        assertThat(sink.received.get(0).getTransactionId()).isEqualTo("test-id-123");
+    }
+
+    @Test
+    void should_replay_retained_changes_when_resuming_from_sequence() {
+        for (int i = 1; i <= 4; i++) {
+            changeFeed.on(TransactionDeletedEvent.of("id-" + i));
+        }
+        RecordingSink sink = new RecordingSink();
+
+        changeFeed.subscribe(2L, sink);
+
+        await().atMost(2, TimeUnit.SECONDS).until(() -> sink.received.size() == 2);
+        assertThat(sink.received).extracting(TransactionChangeDTO::getTransactionId).containsExactly("id-3", "id-4");
+    }
+
+    @Test
+    void should_reject_resume_when_sequence_no_longer_retained() {
+        for (int i = 1; i <= 8; i++) {
+            changeFeed.on(TransactionDeletedEvent.of("id-" + i));
+        }
+
+        assertThatThrownBy(() -> changeFeed.subscribe(1L, new RecordingSink())).isInstanceOf(ResumePointExpiredException.class);
+    }
+
+    @Test
+    void should_reject_resume_when_sequence_is_ahead_of_feed() {
+        changeFeed.on(TransactionDeletedEvent.of("id-1"));
+
+        assertThatThrownBy(() -> changeFeed.subscribe(42L, new RecordingSink())).isInstanceOf(ResumePointExpiredException.class);
+        assertThat(changeFeed.subscriberCount()).isZero();
+    }
+
+    @Test
+    void should_disconnect_subscriber_when_buffer_overflows() throws InterruptedException {
+        BlockingSink sink = new BlockingSink();
+        changeFeed.subscribe(null, sink);
+
+        for (int i = 1; i <= 10; i++) {
+            changeFeed.on(TransactionDeletedEvent.of("id-" + i));
+        }
+
+        await().atMost(2, TimeUnit.SECONDS).until(() -> sink.closed);
+        assertThat(changeFeed.subscriberCount()).isZero();
+        sink.release.countDown();
+    }
+
+    @Test
+    void should_keep_serving_other_subscribers_and_disconnect_when_write_blocks_past_timeout() {
+        changeFeed.shutdown();
+        ChangeFeedProperties properties = new ChangeFeedProperties();
+        properties.setWriteTimeout(Duration.ofMillis(200));
+        changeFeed = new TransactionChangeFeed(properties);
+        BlockingSink stalled = new BlockingSink();
+        RecordingSink healthy = new RecordingSink();
+        changeFeed.subscribe(null, stalled);
+        changeFeed.subscribe(null, healthy);
+
+        for (int i = 1; i <= 5; i++) {
+            changeFeed.on(TransactionDeletedEvent.of("id-" + i));
+        }
+
+        await().atMost(2, TimeUnit.SECONDS).until(() -> healthy.received.size() == 5);
+        await().atMost(2, TimeUnit.SECONDS).until(() -> stalled.closed);
+        assertThat(healthy.closed).isFalse();
+        assertThat(changeFeed.subscriberCount()).isEqualTo(1);
+    }
+
+    private static class RecordingSink implements ChangeSink {
+
+        final List<TransactionChangeDTO> received = new CopyOnWriteArrayList<>();
+
+        volatile boolean closed;
+
+        @Override
+        public void send(TransactionChangeDTO change) {
+            received.add(change);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private static class BlockingSink extends RecordingSink {
+
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void send(TransactionChangeDTO change) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.chen.sid.transactionmanagement.application.usecase.query.missing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.chen.sid.transactionmanagement.adapter.out.repo.MemoryTransactionRepository;
+import org.chen.sid.transactionmanagement.config.properties.MissingIdsProperties;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class MissingTransactionIdsTest {
+
+    private MemoryTransactionRepository repository;
+
+    private MissingIdsProperties properties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        repository = new MemoryTransactionRepository();
+        repository.save(Transaction.builder().id("live").name("Live").amount(BigDecimal.ONE).build());
+        properties = new MissingIdsProperties();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void should_reject_unknown_ids_by_bloom_filter_but_never_created_ones() {
+        properties.getBloomFilter().setEnabled(true);
+        properties.getBloomFilter().setExpectedInsertions(1_000);
+        MissingTransactionIds missingIds = new MissingTransactionIds(repository, properties, meterRegistry);
+
+        assertThat(missingIds.isKnownMissing("never-created")).isFalse();
+        missingIds.start();
+
+        assertThat(missingIds.isKnownMissing("live")).isFalse();
+        assertThat(missingIds.isKnownMissing("never-created")).isTrue();
+        missingIds.beforeCreate("new");
+        assertThat(missingIds.isKnownMissing("new")).isFalse();
+        assertThat(meterRegistry.get("transaction.missing.ids.rejected").tag("source", "bloom-filter").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_discard_miss_when_created_during_lookup() {
+        MissingTransactionIds missingIds = new MissingTransactionIds(repository, properties, meterRegistry);
+
+        long epoch = missingIds.epoch("racing");
+        // The lookup read the repository before the create saved the transaction.
+        missingIds.created("racing");
+        missingIds.recordMissing("racing", epoch);
+
+        assertThat(missingIds.isKnownMissing("racing")).isFalse();
+        missingIds.recordMissing("racing", missingIds.epoch("racing"));
+        assertThat(missingIds.isKnownMissing("racing")).isTrue();
+        missingIds.created("racing");
+        assertThat(missingIds.isKnownMissing("racing")).isFalse();
+    }
+
+    @Test
+    void should_forget_misses_after_ttl_and_beyond_capacity() {
+        properties.setTtl(Duration.ofMillis(50));
+        properties.setMaxEntries(2);
+        MissingTransactionIds missingIds = new MissingTransactionIds(repository, properties, meterRegistry);
+
+        missingIds.deleted("a");
+        missingIds.deleted("b");
+        missingIds.deleted("c");
+
+        assertThat(missingIds.isKnownMissing("a")).isFalse();
+        assertThat(missingIds.isKnownMissing("c")).isTrue();
+        await().atMost(Duration.ofSeconds(1)).until(() -> !missingIds.isKnownMissing("c"));
+    }
+}
@@ -0,0 +1,64 @@
+package org.chen.sid.transactionmanagement.application.usecase.query.projection;
+
+import org.chen.sid.transactionmanagement.domain.infrastructure.TransactionRepository;
+import org.chen.sid.transactionmanagement.domain.model.command.UpsertTransactionCommand;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionUpdatedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Spliterators;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TransactionReadModelProjectorTest {
+
+    private final TransactionReadModel readModel = new TransactionReadModel();
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("transaction");
+
+    private TransactionReadModelProjector projector;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        TransactionRepository repository = mock(TransactionRepository.class);
+        when(repository.scan()).thenReturn(Spliterators.emptySpliterator());
+        projector = new TransactionReadModelProjector(readModel, repository, mock(ObjectProvider.class), cacheManager);
+        projector.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        projector.stop();
+    }
+
+    @Test
+    void should_evict_cached_transaction_after_event_applied_to_read_model() {
+        Transaction transaction = Transaction.builder()
+                .id("id-1")
+                .name("Updated")
+                .amount(new BigDecimal("10.00"))
+                .createTime(LocalDateTime.now())
+                .updateTime(LocalDateTime.now())
+                .build();
+        Cache cache = cacheManager.getCache("transaction");
+        // What a read between the command's eviction and the projection would have cached.
+        cache.put("id-1", transaction.toBuilder().name("Stale").build());
+
+        projector.on(TransactionUpdatedEvent.of(transaction, new UpsertTransactionCommand()));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> cache.get("id-1") == null);
+        assertThat(readModel.findById("id-1")).get().extracting(Transaction::getName).isEqualTo("Updated");
+    }
+}
@@ -0,0 +1,108 @@
+package org.chen.sid.transactionmanagement.application.usecase.query.projection;
+
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.CategorySummary;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.Page;
+import org.chen.sid.transactionmanagement.domain.model.command.UpsertTransactionCommand;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionCreatedEvent;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionDeletedEvent;
+import org.chen.sid.transactionmanagement.domain.model.event.TransactionUpdatedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionReadModelTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    private TransactionReadModel readModel;
+
+    @BeforeEach
+    void setUp() {
+        readModel = new TransactionReadModel();
+    }
+
+    @Test
+    void should_return_pages_in_create_time_order_when_events_applied() {
+        readModel.apply(TransactionCreatedEvent.of(transaction("id-2", "Food", "20.00", 2)));
+        readModel.apply(TransactionCreatedEvent.of(transaction("id-1", "Food", "10.00", 1)));
+        readModel.apply(TransactionCreatedEvent.of(transaction("id-3", "Travel", "30.00", 3)));
+
+        Page<Transaction> first = readModel.findPage(1, 2);
+        Page<Transaction> second = readModel.findPage(2, 2);
+
+        assertThat(first.getTotal()).isEqualTo(3);
+        assertThat(first.getData()).extracting(Transaction::getId).containsExactly("id-1", "id-2");
+        assertThat(second.getData()).extracting(Transaction::getId).containsExactly("id-3");
+    }
+
+    @Test
+    void should_move_totals_between_categories_when_transaction_updated() {
+        Transaction transaction = transaction("id-1", "Food", "10.00", 1);
+        readModel.apply(TransactionCreatedEvent.of(transaction));
+
+        transaction.update(UpsertTransactionCommand.builder().category("Travel").amount(new BigDecimal("15.00")).build());
+        readModel.apply(TransactionUpdatedEvent.of(transaction, UpsertTransactionCommand.builder().category("Travel").build()));
+
+        assertThat(readModel.summarizeByCategory()).singleElement().satisfies(summary -> {
+            assertThat(summary.getCategory()).isEqualTo("Travel");
+            assertThat(summary.getCount()).isEqualTo(1);
+            assertThat(summary.getTotalAmount()).isEqualByComparingTo("15.00");
+        });
+        assertThat(readModel.findById("id-1")).get().extracting(Transaction::getCategory).isEqualTo("Travel");
+    }
+
+    @Test
+    void should_ignore_stale_update_when_events_arrive_out_of_order() {
+        Transaction newer = transaction("id-1", "Food", "10.00", 1);
+        newer.setUpdateTime(BASE_TIME.plusHours(2));
+        Transaction older = newer.toBuilder().name("Stale").updateTime(BASE_TIME.plusHours(1)).build();
+
+        readModel.apply(TransactionUpdatedEvent.of(newer, new UpsertTransactionCommand()));
+        readModel.apply(TransactionUpdatedEvent.of(older, new UpsertTransactionCommand()));
+
+        assertThat(readModel.findById("id-1")).get().extracting(Transaction::getName).isEqualTo("Transaction id-1");
+    }
+
+    @Test
+    void should_remove_transaction_and_totals_when_deleted() {
+        readModel.apply(TransactionCreatedEvent.of(transaction("id-1", "Food", "10.00", 1)));
+
+        readModel.apply(TransactionDeletedEvent.of("id-1"));
+
+        assertThat(readModel.findById("id-1")).isEmpty();
+        assertThat(readModel.findPage(1, 10).getData()).isEmpty();
+        assertThat(readModel.summarizeByCategory()).extracting(CategorySummary::getCount).isEmpty();
+    }
+
+    @Test
+    void should_keep_transaction_deleted_when_earlier_update_arrives_after_delete() {
+        Transaction transaction = transaction("id-1", "Food", "10.00", 1);
+        readModel.apply(TransactionCreatedEvent.of(transaction));
+        Transaction updated = transaction.toBuilder().name("Late").updateTime(BASE_TIME.plusMinutes(5)).build();
+
+        readModel.apply(new TransactionDeletedEvent("id-1", BASE_TIME.plusMinutes(6)));
+        readModel.apply(TransactionUpdatedEvent.of(updated, new UpsertTransactionCommand()));
+
+        assertThat(readModel.findById("id-1")).isEmpty();
+        assertThat(readModel.summarizeByCategory()).extracting(CategorySummary::getCount).isEmpty();
+
+        readModel.apply(TransactionCreatedEvent.of(transaction.toBuilder().name("Recreated").updateTime(BASE_TIME.plusMinutes(7)).build()));
+        assertThat(readModel.findById("id-1")).get().extracting(Transaction::getName).isEqualTo("Recreated");
+    }
+
+    private static Transaction transaction(String id, String category, String amount, int minutes) {
+        return Transaction.builder()
+                .id(id)
+                .name("Transaction " + id)
+                .amount(new BigDecimal(amount))
+                .category(category)
+                .createTime(BASE_TIME.plusMinutes(minutes))
+                .updateTime(BASE_TIME.plusMinutes(minutes))
+                .build();
+    }
+}
@@ -0,0 +1,134 @@
+package org.chen.sid.transactionmanagement.application.usecase.query.scan;
+
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.CategorySummary;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.Page;
+import org.chen.sid.transactionmanagement.common.exception.ScanTimeoutException;
+import org.chen.sid.transactionmanagement.config.properties.ScanProperties;
+import org.chen.sid.transactionmanagement.domain.infrastructure.TransactionReadRepository;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParallelScanEngineTest {
+
+    private final List<Transaction> transactions = IntStream.range(0, 10_000)
+            .mapToObj(i -> Transaction.builder().id("id-" + i).name("Transaction " + i).amount(BigDecimal.valueOf(i)).build())
+            .toList();
+
+    private ScanProperties properties;
+
+    private ParallelScanEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ScanProperties();
+        properties.setParallelism(4);
+        properties.setMaxParallelismPerQuery(2);
+        engine = new ParallelScanEngine(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    void should_accumulate_every_matching_row_when_scanned_in_parallel() {
+        List<Transaction> matched = engine.scan(transactions.spliterator(), transaction -> transaction.getAmount().intValue() % 3 == 0,
+                ArrayList::new, List::add, (left, right) -> {
+                    left.addAll(right);
+                    return left;
+                });
+
+        assertThat(matched).hasSize(3334).doesNotHaveDuplicates().allMatch(transaction -> transaction.getAmount().intValue() % 3 == 0);
+    }
+
+    @Test
+    void should_not_use_more_threads_than_query_cap_when_pool_is_larger() {
+        Set<Thread> workers = ConcurrentHashMap.newKeySet();
+
+        engine.scan(transactions.spliterator(), transaction -> workers.add(Thread.currentThread()), AtomicInteger::new,
+                (count, transaction) -> count.incrementAndGet(), (left, right) -> left);
+
+        assertThat(workers).hasSizeBetween(1, 2).allMatch(thread -> thread.getName().startsWith("transaction-scan-"));
+    }
+
+    @Test
+    void should_throw_scan_timeout_when_time_budget_exceeded() {
+        engine.shutdown();
+        properties.setTimeBudget(Duration.ofMillis(50));
+        engine = new ParallelScanEngine(properties);
+
+        assertThatThrownBy(() -> engine.scan(transactions.spliterator(), transaction -> {
+            LockSupport.parkNanos(Duration.ofMillis(1).toNanos());
+            return true;
+        }, AtomicInteger::new, (count, transaction) -> count.incrementAndGet(), (left, right) -> left)).isInstanceOf(
+                ScanTimeoutException.class);
+    }
+
+    @Test
+    void should_fail_instead_of_returning_partial_rows_when_worker_passes_deadline() {
+        ConcurrentLinkedQueue<Spliterator<Transaction>> chunks = new ConcurrentLinkedQueue<>(List.of(transactions.spliterator()));
+        AtomicInteger accumulated = new AtomicInteger();
+
+        assertThatThrownBy(() -> ParallelScanEngine.work(chunks, transaction -> true, accumulated,
+                (count, transaction) -> count.incrementAndGet(), new AtomicBoolean(), System.nanoTime() - 1)).isInstanceOf(
+                ScanTimeoutException.class);
+        assertThat(accumulated.get()).isLessThan(transactions.size());
+    }
+
+    @Test
+    void should_load_default_scan_lazily_when_store_has_no_native_scan() {
+        AtomicInteger pagesRead = new AtomicInteger();
+        TransactionReadRepository store = new TransactionReadRepository() {
+
+            @Override
+            public Optional<Transaction> findById(String id) {
+                return Optional.empty();
+            }
+
+            @Override
+            public Page<Transaction> findPage(long page, long size) {
+                pagesRead.incrementAndGet();
+                int from = (int) Math.min((page - 1) * size, transactions.size());
+                return new Page<>(transactions.size(), transactions.subList(from, (int) Math.min(from + size, transactions.size())));
+            }
+
+            @Override
+            public List<CategorySummary> summarizeByCategory() {
+                return List.of();
+            }
+        };
+
+        Spliterator<Transaction> scan = store.scan();
+
+        assertThat(pagesRead).hasValue(0);
+        assertThat(scan.tryAdvance(transaction -> { })).isTrue();
+        assertThat(pagesRead).hasValue(1);
+        AtomicInteger scanned = engine.scan(store.scan(), transaction -> true, AtomicInteger::new,
+                (count, transaction) -> count.incrementAndGet(), (left, right) -> {
+                    left.addAndGet(right.get());
+                    return left;
+                });
+
+        assertThat(scanned).hasValue(transactions.size());
+    }
+}
@@ -0,0 +1,64 @@
+package org.chen.sid.transactionmanagement.application.usecase.query.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionNameIndexTest {
+
+    private final TransactionNameIndex index = new TransactionNameIndex();
+
+    @Test
+    void should_find_names_by_prefix_ignoring_case_when_query_shorter_than_trigram() {
+        index.put("1", "Coffee");
+        index.put("2", "Cake");
+        index.put("3", "Morning coffee");
+
+        assertThat(index.search("c", SearchMatch.PREFIX, 10)).containsExactly("2", "1");
+        assertThat(index.search("COF", SearchMatch.PREFIX, 10)).containsExactly("1");
+    }
+
+    @Test
+    void should_find_names_containing_query_newest_first_up_to_limit() {
+        index.put("1", "Coffee");
+        index.put("2", "Morning coffee");
+        index.put("3", "Tea");
+        index.put("4", "Iced coffee");
+
+        assertThat(index.search("coffee", SearchMatch.SUBSTRING, 10)).containsExactly("4", "2", "1");
+        assertThat(index.search("coffee", SearchMatch.SUBSTRING, 2)).containsExactly("4", "2");
+    }
+
+    @Test
+    void should_not_match_when_trigrams_present_but_not_adjacent() {
+        index.put("1", "abcx bcd");
+
+        assertThat(index.search("abcd", SearchMatch.SUBSTRING, 10)).isEmpty();
+    }
+
+    @Test
+    void should_follow_renames_and_deletes() {
+        index.put("1", "Coffee");
+        index.put("2", "Coffee beans");
+        index.put("1", "Tea");
+        index.remove("2");
+
+        assertThat(index.search("coffee", SearchMatch.SUBSTRING, 10)).isEmpty();
+        assertThat(index.search("tea", SearchMatch.PREFIX, 10)).containsExactly("1");
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void should_keep_results_when_rebuilt_after_many_renames() {
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 2000; i++) {
+                index.put(String.valueOf(i), "Purchase " + i + " round " + round);
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(2000);
+        assertThat(index.search("round 2", SearchMatch.SUBSTRING, 5000)).hasSize(2000);
+        assertThat(index.search("round 1", SearchMatch.SUBSTRING, 10)).isEmpty();
+        assertThat(index.search("purchase 1999 ", SearchMatch.PREFIX, 10)).containsExactly("1999");
+    }
+}
@@ -0,0 +1,103 @@
+package org.chen.sid.transactionmanagement.application.usecase.query.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import jakarta.validation.Validation;
+import org.chen.sid.transactionmanagement.application.usecase.query.TransactionQueryUseCase;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.Page;
+import org.chen.sid.transactionmanagement.application.usecase.query.dto.TransactionDTO;
+import org.chen.sid.transactionmanagement.common.cache.MeteredConcurrentMapCache;
+import org.chen.sid.transactionmanagement.common.exception.DataNotFoundException;
+import org.chen.sid.transactionmanagement.config.properties.WarmupProperties;
+import org.chen.sid.transactionmanagement.domain.model.command.UpsertTransactionCommand;
+import org.chen.sid.transactionmanagement.domain.model.entity.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.cache.CacheManager;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TransactionWarmupTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private final TransactionQueryUseCase transactionQueryUseCase = mock(TransactionQueryUseCase.class);
+
+    private final MeteredConcurrentMapCache cache = new MeteredConcurrentMapCache("transaction", true);
+
+    private final WarmupProperties properties = new WarmupProperties();
+
+    private final TransactionDTO known = TransactionDTO.from(Transaction.create(UpsertTransactionCommand.of("Coffee", new BigDecimal("3.50"))));
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        properties.setIterations(200);
+        when(transactionQueryUseCase.getPageTransactions(anyLong(), anyLong())).thenReturn(new Page<>(1, List.of(known)));
+        when(transactionQueryUseCase.getTransactionById(anyString())).thenThrow(DataNotFoundException.TRANSACTION_NOT_FOUND);
+        doAnswer(invocation -> {
+            cache.put(known.getId(), known);
+            return known;
+        }).when(transactionQueryUseCase).getTransactionById(known.getId());
+    }
+
+    @Test
+    void should_exercise_lookups_and_leave_cache_empty_when_run() {
+        newWarmup().run(new DefaultApplicationArguments());
+
+        verify(transactionQueryUseCase, atLeast(200)).getTransactionById(known.getId());
+        verify(transactionQueryUseCase, atLeast(2)).getPageTransactions(1, 20);
+        assertThat(cache.size()).isZero();
+        assertThat(cache.hottestKeys(10)).isEmpty();
+    }
+
+    @Test
+    void should_stop_when_time_budget_exhausted() {
+        properties.setIterations(Integer.MAX_VALUE);
+
+        assertThat(newWarmup().exercise(System.nanoTime() + 50_000_000L)).isPositive().isLessThan(Integer.MAX_VALUE);
+    }
+
+    @Test
+    void should_preload_hot_ids_saved_at_last_shutdown() throws Exception {
+        Path file = directory.resolve("hot-ids.txt");
+        properties.setHotIdsFile(file);
+        TransactionWarmup previousRun = newWarmup();
+        cache.put(known.getId(), known);
+        IntStream.range(0, 1000).forEach(i -> cache.get(known.getId()));
+        previousRun.saveHotIds();
+        assertThat(Files.readAllLines(file)).containsExactly(known.getId());
+
+        properties.setIterations(0);
+        newWarmup().run(new DefaultApplicationArguments());
+
+        assertThat(cache.get(known.getId())).isNotNull();
+        verify(transactionQueryUseCase, atLeast(1)).getTransactionById(eq(known.getId()));
+    }
+
+    private TransactionWarmup newWarmup() {
+        CacheManager cacheManager = mock(CacheManager.class);
+        when(cacheManager.getCache("transaction")).thenReturn(cache);
+        return new TransactionWarmup(transactionQueryUseCase, objectMapper, Validation.buildDefaultValidatorFactory().getValidator(),
+                cacheManager, mock(ListableBeanFactory.class), properties);
+    }
+}
@@ -0,0 +1,37 @@
+package org.chen.sid.transactionmanagement.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTest {
+
+    @Test
+    void should_contain_every_inserted_value_and_few_others() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("live-" + i));
+
+        assertThat(IntStream.range(0, 10_000)).allMatch(i -> filter.mightContain("live-" + i));
+        long falsePositives = IntStream.range(0, 100_000).filter(i -> filter.mightContain(UUID.randomUUID().toString())).count();
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+    @Test
+    void should_size_bits_and_hashes_from_expected_insertions() {
+        BloomFilter filter = new BloomFilter(1_000_000, 0.01);
+
+        // About 9.6 bits and 7 probes per element for a 1% false-positive rate.
+        assertThat(filter.bitCount()).isBetween(9_500_000L, 9_700_000L);
+        assertThat(filter.hashCount()).isEqualTo(7);
+    }
+
+    @Test
+    void should_throw_exception_when_parameters_invalid() {
+        assertThatThrownBy(() -> new BloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(100, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
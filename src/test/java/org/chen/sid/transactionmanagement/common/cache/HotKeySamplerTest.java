@@ -0,0 +1,46 @@
+package org.chen.sid.transactionmanagement.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HotKeySamplerTest {
+
+    @Test
+    void should_rank_keys_by_access_count() {
+        HotKeySampler<String> sampler = new HotKeySampler<>(16, 1);
+        IntStream.range(0, 30).forEach(i -> sampler.record("warm"));
+        IntStream.range(0, 50).forEach(i -> sampler.record("hot"));
+        sampler.record("cold");
+
+        assertThat(sampler.hottest(2)).containsExactly("hot", "warm");
+    }
+
+    @Test
+    void should_make_room_for_new_keys_when_full() {
+        HotKeySampler<String> sampler = new HotKeySampler<>(4, 1);
+        IntStream.range(0, 4).forEach(i -> sampler.record("old-" + i));
+        IntStream.range(0, 10).forEach(i -> sampler.record("hot"));
+
+        assertThat(sampler.size()).isLessThanOrEqualTo(4);
+        assertThat(sampler.hottest(1)).containsExactly("hot");
+    }
+
+    @Test
+    void should_sample_a_fraction_of_accesses() {
+        HotKeySampler<String> sampler = new HotKeySampler<>(16, 16);
+        IntStream.range(0, 10_000).forEach(i -> sampler.record("hot"));
+
+        assertThat(sampler.hottest(1)).containsExactly("hot");
+        sampler.reset();
+        assertThat(sampler.size()).isZero();
+    }
+
+    @Test
+    void should_throw_exception_when_sample_rate_not_power_of_two() {
+        assertThatThrownBy(() -> new HotKeySampler<String>(16, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,43 @@
+package org.chen.sid.transactionmanagement.common.cache;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MeteredConcurrentMapCacheTest {
+
+    @Test
+    void should_count_hits_misses_puts_and_evictions() {
+        MeteredConcurrentMapCache cache = new MeteredConcurrentMapCache("transaction", true);
+
+        cache.get("id-1");
+        cache.put("id-1", "value");
+        cache.get("id-1");
+        cache.get("id-1");
+        cache.evict("id-1");
+        cache.evict("id-1");
+
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(cache.hitCount()).isEqualTo(2);
+        assertThat(cache.putCount()).isEqualTo(1);
+        assertThat(cache.evictionCount()).isEqualTo(1);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void should_publish_cache_gets_by_result_when_bound_to_registry() {
+        MeteredConcurrentMapCache cache = new MeteredConcurrentMapCache("transaction", true);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        new MeteredConcurrentMapCacheMetrics(cache, Tags.empty()).bindTo(meterRegistry);
+
+        cache.put("id-1", "value");
+        cache.get("id-1");
+        cache.get("id-2");
+
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "transaction", "result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "transaction", "result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.size").tag("cache", "transaction").gauge().value()).isEqualTo(1);
+    }
+}
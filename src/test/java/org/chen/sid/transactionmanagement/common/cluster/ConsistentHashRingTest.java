@@ -0,0 +1,65 @@
+package org.chen.sid.transactionmanagement.common.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 30_000;
+
+    @Test
+    void should_assign_same_owner_when_key_looked_up_repeatedly() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("node-1", "node-2", "node-3"), 128);
+        ConsistentHashRing sameNodes = new ConsistentHashRing(List.of("node-3", "node-1", "node-2"), 128);
+
+        for (int i = 0; i < 1_000; i++) {
+            String key = "transaction-" + i;
+            assertThat(ring.ownerOf(key)).isEqualTo(ring.ownerOf(key)).isEqualTo(sameNodes.ownerOf(key));
+        }
+    }
+
+    @Test
+    void should_spread_keys_evenly_when_virtual_nodes_used() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("node-1", "node-2", "node-3"), 128);
+        Map<String, Integer> counts = new HashMap<>();
+
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.ownerOf(UUID.randomUUID().toString()), 1, Integer::sum);
+        }
+
+        assertThat(counts).hasSize(3);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(KEYS / 3 * 8 / 10, KEYS / 3 * 12 / 10));
+    }
+
+    @Test
+    void should_only_move_keys_to_new_node_when_node_added() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("node-1", "node-2", "node-3"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("node-1", "node-2", "node-3", "node-4"), 128);
+        int moved = 0;
+
+        for (int i = 0; i < KEYS; i++) {
+            String key = "transaction-" + i;
+            String oldOwner = before.ownerOf(key);
+            String newOwner = after.ownerOf(key);
+            if (!oldOwner.equals(newOwner)) {
+                assertThat(newOwner).isEqualTo("node-4");
+                moved++;
+            }
+        }
+
+        assertThat(moved).isBetween(KEYS / 4 * 7 / 10, KEYS / 4 * 13 / 10);
+    }
+
+    @Test
+    void should_throw_exception_when_no_nodes_given() {
+        assertThatThrownBy(() -> new ConsistentHashRing(List.of(), 128)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Hash ring needs at least one node");
+    }
+}
@@ -0,0 +1,78 @@
+package org.chen.sid.transactionmanagement.common.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GradientConcurrencyLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(2);
+
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(40);
+
+    @Test
+    void should_reject_acquire_when_limit_reached() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(2, 1, 10, 0.2, 1.5, 100);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+
+        limit.release(FAST, false);
+        assertThat(limit.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void should_grow_limit_when_latency_stays_flat_under_load() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(10, 1, 100, 0.2, 1.5, 100);
+
+        for (int i = 0; i < 50; i++) {
+            saturateAndRelease(limit, FAST);
+        }
+
+        assertThat(limit.getLimit()).isGreaterThan(10);
+    }
+
+    @Test
+    void should_shrink_limit_when_latency_inflates() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 4, 100, 0.2, 1.5, 600);
+        for (int i = 0; i < 20; i++) {
+            saturateAndRelease(limit, FAST);
+        }
+        int before = limit.getLimit();
+
+        saturateAndRelease(limit, SLOW);
+
+        assertThat(limit.getLimit()).isLessThan(before / 2).isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    void should_ignore_samples_when_lightly_loaded() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 4, 100, 0.2, 1.5, 100);
+
+        for (int i = 0; i < 50; i++) {
+            limit.tryAcquire();
+            limit.release(i % 2 == 0 ? FAST : SLOW, true);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void should_throw_exception_when_limits_inconsistent() {
+        assertThatThrownBy(() -> new GradientConcurrencyLimit(1, 2, 10, 0.2, 1.5, 100)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void saturateAndRelease(GradientConcurrencyLimit limit, long rttNanos) {
+        int admitted = 0;
+        while (limit.tryAcquire()) {
+            admitted++;
+        }
+        for (int i = 0; i < admitted; i++) {
+            limit.release(rttNanos, true);
+        }
+    }
+}
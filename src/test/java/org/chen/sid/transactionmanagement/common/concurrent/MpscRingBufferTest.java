@@ -0,0 +1,62 @@
+package org.chen.sid.transactionmanagement.common.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MpscRingBufferTest {
+
+    @Test
+    void should_round_capacity_up_to_power_of_two() {
+        assertThat(new MpscRingBuffer<String>(1000).capacity()).isEqualTo(1024);
+        assertThat(new MpscRingBuffer<String>(1024).capacity()).isEqualTo(1024);
+    }
+
+    @Test
+    void should_reject_offer_when_buffer_is_full() {
+        MpscRingBuffer<String> buffer = new MpscRingBuffer<>(2);
+
+        assertThat(buffer.offer("a")).isTrue();
+        assertThat(buffer.offer("b")).isTrue();
+        assertThat(buffer.offer("c")).isFalse();
+        assertThat(buffer.poll()).isEqualTo("a");
+        assertThat(buffer.offer("c")).isTrue();
+        assertThat(buffer.size()).isEqualTo(2);
+    }
+
+    @Test
+    void should_deliver_every_element_when_multiple_producers_offer() throws InterruptedException {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(256);
+        ExecutorService producers = Executors.newFixedThreadPool(4);
+        CountDownLatch done = new CountDownLatch(4);
+        for (int p = 0; p < 4; p++) {
+            int base = p * 2_000;
+            producers.submit(() -> {
+                for (int i = 0; i < 2_000; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.yield();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        List<Integer> received = new ArrayList<>();
+        while (received.size() < 8_000) {
+            buffer.drain(received::add, 128);
+        }
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        producers.shutdown();
+
+        assertThat(new HashSet<>(received)).hasSize(8_000);
+        assertThat(buffer.poll()).isNull();
+    }
+}
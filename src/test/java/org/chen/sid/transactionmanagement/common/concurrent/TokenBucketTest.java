@@ -0,0 +1,56 @@
+package org.chen.sid.transactionmanagement.common.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void should_allow_burst_up_to_capacity_then_reject() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryConsume(1, 0)).isZero();
+        }
+
+        assertThat(bucket.tryConsume(1, 0)).isEqualTo(SECOND / 10);
+    }
+
+    @Test
+    void should_refill_at_configured_rate() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+        assertThat(bucket.tryConsume(5, 0)).isZero();
+
+        assertThat(bucket.tryConsume(2, SECOND / 10)).isPositive();
+        assertThat(bucket.tryConsume(2, SECOND / 5)).isZero();
+    }
+
+    @Test
+    void should_charge_cost_in_tokens() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+
+        assertThat(bucket.tryConsume(4, 0)).isZero();
+        assertThat(bucket.tryConsume(2, 0)).isPositive();
+        assertThat(bucket.tryConsume(1, 0)).isZero();
+    }
+
+    @Test
+    void should_report_idle_when_full_for_idle_period() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+        bucket.tryConsume(5, 0);
+
+        assertThat(bucket.isIdle(SECOND, SECOND)).isFalse();
+        assertThat(bucket.isIdle(SECOND / 2 + SECOND, SECOND)).isTrue();
+    }
+
+    @Test
+    void should_throw_exception_when_rate_not_positive() {
+        assertThatThrownBy(() -> new TokenBucket(0, 5, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}